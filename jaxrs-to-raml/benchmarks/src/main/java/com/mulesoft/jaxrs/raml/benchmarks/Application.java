@@ -0,0 +1,180 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.raml.emitter.RamlEmitterV2;
+import org.raml.model.Raml;
+import org.raml.schema.model.ISchemaType;
+
+import com.mulesoft.jaxrs.raml.annotation.model.reflection.ReflectionType;
+import com.mulesoft.jaxrs.raml.jaxb.JAXBRegistry;
+import com.mulesoft.jaxrs.raml.jaxb.JAXBType;
+import com.mulesoft.jaxrs.raml.jaxb.SchemaModelBuilder;
+import com.mulesoft.jaxrs.raml.jsonschema.JsonSchemaModelSerializer;
+
+/**
+ * <p>Benchmark state holding the classes of one of the example applications, or of a
+ * synthetic one, together with the intermediate results the later stages start from.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Benchmark)
+public class Application {
+
+	/** Constant <code>SYNTHETIC="synthetic"</code> */
+	public static final String SYNTHETIC = "synthetic";
+
+	@Param({ "shop", "helloworld", "contacts", "search", SYNTHETIC })
+	public String name;
+
+	@Param({ "100" })
+	public int syntheticResources;
+
+	@Param({ "3" })
+	public int dtoDepth;
+
+	File directory;
+
+	ClassLoader classLoader;
+
+	Class<?>[] resourceClasses;
+
+	Class<?>[] dtoClasses;
+
+	Raml raml;
+
+	String ramlText;
+
+	List<ISchemaType> schemaModels;
+
+	List<String> jsonSchemas;
+
+	/**
+	 * <p>setUp.</p>
+	 *
+	 * @throws java.lang.Exception if any.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		directory = createTempDirectory("jaxrs-application");
+		List<String> resourceNames;
+		List<String> dtoNames;
+		if (SYNTHETIC.equals(name)) {
+			SyntheticResources synthetic = new SyntheticResources(syntheticResources, dtoDepth);
+			classLoader = synthetic.compile(new File(directory, "classes"));
+			resourceNames = synthetic.getResourceClassNames();
+			dtoNames = synthetic.getDtoClassNames();
+		} else {
+			classLoader = getClass().getClassLoader();
+			resourceNames = getExampleResources(name);
+			dtoNames = getExampleDtos(name);
+		}
+		resourceClasses = load(resourceNames);
+		dtoClasses = load(dtoNames);
+
+		BenchmarkVisitor visitor = createVisitor();
+		for (Class<?> clazz : resourceClasses) {
+			visitor.visit(new ReflectionType(clazz));
+		}
+		raml = visitor.getModel();
+		RamlEmitterV2 emitter = new RamlEmitterV2();
+		emitter.setSingle(true);
+		ramlText = emitter.dump(raml);
+
+		schemaModels = new ArrayList<ISchemaType>();
+		jsonSchemas = new ArrayList<String>();
+		for (Class<?> clazz : dtoClasses) {
+			ISchemaType model = buildSchemaModel(clazz);
+			if (model != null) {
+				schemaModels.add(model);
+				jsonSchemas.add(new JsonSchemaModelSerializer().serialize(model));
+			}
+		}
+	}
+
+	/**
+	 * <p>tearDown.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(directory);
+	}
+
+	BenchmarkVisitor createVisitor() {
+		return new BenchmarkVisitor(new File(directory, "api.raml"), classLoader, new BenchmarkConfig());
+	}
+
+	static ISchemaType buildSchemaModel(Class<?> clazz) {
+		JAXBRegistry registry = new JAXBRegistry();
+		JAXBType type = registry.getJAXBModel(new ReflectionType(clazz));
+		if (type == null) {
+			return null;
+		}
+		return new SchemaModelBuilder(registry, new BenchmarkConfig()).buildSchemaModel(type, null);
+	}
+
+	private Class<?>[] load(List<String> classNames) throws ClassNotFoundException {
+		Class<?>[] classes = new Class<?>[classNames.size()];
+		for (int i = 0; i < classes.length; i++) {
+			classes[i] = classLoader.loadClass(classNames.get(i));
+		}
+		return classes;
+	}
+
+	private static List<String> getExampleResources(String name) {
+		if ("shop".equals(name)) {
+			return Arrays.asList("shop.services.CustomerResource", "shop.services.OrderResource",
+					"shop.services.ProductResource", "shop.services.StoreResource");
+		}
+		if ("helloworld".equals(name)) {
+			return Arrays.asList("helloworld.HelloWorldRest");
+		}
+		if ("contacts".equals(name)) {
+			return Arrays.asList("contacts.Contact");
+		}
+		if ("search".equals(name)) {
+			return Arrays.asList("search.SearchEngine");
+		}
+		throw new IllegalArgumentException("Unknown application " + name);
+	}
+
+	private static List<String> getExampleDtos(String name) {
+		if ("shop".equals(name)) {
+			return Arrays.asList("shop.domain.Customer", "shop.domain.Customers", "shop.domain.Order",
+					"shop.domain.Orders", "shop.domain.LineItem", "shop.domain.Product", "shop.domain.Products");
+		}
+		if ("helloworld".equals(name)) {
+			return Arrays.asList("helloworld.Country", "helloworld.Countries", "helloworld.State",
+					"helloworld.States");
+		}
+		if ("contacts".equals(name)) {
+			return Arrays.asList("contacts.Contact", "contacts.Contacts");
+		}
+		if ("search".equals(name)) {
+			return Arrays.asList("search.Document", "search.SearchResult", "search.CategoryInfo");
+		}
+		throw new IllegalArgumentException("Unknown application " + name);
+	}
+
+	static File createTempDirectory(String prefix) throws IOException {
+		File directory = File.createTempFile(prefix, "");
+		if (!directory.delete() || !directory.mkdirs()) {
+			throw new IOException("Can't create " + directory);
+		}
+		return directory;
+	}
+}
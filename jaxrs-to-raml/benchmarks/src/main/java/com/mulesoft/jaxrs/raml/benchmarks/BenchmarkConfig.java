@@ -0,0 +1,105 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.raml.model.ActionType;
+import org.raml.model.Protocol;
+
+import com.mulesoft.jaxrs.raml.annotation.model.IRamlConfig;
+import com.mulesoft.jaxrs.raml.annotation.model.IResourceVisitorExtension;
+
+/**
+ * <p>Fixed {@link IRamlConfig} used by the benchmarks.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class BenchmarkConfig implements IRamlConfig {
+
+	private final List<IResourceVisitorExtension> extensions = new ArrayList<IResourceVisitorExtension>();
+
+	/**
+	 * <p>getTitle.</p>
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String getTitle() {
+		return "Benchmark";
+	}
+
+	/**
+	 * <p>getBaseUrl.</p>
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String getBaseUrl() {
+		return "http://localhost/api";
+	}
+
+	/**
+	 * <p>getVersion.</p>
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String getVersion() {
+		return "v1";
+	}
+
+	/**
+	 * <p>getProtocols.</p>
+	 *
+	 * @return a {@link java.util.Set} object.
+	 */
+	public Set<Protocol> getProtocols() {
+		return Collections.singleton(Protocol.HTTP);
+	}
+
+	/** {@inheritDoc} */
+	public String getResponseCode(ActionType type) {
+		return "200";
+	}
+
+	/**
+	 * <p>isSingle.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isSingle() {
+		return true;
+	}
+
+	/** {@inheritDoc} */
+	public void setSingle(boolean selection) {
+		// NOOP
+	}
+
+	/**
+	 * <p>isSorted.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isSorted() {
+		return true;
+	}
+
+	/**
+	 * <p>doFullTree.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean doFullTree() {
+		return false;
+	}
+
+	/**
+	 * <p>Getter for the field <code>extensions</code>.</p>
+	 *
+	 * @return a {@link java.util.List} object.
+	 */
+	public List<IResourceVisitorExtension> getExtensions() {
+		return extensions;
+	}
+}
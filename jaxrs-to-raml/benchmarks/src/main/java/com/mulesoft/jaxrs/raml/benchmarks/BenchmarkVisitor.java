@@ -0,0 +1,38 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.io.File;
+
+import org.raml.model.Raml;
+
+import com.mulesoft.jaxrs.raml.annotation.model.IRamlConfig;
+import com.mulesoft.jaxrs.raml.annotation.model.reflection.RuntimeResourceVisitor;
+
+/**
+ * <p>Resource visitor giving access to the model it builds.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class BenchmarkVisitor extends RuntimeResourceVisitor {
+
+	/**
+	 * <p>Constructor for BenchmarkVisitor.</p>
+	 *
+	 * @param outputFile a {@link java.io.File} object.
+	 * @param classLoader a {@link java.lang.ClassLoader} object.
+	 * @param config a {@link com.mulesoft.jaxrs.raml.annotation.model.IRamlConfig} object.
+	 */
+	public BenchmarkVisitor(File outputFile, ClassLoader classLoader, IRamlConfig config) {
+		super(outputFile, classLoader, config);
+	}
+
+	/**
+	 * <p>Optimizes and returns the model built so far.</p>
+	 *
+	 * @return a {@link org.raml.model.Raml} object.
+	 */
+	public Raml getModel() {
+		spec.optimize();
+		return spec.getCoreRaml();
+	}
+}
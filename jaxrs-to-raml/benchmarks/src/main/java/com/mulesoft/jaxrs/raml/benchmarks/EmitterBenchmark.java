@@ -0,0 +1,63 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.emitter.RamlEmitterV2;
+import org.raml.model.Raml;
+import org.raml.parser.visitor.RamlDocumentBuilder;
+
+import com.mulesoft.jaxrs.raml.jsonschema.JsonFormatter;
+
+/**
+ * <p>Benchmarks of the text stages: emitting the model, parsing it back and formatting
+ * the generated JSON schemas.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmitterBenchmark {
+
+	/**
+	 * <p>dump.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @return a {@link java.lang.String} object.
+	 */
+	@Benchmark
+	public String dump(Application application) {
+		RamlEmitterV2 emitter = new RamlEmitterV2();
+		emitter.setSingle(true);
+		return emitter.dump(application.raml);
+	}
+
+	/**
+	 * <p>Parses the emitted document with {@link RamlDocumentBuilder}.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @return a {@link org.raml.model.Raml} object.
+	 */
+	@Benchmark
+	public Raml parse(Application application) {
+		return new RamlDocumentBuilder().build(application.ramlText);
+	}
+
+	/**
+	 * <p>format.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void format(Application application, Blackhole blackhole) {
+		for (String schema : application.jsonSchemas) {
+			blackhole.consume(JsonFormatter.format(schema));
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.raml.model.Action;
+import org.raml.model.ActionType;
+import org.raml.model.Resource;
+
+import com.mulesoft.jaxrs.raml.annotation.model.RAMLModelHelper;
+
+/**
+ * <p>Benchmark of {@link RAMLModelHelper#addResource(Resource)} followed by
+ * {@link RAMLModelHelper#optimize()}.</p>
+ *
+ * The helper mutates the resources it is given, so every invocation creates them again;
+ * that part is linear and small compared to the placement of the resources.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModelHelperBenchmark {
+
+	@Param({ "100", "1000", "5000" })
+	public int resources;
+
+	private List<String> paths;
+
+	/**
+	 * <p>setUp.</p>
+	 */
+	@Setup
+	public void setUp() {
+		paths = new ArrayList<String>();
+		for (int i = 0; i < resources; i++) {
+			String group = "/group" + (i / 10);
+			if (i % 10 == 0) {
+				paths.add(group);
+			} else if (i % 3 == 0) {
+				paths.add(group + "/item" + i + "/{id}");
+			} else {
+				paths.add(group + "/item" + i);
+			}
+		}
+	}
+
+	/**
+	 * <p>addAndOptimize.</p>
+	 *
+	 * @return a {@link com.mulesoft.jaxrs.raml.annotation.model.RAMLModelHelper} object.
+	 */
+	@Benchmark
+	public RAMLModelHelper addAndOptimize() {
+		RAMLModelHelper helper = new RAMLModelHelper();
+		for (String path : paths) {
+			Resource resource = new Resource();
+			resource.setRelativeUri(path);
+			Action action = new Action();
+			action.setType(ActionType.GET);
+			action.setResource(resource);
+			resource.getActions().put(ActionType.GET, action);
+			helper.addResource(resource);
+		}
+		helper.optimize();
+		return helper;
+	}
+}
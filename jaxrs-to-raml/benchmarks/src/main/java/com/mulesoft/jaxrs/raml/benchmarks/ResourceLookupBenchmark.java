@@ -0,0 +1,104 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.model.Raml;
+import org.raml.model.Resource;
+
+/**
+ * <p>Benchmarks of the resource path lookups of {@link Raml}.</p>
+ *
+ * The tree has groups of 50 resources, each of them with a templated <code>/{id}</code> child.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceLookupBenchmark {
+
+	@Param({ "5000" })
+	public int resources;
+
+	private Raml raml;
+
+	private List<String> paths;
+
+	private List<String> concretePaths;
+
+	/**
+	 * <p>setUp.</p>
+	 */
+	@Setup
+	public void setUp() {
+		raml = new Raml();
+		paths = new ArrayList<String>();
+		concretePaths = new ArrayList<String>();
+		for (int i = 0; i < resources; i++) {
+			String groupUri = "/group" + (i / 50);
+			Resource group = raml.getResources().get(groupUri);
+			if (group == null) {
+				group = resource(groupUri);
+				raml.getResources().put(groupUri, group);
+			}
+			Resource item = resource("/item" + i);
+			item.getResources().put("/{id}", resource("/{id}"));
+			group.getResources().put(item.getRelativeUri(), item);
+			paths.add(groupUri + "/item" + i + "/{id}");
+			concretePaths.add(groupUri + "/item" + i + "/" + i);
+		}
+	}
+
+	private static Resource resource(String relativeUri) {
+		Resource resource = new Resource();
+		resource.setRelativeUri(relativeUri);
+		return resource;
+	}
+
+	/**
+	 * <p>getResource.</p>
+	 *
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void getResource(Blackhole blackhole) {
+		for (String path : paths) {
+			blackhole.consume(raml.getResource(path));
+		}
+	}
+
+	/**
+	 * <p>matchResource.</p>
+	 *
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void matchResource(Blackhole blackhole) {
+		for (String path : concretePaths) {
+			blackhole.consume(raml.matchResource(path));
+		}
+	}
+
+	/**
+	 * <p>Rebuilds the index, as after a modification of the tree, and does a single lookup.</p>
+	 *
+	 * @return a {@link org.raml.model.Resource} object.
+	 */
+	@Benchmark
+	public Resource rebuildIndex() {
+		raml.invalidateResourceIndex();
+		return raml.getResource(paths.get(paths.size() - 1));
+	}
+}
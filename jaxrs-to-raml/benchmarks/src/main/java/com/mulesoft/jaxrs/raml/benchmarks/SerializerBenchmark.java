@@ -0,0 +1,65 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.schema.model.ISchemaType;
+import org.raml.schema.model.serializer.IModelSerializer;
+
+import com.mulesoft.jaxrs.raml.jaxb.XMLModelSerializer;
+import com.mulesoft.jaxrs.raml.jsonschema.JsonModelSerializer;
+import com.mulesoft.jaxrs.raml.jsonschema.JsonSchemaModelSerializer;
+
+/**
+ * <p>Benchmarks of the schema model serializers over the DTOs of the application.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializerBenchmark {
+
+	/**
+	 * <p>xmlExample.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void xmlExample(Application application, Blackhole blackhole) {
+		serialize(new XMLModelSerializer(), application, blackhole);
+	}
+
+	/**
+	 * <p>jsonExample.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void jsonExample(Application application, Blackhole blackhole) {
+		serialize(new JsonModelSerializer(), application, blackhole);
+	}
+
+	/**
+	 * <p>jsonSchema.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 */
+	@Benchmark
+	public void jsonSchema(Application application, Blackhole blackhole) {
+		serialize(new JsonSchemaModelSerializer(), application, blackhole);
+	}
+
+	private static void serialize(IModelSerializer serializer, Application application, Blackhole blackhole) {
+		for (ISchemaType model : application.schemaModels) {
+			blackhole.consume(serializer.serialize(model));
+		}
+	}
+}
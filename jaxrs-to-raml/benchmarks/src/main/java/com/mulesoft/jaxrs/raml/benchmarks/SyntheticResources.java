@@ -0,0 +1,165 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>Deterministic generator of JAX-RS resource classes.</p>
+ *
+ * Every resource <code>ResourceN</code> exposes CRUD methods over its own JAXB annotated DTO
+ * graph <code>DtoN_0 -&gt; DtoN_1 -&gt; ...</code> which is <code>dtoDepth</code> levels deep.
+ * The sources are compiled with the system Java compiler, so the benchmarks have to run on
+ * a JDK.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class SyntheticResources {
+
+	/** Constant <code>PACKAGE="synthetic"</code> */
+	public static final String PACKAGE = "synthetic";
+
+	private final int resources;
+
+	private final int dtoDepth;
+
+	/**
+	 * <p>Constructor for SyntheticResources.</p>
+	 *
+	 * @param resources number of resource classes.
+	 * @param dtoDepth number of nested DTO levels below the root DTO of each resource.
+	 */
+	public SyntheticResources(int resources, int dtoDepth) {
+		this.resources = resources;
+		this.dtoDepth = dtoDepth;
+	}
+
+	/**
+	 * <p>Writes and compiles the classes.</p>
+	 *
+	 * @param directory a {@link java.io.File} object.
+	 * @return a {@link java.lang.ClassLoader} object loading the compiled classes.
+	 * @throws java.io.IOException if any.
+	 */
+	public ClassLoader compile(File directory) throws IOException {
+		File packageDirectory = new File(directory, PACKAGE);
+		List<File> sources = new ArrayList<File>();
+		for (int i = 0; i < resources; i++) {
+			sources.add(write(packageDirectory, "Resource" + i, resourceSource(i)));
+			for (int level = 0; level <= dtoDepth; level++) {
+				sources.add(write(packageDirectory, dtoName(i, level), dtoSource(i, level)));
+			}
+		}
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("No system Java compiler, run the benchmarks on a JDK");
+		}
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		try {
+			List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"),
+					"-d", directory.getAbsolutePath(), "-nowarn");
+			Boolean success = compiler.getTask(null, fileManager, null, options, null,
+					fileManager.getJavaFileObjectsFromFiles(sources)).call();
+			if (!Boolean.TRUE.equals(success)) {
+				throw new IllegalStateException("Can't compile the synthetic resources in " + directory);
+			}
+		} finally {
+			fileManager.close();
+		}
+		return new URLClassLoader(new URL[] { directory.toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	/**
+	 * <p>getResourceClassNames.</p>
+	 *
+	 * @return a {@link java.util.List} object.
+	 */
+	public List<String> getResourceClassNames() {
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < resources; i++) {
+			names.add(PACKAGE + ".Resource" + i);
+		}
+		return names;
+	}
+
+	/**
+	 * <p>getDtoClassNames.</p>
+	 *
+	 * @return the root DTO of every resource.
+	 */
+	public List<String> getDtoClassNames() {
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < resources; i++) {
+			names.add(PACKAGE + "." + dtoName(i, 0));
+		}
+		return names;
+	}
+
+	private static File write(File directory, String name, String source) throws IOException {
+		File file = new File(directory, name + ".java");
+		FileUtils.writeStringToFile(file, source, "UTF-8");
+		return file;
+	}
+
+	private static String dtoName(int resource, int level) {
+		return "Dto" + resource + "_" + level;
+	}
+
+	private String resourceSource(int index) {
+		String dto = dtoName(index, 0);
+		StringBuilder builder = new StringBuilder();
+		builder.append("package ").append(PACKAGE).append(";\n\n");
+		builder.append("import javax.ws.rs.*;\n\n");
+		builder.append("@Path(\"/resource").append(index).append("\")\n");
+		builder.append("@Produces({ \"application/json\", \"application/xml\" })\n");
+		builder.append("@Consumes({ \"application/json\", \"application/xml\" })\n");
+		builder.append("public class Resource").append(index).append(" {\n\n");
+		builder.append("\t@GET\n");
+		builder.append("\tpublic ").append(dto).append(" list(@QueryParam(\"limit\") int limit, @QueryParam(\"offset\") int offset) {\n\t\treturn null;\n\t}\n\n");
+		builder.append("\t@GET\n\t@Path(\"{id}\")\n");
+		builder.append("\tpublic ").append(dto).append(" get(@PathParam(\"id\") long id) {\n\t\treturn null;\n\t}\n\n");
+		builder.append("\t@POST\n");
+		builder.append("\tpublic ").append(dto).append(" create(").append(dto).append(" body) {\n\t\treturn null;\n\t}\n\n");
+		builder.append("\t@PUT\n\t@Path(\"{id}\")\n");
+		builder.append("\tpublic ").append(dto).append(" update(@PathParam(\"id\") long id, ").append(dto).append(" body) {\n\t\treturn null;\n\t}\n\n");
+		builder.append("\t@DELETE\n\t@Path(\"{id}\")\n");
+		builder.append("\tpublic void delete(@PathParam(\"id\") long id) {\n\t}\n");
+		builder.append("}\n");
+		return builder.toString();
+	}
+
+	private String dtoSource(int index, int level) {
+		String name = dtoName(index, level);
+		StringBuilder builder = new StringBuilder();
+		builder.append("package ").append(PACKAGE).append(";\n\n");
+		builder.append("import java.util.List;\n");
+		builder.append("import javax.xml.bind.annotation.*;\n\n");
+		builder.append("@XmlRootElement(name = \"").append(Character.toLowerCase(name.charAt(0))).append(name.substring(1)).append("\")\n");
+		builder.append("@XmlAccessorType(XmlAccessType.FIELD)\n");
+		builder.append("public class ").append(name).append(" {\n\n");
+		builder.append("\tprivate long id;\n\n");
+		builder.append("\tprivate String name;\n\n");
+		builder.append("\tprivate boolean active;\n\n");
+		builder.append("\t@XmlElement(name = \"tag\")\n");
+		builder.append("\tprivate List<String> tags;\n");
+		if (level < dtoDepth) {
+			String child = dtoName(index, level + 1);
+			builder.append("\n\tprivate ").append(child).append(" child;\n\n");
+			builder.append("\tprivate List<").append(child).append("> children;\n");
+		}
+		builder.append("}\n");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,75 @@
+package com.mulesoft.jaxrs.raml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeModel;
+import com.mulesoft.jaxrs.raml.annotation.model.ResourceVisitor;
+import com.mulesoft.jaxrs.raml.annotation.model.reflection.ReflectionType;
+import com.mulesoft.jaxrs.raml.annotation.model.reflection.RuntimeRamlBuilder;
+
+/**
+ * <p>Benchmarks of the reflection based JAX-RS to RAML conversion.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VisitorBenchmark {
+
+	/**
+	 * <p>Visits every resource class of the application, schemas included.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @return a {@link com.mulesoft.jaxrs.raml.annotation.model.ResourceVisitor} object.
+	 */
+	@Benchmark
+	public ResourceVisitor visit(Application application) {
+		ResourceVisitor visitor = application.createVisitor();
+		for (Class<?> clazz : application.resourceClasses) {
+			visitor.visit(new ReflectionType(clazz));
+		}
+		return visitor;
+	}
+
+	/**
+	 * <p>Visits every resource class of the application with one thread per processor.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @return a {@link com.mulesoft.jaxrs.raml.annotation.model.ResourceVisitor} object.
+	 */
+	@Benchmark
+	public ResourceVisitor visitParallel(Application application) {
+		ResourceVisitor visitor = application.createVisitor();
+		List<ITypeModel> types = new ArrayList<ITypeModel>();
+		for (Class<?> clazz : application.resourceClasses) {
+			types.add(new ReflectionType(clazz));
+		}
+		visitor.visit(types, Runtime.getRuntime().availableProcessors());
+		return visitor;
+	}
+
+	/**
+	 * <p>Runs {@link RuntimeRamlBuilder#addClasses(Class...)} followed by {@link RuntimeRamlBuilder#toRAML()}.</p>
+	 *
+	 * @param application a {@link com.mulesoft.jaxrs.raml.benchmarks.Application} object.
+	 * @return a {@link java.lang.String} object.
+	 */
+	@Benchmark
+	public String toRaml(final Application application) {
+		RuntimeRamlBuilder builder = new RuntimeRamlBuilder() {
+			{
+				visitor = application.createVisitor();
+			}
+		};
+		builder.addClasses(application.resourceClasses);
+		return builder.toRAML();
+	}
+}
@@ -6,11 +6,19 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -154,6 +162,9 @@ public abstract class ResourceVisitor {
 
 	protected HashSet<ITypeModel> consumedTypes = new HashSet<ITypeModel>();
 
+	//schemas generated per type, shared with the visitors created for sub resources and parallel visits
+	private ConcurrentHashMap<String, FutureTask<Raml2>> generatedSchemas = new ConcurrentHashMap<String, FutureTask<Raml2>>();
+
 	private String basePath;
 
 	protected final File outputFile;
@@ -179,6 +190,92 @@ public abstract class ResourceVisitor {
 	 * @param t a {@link com.mulesoft.jaxrs.raml.annotation.model.ITypeModel} object.
 	 */
 	public void visit(ITypeModel t) {
+		visitTypeAnnotations(t);
+		visitMethods(t);
+	}
+
+	/**
+	 * <p>Visits the given types with up to <code>parallelism</code> threads.</p>
+	 *
+	 * The class level annotations are read sequentially, then the methods of every type are
+	 * visited by a visitor of its own which collects the resources instead of placing them.
+	 * The collected resources and schemas are merged in the order of the types, so the result
+	 * does not depend on scheduling. A schema shared by several types is generated once.
+	 *
+	 * @param types a {@link java.util.Collection} object.
+	 * @param parallelism a int, <code>1</code> or less visits sequentially.
+	 */
+	public void visit(Collection<? extends ITypeModel> types, int parallelism) {
+		if (parallelism <= 1 || types.size() <= 1) {
+			for (ITypeModel t : types) {
+				visit(t);
+			}
+			return;
+		}
+		final List<ITypeModel> typeList = new ArrayList<ITypeModel>(types);
+		final List<ResourceVisitor> visitors = new ArrayList<ResourceVisitor>();
+		HashSet<ITypeModel> consumed = new HashSet<ITypeModel>(consumedTypes);
+		for (ITypeModel t : typeList) {
+			visitTypeAnnotations(t);
+			consumed.add(t);
+			ResourceVisitor visitor = createResourceVisitor();
+			visitor.config = config;
+			visitor.basePath = basePath;
+			visitor.classConsumes = classConsumes;
+			visitor.classProduces = classProduces;
+			visitor.consumedTypes.addAll(consumed);
+			visitor.spec = new DeferredModelHelper();
+			visitor.generatedSchemas = generatedSchemas;
+			visitors.add(visitor);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, typeList.size()));
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < typeList.size(); i++) {
+				final int index = i;
+				futures.add(executor.submit(new Runnable() {
+
+					public void run() {
+						visitors.get(index).visitMethods(typeList.get(index));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				await(future);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (ResourceVisitor visitor : visitors) {
+			for (Resource res : ((DeferredModelHelper) visitor.spec).resources) {
+				spec.addResource(res);
+			}
+			spec.getCoreRaml().addGlobalSchemas(visitor.spec.getCoreRaml());
+			consumedTypes.addAll(visitor.consumedTypes);
+		}
+	}
+
+	private static <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private void visitTypeAnnotations(ITypeModel t) {
 		consumedTypes.add(t);
 		
 		IAnnotationModel apiAnn = t.getAnnotation("Api");
@@ -219,7 +316,9 @@ public abstract class ResourceVisitor {
 		if(classProduces==null||classProduces.length==0){
 			classProduces = t.getAnnotationValues(PRODUCES);
 		}
-		
+	}
+
+	private void visitMethods(ITypeModel t) {
 		String annotationValue = t.getAnnotationValue(PATH);		
 		if (basePath != null) {
 			if (annotationValue == null) {
@@ -270,6 +369,40 @@ public abstract class ResourceVisitor {
 		return result;
 	}
 
+	/**
+	 * <p>Generates the schemas of a type unless this visitor, or one sharing its cache,
+	 * already did, and adds them to the model.</p>
+	 *
+	 * The generation runs against a scratch model so that its global schemas can be added to
+	 * the model of every visitor asking for them, concurrent requests wait for the first one.
+	 *
+	 * @param t a {@link com.mulesoft.jaxrs.raml.annotation.model.ITypeModel} object.
+	 * @param st a {@link com.mulesoft.jaxrs.raml.annotation.model.StructureType} object.
+	 */
+	private void generateXMLSchemaOnce(final ITypeModel t, final StructureType st) {
+		String name = t.getFullyQualifiedName() != null ? t.getFullyQualifiedName() : t.getName();
+		String key = name + "#" + (st != null ? st : StructureType.COMMON);
+		FutureTask<Raml2> task = new FutureTask<Raml2>(new Callable<Raml2>() {
+
+			public Raml2 call() {
+				RAMLModelHelper target = spec;
+				spec = new RAMLModelHelper();
+				try {
+					generateXMLSchema(t, st);
+					return spec.getCoreRaml();
+				} finally {
+					spec = target;
+				}
+			}
+		});
+		FutureTask<Raml2> existing = generatedSchemas.putIfAbsent(key, task);
+		if (existing == null) {
+			existing = task;
+			task.run();
+		}
+		spec.getCoreRaml().addGlobalSchemas(await(existing));
+	}
+
 	/**
 	 * <p>generateXMLSchema.</p>
 	 *
@@ -366,7 +499,7 @@ public abstract class ResourceVisitor {
 					}
 				}
 				if (generateSchema) {
-					generateXMLSchema(returnedType,null);
+					generateXMLSchemaOnce(returnedType,null);
 					returnName = firstLetterToLowerCase(returnedType.getName());
 				}
 				if (hasPath) {
@@ -376,6 +509,7 @@ public abstract class ResourceVisitor {
 								.addAll(this.consumedTypes);
 						resourceVisitor.basePath = path;
 						resourceVisitor.spec = this.spec;
+						resourceVisitor.generatedSchemas = this.generatedSchemas;
 						resourceVisitor.visit(returnedType);
 					}
 				}
@@ -383,7 +517,7 @@ public abstract class ResourceVisitor {
 			ITypeModel bodyType = m.getBodyType();
 			if (bodyType != null) {
 				if (bodyType.hasAnnotation(XML_ROOT_ELEMENT)) {
-					generateXMLSchema(bodyType,null);
+					generateXMLSchemaOnce(bodyType,null);
 					parameterName = bodyType.getName();
 				}
 			}
@@ -597,7 +731,7 @@ public abstract class ResourceVisitor {
 						try {
 							Class<?> responseClass = classLoader.loadClass(responseQualifiedName);
 							ReflectionType rt = new ReflectionType(responseClass); 
-							generateXMLSchema(rt,StructureType.COMMON);
+							generateXMLSchemaOnce(rt,StructureType.COMMON);
 						} catch (ClassNotFoundException e) {
 							e.printStackTrace();
 						}
@@ -635,7 +769,7 @@ public abstract class ResourceVisitor {
 				try {
 					Class<?> responseClass = classLoader.loadClass(responseQualifiedName);
 					ReflectionType rt = new ReflectionType(responseClass); 
-					generateXMLSchema(rt,st);
+					generateXMLSchemaOnce(rt,st);
 				} catch (ClassNotFoundException e) {
 					e.printStackTrace();
 				}	
@@ -999,6 +1133,7 @@ public abstract class ResourceVisitor {
 	 * <p>clear.</p>
 	 */
 	public void clear() {
+		generatedSchemas.clear();
 		spec.coreRaml=new Raml2();
 		spec.coreRaml.setBaseUri("http://example.com"); //$NON-NLS-1$
 		spec.coreRaml.setTitle("Please type API title here"); //$NON-NLS-1$
@@ -1279,4 +1414,17 @@ public abstract class ResourceVisitor {
 			this.structureType = structureType;
 		}
 	}
+
+	/**
+	 * <p>Model helper collecting resources in visiting order instead of placing them.</p>
+	 */
+	private static final class DeferredModelHelper extends RAMLModelHelper {
+
+		private final List<Resource> resources = new ArrayList<Resource>();
+
+		@Override
+		public void addResource(Resource res) {
+			resources.add(res);
+		}
+	}
 }
@@ -1,5 +1,9 @@
 package com.mulesoft.jaxrs.raml.annotation.model.reflection;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeModel;
 import com.mulesoft.jaxrs.raml.annotation.model.ResourceVisitor;
 
 /**
@@ -13,6 +17,17 @@ public class RuntimeRamlBuilder {
 	
 	protected ResourceVisitor visitor=new RuntimeResourceVisitor(null, null);
 	
+	private int parallelism=1;
+	
+	/**
+	 * <p>Sets the number of threads {@link #addClasses(Class...)} visits the classes with.</p>
+	 *
+	 * @param parallelism a int, <code>1</code> visits sequentially.
+	 */
+	public void setParallelism(int parallelism){
+		this.parallelism=parallelism;
+	}
+	
 	/**
 	 * <p>addClass.</p>
 	 *
@@ -28,9 +43,11 @@ public class RuntimeRamlBuilder {
 	 * @param clazz a {@link java.lang.Class} object.
 	 */
 	public void addClasses(Class<?>... clazz){
+		List<ITypeModel> types=new ArrayList<ITypeModel>(clazz.length);
 		for (Class<?> c:clazz){
-			visitor.visit(new ReflectionType(c));
+			types.add(new ReflectionType(c));
 		}
+		visitor.visit(types, parallelism);
 	}
 	
 	/**
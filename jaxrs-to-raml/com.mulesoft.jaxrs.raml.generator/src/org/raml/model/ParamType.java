@@ -15,8 +15,6 @@
  */
 package org.raml.model;
 
-import java.math.BigDecimal;
-
 import org.raml.model.parameter.AbstractParam;
 
 /**
@@ -32,23 +30,7 @@ public enum ParamType
                 
                 public boolean validate(AbstractParam param, String value)
                 {
-                    if (param.getPattern() != null && !value.matches(param.getPattern()))
-                    {
-                        return false;
-                    }
-                    if (param.getMinLength() != null && value.length() < param.getMinLength())
-                    {
-                        return false;
-                    }
-                    if (param.getMaxLength() != null && value.length() > param.getMaxLength())
-                    {
-                        return false;
-                    }
-                    if (param.getEnumeration() != null && !param.getEnumeration().contains(value))
-                    {
-                        return false;
-                    }
-                    return true;
+                    return param.getValidator().validateString(value);
                 }
             },
     NUMBER
@@ -56,24 +38,7 @@ public enum ParamType
                 
                 public boolean validate(AbstractParam param, String value)
                 {
-                    BigDecimal number;
-                    try
-                    {
-                        number = new BigDecimal(value);
-                    }
-                    catch (NumberFormatException nfe)
-                    {
-                        return false;
-                    }
-                    if (param.getMinimum() != null && number.compareTo(param.getMinimum()) < 0)
-                    {
-                        return false;
-                    }
-                    if (param.getMaximum() != null && number.compareTo(param.getMaximum()) > 0)
-                    {
-                        return false;
-                    }
-                    return true;
+                    return param.getValidator().validateNumber(value);
                 }
             },
     INTEGER
@@ -81,24 +46,7 @@ public enum ParamType
                 
                 public boolean validate(AbstractParam param, String value)
                 {
-                    Integer number;
-                    try
-                    {
-                        number = Integer.parseInt(value);
-                    }
-                    catch (NumberFormatException nfe)
-                    {
-                        return false;
-                    }
-                    if (param.getMinimum() != null && BigDecimal.valueOf(number).compareTo(param.getMinimum()) < 0)
-                    {
-                        return false;
-                    }
-                    if (param.getMaximum() != null && BigDecimal.valueOf(number).compareTo(param.getMaximum()) > 0)
-                    {
-                        return false;
-                    }
-                    return true;
+                    return param.getValidator().validateInteger(value);
                 }
             },
     DATE, //TODO add date validation
@@ -17,9 +17,9 @@ package org.raml.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.raml.emitter.ResourceTypeEmitter;
 import org.raml.emitter.SchemasEmitter;
@@ -82,8 +82,12 @@ public class Raml
     @Sequence(rule = SecurityReferenceSequenceRule.class)
     private List<SecurityReference> securedBy = new ArrayList<SecurityReference>();
 
+    private final AtomicLong modifications = new AtomicLong();
+
     @Mapping(handler = ResourceHandler.class, implicit = true)
-    private Map<String, Resource> resources = new LinkedHashMap<String, Resource>();
+    private Map<String, Resource> resources = new ResourceMap(modifications);
+
+    private ResourcePathIndex resourceIndex;
 
     @Sequence
     private List<DocumentationItem> documentation;
@@ -132,7 +136,8 @@ public class Raml
      */
     public void setResources(Map<String, Resource> resources)
     {
-        this.resources = resources;
+        this.resources = ResourceMap.track(resources, modifications);
+        this.resourceIndex = null;
     }
 
     /**
@@ -407,24 +412,50 @@ public class Raml
      */
     public Resource getResource(String path)
     {
-    	
-        for (Resource resource : resources.values())
+        return getResourceIndex().getResource(path);
+    }
+
+    /**
+     * <p>Finds the resource a concrete request path belongs to, <code>{uriParam}</code>
+     * segments of the resource tree match any value.</p>
+     *
+     * @param path a {@link java.lang.String} object.
+     * @return a {@link org.raml.model.Resource} object or <code>null</code>.
+     */
+    public Resource matchResource(String path)
+    {
+        return getResourceIndex().matchResource(path);
+    }
+
+    /**
+     * <p>Drops the path indexes of the resource tree used by {@link #getResource(String)} and
+     * {@link #matchResource(String)}.</p>
+     *
+     * Changes made through {@link #getResources()} and the maps of the nested resources are
+     * detected, this is only needed after changing a map given to <code>setResources</code>
+     * through another reference.
+     */
+    public void invalidateResourceIndex()
+    {
+        resourceIndex = null;
+        if (resources != null)
         {
-            if (path.startsWith(resource.getRelativeUri()))
+            for (Resource resource : resources.values())
             {
-                if (path.length() == resource.getRelativeUri().length())
-                {
-                    return resource;
-                }
-                if (path.charAt(resource.getRelativeUri().length()) == '/')
-                {
-                    final Resource found = resource.getResource(path.substring(resource.getRelativeUri().length()));
-                    if (found != null) {
-                     return found;
-                    }
-                }                
+                resource.invalidateResourceIndex();
             }
         }
-        return null;
     }
+
+    private ResourcePathIndex getResourceIndex()
+    {
+        ResourcePathIndex index = resourceIndex;
+        if (index == null || !index.isCurrent())
+        {
+            index = ResourcePathIndex.build(resources, modifications);
+            resourceIndex = index;
+        }
+        return index;
+    }
+
 }
@@ -86,6 +86,23 @@ public class Raml2 extends Raml {
 	    }
 	}
 	
+	/**
+	 * <p>Adds the global schemas of another model which are not declared in this one yet.</p>
+	 *
+	 * @param other a {@link org.raml.model.Raml2} object.
+	 */
+	public void addGlobalSchemas(Raml2 other)
+	{
+	    for (final Map<String, String> line : other.getSchemas()) {
+	        for (final Map.Entry<String, String> entry : line.entrySet()) {
+	            if (!schemaDeclared(entry.getKey())) {
+	                schemas.add(createSchemaMap(entry.getKey(), entry.getValue()));
+	            }
+	        }
+	    }
+	    schemaMap.putAll(other.getSchemaMap());
+	}
+	
 	/**
 	 * <p>addOrReplaceSchemaContent.</p>
 	 *
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.raml.emitter.Dumper;
 import org.raml.emitter.MapFilter;
@@ -35,6 +36,7 @@ import org.raml.parser.annotation.Sequence;
 import org.raml.parser.builder.TraitsExtraHandler;
 import org.raml.parser.resolver.ResourceHandler;
 import org.raml.parser.rule.SecurityReferenceSequenceRule;
+import org.raml.parser.utils.UriTemplate;
 
 /**
  * <p>Resource class.</p>
@@ -70,6 +72,8 @@ public class Resource
     @Key
     private String relativeUri;
 
+    private UriTemplate uriTemplate;
+
     @Mapping
     @MapFilter(UrlParameterFilter.class)
     private Map<String, UriParameter> uriParameters = new LinkedHashMap<String, UriParameter>();
@@ -106,8 +110,13 @@ public class Resource
     @Mapping(implicit = true)
     private Map<ActionType, Action> actions = new LinkedHashMap<ActionType, Action>();
 
+    // shared with the tree the resource is attached to
+    private AtomicLong modifications = new AtomicLong();
+
     @Mapping(handler = ResourceHandler.class, implicit = true)
-    private Map<String, Resource> resources = new LinkedHashMap<String, Resource>();
+    private Map<String, Resource> resources = new ResourceMap(modifications);
+
+    private ResourcePathIndex resourceIndex;
 
     /**
      * <p>Constructor for Resource.</p>
@@ -124,6 +133,8 @@ public class Resource
     public void setRelativeUri(String relativeUri)
     {    	
     	this.relativeUri = relativeUri;
+    	this.uriTemplate = null;
+    	modifications.incrementAndGet();
     }
 
     /**
@@ -226,6 +237,23 @@ public class Resource
         return relativeUri;
     }
 
+    /**
+     * <p>Returns the parsed form of the <code>relativeUri</code>, it is parsed once
+     * and kept until the relative uri changes.</p>
+     *
+     * @return a {@link org.raml.parser.utils.UriTemplate} object.
+     */
+    public UriTemplate getUriTemplate()
+    {
+        UriTemplate template = uriTemplate;
+        if (template == null || !template.getUri().equals(relativeUri == null ? "" : relativeUri))
+        {
+            template = UriTemplate.parse(relativeUri);
+            uriTemplate = template;
+        }
+        return template;
+    }
+
     /**
      * <p>getUri.</p>
      *
@@ -275,7 +303,28 @@ public class Resource
      */
     public void setResources(Map<String, Resource> resources)
     {
-        this.resources = resources;
+        this.resources = ResourceMap.track(resources, modifications);
+        this.resourceIndex = null;
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * <p>Moves the resource and its nested resources to the tree counting its modifications.</p>
+     *
+     * @param modifications a {@link java.util.concurrent.atomic.AtomicLong} object.
+     */
+    void attach(AtomicLong modifications)
+    {
+        if (this.modifications == modifications)
+        {
+            return;
+        }
+        this.modifications = modifications;
+        this.resourceIndex = null;
+        if (resources instanceof ResourceMap)
+        {
+            ((ResourceMap) resources).attach(modifications);
+        }
     }
 
     /**
@@ -449,21 +498,31 @@ public class Resource
      */
     public Resource getResource(String path)
     {
-        for (Resource resource : resources.values())
+        ResourcePathIndex index = resourceIndex;
+        if (index == null || !index.isCurrent())
         {
-            if (path.startsWith(resource.getRelativeUri()))
+            index = ResourcePathIndex.build(resources, modifications);
+            resourceIndex = index;
+        }
+        return index.getResource(path);
+    }
+
+    /**
+     * <p>Drops the path indexes of the nested resources used by {@link #getResource(String)}.</p>
+     *
+     * Changes made through {@link #getResources()} are detected, this is only needed after
+     * changing a map given to <code>setResources</code> through another reference.
+     */
+    public void invalidateResourceIndex()
+    {
+        resourceIndex = null;
+        if (resources != null)
+        {
+            for (Resource resource : resources.values())
             {
-                if (path.length() == resource.getRelativeUri().length())
-                {
-                    return resource;
-                }
-                if (path.charAt(resource.getRelativeUri().length()) == '/')
-                {
-                    return resource.getResource(path.substring(resource.getRelativeUri().length()));
-                }
+                resource.invalidateResourceIndex();
             }
         }
-        return null;
     }
-	
+
 }
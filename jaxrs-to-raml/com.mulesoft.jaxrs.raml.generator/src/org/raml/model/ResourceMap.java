@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Map of nested resources reporting its changes to the modification counter of its tree.</p>
+ *
+ * It is a view over the map it is created with: changes made through it, its entry set, key set,
+ * values or their iterators mark the path indexes of the tree as stale. Changes made directly to
+ * the wrapped map are not seen. Resources put in the map join its tree, with their own nested
+ * resources.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+final class ResourceMap extends AbstractMap<String, Resource>
+{
+
+    private final Map<String, Resource> delegate;
+    private AtomicLong modifications;
+
+    ResourceMap(AtomicLong modifications)
+    {
+        this(new LinkedHashMap<String, Resource>(), modifications);
+    }
+
+    private ResourceMap(Map<String, Resource> delegate, AtomicLong modifications)
+    {
+        this.delegate = delegate;
+        attach(modifications);
+    }
+
+    /**
+     * <p>Wraps a map of resources unless it is already tracked, and attaches it to a tree.</p>
+     *
+     * @param resources a {@link java.util.Map} object, may be <code>null</code>.
+     * @param modifications the modification counter of the tree.
+     * @return a {@link java.util.Map} object.
+     */
+    static Map<String, Resource> track(Map<String, Resource> resources, AtomicLong modifications)
+    {
+        if (resources == null)
+        {
+            return null;
+        }
+        if (resources instanceof ResourceMap)
+        {
+            ((ResourceMap) resources).attach(modifications);
+            return resources;
+        }
+        return new ResourceMap(resources, modifications);
+    }
+
+    /**
+     * <p>Moves the map and its resources to the tree counting its modifications.</p>
+     *
+     * @param modifications a {@link java.util.concurrent.atomic.AtomicLong} object.
+     */
+    void attach(AtomicLong modifications)
+    {
+        this.modifications = modifications;
+        for (Resource resource : delegate.values())
+        {
+            if (resource != null)
+            {
+                resource.attach(modifications);
+            }
+        }
+    }
+
+    private void modified(Resource added)
+    {
+        modifications.incrementAndGet();
+        if (added != null)
+        {
+            added.attach(modifications);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size()
+    {
+        return delegate.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return delegate.containsKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Resource get(Object key)
+    {
+        return delegate.get(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Resource put(String key, Resource value)
+    {
+        modified(value);
+        return delegate.put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Resource remove(Object key)
+    {
+        modified(null);
+        return delegate.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear()
+    {
+        modified(null);
+        delegate.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<Map.Entry<String, Resource>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<String, Resource>>()
+        {
+            @Override
+            public int size()
+            {
+                return delegate.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Resource>> iterator()
+            {
+                final Iterator<Map.Entry<String, Resource>> entries = delegate.entrySet().iterator();
+                return new Iterator<Map.Entry<String, Resource>>()
+                {
+                    public boolean hasNext()
+                    {
+                        return entries.hasNext();
+                    }
+
+                    public Map.Entry<String, Resource> next()
+                    {
+                        return new TrackedEntry(entries.next());
+                    }
+
+                    public void remove()
+                    {
+                        modified(null);
+                        entries.remove();
+                    }
+                };
+            }
+        };
+    }
+
+    private final class TrackedEntry implements Map.Entry<String, Resource>
+    {
+
+        private final Map.Entry<String, Resource> entry;
+
+        private TrackedEntry(Map.Entry<String, Resource> entry)
+        {
+            this.entry = entry;
+        }
+
+        public String getKey()
+        {
+            return entry.getKey();
+        }
+
+        public Resource getValue()
+        {
+            return entry.getValue();
+        }
+
+        public Resource setValue(Resource value)
+        {
+            modified(value);
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return entry.equals(o);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString()
+        {
+            return entry.toString();
+        }
+    }
+}
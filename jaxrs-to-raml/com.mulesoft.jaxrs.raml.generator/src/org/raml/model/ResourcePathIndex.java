@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.raml.parser.utils.UriTemplate;
+
+/**
+ * <p>Path index over a resource tree.</p>
+ *
+ * It keeps an exact map from the concatenated relative uris of every resource to the
+ * resource, and a segment trie where segments containing <code>{param}</code> slots
+ * match any concrete value. The index is a snapshot of the tree stamped with the count of
+ * modifications made to the resource maps and relative uris of that tree when it was built,
+ * owners rebuild it once {@link #isCurrent()} turns false. Each tree has its own counter, shared
+ * by the {@link Raml} and the resources attached to it, so editing one document does not make
+ * the indexes of the others stale.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+final class ResourcePathIndex
+{
+
+    private final Map<String, Resource> paths;
+    private final Node root;
+    private final AtomicLong modifications;
+    private final long stamp;
+
+    private ResourcePathIndex(Map<String, Resource> paths, Node root, AtomicLong modifications, long stamp)
+    {
+        this.paths = Collections.unmodifiableMap(paths);
+        this.root = root;
+        this.modifications = modifications;
+        this.stamp = stamp;
+    }
+
+    /**
+     * <p>isCurrent.</p>
+     *
+     * @return whether the tree of the index was not modified since the index was built.
+     */
+    boolean isCurrent()
+    {
+        return stamp == modifications.get();
+    }
+
+    /**
+     * <p>build.</p>
+     *
+     * @param resources the top level resources of the tree.
+     * @param modifications the modification counter of the tree.
+     * @return a {@link org.raml.model.ResourcePathIndex} object.
+     */
+    static ResourcePathIndex build(Map<String, Resource> resources, AtomicLong modifications)
+    {
+        long stamp = modifications.get();
+        Map<String, Resource> paths = new HashMap<String, Resource>();
+        Node root = new Node(null);
+        if (resources != null)
+        {
+            index(resources, "", root, paths);
+        }
+        return new ResourcePathIndex(paths, root, modifications, stamp);
+    }
+
+    private static void index(Map<String, Resource> resources, String prefix, Node parent, Map<String, Resource> paths)
+    {
+        for (Resource resource : resources.values())
+        {
+            UriTemplate template = resource.getUriTemplate();
+            String path = prefix + template.getUri();
+            //first resource in declaration order wins, as with the former linear scan
+            if (!paths.containsKey(path))
+            {
+                paths.put(path, resource);
+            }
+            Node node = parent;
+            for (UriTemplate segment : template.getPathSegments())
+            {
+                node = node.child(segment);
+            }
+            if (node.resource == null)
+            {
+                node.resource = resource;
+            }
+            index(resource.getResources(), path, node, paths);
+        }
+    }
+
+    /**
+     * <p>Finds the resource declared with exactly the given path.</p>
+     *
+     * @param path a {@link java.lang.String} object.
+     * @return a {@link org.raml.model.Resource} object or <code>null</code>.
+     */
+    Resource getResource(String path)
+    {
+        return paths.get(path);
+    }
+
+    /**
+     * <p>Finds the resource a concrete path belongs to, literal segments are preferred
+     * over templated ones.</p>
+     *
+     * @param path a {@link java.lang.String} object.
+     * @return a {@link org.raml.model.Resource} object or <code>null</code>.
+     */
+    Resource matchResource(String path)
+    {
+        List<String> segments = new ArrayList<String>();
+        int start = 0;
+        while (start <= path.length())
+        {
+            int slash = path.indexOf('/', start);
+            if (slash < 0)
+            {
+                slash = path.length();
+            }
+            if (slash > start)
+            {
+                segments.add(path.substring(start, slash));
+            }
+            start = slash + 1;
+        }
+        return match(root, segments, 0);
+    }
+
+    private static Resource match(Node node, List<String> segments, int index)
+    {
+        if (index == segments.size())
+        {
+            return node.resource;
+        }
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null)
+        {
+            Resource found = match(literal, segments, index + 1);
+            if (found != null)
+            {
+                return found;
+            }
+        }
+        for (Node templated : node.templates)
+        {
+            if (templated.template.matches(segment))
+            {
+                Resource found = match(templated, segments, index + 1);
+                if (found != null)
+                {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class Node
+    {
+
+        private final UriTemplate template;
+        private final Map<String, Node> literals = new HashMap<String, Node>();
+        private final List<Node> templates = new ArrayList<Node>();
+        private Resource resource;
+
+        private Node(UriTemplate template)
+        {
+            this.template = template;
+        }
+
+        private Node child(UriTemplate segment)
+        {
+            if (!segment.hasParameters())
+            {
+                Node node = literals.get(segment.getUri());
+                if (node == null)
+                {
+                    node = new Node(segment);
+                    literals.put(segment.getUri(), node);
+                }
+                return node;
+            }
+            for (Node node : templates)
+            {
+                if (node.template.getUri().equals(segment.getUri()))
+                {
+                    return node;
+                }
+            }
+            Node node = new Node(segment);
+            templates.add(node);
+            return node;
+        }
+    }
+}
@@ -68,6 +68,8 @@ public class AbstractParam implements Cloneable
     @Scalar
     private String example;
 
+    private ParamValidator validator;
+
     //protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
@@ -230,6 +232,7 @@ public class AbstractParam implements Cloneable
     public void setEnumeration(List<String> enumeration)
     {
         this.enumeration = enumeration;
+        this.validator = null;
     }
 
     /**
@@ -250,6 +253,7 @@ public class AbstractParam implements Cloneable
     public void setPattern(String pattern)
     {
         this.pattern = pattern;
+        this.validator = null;
     }
 
     /**
@@ -270,6 +274,7 @@ public class AbstractParam implements Cloneable
     public void setMinLength(Integer minLength)
     {
         this.minLength = minLength;
+        this.validator = null;
     }
 
     /**
@@ -290,6 +295,7 @@ public class AbstractParam implements Cloneable
     public void setMaxLength(Integer maxLength)
     {
         this.maxLength = maxLength;
+        this.validator = null;
     }
 
     /**
@@ -310,6 +316,7 @@ public class AbstractParam implements Cloneable
     public void setMinimum(BigDecimal minimum)
     {
         this.minimum = minimum;
+        this.validator = null;
     }
 
     /**
@@ -330,6 +337,7 @@ public class AbstractParam implements Cloneable
     public void setMaximum(BigDecimal maximum)
     {
         this.maximum = maximum;
+        this.validator = null;
     }
 
     /**
@@ -352,6 +360,25 @@ public class AbstractParam implements Cloneable
         this.example = example;
     }
 
+    /**
+     * <p>Returns the validator compiled from the current constraints, it is compiled
+     * lazily and compiled again once a constraint is set.</p>
+     *
+     * The enumeration is copied by the validator, a list edited in place has to be set again.
+     *
+     * @return a {@link org.raml.model.parameter.ParamValidator} object.
+     */
+    public ParamValidator getValidator()
+    {
+        ParamValidator current = validator;
+        if (current == null)
+        {
+            current = ParamValidator.compile(this);
+            validator = current;
+        }
+        return current;
+    }
+
     /**
      * <p>validate.</p>
      *
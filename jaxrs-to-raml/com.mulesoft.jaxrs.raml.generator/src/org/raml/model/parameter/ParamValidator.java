@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.model.parameter;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Immutable validator compiled from the constraints of an {@link AbstractParam}.</p>
+ *
+ * The pattern is compiled once, enumerations are kept in a hash set and numeric bounds
+ * that fit in a <code>long</code> are compared as primitives, so validating a value
+ * does not allocate unless a bound is fractional or the number is not a plain integer.
+ * The enumeration is copied, the validator does not see later changes to the parameter.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public final class ParamValidator
+{
+
+    //number of digits that always fits in a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final BigDecimal decimalMinimum;
+    private final BigDecimal decimalMaximum;
+
+    private final Pattern pattern;
+    private final Set<String> enumeration;
+    private final int minLength;
+    private final int maxLength;
+    private final boolean longBounds;
+    private final long minimum;
+    private final long maximum;
+
+    private ParamValidator(AbstractParam param)
+    {
+        decimalMinimum = param.getMinimum();
+        decimalMaximum = param.getMaximum();
+
+        pattern = param.getPattern() != null ? Pattern.compile(param.getPattern()) : null;
+        enumeration = param.getEnumeration() != null
+                      ? Collections.unmodifiableSet(new HashSet<String>(param.getEnumeration())) : null;
+        minLength = param.getMinLength() != null ? param.getMinLength() : Integer.MIN_VALUE;
+        maxLength = param.getMaxLength() != null ? param.getMaxLength() : Integer.MAX_VALUE;
+        longBounds = isLong(decimalMinimum) && isLong(decimalMaximum);
+        minimum = longBounds && decimalMinimum != null ? decimalMinimum.longValue() : Long.MIN_VALUE;
+        maximum = longBounds && decimalMaximum != null ? decimalMaximum.longValue() : Long.MAX_VALUE;
+    }
+
+    /**
+     * <p>compile.</p>
+     *
+     * @param param a {@link org.raml.model.parameter.AbstractParam} object.
+     * @return a {@link org.raml.model.parameter.ParamValidator} object.
+     */
+    public static ParamValidator compile(AbstractParam param)
+    {
+        return new ParamValidator(param);
+    }
+
+    private static boolean isLong(BigDecimal value)
+    {
+        if (value == null)
+        {
+            return true;
+        }
+        try
+        {
+            value.longValueExact();
+            return true;
+        }
+        catch (ArithmeticException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * <p>validateString.</p>
+     *
+     * @param value a {@link java.lang.String} object.
+     * @return a boolean.
+     */
+    public boolean validateString(String value)
+    {
+        if (pattern != null && !pattern.matcher(value).matches())
+        {
+            return false;
+        }
+        if (value.length() < minLength || value.length() > maxLength)
+        {
+            return false;
+        }
+        if (enumeration != null && !enumeration.contains(value))
+        {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * <p>validateNumber.</p>
+     *
+     * @param value a {@link java.lang.String} object.
+     * @return a boolean.
+     */
+    public boolean validateNumber(String value)
+    {
+        if (longBounds && isPlainLong(value))
+        {
+            long number = Long.parseLong(value.charAt(0) == '+' ? value.substring(1) : value);
+            return number >= minimum && number <= maximum;
+        }
+        BigDecimal number;
+        try
+        {
+            number = new BigDecimal(value);
+        }
+        catch (NumberFormatException nfe)
+        {
+            return false;
+        }
+        return inBounds(number);
+    }
+
+    /**
+     * <p>validateInteger.</p>
+     *
+     * @param value a {@link java.lang.String} object.
+     * @return a boolean.
+     */
+    public boolean validateInteger(String value)
+    {
+        int number;
+        try
+        {
+            number = Integer.parseInt(value);
+        }
+        catch (NumberFormatException nfe)
+        {
+            return false;
+        }
+        if (longBounds)
+        {
+            return number >= minimum && number <= maximum;
+        }
+        return inBounds(BigDecimal.valueOf(number));
+    }
+
+    private boolean inBounds(BigDecimal number)
+    {
+        if (decimalMinimum != null && number.compareTo(decimalMinimum) < 0)
+        {
+            return false;
+        }
+        if (decimalMaximum != null && number.compareTo(decimalMaximum) > 0)
+        {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isPlainLong(String value)
+    {
+        int start = 0;
+        if (value.length() > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+'))
+        {
+            start = 1;
+        }
+        int digits = value.length() - start;
+        if (digits < 1 || digits > MAX_LONG_DIGITS)
+        {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -31,14 +31,14 @@ import org.yaml.snakeyaml.nodes.ScalarNode;
  * @author kor
  * @version $Id: $Id
  */
-public class ImplicitMapEntryBuilder extends DefaultTupleBuilder<ScalarNode, Node>
+public class ImplicitMapEntryBuilder extends DefaultTupleBuilder<ScalarNode, Node> implements ValueClassAware
 {
 
     private String fieldName;
 
     private String keyValue;
     private Class<?> keyClass;
-    private Class valueClass;
+    private Class<?> valueClass;
 
 
     /**
@@ -102,6 +102,16 @@ public class ImplicitMapEntryBuilder extends DefaultTupleBuilder<ScalarNode, Nod
     }
 
     
+    /**
+     * <p>Getter for the field <code>valueClass</code>.</p>
+     *
+     * @return a {@link java.lang.Class} object.
+     */
+    public Class<?> getValueClass()
+    {
+        return valueClass;
+    }
+
     /**
      * <p>buildKey.</p>
      *
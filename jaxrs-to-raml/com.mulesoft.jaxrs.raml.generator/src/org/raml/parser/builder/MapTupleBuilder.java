@@ -30,10 +30,10 @@ import org.yaml.snakeyaml.nodes.ScalarNode;
  * @author kor
  * @version $Id: $Id
  */
-public class MapTupleBuilder extends DefaultTupleBuilder<ScalarNode, Node>
+public class MapTupleBuilder extends DefaultTupleBuilder<ScalarNode, Node> implements ValueClassAware
 {
 
-    private Class valueClass;
+    private Class<?> valueClass;
     private String fieldName;
 
     /**
@@ -88,7 +88,7 @@ public class MapTupleBuilder extends DefaultTupleBuilder<ScalarNode, Node>
      *
      * @return a {@link java.lang.Class} object.
      */
-    public Class getValueClass()
+    public Class<?> getValueClass()
     {
         return valueClass;
     }
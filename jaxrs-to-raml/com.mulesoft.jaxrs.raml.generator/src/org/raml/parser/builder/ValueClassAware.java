@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.parser.builder;
+
+/**
+ * Implemented by node builders that create map values of a fixed model class,
+ * so document builders can find out what is being built without reflection.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public interface ValueClassAware
+{
+
+    /**
+     * Returns the model class of the values created by this builder
+     *
+     * @return the value class, may be <code>null</code>
+     */
+    Class<?> getValueClass();
+
+}
@@ -21,9 +21,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.raml.parser.utils.UriTemplate;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
 /**
@@ -44,7 +43,6 @@ public class BaseUriRule extends SimpleRule
     public static final String URI_PATTERN = "[.*]?\\{(\\w+)?\\}[.*]*";
     private String baseUri;
     private Set<String> parameters;
-    private Pattern pattern;
 
 
     /**
@@ -55,8 +53,6 @@ public class BaseUriRule extends SimpleRule
         super("baseUri", String.class);
 
         parameters = new HashSet<String>();
-        pattern = Pattern.compile(URI_PATTERN);
-
     }
 
     /**
@@ -84,15 +80,10 @@ public class BaseUriRule extends SimpleRule
     /** {@inheritDoc} */
     public List<ValidationResult> doValidateValue(ScalarNode node)
     {
-        String value = node.getValue();
-        Matcher matcher = pattern.matcher(value);
+        UriTemplate template = UriTemplate.parse(node.getValue());
+        String value = template.expand("temp");
         List<ValidationResult> validationResults = new ArrayList<ValidationResult>(super.doValidateValue(node));
-        while (matcher.find())
-        {
-            String paramValue = matcher.group(1);
-            value = value.replace("{" + paramValue + "}", "temp");
-            parameters.add(paramValue);
-        }
+        parameters.addAll(template.getParameterNames());
         if (getVersionRule().getKeyNode() == null && parameters.contains(getVersionRule().getName()))
         {
             validationResults.add(ValidationResult.createErrorResult(VERSION_NOT_PRESENT_MESSAGE, node.getStartMark(), node.getEndMark()));
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.parser.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Immutable parsed form of a RAML URI template.</p>
+ *
+ * The template is split once into a list of tokens, each of them either a literal
+ * part of the URI or a <code>{param}</code> slot. Parameter names follow the
+ * <code>\w+</code> rule of {@link org.raml.parser.rule.BaseUriRule#URI_PATTERN},
+ * braces around anything else are kept as literal text.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public final class UriTemplate
+{
+
+    private final String uri;
+    private final List<Token> tokens;
+    private final List<String> parameterNames;
+
+    private UriTemplate(String uri, List<Token> tokens, List<String> parameterNames)
+    {
+        this.uri = uri;
+        this.tokens = Collections.unmodifiableList(tokens);
+        this.parameterNames = Collections.unmodifiableList(parameterNames);
+    }
+
+    /**
+     * <p>parse.</p>
+     *
+     * @param uri a {@link java.lang.String} object, <code>null</code> is handled as an empty uri.
+     * @return a {@link org.raml.parser.utils.UriTemplate} object.
+     */
+    public static UriTemplate parse(String uri)
+    {
+        if (uri == null)
+        {
+            uri = "";
+        }
+        List<Token> tokens = new ArrayList<Token>();
+        List<String> parameterNames = new ArrayList<String>();
+        int literalStart = 0;
+        int position = 0;
+        while (position < uri.length())
+        {
+            int open = uri.indexOf('{', position);
+            if (open < 0)
+            {
+                break;
+            }
+            int close = open + 1;
+            while (close < uri.length() && isWordChar(uri.charAt(close)))
+            {
+                close++;
+            }
+            if (close == open + 1 || close == uri.length() || uri.charAt(close) != '}')
+            {
+                position = open + 1;
+                continue;
+            }
+            if (open > literalStart)
+            {
+                tokens.add(new Token(uri.substring(literalStart, open), false));
+            }
+            String name = uri.substring(open + 1, close);
+            tokens.add(new Token(name, true));
+            if (!parameterNames.contains(name))
+            {
+                parameterNames.add(name);
+            }
+            literalStart = close + 1;
+            position = literalStart;
+        }
+        if (literalStart < uri.length())
+        {
+            tokens.add(new Token(uri.substring(literalStart), false));
+        }
+        return new UriTemplate(uri, tokens, parameterNames);
+    }
+
+    private static boolean isWordChar(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * <p>Getter for the field <code>uri</code>.</p>
+     *
+     * @return the uri this template was parsed from.
+     */
+    public String getUri()
+    {
+        return uri;
+    }
+
+    /**
+     * <p>Getter for the field <code>tokens</code>.</p>
+     *
+     * @return an unmodifiable {@link java.util.List} of literal and parameter tokens in uri order.
+     */
+    public List<Token> getTokens()
+    {
+        return tokens;
+    }
+
+    /**
+     * <p>Getter for the field <code>parameterNames</code>.</p>
+     *
+     * @return an unmodifiable {@link java.util.List} of distinct parameter names in uri order.
+     */
+    public List<String> getParameterNames()
+    {
+        return parameterNames;
+    }
+
+    /**
+     * <p>hasParameters.</p>
+     *
+     * @return a boolean.
+     */
+    public boolean hasParameters()
+    {
+        return !parameterNames.isEmpty();
+    }
+
+    /**
+     * <p>Splits the template into one template per non empty path segment,
+     * reusing the already parsed tokens.</p>
+     *
+     * @return a {@link java.util.List} of {@link org.raml.parser.utils.UriTemplate} objects.
+     */
+    public List<UriTemplate> getPathSegments()
+    {
+        List<UriTemplate> segments = new ArrayList<UriTemplate>();
+        List<Token> segmentTokens = new ArrayList<Token>();
+        List<String> segmentParameters = new ArrayList<String>();
+        StringBuilder segmentUri = new StringBuilder();
+        for (Token token : tokens)
+        {
+            if (token.isParameter())
+            {
+                segmentTokens.add(token);
+                if (!segmentParameters.contains(token.getValue()))
+                {
+                    segmentParameters.add(token.getValue());
+                }
+                segmentUri.append(token);
+                continue;
+            }
+            String literal = token.getValue();
+            int start = 0;
+            int slash;
+            while ((slash = literal.indexOf('/', start)) >= 0)
+            {
+                if (slash > start)
+                {
+                    segmentTokens.add(new Token(literal.substring(start, slash), false));
+                    segmentUri.append(literal, start, slash);
+                }
+                if (!segmentTokens.isEmpty())
+                {
+                    segments.add(new UriTemplate(segmentUri.toString(), segmentTokens, segmentParameters));
+                    segmentTokens = new ArrayList<Token>();
+                    segmentParameters = new ArrayList<String>();
+                    segmentUri.setLength(0);
+                }
+                start = slash + 1;
+            }
+            if (start < literal.length())
+            {
+                segmentTokens.add(new Token(literal.substring(start), false));
+                segmentUri.append(literal, start, literal.length());
+            }
+        }
+        if (!segmentTokens.isEmpty())
+        {
+            segments.add(new UriTemplate(segmentUri.toString(), segmentTokens, segmentParameters));
+        }
+        return segments;
+    }
+
+    /**
+     * <p>Matches a concrete value against this template, parameter slots match one
+     * or more characters.</p>
+     *
+     * @param value a {@link java.lang.String} object.
+     * @return a boolean.
+     */
+    public boolean matches(String value)
+    {
+        return matches(0, value, 0);
+    }
+
+    private boolean matches(int tokenIndex, String value, int position)
+    {
+        if (tokenIndex == tokens.size())
+        {
+            return position == value.length();
+        }
+        Token token = tokens.get(tokenIndex);
+        if (!token.isParameter())
+        {
+            return value.startsWith(token.getValue(), position)
+                   && matches(tokenIndex + 1, value, position + token.getValue().length());
+        }
+        for (int end = position + 1; end <= value.length(); end++)
+        {
+            if (matches(tokenIndex + 1, value, end))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Builds the uri with every parameter slot replaced by the given value.</p>
+     *
+     * @param value a {@link java.lang.String} object.
+     * @return a {@link java.lang.String} object.
+     */
+    public String expand(String value)
+    {
+        if (!hasParameters())
+        {
+            return uri;
+        }
+        StringBuilder builder = new StringBuilder(uri.length());
+        for (Token token : tokens)
+        {
+            builder.append(token.isParameter() ? value : token.getValue());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * <p>toString.</p>
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public String toString()
+    {
+        return uri;
+    }
+
+    /**
+     * <p>A literal part of the uri or a <code>{param}</code> slot.</p>
+     */
+    public static final class Token
+    {
+
+        private final String value;
+        private final boolean parameter;
+
+        Token(String value, boolean parameter)
+        {
+            this.value = value;
+            this.parameter = parameter;
+        }
+
+        /**
+         * <p>Getter for the field <code>value</code>.</p>
+         *
+         * @return the literal text, or the parameter name for parameter slots.
+         */
+        public String getValue()
+        {
+            return value;
+        }
+
+        /**
+         * <p>isParameter.</p>
+         *
+         * @return a boolean.
+         */
+        public boolean isParameter()
+        {
+            return parameter;
+        }
+
+        /**
+         * <p>toString.</p>
+         *
+         * @return a {@link java.lang.String} object.
+         */
+        public String toString()
+        {
+            return parameter ? "{" + value + "}" : value;
+        }
+    }
+}
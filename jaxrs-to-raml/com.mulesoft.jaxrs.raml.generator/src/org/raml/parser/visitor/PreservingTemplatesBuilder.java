@@ -1,7 +1,6 @@
 package org.raml.parser.visitor;
 
 import java.io.Reader;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -11,7 +10,6 @@ import org.raml.model.Raml2;
 import org.raml.model.Resource;
 import org.raml.model.ResourceType;
 import org.raml.model.TraitModel;
-import org.raml.parser.builder.NodeBuilder;
 import org.raml.parser.loader.ClassPathResourceLoader;
 import org.raml.parser.loader.ResourceLoader;
 import org.raml.parser.tagresolver.IncludeResolver;
@@ -70,30 +68,12 @@ public final class PreservingTemplatesBuilder extends RamlDocumentBuilder {
 	            Resource resource = (Resource) getDocumentContext().peek();
 	            getTemplateResolver().resolve(mappingNode, resource.getRelativeUri(), resource.getUri());
 	        }
-	        else if (isBodyBuilder(getBuilderContext().peek()))
+	        else if (RamlDocumentBuilder.isBodyBuilder(getBuilderContext().peek()))
 	        {
 	            getMediaTypeResolver().resolve(mappingNode);
 	        }
 	    }
-		private boolean isBodyBuilder(NodeBuilder builder)
-	    {
-	        try
-	        {
-	            Field valueType = builder.getClass().getDeclaredField("valueClass");
-	            valueType.setAccessible(true);
-	            return valueType.get(builder) != null && ((Class) valueType.get(builder)).getName().equals("org.raml.model.MimeType");
-	        }
-	        catch (NoSuchFieldException e)
-	        {
-	            return false;
-	        }
-	        catch (IllegalAccessException e)
-	        {
-	            return false;
-	        }
-	    }
 
-		
 		protected void preBuildProcess() {
 			getTemplateResolver().init(getRootNode());
 			getMediaTypeResolver().beforeDocumentStart(getRootNode());
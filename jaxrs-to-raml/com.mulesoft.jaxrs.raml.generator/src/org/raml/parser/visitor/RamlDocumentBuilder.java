@@ -15,18 +15,15 @@
  */
 package org.raml.parser.visitor;
 
-import static org.raml.parser.rule.BaseUriRule.URI_PATTERN;
-
-import java.lang.reflect.Field;
 import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.ArrayUtils;
+import org.raml.model.MimeType;
 import org.raml.model.Raml;
 import org.raml.model.Resource;
 import org.raml.model.parameter.UriParameter;
 import org.raml.parser.builder.NodeBuilder;
+import org.raml.parser.builder.ValueClassAware;
 import org.raml.parser.loader.DefaultResourceLoader;
 import org.raml.parser.loader.ResourceLoader;
 import org.raml.parser.tagresolver.IncludeResolver;
@@ -126,22 +123,15 @@ public class RamlDocumentBuilder extends YamlDocumentBuilder<Raml>
         return builder.toString();
     }
 
-    private boolean isBodyBuilder(NodeBuilder builder)
+    /**
+     * <p>isBodyBuilder.</p>
+     *
+     * @param builder a {@link org.raml.parser.builder.NodeBuilder} object.
+     * @return <code>true</code> if the builder creates {@link org.raml.model.MimeType} values.
+     */
+    static boolean isBodyBuilder(NodeBuilder<?> builder)
     {
-        try
-        {
-            Field valueType = builder.getClass().getDeclaredField("valueClass");
-            valueType.setAccessible(true);
-            return valueType.get(builder) != null && ((Class) valueType.get(builder)).getName().equals("org.raml.model.MimeType");
-        }
-        catch (NoSuchFieldException e)
-        {
-            return false;
-        }
-        catch (IllegalAccessException e)
-        {
-            return false;
-        }
+        return builder instanceof ValueClassAware && ((ValueClassAware) builder).getValueClass() == MimeType.class;
     }
 
     /**
@@ -192,11 +182,8 @@ public class RamlDocumentBuilder extends YamlDocumentBuilder<Raml>
 
     private void populateDefaultUriParameters(Resource resource)
     {
-        Pattern pattern = Pattern.compile(URI_PATTERN);
-        Matcher matcher = pattern.matcher(resource.getRelativeUri());
-        while (matcher.find())
+        for (String paramName : resource.getUriTemplate().getParameterNames())
         {
-            String paramName = matcher.group(1);
             if (!resource.getUriParameters().containsKey(paramName))
             {
                 resource.getUriParameters().put(paramName, new UriParameter(paramName));
@@ -128,4 +128,18 @@ public class BasicTest extends TestCase{
 		QueryParameter queryParameter = queryParameters.get("enabled");
 		TestCase.assertNotNull(queryParameter);
 	}
+	
+	public void testParallelVisit(){
+		Class<?>[] classes = { ItemResource.class, TestResource1.class, TestResource2.class, TestResource4.class, TestResource5Child.class };
+		RuntimeRamlBuilder sequential = new RuntimeRamlBuilder();
+		sequential.addClasses(classes);
+		RuntimeRamlBuilder parallel = new RuntimeRamlBuilder();
+		parallel.setParallelism(4);
+		parallel.addClasses(classes);
+		String raml = parallel.toRAML();
+		TestCase.assertEquals(sequential.toRAML(), raml);
+		Raml build = new RamlDocumentBuilder().build(raml);
+		TestCase.assertNotNull(build.getResource("/item"));
+		TestCase.assertNotNull(build.getResource("/test2/qqq").getAction(ActionType.PUT));
+	}
 }
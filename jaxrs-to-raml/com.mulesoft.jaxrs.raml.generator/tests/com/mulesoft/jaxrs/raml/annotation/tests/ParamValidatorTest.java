@@ -0,0 +1,205 @@
+package com.mulesoft.jaxrs.raml.annotation.tests;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.raml.model.ParamType;
+import org.raml.model.parameter.AbstractParam;
+import org.raml.model.parameter.ParamValidator;
+
+import junit.framework.TestCase;
+
+public class ParamValidatorTest extends TestCase{
+
+	private static final String[] STRINGS = {
+		"", "a", "ab", "abc", "abcd", "abcde", "ABC", "a1", "red", "green", "blue", "Red", "blue "
+	};
+
+	private static final String[] NUMBERS = {
+		"", "-", "+", "0", "1", "-1", "+1", "+0", "10", "-10", "100", "101", "99.5", "100.0", "1e2", "1E3",
+		"abc", "1x", "2147483647", "2147483648", "-2147483648", "-2147483649",
+		"999999999999999999", "9223372036854775807", "9223372036854775808", "-9223372036854775809",
+		"123456789012345678901234567890", "+-1", "--1", "0.5", "-0.5"
+	};
+
+	private static final BigDecimal[] BOUNDS = {
+		null, BigDecimal.ZERO, BigDecimal.TEN, new BigDecimal("-10"), new BigDecimal("100"), new BigDecimal("99.5"),
+		new BigDecimal("2147483647"), new BigDecimal("9223372036854775807"), new BigDecimal("9223372036854775808"),
+		new BigDecimal("-9223372036854775809"), new BigDecimal("1e30")
+	};
+
+	private static AbstractParam param(ParamType type){
+		AbstractParam param = new AbstractParam();
+		param.setType(type);
+		return param;
+	}
+
+	//ParamType.validate as it was before the validator was introduced
+	private static boolean legacyValidate(AbstractParam param, String value){
+		switch (param.getType()){
+		case STRING:
+			if (param.getPattern() != null && !value.matches(param.getPattern())){
+				return false;
+			}
+			if (param.getMinLength() != null && value.length() < param.getMinLength()){
+				return false;
+			}
+			if (param.getMaxLength() != null && value.length() > param.getMaxLength()){
+				return false;
+			}
+			if (param.getEnumeration() != null && !param.getEnumeration().contains(value)){
+				return false;
+			}
+			return true;
+		case NUMBER:
+			BigDecimal number;
+			try{
+				number = new BigDecimal(value);
+			}catch (NumberFormatException nfe){
+				return false;
+			}
+			if (param.getMinimum() != null && number.compareTo(param.getMinimum()) < 0){
+				return false;
+			}
+			if (param.getMaximum() != null && number.compareTo(param.getMaximum()) > 0){
+				return false;
+			}
+			return true;
+		case INTEGER:
+			Integer integer;
+			try{
+				integer = Integer.parseInt(value);
+			}catch (NumberFormatException nfe){
+				return false;
+			}
+			if (param.getMinimum() != null && BigDecimal.valueOf(integer).compareTo(param.getMinimum()) < 0){
+				return false;
+			}
+			if (param.getMaximum() != null && BigDecimal.valueOf(integer).compareTo(param.getMaximum()) > 0){
+				return false;
+			}
+			return true;
+		default:
+			throw new IllegalArgumentException(String.valueOf(param.getType()));
+		}
+	}
+
+	private static void assertSameAsLegacy(AbstractParam param, String[] values){
+		for (String value : values){
+			assertEquals(param.getType() + " " + param.getMinimum() + ".." + param.getMaximum() + " '" + value + "'",
+					legacyValidate(param, value), param.validate(value));
+		}
+	}
+
+	public void testStringMatchesLegacy(){
+		String[] patterns = {null, "[a-z]+", "a.*", "[a-z]{2,3}"};
+		Integer[] lengths = {null, 0, 2, 3};
+		List<List<String>> enumerations = new ArrayList<List<String>>();
+		enumerations.add(null);
+		enumerations.add(Arrays.asList("red", "green", "blue"));
+		enumerations.add(new ArrayList<String>());
+		for (String pattern : patterns){
+			for (Integer minLength : lengths){
+				for (Integer maxLength : lengths){
+					for (List<String> enumeration : enumerations){
+						AbstractParam param = param(ParamType.STRING);
+						param.setPattern(pattern);
+						param.setMinLength(minLength);
+						param.setMaxLength(maxLength);
+						param.setEnumeration(enumeration);
+						assertSameAsLegacy(param, STRINGS);
+					}
+				}
+			}
+		}
+	}
+
+	public void testNumbersMatchLegacy(){
+		for (ParamType type : new ParamType[]{ParamType.NUMBER, ParamType.INTEGER}){
+			for (BigDecimal minimum : BOUNDS){
+				for (BigDecimal maximum : BOUNDS){
+					AbstractParam param = param(type);
+					param.setMinimum(minimum);
+					param.setMaximum(maximum);
+					assertSameAsLegacy(param, NUMBERS);
+				}
+			}
+		}
+	}
+
+	public void testLongBoundsAndBigDecimalFallback(){
+		AbstractParam param = param(ParamType.NUMBER);
+		param.setMinimum(new BigDecimal("-5"));
+		param.setMaximum(new BigDecimal("5"));
+		assertTrue(param.validate("+5"));
+		assertTrue(param.validate("-5"));
+		assertFalse(param.validate("6"));
+		assertTrue(param.validate("4.99"));
+		assertFalse(param.validate("5.01"));
+		assertFalse(param.validate("99999999999999999999"));
+		assertFalse(param.validate("-99999999999999999999"));
+
+		param.setMaximum(new BigDecimal("5.5"));
+		assertTrue(param.validate("5"));
+		assertTrue(param.validate("+5.5"));
+		assertFalse(param.validate("6"));
+
+		param.setMaximum(new BigDecimal("99999999999999999999"));
+		assertTrue(param.validate("9223372036854775808"));
+		assertFalse(param.validate("100000000000000000000"));
+	}
+
+	public void testCompiledOnce(){
+		AbstractParam param = param(ParamType.STRING);
+		param.setPattern("[a-z]+");
+		param.setEnumeration(Arrays.asList("red", "green"));
+		ParamValidator validator = param.getValidator();
+		assertTrue(param.validate("red"));
+		assertSame(validator, param.getValidator());
+
+		assertTrue(param.validate("green"));
+		assertSame(validator, param.getValidator());
+
+		//setting a constraint compiles again
+		param.setPattern("[a-z]+");
+		assertNotSame(validator, param.getValidator());
+	}
+
+	public void testStaleness(){
+		AbstractParam param = param(ParamType.STRING);
+		List<String> enumeration = new ArrayList<String>(Arrays.asList("red", "green"));
+		param.setEnumeration(enumeration);
+		assertTrue(param.validate("red"));
+		assertFalse(param.validate("blue"));
+
+		//the validator keeps a copy, edits are seen once the list is set again
+		enumeration.set(1, "blue");
+		assertFalse(param.validate("blue"));
+		param.setEnumeration(enumeration);
+		assertTrue(param.validate("blue"));
+		assertFalse(param.validate("green"));
+		enumeration.add("green");
+		param.setEnumeration(enumeration);
+		assertTrue(param.validate("green"));
+
+		param.setPattern("r.*");
+		assertTrue(param.validate("red"));
+		assertFalse(param.validate("blue"));
+		param.setPattern(null);
+		param.setMaxLength(Integer.valueOf(3));
+		assertTrue(param.validate("red"));
+		assertFalse(param.validate("green"));
+		param.setMaxLength(Integer.valueOf(1000));
+		assertTrue(param.validate("green"));
+
+		param.setType(ParamType.INTEGER);
+		param.setMinimum(new BigDecimal("1000"));
+		assertFalse(param.validate("999"));
+		param.setMinimum(new BigDecimal("1000"));
+		assertTrue(param.validate("1000"));
+		param.setMinimum(new BigDecimal("1001"));
+		assertFalse(param.validate("1000"));
+	}
+}
@@ -0,0 +1,129 @@
+package com.mulesoft.jaxrs.raml.annotation.tests;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.raml.model.Raml;
+import org.raml.model.Resource;
+
+import junit.framework.TestCase;
+
+public class ResourceLookupTest extends TestCase{
+
+	private static Resource resource(String relativeUri, Resource... children){
+		Resource resource = new Resource();
+		resource.setRelativeUri(relativeUri);
+		for (Resource child : children){
+			resource.getResources().put(child.getRelativeUri(), child);
+		}
+		return resource;
+	}
+
+	private Raml raml(Resource... resources){
+		Raml raml = new Raml();
+		for (Resource resource : resources){
+			raml.getResources().put(resource.getRelativeUri(), resource);
+		}
+		return raml;
+	}
+
+	public void testExactLookup(){
+		Resource version = resource("/{version}");
+		Resource a = resource("/a", version);
+		Resource item = resource("/item", a);
+		Resource test2 = resource("/test2/qqq");
+		Raml raml = raml(item, test2);
+		assertSame(item, raml.getResource("/item"));
+		assertSame(version, raml.getResource("/item/a/{version}"));
+		assertSame(test2, raml.getResource("/test2/qqq"));
+		assertSame(version, item.getResource("/a/{version}"));
+		assertNull(raml.getResource("/item/b"));
+		assertNull(raml.getResource("/test2"));
+	}
+
+	public void testMatchResource(){
+		Resource userId = resource("/{userId}");
+		Resource me = resource("/me");
+		Resource file = resource("/files/{name}.{ext}");
+		Resource users = resource("/users", userId, me, file);
+		Raml raml = raml(users);
+		assertSame(users, raml.matchResource("/users"));
+		assertSame(users, raml.matchResource("/users/"));
+		assertSame(me, raml.matchResource("/users/me"));
+		assertSame(userId, raml.matchResource("/users/42"));
+		assertSame(file, raml.matchResource("/users/files/report.pdf"));
+		assertNull(raml.matchResource("/users/files/report"));
+		assertNull(raml.matchResource("/users/42/orders"));
+	}
+
+	public void testTreeModifiedAfterLookup(){
+		Resource a = resource("/a");
+		Raml raml = raml(a);
+		assertNull(raml.getResource("/b"));
+		assertNull(raml.getResource("/a/c"));
+		assertNull(a.getResource("/c"));
+
+		Resource b = resource("/b");
+		raml.getResources().put("/b", b);
+		assertSame(b, raml.getResource("/b"));
+		assertSame(b, raml.matchResource("/b"));
+
+		Resource c = resource("/c");
+		a.getResources().put("/c", c);
+		assertSame(c, raml.getResource("/a/c"));
+		assertSame(c, a.getResource("/c"));
+
+		a.getResources().values().remove(c);
+		assertNull(raml.getResource("/a/c"));
+		assertNull(a.getResource("/c"));
+
+		b.setRelativeUri("/renamed");
+		raml.getResources().entrySet().iterator().next().setValue(b);
+		assertSame(b, raml.getResource("/renamed"));
+		assertNull(raml.getResource("/a"));
+	}
+
+	public void testResourceMovedToAnotherTree(){
+		Resource a = resource("/a");
+		Raml first = raml(a);
+		Raml second = raml(resource("/b"));
+		assertSame(a, first.getResource("/a"));
+		assertNull(second.getResource("/b/a"));
+
+		first.getResources().remove("/a");
+		second.getResources().get("/b").getResources().put("/a", a);
+		assertNull(first.getResource("/a"));
+		assertSame(a, second.getResource("/b/a"));
+
+		// the moved resource now reports its changes to the second tree
+		Resource c = resource("/c");
+		a.getResources().put("/c", c);
+		assertSame(c, second.getResource("/b/a/c"));
+		assertSame(c, second.matchResource("/b/a/c"));
+	}
+
+	public void testInvalidateCascades(){
+		Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+		Resource a = resource("/a");
+		a.setResources(children);
+		Raml raml = raml(a);
+		assertNull(a.getResource("/c"));
+		assertNull(raml.getResource("/a/c"));
+
+		// changed behind the model's back, only an explicit invalidation sees it
+		Resource c = resource("/c");
+		children.put("/c", c);
+		raml.invalidateResourceIndex();
+		assertSame(c, a.getResource("/c"));
+		assertSame(c, raml.getResource("/a/c"));
+	}
+
+	public void testInvalidate(){
+		Raml raml = raml(resource("/a"));
+		assertNull(raml.getResource("/b"));
+		Resource b = resource("/b");
+		raml.getResources().put("/b", b);
+		raml.invalidateResourceIndex();
+		assertSame(b, raml.getResource("/b"));
+	}
+}
@@ -0,0 +1,125 @@
+package com.mulesoft.jaxrs.raml.annotation.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.raml.parser.rule.BaseUriRule;
+import org.raml.parser.utils.UriTemplate;
+
+import junit.framework.TestCase;
+
+public class UriTemplateTest extends TestCase{
+
+	private static final String[] URIS = {
+		"", "/", "/items", "/items/{id}", "{version}/items", "/items/{id}/parts/{partId}",
+		"/{a}{b}", "/{a}-{b}.json", "/{id}/copies/{id}", "/{id_2}/{ID}",
+		"/{}", "/items/{", "/items/{id", "/items/}", "/items/{id-1}", "/items/{ id }", "/{{id}}", "/{a{b}"
+	};
+
+	//parameter names as populateDefaultUriParameters collected them before UriTemplate
+	private static Set<String> legacyParameterNames(String uri){
+		Set<String> names = new LinkedHashSet<String>();
+		Matcher matcher = Pattern.compile(BaseUriRule.URI_PATTERN).matcher(uri);
+		while (matcher.find()){
+			names.add(matcher.group(1));
+		}
+		return names;
+	}
+
+	private static List<String> tokens(UriTemplate template){
+		List<String> tokens = new ArrayList<String>();
+		for (UriTemplate.Token token : template.getTokens()){
+			tokens.add(token.toString());
+		}
+		return tokens;
+	}
+
+	public void testSameParametersAsLegacyPattern(){
+		for (String uri : URIS){
+			Set<String> expected = legacyParameterNames(uri);
+			if (uri.equals("/{}")){
+				//the old pattern made an unnamed parameter out of empty braces
+				assertEquals(uri, new LinkedHashSet<String>(Arrays.asList((String) null)), expected);
+				expected.clear();
+			}
+			assertEquals(uri, new ArrayList<String>(expected), UriTemplate.parse(uri).getParameterNames());
+		}
+	}
+
+	public void testTokensRebuildTheUri(){
+		for (String uri : URIS){
+			StringBuilder rebuilt = new StringBuilder();
+			for (String token : tokens(UriTemplate.parse(uri))){
+				rebuilt.append(token);
+			}
+			assertEquals(uri, rebuilt.toString());
+		}
+	}
+
+	public void testEmptyBraces(){
+		UriTemplate template = UriTemplate.parse("/{}");
+		assertFalse(template.hasParameters());
+		assertEquals(Arrays.asList("/{}"), tokens(template));
+		assertEquals("/{}", template.expand("temp"));
+	}
+
+	public void testUnclosedBraces(){
+		assertFalse(UriTemplate.parse("/items/{").hasParameters());
+		assertFalse(UriTemplate.parse("/items/{id").hasParameters());
+		assertEquals(Arrays.asList("/{a/items"), tokens(UriTemplate.parse("/{a/items")));
+		assertEquals(Arrays.asList("b"), UriTemplate.parse("/{a{b}").getParameterNames());
+		assertEquals(Arrays.asList("/{a", "{b}"), tokens(UriTemplate.parse("/{a{b}")));
+	}
+
+	public void testNonWordCharactersInBraces(){
+		assertFalse(UriTemplate.parse("/items/{id-1}").hasParameters());
+		assertFalse(UriTemplate.parse("/items/{ id }").hasParameters());
+		assertFalse(UriTemplate.parse("/items/{id.json}").hasParameters());
+		assertEquals("/items/{id-1}", UriTemplate.parse("/items/{id-1}").expand("temp"));
+		assertEquals(Arrays.asList("id"), UriTemplate.parse("/{{id}}").getParameterNames());
+		assertEquals(Arrays.asList("/{", "{id}", "}"), tokens(UriTemplate.parse("/{{id}}")));
+	}
+
+	public void testAdjacentParameters(){
+		UriTemplate template = UriTemplate.parse("/{a}{b}");
+		assertEquals(Arrays.asList("a", "b"), template.getParameterNames());
+		assertEquals(Arrays.asList("/", "{a}", "{b}"), tokens(template));
+		assertEquals("/temptemp", template.expand("temp"));
+		assertTrue(template.matches("/xy"));
+		assertTrue(template.matches("/xyz"));
+		assertFalse(template.matches("/x"));
+		assertEquals(1, template.getPathSegments().size());
+	}
+
+	public void testRepeatedParameterNames(){
+		UriTemplate template = UriTemplate.parse("/{id}/copies/{id}");
+		assertEquals(Arrays.asList("id"), template.getParameterNames());
+		assertEquals(Arrays.asList("/", "{id}", "/copies/", "{id}"), tokens(template));
+		assertEquals("/temp/copies/temp", template.expand("temp"));
+		assertTrue(template.matches("/1/copies/2"));
+		assertFalse(template.matches("/1/copies/"));
+	}
+
+	public void testPathSegments(){
+		List<UriTemplate> segments = UriTemplate.parse("/items/{id}.{format}/parts/").getPathSegments();
+		assertEquals(3, segments.size());
+		assertEquals("items", segments.get(0).getUri());
+		assertFalse(segments.get(0).hasParameters());
+		assertEquals("{id}.{format}", segments.get(1).getUri());
+		assertEquals(Arrays.asList("id", "format"), segments.get(1).getParameterNames());
+		assertTrue(segments.get(1).matches("42.json"));
+		assertEquals("parts", segments.get(2).getUri());
+	}
+
+	public void testNullUri(){
+		UriTemplate template = UriTemplate.parse(null);
+		assertEquals("", template.getUri());
+		assertTrue(template.getTokens().isEmpty());
+		assertTrue(template.matches(""));
+	}
+}
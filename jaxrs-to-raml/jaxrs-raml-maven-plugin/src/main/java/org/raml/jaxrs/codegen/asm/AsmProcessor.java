@@ -0,0 +1,552 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.asm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.ParameterNode;
+import org.raml.jaxrs.codegen.asm.GenericType.MemberSignature;
+import org.raml.jaxrs.codegen.maven.BodyTypeResolver;
+import org.raml.jaxrs.codegen.maven.ProxyType;
+import org.raml.jaxrs.codegen.maven.TypeModelRegistry;
+import org.raml.jaxrs.codegen.model.AnnotationModel;
+import org.raml.jaxrs.codegen.model.BasicModel;
+import org.raml.jaxrs.codegen.model.FieldModel;
+import org.raml.jaxrs.codegen.model.GenericElementModel;
+import org.raml.jaxrs.codegen.model.MethodModel;
+import org.raml.jaxrs.codegen.model.ParameterModel;
+import org.raml.jaxrs.codegen.model.TypeModel;
+import org.raml.jaxrs.codegen.model.TypeParameterModel;
+
+import com.mulesoft.jaxrs.raml.annotation.model.IAnnotationModel;
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeModel;
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeParameter;
+
+/**
+ * <p>Builds the type models from compiled classes instead of sources.</p>
+ *
+ * Every class file under the classes directory is read with an ASM <code>ClassReader</code>
+ * without building method bodies. Annotations retained in class files, generic signatures and
+ * parameter names, taken from the <code>MethodParameters</code> attribute or else from the
+ * local variable table, are kept. Javadoc is not in class files, it is merged from an optional
+ * {@link JavadocIndex}. Types outside the directory are modeled by name and runtime annotations
+ * only, as {@link org.raml.jaxrs.codegen.spoon.SpoonProcessor} does for types it has no sources for.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class AsmProcessor {
+
+	private static final String CLASS_EXTENSION = ".class";
+
+	private static final String PACKAGE_INFO = "package-info";
+
+	private static final String OBJECT = "java.lang.Object";
+
+	private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+
+	static {
+		for(Class<?> c : new Class<?>[]{ boolean.class, char.class, byte.class, short.class,
+				int.class, float.class, long.class, double.class, void.class }){
+			PRIMITIVES.put(c.getName(), c);
+		}
+	}
+
+	private final TypeModelRegistry registry = new TypeModelRegistry();
+
+	private final List<String> warnings = new ArrayList<String>();
+
+	private final File classesDirectory;
+
+	private final ClassLoader classLoader;
+
+	private final JavadocIndex javadocIndex;
+
+	/**
+	 * <p>Constructor for AsmProcessor.</p>
+	 *
+	 * @param classesDirectory the directory holding the compiled classes.
+	 * @param classLoader a {@link java.lang.ClassLoader} the classes and their dependencies can be loaded with.
+	 * @param javadocIndex a {@link org.raml.jaxrs.codegen.asm.JavadocIndex} object, may be <code>null</code>.
+	 */
+	public AsmProcessor(File classesDirectory, ClassLoader classLoader, JavadocIndex javadocIndex) {
+		this.classesDirectory = classesDirectory;
+		this.classLoader = classLoader;
+		this.javadocIndex = javadocIndex;
+	}
+
+	/**
+	 * <p>Models every top level class of the classes directory, in name order.</p>
+	 */
+	public void process(){
+		List<String> names = new ArrayList<String>();
+		collectClassNames(classesDirectory, "", names);
+		Collections.sort(names);
+		for(String name : names){
+			if(name.indexOf('$') >= 0 || name.endsWith(PACKAGE_INFO)){
+				continue;
+			}
+			ITypeModel type = registry.getType(name);
+			if(type==null){
+				type = processType(name);
+			}
+			registry.registerTargetType(type);
+		}
+		new BodyTypeResolver(registry).process();
+	}
+
+	private void collectClassNames(File directory, String packagePrefix, List<String> names) {
+		File[] files = directory.listFiles();
+		if(files==null){
+			return;
+		}
+		for(File file : files){
+			String fileName = file.getName();
+			if(file.isDirectory()){
+				collectClassNames(file, packagePrefix + fileName + ".", names);
+			}
+			else if(fileName.endsWith(CLASS_EXTENSION)){
+				names.add(packagePrefix + fileName.substring(0, fileName.length() - CLASS_EXTENSION.length()));
+			}
+		}
+	}
+
+	private TypeModel processType(String qualifiedName) {
+		ClassInfo classInfo = readClass(qualifiedName);
+		if(classInfo==null){
+			return null;
+		}
+		TypeModel type = new TypeModel(registry);
+		type.setFullyQualifiedName(qualifiedName);
+		registry.registerType(type);
+
+		fillBasic(type, classInfo.access, getSimpleName(qualifiedName));
+		if(javadocIndex!=null){
+			type.setDocumentation(javadocIndex.getTypeDocumentation(qualifiedName));
+		}
+		addAnnotations(type, classInfo.visibleAnnotations);
+		addAnnotations(type, classInfo.invisibleAnnotations);
+		if(classInfo.signature!=null){
+			fillTypeParameters(type, GenericType.parseMember(classInfo.signature).getTypeParameters());
+		}
+
+		if(classInfo.superName!=null){
+			String superName = Type.getObjectType(classInfo.superName).getClassName();
+			if(!superName.equals(OBJECT)){
+				type.setSuperClass(processTypeReference(GenericType.fromType(Type.getObjectType(classInfo.superName))));
+			}
+		}
+		ArrayList<ITypeModel> interfaces = new ArrayList<ITypeModel>();
+		for(String interfaceName : classInfo.interfaces){
+			interfaces.add(processTypeReference(GenericType.fromType(Type.getObjectType(interfaceName))));
+		}
+		type.setImplementedInterfaces(interfaces.toArray(new ITypeModel[interfaces.size()]));
+
+		for(MethodNode method : classInfo.methods){
+			if((method.access & (Opcodes.ACC_SYNTHETIC | Opcodes.ACC_BRIDGE)) != 0 || method.name.startsWith("<")){
+				continue;
+			}
+			type.addMethod(processMethod(method, type));
+		}
+		for(FieldNode field : classInfo.fields){
+			if((field.access & Opcodes.ACC_SYNTHETIC) != 0){
+				continue;
+			}
+			type.addField(processField(field, type));
+		}
+		return type;
+	}
+
+	private ClassInfo readClass(String qualifiedName) {
+		File file = new File(classesDirectory, qualifiedName.replace('.', File.separatorChar) + CLASS_EXTENSION);
+		if(!file.isFile()){
+			return null;
+		}
+		InputStream stream = null;
+		try {
+			stream = new FileInputStream(file);
+			ClassInfo classInfo = new ClassInfo();
+			new ClassReader(stream).accept(classInfo, ClassReader.SKIP_FRAMES);
+			return classInfo;
+		} catch (IOException e) {
+			throw new IllegalStateException("Can not read " + file, e);
+		} finally {
+			IOUtils.closeQuietly(stream);
+		}
+	}
+
+	private MethodModel processMethod(MethodNode method, TypeModel ownerType) {
+		MethodModel methodModel = new MethodModel();
+		fillBasic(methodModel, method.access, method.name);
+		if(javadocIndex!=null){
+			methodModel.setDocumentation(javadocIndex.getMethodDocumentation(ownerType.getFullyQualifiedName(), method.name, method.desc));
+		}
+		addAnnotations(methodModel, method.visibleAnnotations);
+		addAnnotations(methodModel, method.invisibleAnnotations);
+
+		Type[] argumentTypes = Type.getArgumentTypes(method.desc);
+		List<GenericType> parameterTypes = null;
+		GenericType returnedType = null;
+		if(method.signature!=null){
+			MemberSignature signature = GenericType.parseMember(method.signature);
+			fillTypeParameters(methodModel, signature.getTypeParameters());
+			if(signature.getParameterTypes().size()==argumentTypes.length){
+				parameterTypes = signature.getParameterTypes();
+				returnedType = signature.getReturnType();
+			}
+		}
+		if(parameterTypes==null){
+			parameterTypes = new ArrayList<GenericType>();
+			for(Type argumentType : argumentTypes){
+				parameterTypes.add(GenericType.fromType(argumentType));
+			}
+			returnedType = GenericType.fromType(Type.getReturnType(method.desc));
+		}
+
+		methodModel.setReturnedType(processTypeReference(returnedType));
+		fillJAXBType(methodModel, returnedType);
+
+		String[] parameterNames = getParameterNames(method, argumentTypes);
+		for(int i = 0 ; i < argumentTypes.length ; i++){
+			GenericType parameterType = parameterTypes.get(i);
+			ParameterModel parameterModel = new ParameterModel();
+			parameterModel.setName(parameterNames[i]);
+			parameterModel.setType(parameterType.getQualifiedName());
+			parameterModel.setRequired(parameterType.isPrimitive());
+			addAnnotations(parameterModel, getParameterAnnotations(method.visibleParameterAnnotations, i));
+			addAnnotations(parameterModel, getParameterAnnotations(method.invisibleParameterAnnotations, i));
+			fillJAXBType(parameterModel, parameterType);
+			processTypeReference(parameterType);
+			methodModel.addParameter(parameterModel);
+		}
+
+		if(returnedType.isVariable() && returnedType.getDimensions()==0){
+			String variable = returnedType.getQualifiedName();
+			if(isTypeParameter(ownerType, variable) || isTypeParameter(methodModel, variable)){
+				methodModel.setHasGenericReturnType(true);
+			}
+		}
+		return methodModel;
+	}
+
+	private FieldModel processField(FieldNode field, TypeModel ownerType) {
+		FieldModel fieldModel = new FieldModel();
+		fillBasic(fieldModel, field.access, field.name);
+		if(javadocIndex!=null){
+			fieldModel.setDocumentation(javadocIndex.getFieldDocumentation(ownerType.getFullyQualifiedName(), field.name));
+		}
+		addAnnotations(fieldModel, field.visibleAnnotations);
+		addAnnotations(fieldModel, field.invisibleAnnotations);
+
+		GenericType type = field.signature!=null
+				? GenericType.parseField(field.signature)
+				: GenericType.fromType(Type.getType(field.desc));
+		fillJAXBType(fieldModel, type);
+		if(type.isVariable() && type.getDimensions()==0 && isTypeParameter(ownerType, type.getQualifiedName())){
+			fieldModel.setGeneric(true);
+		}
+		return fieldModel;
+	}
+
+	private String[] getParameterNames(MethodNode method, Type[] argumentTypes) {
+		String[] names = new String[argumentTypes.length];
+		if(method.parameters!=null && method.parameters.size()==argumentTypes.length){
+			for(int i = 0 ; i < names.length ; i++){
+				ParameterNode parameter = method.parameters.get(i);
+				names[i] = parameter.name;
+			}
+		}
+		else if(method.localVariables!=null){
+			int slot = (method.access & Opcodes.ACC_STATIC) != 0 ? 0 : 1;
+			for(int i = 0 ; i < names.length ; i++){
+				for(LocalVariableNode variable : method.localVariables){
+					if(variable.index==slot){
+						names[i] = variable.name;
+						break;
+					}
+				}
+				slot += argumentTypes[i].getSize();
+			}
+		}
+		for(int i = 0 ; i < names.length ; i++){
+			if(names[i]==null){
+				names[i] = "arg" + i;
+			}
+		}
+		return names;
+	}
+
+	private static List<AnnotationNode> getParameterAnnotations(List<AnnotationNode>[] annotations, int index) {
+		if(annotations==null || index >= annotations.length){
+			return null;
+		}
+		return annotations[index];
+	}
+
+	private void fillBasic(BasicModel model, int access, String name) {
+		model.setName(name);
+		if((access & Opcodes.ACC_STATIC) != 0){
+			model.setStatic(true);
+		}
+		if((access & Opcodes.ACC_PUBLIC) != 0){
+			model.setPublic(true);
+		}
+	}
+
+	private void fillTypeParameters(GenericElementModel model, List<String> names) {
+		for(String name : names){
+			TypeParameterModel paramModel = new TypeParameterModel();
+			paramModel.setName(name);
+			model.getTypeParameters().add(paramModel);
+		}
+	}
+
+	private static boolean isTypeParameter(GenericElementModel model, String name) {
+		for(ITypeParameter tp : model.getTypeParameters()){
+			if(name.equals(tp.getName())){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addAnnotations(BasicModel model, List<AnnotationNode> annotations) {
+		if(annotations==null){
+			return;
+		}
+		for(AnnotationNode annotation : annotations){
+			model.addAnnotation(processAnnotation(annotation));
+		}
+	}
+
+	private IAnnotationModel processAnnotation(AnnotationNode annotation) {
+		String qualifiedName = Type.getType(annotation.desc).getClassName();
+
+		AnnotationModel annotationModel = new AnnotationModel();
+		annotationModel.setName(getSimpleName(qualifiedName));
+		annotationModel.setFullyQualifiedName(qualifiedName.replace('$', '.'));
+
+		List<Object> values = annotation.values;
+		if(values==null){
+			return annotationModel;
+		}
+		for(int i = 0 ; i + 1 < values.size() ; i += 2){
+			String key = (String) values.get(i);
+			Object value = values.get(i + 1);
+			if(value instanceof AnnotationNode){
+				annotationModel.addValue(key, new IAnnotationModel[]{ processAnnotation((AnnotationNode) value) });
+			}
+			else if(value instanceof List){
+				List<?> elements = (List<?>) value;
+				if(!elements.isEmpty() && elements.get(0) instanceof AnnotationNode){
+					IAnnotationModel[] annotationModels = new IAnnotationModel[elements.size()];
+					for(int j = 0 ; j < annotationModels.length ; j++){
+						annotationModels[j] = processAnnotation((AnnotationNode) elements.get(j));
+					}
+					annotationModel.addValue(key, annotationModels);
+				}
+				else{
+					String[] arr = new String[elements.size()];
+					for(int j = 0 ; j < arr.length ; j++){
+						arr[j] = toStringValue(elements.get(j));
+					}
+					//a single element is what the value shorthand compiles to, Spoon reports it as a scalar
+					annotationModel.addValue(key, arr.length==1 ? arr[0] : arr);
+				}
+			}
+			else{
+				annotationModel.addValue(key, toStringValue(value));
+			}
+		}
+		return annotationModel;
+	}
+
+	private static String toStringValue(Object value) {
+		if(value instanceof String[]){
+			//enum constant, stored as descriptor and name
+			return ((String[]) value)[1];
+		}
+		if(value instanceof Type){
+			return ((Type) value).getClassName();
+		}
+		return value.toString();
+	}
+
+	private ITypeModel processTypeReference(GenericType typeReference) {
+		String qualifiedName = typeReference.getQualifiedName();
+		ITypeModel existingType = registry.getType(qualifiedName);
+		if(existingType != null){
+			return new ProxyType(registry, qualifiedName);
+		}
+
+		if(!typeReference.isVariable() && typeReference.getDimensions()==0){
+			TypeModel type = processType(qualifiedName);
+			if(type!=null){
+				return type;
+			}
+		}
+
+		TypeModel type = new TypeModel(registry);
+		type.setFullyQualifiedName(qualifiedName);
+		registry.registerType(type);
+		type.setName(getSimpleName(qualifiedName));
+
+		Class<?> actualClass = loadClass(typeReference);
+		if(actualClass!=null){
+			try{
+				for(Annotation a : actualClass.getAnnotations()){
+					type.addAnnotation(new com.mulesoft.jaxrs.raml.annotation.model.reflection.AnnotationModel(a));
+				}
+			}
+			catch(RuntimeException e){
+				//an annotation type or value missing from the class path, the type is modeled without annotations
+				warnings.add("Annotations of " + qualifiedName + " can not be read, they are ignored: " + e);
+			}
+			catch(LinkageError e){
+				warnings.add("Annotations of " + qualifiedName + " can not be read, they are ignored: " + e);
+			}
+		}
+		return new ProxyType(registry, qualifiedName);
+	}
+
+	private void fillJAXBType(BasicModel model, GenericType type) {
+		List<GenericType> actualTypes = new ArrayList<GenericType>();
+		Class<?> actualClass = loadClass(type);
+		model.setJavaClass(actualClass);
+		if (actualClass!=null&&Collection.class.isAssignableFrom(actualClass)){
+			model.setCollection(true);
+			if (type.getArguments().size()>0){
+				actualTypes.add(type.getArguments().get(0));
+			}
+		}
+		else if (actualClass!=null&&Map.class.isAssignableFrom(actualClass)){
+			model.setMap(true);
+			if (type.getArguments().size()==2){
+				actualTypes.addAll(type.getArguments());
+			}
+		}
+		else{
+			actualTypes.add(type);
+		}
+		for(GenericType t : actualTypes){
+			model.addJaxbType(processTypeReference(t));
+		}
+	}
+
+	private Class<?> loadClass(GenericType type) {
+		if(type.isVariable()){
+			return null;
+		}
+		Class<?> result = PRIMITIVES.get(type.getClassName());
+		if(result==null){
+			try {
+				result = Class.forName(type.getClassName(), false, classLoader);
+			} catch (ClassNotFoundException e) {
+				return null;
+			} catch (LinkageError e) {
+				return null;
+			}
+		}
+		if(type.getDimensions()>0){
+			result = Array.newInstance(result, new int[type.getDimensions()]).getClass();
+		}
+		return result;
+	}
+
+	private static String getSimpleName(String qualifiedName) {
+		int start = Math.max(qualifiedName.lastIndexOf('.'), qualifiedName.lastIndexOf('$'));
+		return qualifiedName.substring(start + 1);
+	}
+
+	/**
+	 * <p>Getter for the field <code>registry</code>.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.codegen.maven.TypeModelRegistry} object.
+	 */
+	public TypeModelRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * <p>Problems that did not stop the processing, such as annotations of referenced types
+	 * that could not be loaded.</p>
+	 *
+	 * @return a {@link java.util.List} of messages.
+	 */
+	public List<String> getWarnings() {
+		return warnings;
+	}
+
+	/**
+	 * Class node that keeps the parameter related parts of the methods and drops their code.
+	 */
+	private static class ClassInfo extends ClassNode {
+
+		private ClassInfo() {
+			super(Opcodes.ASM5);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			final MethodNode method = (MethodNode) super.visitMethod(access, name, desc, signature, exceptions);
+			return new MethodVisitor(Opcodes.ASM5) {
+
+				@Override
+				public void visitParameter(String name, int access) {
+					method.visitParameter(name, access);
+				}
+
+				@Override
+				public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+					return method.visitAnnotation(desc, visible);
+				}
+
+				@Override
+				public AnnotationVisitor visitParameterAnnotation(int parameter, String desc, boolean visible) {
+					return method.visitParameterAnnotation(parameter, desc, visible);
+				}
+
+				@Override
+				public void visitLocalVariable(String name, String desc, String signature, Label start, Label end, int index) {
+					method.localVariables.add(new LocalVariableNode(name, desc, signature, null, null, index));
+				}
+			};
+		}
+	}
+}
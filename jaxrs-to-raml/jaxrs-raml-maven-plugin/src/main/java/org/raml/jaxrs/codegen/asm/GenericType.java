@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.asm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.signature.SignatureReader;
+import org.objectweb.asm.signature.SignatureVisitor;
+
+/**
+ * <p>A type as written in a member declaration, read from a generic signature or,
+ * when the member has none, from its erased descriptor.</p>
+ *
+ * Type variables keep their name as qualified name, which is how Spoon reports them,
+ * so that generic members are recognised the same way by both type models.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class GenericType {
+
+	private static final String OBJECT = "java.lang.Object";
+
+	private static final Set<String> PRIMITIVES = new HashSet<String>(Arrays.asList(
+			"boolean", "char", "byte", "short", "int", "float", "long", "double"));
+
+	private String className = OBJECT;
+
+	private String variable;
+
+	private int dimensions;
+
+	private final List<GenericType> arguments = new ArrayList<GenericType>();
+
+	/**
+	 * <p>Creates a type from an erased descriptor.</p>
+	 *
+	 * @param type a {@link org.objectweb.asm.Type} object.
+	 * @return a {@link org.raml.jaxrs.codegen.asm.GenericType} object.
+	 */
+	public static GenericType fromType(Type type) {
+		GenericType result = new GenericType();
+		if(type.getSort()==Type.ARRAY){
+			result.dimensions = type.getDimensions();
+			type = type.getElementType();
+		}
+		result.className = type.getClassName();
+		return result;
+	}
+
+	/**
+	 * <p>Parses a field signature.</p>
+	 *
+	 * @param signature a {@link java.lang.String} object.
+	 * @return a {@link org.raml.jaxrs.codegen.asm.GenericType} object.
+	 */
+	public static GenericType parseField(String signature) {
+		GenericType result = new GenericType();
+		new SignatureReader(signature).acceptType(new TypeBuilder(result));
+		return result;
+	}
+
+	/**
+	 * <p>Parses a class or method signature.</p>
+	 *
+	 * @param signature a {@link java.lang.String} object.
+	 * @return a {@link org.raml.jaxrs.codegen.asm.GenericType.MemberSignature} object.
+	 */
+	public static MemberSignature parseMember(String signature) {
+		MemberSignature result = new MemberSignature();
+		new SignatureReader(signature).accept(result);
+		return result;
+	}
+
+	/**
+	 * <p>getQualifiedName.</p>
+	 *
+	 * @return the class or type variable name followed by one <code>[]</code> per array dimension.
+	 */
+	public String getQualifiedName() {
+		StringBuilder bld = new StringBuilder(variable != null ? variable : className);
+		for(int i = 0 ; i < dimensions ; i++){
+			bld.append("[]");
+		}
+		return bld.toString();
+	}
+
+	/**
+	 * <p>Getter for the field <code>className</code>.</p>
+	 *
+	 * @return the erased element class name, <code>java.lang.Object</code> for type variables.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * <p>isVariable.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isVariable() {
+		return variable != null;
+	}
+
+	/**
+	 * <p>Getter for the field <code>dimensions</code>.</p>
+	 *
+	 * @return a int.
+	 */
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * <p>isPrimitive.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isPrimitive() {
+		return variable == null && dimensions == 0 && PRIMITIVES.contains(className);
+	}
+
+	/**
+	 * <p>Getter for the field <code>arguments</code>.</p>
+	 *
+	 * @return a {@link java.util.List} object.
+	 */
+	public List<GenericType> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * <p>Formal type parameters, parameter types and return type of a class or method signature.</p>
+	 */
+	public static class MemberSignature extends SignatureVisitor {
+
+		private final List<String> typeParameters = new ArrayList<String>();
+
+		private final List<GenericType> parameterTypes = new ArrayList<GenericType>();
+
+		private GenericType returnType;
+
+		private MemberSignature() {
+			super(Opcodes.ASM5);
+		}
+
+		public List<String> getTypeParameters() {
+			return typeParameters;
+		}
+
+		public List<GenericType> getParameterTypes() {
+			return parameterTypes;
+		}
+
+		public GenericType getReturnType() {
+			return returnType;
+		}
+
+		@Override
+		public void visitFormalTypeParameter(String name) {
+			typeParameters.add(name);
+		}
+
+		@Override
+		public SignatureVisitor visitClassBound() {
+			return new TypeBuilder(new GenericType());
+		}
+
+		@Override
+		public SignatureVisitor visitInterfaceBound() {
+			return new TypeBuilder(new GenericType());
+		}
+
+		@Override
+		public SignatureVisitor visitSuperclass() {
+			return new TypeBuilder(new GenericType());
+		}
+
+		@Override
+		public SignatureVisitor visitInterface() {
+			return new TypeBuilder(new GenericType());
+		}
+
+		@Override
+		public SignatureVisitor visitParameterType() {
+			GenericType type = new GenericType();
+			parameterTypes.add(type);
+			return new TypeBuilder(type);
+		}
+
+		@Override
+		public SignatureVisitor visitReturnType() {
+			returnType = new GenericType();
+			return new TypeBuilder(returnType);
+		}
+
+		@Override
+		public SignatureVisitor visitExceptionType() {
+			return new TypeBuilder(new GenericType());
+		}
+	}
+
+	private static class TypeBuilder extends SignatureVisitor {
+
+		private final GenericType type;
+
+		private TypeBuilder(GenericType type) {
+			super(Opcodes.ASM5);
+			this.type = type;
+		}
+
+		@Override
+		public void visitBaseType(char descriptor) {
+			type.className = Type.getType(String.valueOf(descriptor)).getClassName();
+		}
+
+		@Override
+		public void visitTypeVariable(String name) {
+			type.variable = name;
+		}
+
+		@Override
+		public SignatureVisitor visitArrayType() {
+			type.dimensions++;
+			return this;
+		}
+
+		@Override
+		public void visitClassType(String name) {
+			type.className = name.replace('/', '.');
+		}
+
+		@Override
+		public void visitInnerClassType(String name) {
+			type.className = type.className + "$" + name;
+			type.arguments.clear();
+		}
+
+		@Override
+		public void visitTypeArgument() {
+			type.arguments.add(new GenericType());
+		}
+
+		@Override
+		public SignatureVisitor visitTypeArgument(char wildcard) {
+			GenericType argument = new GenericType();
+			type.arguments.add(argument);
+			return new TypeBuilder(argument);
+		}
+	}
+}
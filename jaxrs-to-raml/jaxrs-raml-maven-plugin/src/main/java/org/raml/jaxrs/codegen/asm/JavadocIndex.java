@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.asm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Properties;
+
+import org.apache.commons.io.IOUtils;
+import org.objectweb.asm.Type;
+
+/**
+ * <p>Javadoc comments extracted ahead of time, since class files do not keep them.</p>
+ *
+ * The index is a UTF-8 properties file. Types are keyed by their qualified name,
+ * methods by their signature as in a Javadoc link, with the erased qualified parameter types,
+ * e.g. <code>com.acme.Type#method(java.lang.String,int[],com.acme.Outer.Inner)</code>, so overloads
+ * have their own comments, and fields by <code>com.acme.Type#field</code>.
+ * Values are the comment text as Spoon returns it, with the <code>@param</code> and
+ * <code>@return</code> tags kept so they can still be split per parameter.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class JavadocIndex {
+
+	private final Properties comments;
+
+	private JavadocIndex(Properties comments) {
+		this.comments = comments;
+	}
+
+	/**
+	 * <p>load.</p>
+	 *
+	 * @param file a {@link java.io.File} object.
+	 * @return a {@link org.raml.jaxrs.codegen.asm.JavadocIndex} object.
+	 * @throws java.io.IOException if any.
+	 */
+	public static JavadocIndex load(File file) throws IOException {
+		Properties comments = new Properties();
+		InputStreamReader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+		try {
+			comments.load(reader);
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+		return new JavadocIndex(comments);
+	}
+
+	/**
+	 * <p>getTypeDocumentation.</p>
+	 *
+	 * @param qualifiedName a {@link java.lang.String} object.
+	 * @return a {@link java.lang.String} object or <code>null</code>.
+	 */
+	public String getTypeDocumentation(String qualifiedName) {
+		return comments.getProperty(qualifiedName);
+	}
+
+	/**
+	 * <p>getMethodDocumentation.</p>
+	 *
+	 * @param qualifiedName a {@link java.lang.String} object.
+	 * @param methodName a {@link java.lang.String} object.
+	 * @param descriptor the method descriptor, its parameter types select the overload.
+	 * @return a {@link java.lang.String} object or <code>null</code>.
+	 */
+	public String getMethodDocumentation(String qualifiedName, String methodName, String descriptor) {
+		StringBuilder key = new StringBuilder(qualifiedName).append('#').append(methodName).append('(');
+		Type[] argumentTypes = Type.getArgumentTypes(descriptor);
+		for(int i = 0 ; i < argumentTypes.length ; i++){
+			if(i > 0){
+				key.append(',');
+			}
+			key.append(argumentTypes[i].getClassName().replace('$', '.'));
+		}
+		return comments.getProperty(key.append(')').toString());
+	}
+
+	/**
+	 * <p>getFieldDocumentation.</p>
+	 *
+	 * @param qualifiedName a {@link java.lang.String} object.
+	 * @param fieldName a {@link java.lang.String} object.
+	 * @return a {@link java.lang.String} object or <code>null</code>.
+	 */
+	public String getFieldDocumentation(String qualifiedName, String fieldName) {
+		return comments.getProperty(qualifiedName + "#" + fieldName);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.maven;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.raml.jaxrs.codegen.model.MethodModel;
+
+import com.mulesoft.jaxrs.raml.annotation.model.IAnnotationModel;
+import com.mulesoft.jaxrs.raml.annotation.model.IMethodModel;
+import com.mulesoft.jaxrs.raml.annotation.model.IParameterModel;
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeModel;
+
+/**
+ * <p>Resolves the returned type proxies and the request body type of the methods
+ * of every type in a registry, once all the types have been modeled.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class BodyTypeResolver {
+
+	private static final String API_OPERATION = "ApiOperation";
+
+	private static final String SWAGGER_API = "Api";
+
+	private static final String JAVAX_CONSUMES = "Consumes";
+
+	private final TypeModelRegistry registry;
+
+	/**
+	 * <p>Constructor for BodyTypeResolver.</p>
+	 *
+	 * @param registry a {@link org.raml.jaxrs.codegen.maven.TypeModelRegistry} object.
+	 */
+	public BodyTypeResolver(TypeModelRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * <p>process.</p>
+	 */
+	public void process(){
+		for(ITypeModel type : registry.getTypes()){
+			
+			boolean hasGlobalConsumes = hasGlobalConsumes(type);			
+			for(IMethodModel method : type.getMethods()){
+				adjustReturnedAndBodyType(method,hasGlobalConsumes);
+			}
+		}
+	}
+
+	private boolean hasGlobalConsumes(ITypeModel type) {
+		
+		if(type.hasAnnotation(JAVAX_CONSUMES)){
+			return true;
+		}
+		IAnnotationModel apiAnn = type.getAnnotation(SWAGGER_API);
+		if(apiAnn==null){
+			return false;
+		}
+		String consumes = apiAnn.getValue(JAVAX_CONSUMES.toLowerCase());
+		if(consumes!=null){
+			return true;
+		}
+		return false;
+	}
+
+	private void adjustReturnedAndBodyType(IMethodModel method_, boolean hasGlobalConsumes) {
+		
+		if(!(method_ instanceof MethodModel)){
+			return;
+		}		
+		MethodModel method = (MethodModel) method_;
+		
+		ITypeModel returnedType = method.getReturnedType();
+		if(returnedType!=null){
+			if(returnedType instanceof ProxyType){
+				ITypeModel rt = registry.getType(returnedType.getFullyQualifiedName());				
+				method.setReturnedType(rt);
+			}
+		}
+		
+		boolean hasConsumes = hasGlobalConsumes;
+		
+		IAnnotationModel apiOperation = method.getAnnotation(API_OPERATION);
+		if(apiOperation!=null){
+			IAnnotationModel[] subAnn = apiOperation.getSubAnnotations(JAVAX_CONSUMES.toLowerCase());
+			if(subAnn!=null){
+				hasConsumes = true;
+			}
+		}		
+		
+		IAnnotationModel consumes = method.getAnnotation(JAVAX_CONSUMES);
+		if(consumes!=null){
+			hasConsumes = true;
+		}
+		if(!hasConsumes){
+			return;
+		}
+		
+		IParameterModel[] parameters = method.getParameters();
+		for(IParameterModel param_ : parameters){
+			
+			String paramType = param_.getParameterType();
+//			if(paramType.startsWith("java.")){
+//				continue;
+//			}
+			if(isPrimitive(paramType)){
+				continue;
+			}
+			if(param_.hasAnnotation("QueryParam")){
+				continue;
+			}
+			if(param_.hasAnnotation("HeaderParam")){
+				continue;
+			}
+			if(param_.hasAnnotation("PathParam")){
+				continue;
+			}
+			if(param_.hasAnnotation("FormParam")){
+				continue;
+			}
+			if(param_.hasAnnotation("Context")){
+				continue;
+			}
+			
+			ITypeModel type = registry.getType(paramType);
+			if(type==null){
+				continue;
+			}
+//			IAnnotationModel typeAnnotation = type.getAnnotation(JAVAX_XML_TYPE);
+//			if(typeAnnotation==null){
+//				continue;
+//			}
+			method.setBodyType(type);
+			if(registry.isTargetType(paramType)){
+				break;
+			}
+		}
+		
+	}
+	
+	private static HashSet<String> primitives = new HashSet<String>(Arrays.asList(
+			"byte", "java.lang.Byte",
+			"short", "java.lang.Short",
+			"int", "java.lang.Integer",
+			"long", "java.lang.Long",
+			"float", "java.lang.Float",
+			"double", "java.lang.Double",
+			"character", "java.lang.Character",
+			"boolean", "java.lang.Boolean"
+		));
+
+	private boolean isPrimitive(String qName) {		
+		return primitives.contains(qName);
+	}
+
+}
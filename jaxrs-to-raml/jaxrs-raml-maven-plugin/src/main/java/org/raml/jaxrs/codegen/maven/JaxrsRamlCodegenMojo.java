@@ -20,6 +20,9 @@ import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE_PLUS_
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -34,6 +37,9 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.raml.jaxrs.codegen.asm.AsmProcessor;
+import org.raml.jaxrs.codegen.asm.JavadocIndex;
+import org.raml.jaxrs.codegen.spoon.JaxrsSourceFilter;
 import org.raml.jaxrs.codegen.spoon.SpoonProcessor;
 
 import com.mulesoft.jaxrs.raml.annotation.model.IRamlConfig;
@@ -63,6 +69,10 @@ public class JaxrsRamlCodegenMojo extends AbstractMojo {
 
 	private static final String RAML_EXTENSION = ".raml";
 
+	private static final String TYPE_MODEL_SPOON = "spoon";
+
+	private static final String TYPE_MODEL_ASM = "asm";
+
 	private static final String pathSeparator = System.getProperty("path.separator");	
 
 	/**
@@ -118,6 +128,41 @@ public class JaxrsRamlCodegenMojo extends AbstractMojo {
 	@Parameter(property = "extensions")
 	private List<String> extensions;
 
+	/**
+     * Number of threads the resource classes are visited with, the RAML file is the same
+     * whatever the value.
+     */
+    @Parameter(property = "parallelism", defaultValue = "1")
+    private int parallelism;
+
+	/**
+     * How the JAX-RS classes are modeled, <code>spoon</code> parses the sources and <code>asm</code>
+     * reads the compiled classes of <code>classesDirectory</code>. ASM is much faster and lighter but
+     * only sees annotations retained in class files and needs the goal bound after compilation,
+     * Spoon is used whenever there are no classes to read.
+     */
+    @Parameter(property = "typeModel", defaultValue = "spoon")
+    private String typeModel;
+
+	/**
+     * Directory of the compiled classes read by the <code>asm</code> type model.
+     */
+    @Parameter(property = "classesDirectory", defaultValue = "${project.build.outputDirectory}")
+    private File classesDirectory;
+
+	/**
+     * Javadoc index merged into the <code>asm</code> type model, class files carry no comments.
+     */
+    @Parameter(property = "javadocIndex")
+    private File javadocIndex;
+
+	/**
+     * Whether Spoon only gets the source files mentioning <code>javax.ws.rs</code> and the files
+     * they transitively reference, instead of every file of the source paths.
+     */
+    @Parameter(property = "preFilter", defaultValue = "true")
+    private boolean preFilter;
+
 
 	/**
 	 * <p>execute.</p>
@@ -130,29 +175,56 @@ public class JaxrsRamlCodegenMojo extends AbstractMojo {
 		
 		checkAndPrepareDirectories();
 		
-		String[] args = prepareArguments();
-
-		Launcher launcher = null;
-		try {
-			launcher = new Launcher();
-			launcher.setArgs(args);
-			launcher.run();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		TypeModelRegistry registry;
+		ClassLoader classLoader;
+		String defaultFileName = DEFAULT_RAML_FILENAME;
 		
-		if(launcher == null){
-			return;
+		if(useAsmTypeModel()){
+			classLoader = createClassLoader();
+			AsmProcessor asmProcessor = new AsmProcessor(classesDirectory, classLoader, loadJavadocIndex());
+			asmProcessor.process();
+			for(String warning : asmProcessor.getWarnings()){
+				getLog().warn(warning);
+			}
+			registry = asmProcessor.getRegistry();
+			for(ITypeModel type : registry.getTargetTypes()){
+				defaultFileName = type.getName() + RAML_EXTENSION;
+				break;
+			}
+		}
+		else{
+			String[] args = prepareArguments();
+
+			Launcher launcher = null;
+			try {
+				launcher = new Launcher();
+				launcher.setArgs(args);
+				launcher.run();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+			
+			if(launcher == null){
+				return;
+			}
+			
+			Factory factory = launcher.getFactory();
+			PackageFactory packageFactory = factory.Package();
+			Collection<CtPackage> allRoots = packageFactory.getAllRoots();
+			
+			SpoonProcessor spoonProcessor = new SpoonProcessor(factory);
+			spoonProcessor.process(allRoots);
+			
+			registry = spoonProcessor.getRegistry();
+			classLoader = launcher.getFactory().getEnvironment().getClassLoader();
+l0:			for(CtPackage pkg : allRoots){
+				for(CtType<?> type : pkg.getTypes()){
+					defaultFileName = type.getSimpleName() + RAML_EXTENSION;
+					break l0;
+				}				
+			}
 		}
 		
-		Factory factory = launcher.getFactory();
-		PackageFactory packageFactory = factory.Package();
-		Collection<CtPackage> allRoots = packageFactory.getAllRoots();
-		
-		SpoonProcessor spoonProcessor = new SpoonProcessor(factory);
-		spoonProcessor.process(allRoots);
-		
-		ClassLoader classLoader = launcher.getFactory().getEnvironment().getClassLoader();
 		IRamlConfig config = new MavenRamlConfig(title, baseUrl, version);
 		
 		if (extensions != null) {
@@ -178,24 +250,61 @@ public class JaxrsRamlCodegenMojo extends AbstractMojo {
 		}
 
 		ResourceVisitor rv = new RuntimeResourceVisitor(outputFile, classLoader, config);
-		for(ITypeModel type : spoonProcessor.getRegistry().getTargetTypes()){
-			rv.visit(type);
+		rv.visit(registry.getTargetTypes(), parallelism);
+		
+		saveRaml(rv.getRaml(),defaultFileName);
+		
+	}
+
+	private boolean useAsmTypeModel() throws MojoExecutionException {
+		
+		if(TYPE_MODEL_SPOON.equalsIgnoreCase(typeModel)){
+			return false;
+		}
+		if(!TYPE_MODEL_ASM.equalsIgnoreCase(typeModel)){
+			throw new MojoExecutionException("typeModel must be one of " + TYPE_MODEL_SPOON + " or " + TYPE_MODEL_ASM + ", was " + typeModel);
 		}
+		if(classesDirectory==null||!classesDirectory.isDirectory()){
+			getLog().warn("No compiled classes in " + classesDirectory + ", falling back to the Spoon type model.");
+			return false;
+		}
+		return true;
+	}
+
+	private ClassLoader createClassLoader() throws MojoExecutionException {
 		
-		saveRaml(rv.getRaml(),allRoots);
+		ArrayList<URL> urls = new ArrayList<URL>();
+		try {
+			urls.add(classesDirectory.toURI().toURL());
+			List<?> compileClasspathElements = project.getCompileClasspathElements();
+			if(compileClasspathElements!=null){
+				for(Object obj : compileClasspathElements){
+					urls.add(new File(obj.toString()).toURI().toURL());
+				}
+			}
+		} catch (MalformedURLException e) {
+			throw new MojoExecutionException("Invalid classpath element", e);
+		} catch (DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException("Compile dependencies are not resolved", e);
+		}
+		return new URLClassLoader(urls.toArray(new URL[urls.size()]), getClass().getClassLoader());
+	}
+
+	private JavadocIndex loadJavadocIndex() throws MojoExecutionException {
 		
+		if(javadocIndex==null){
+			return null;
+		}
+		try {
+			return JavadocIndex.load(javadocIndex);
+		} catch (IOException e) {
+			throw new MojoExecutionException("Failed to read Javadoc index: " + javadocIndex, e);
+		}
 	}
 
-	private void saveRaml(String raml, Collection<CtPackage> allRoots) {
+	private void saveRaml(String raml, String defaultFileName) {
 		
 		if(outputFile.isDirectory()){
-			String defaultFileName = DEFAULT_RAML_FILENAME;
-l0:			for(CtPackage pkg : allRoots){
-				for(CtType<?> type : pkg.getTypes()){
-					defaultFileName = type.getSimpleName() + RAML_EXTENSION;
-					break l0;
-				}				
-			}
 			outputFile = new File(outputFile,defaultFileName);
 		}
 		else{
@@ -248,6 +357,12 @@ l0:			for(CtPackage pkg : allRoots){
 		if(isEmptyString(inputValue)){
 			throw new MojoExecutionException("One of sourceDirectory or sourcePaths parameters must not be empty.");
 		}		
+		if(preFilter){
+			String filteredValue = getFilteredInputValue();
+			if(!isEmptyString(filteredValue)){
+				inputValue = filteredValue;
+			}
+		}
 		lst.add("--input");
 		lst.add(inputValue);
 		lst.add("--output-type");
@@ -276,14 +391,39 @@ l0:			for(CtPackage pkg : allRoots){
 		return result;
 	}
 
-	private String getSourceClassPath() {
+	private String getFilteredInputValue() {
+		
+		File[] roots = sourcePaths!=null&&sourcePaths.length!=0 ? sourcePaths : new File[]{ sourceDirectory };
+		long start = System.currentTimeMillis();
+		JaxrsSourceFilter filter = new JaxrsSourceFilter(roots);
+		List<File> files;
+		try {
+			files = filter.select();
+		} catch (IOException e) {
+			getLog().warn("Source pre-filter failed, all source files are processed.", e);
+			return null;
+		}
+		getLog().info("Source pre-filter selected " + files.size() + " of " + filter.getSourceFileCount()
+				+ " source files (" + filter.getAnnotatedFileCount() + " mentioning javax.ws.rs, "
+				+ filter.getInheritingFileCount() + " extending them, " + filter.getReferencedFileCount() + " referenced) in " + (System.currentTimeMillis() - start) + " ms");
+		if(files.isEmpty()){
+			return null;
+		}
+		StringBuilder bld = new StringBuilder(); 
+		for(File f : files){
+			bld.append(f.getAbsolutePath()).append(pathSeparator);
+		}
+		return bld.substring(0, bld.length()-pathSeparator.length());
+	}
+
+	private String getSourceClassPath() throws MojoExecutionException {
 		
 		StringBuilder bld = new StringBuilder();
 		List<?> compileClasspathElements = null;
 		try {
 			compileClasspathElements = project.getCompileClasspathElements();
-		} catch (DependencyResolutionRequiredException e1) {
-			e1.printStackTrace();
+		} catch (DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException("Compile dependencies are not resolved", e);
 		}
 		if(compileClasspathElements==null||compileClasspathElements.isEmpty()){
 			return null;
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2013 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.spoon;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>Selects the source files Spoon has to model to see every JAX-RS resource.</p>
+ *
+ * Every file is read once and searched for the <code>javax.ws.rs</code> package name,
+ * which an annotated resource has to mention in an import or a qualified annotation. Files
+ * whose <code>extends</code> or <code>implements</code> clause names one of those types are
+ * added as well, since a resource class may inherit all its annotations from an interface.
+ * Starting from those files, the identifiers of each selected file are matched against the
+ * simple names of the other source files, so DTOs, super types and constant holders are pulled
+ * in transitively. Only the selected files are tokenized, the referenced ones are read a second
+ * time for that. The match ignores packages and comments, so the selection may be larger than
+ * needed but does not miss a referenced type named like its file.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class JaxrsSourceFilter {
+
+	private static final byte[] JAXRS_PACKAGE = { 'j', 'a', 'v', 'a', 'x', '.', 'w', 's', '.', 'r', 's' };
+
+	private static final Set<String> SUPERTYPE_KEYWORDS = new HashSet<String>(Arrays.asList("extends", "implements"));
+
+	private static final String JAVA_EXTENSION = ".java";
+
+	private final List<File> sourceFiles = new ArrayList<File>();
+
+	private final Map<String, List<File>> filesBySimpleName = new HashMap<String, List<File>>();
+
+	private int annotatedFileCount;
+
+	private int inheritingFileCount;
+
+	private int referencedFileCount;
+
+	/**
+	 * <p>Constructor for JaxrsSourceFilter.</p>
+	 *
+	 * @param roots source directories or files.
+	 */
+	public JaxrsSourceFilter(File[] roots) {
+		for(File root : roots){
+			collectSourceFiles(root);
+		}
+	}
+
+	private void collectSourceFiles(File file) {
+		if(file.isDirectory()){
+			File[] children = file.listFiles();
+			if(children!=null){
+				Arrays.sort(children);
+				for(File child : children){
+					collectSourceFiles(child);
+				}
+			}
+			return;
+		}
+		String name = file.getName();
+		if(!file.isFile()||!name.endsWith(JAVA_EXTENSION)){
+			return;
+		}
+		sourceFiles.add(file);
+		String simpleName = getSimpleName(file);
+		List<File> files = filesBySimpleName.get(simpleName);
+		if(files==null){
+			files = new ArrayList<File>(1);
+			filesBySimpleName.put(simpleName, files);
+		}
+		files.add(file);
+	}
+
+	/**
+	 * <p>select.</p>
+	 *
+	 * @return the selected files, in source order.
+	 * @throws java.io.IOException if a source file can not be read.
+	 */
+	public List<File> select() throws IOException {
+		Set<File> selected = new HashSet<File>();
+		List<File> pending = new ArrayList<File>();
+		Map<File, Set<String>> identifiersByFile = new HashMap<File, Set<String>>();
+		Map<File, Set<String>> supertypesByFile = new HashMap<File, Set<String>>();
+		Set<String> jaxrsTypes = new HashSet<String>();
+		for(File file : sourceFiles){
+			byte[] content = FileUtils.readFileToByteArray(file);
+			if(contains(content, JAXRS_PACKAGE)){
+				selected.add(file);
+				pending.add(file);
+				identifiersByFile.put(file, identifiers(content));
+				jaxrsTypes.add(getSimpleName(file));
+			}
+			else{
+				Set<String> supertypes = supertypes(content);
+				if(!supertypes.isEmpty()){
+					supertypesByFile.put(file, supertypes);
+				}
+			}
+		}
+		annotatedFileCount = selected.size();
+
+		//subtypes of subtypes are found by the next round
+		boolean changed = true;
+		while(changed){
+			changed = false;
+			for(File file : sourceFiles){
+				Set<String> supertypes = supertypesByFile.get(file);
+				if(supertypes==null||selected.contains(file)||!intersects(supertypes, jaxrsTypes)){
+					continue;
+				}
+				selected.add(file);
+				pending.add(file);
+				jaxrsTypes.add(getSimpleName(file));
+				changed = true;
+			}
+		}
+		inheritingFileCount = selected.size() - annotatedFileCount;
+
+		while(!pending.isEmpty()){
+			File file = pending.remove(pending.size() - 1);
+			Set<String> identifiers = identifiersByFile.remove(file);
+			if(identifiers==null){
+				identifiers = identifiers(FileUtils.readFileToByteArray(file));
+			}
+			for(String identifier : identifiers){
+				List<File> files = filesBySimpleName.get(identifier);
+				if(files==null){
+					continue;
+				}
+				for(File referenced : files){
+					if(selected.add(referenced)){
+						pending.add(referenced);
+					}
+				}
+			}
+		}
+		referencedFileCount = selected.size() - annotatedFileCount - inheritingFileCount;
+
+		List<File> result = new ArrayList<File>(selected.size());
+		for(File file : sourceFiles){
+			if(selected.contains(file)){
+				result.add(file);
+			}
+		}
+		return result;
+	}
+
+	private static String getSimpleName(File file) {
+		String name = file.getName();
+		return name.substring(0, name.length() - JAVA_EXTENSION.length());
+	}
+
+	private static boolean intersects(Set<String> names, Set<String> otherNames) {
+		for(String name : names){
+			if(otherNames.contains(name)){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(byte[] content, byte[] pattern) {
+		int last = content.length - pattern.length;
+		byte first = pattern[0];
+l0:		for(int i = 0 ; i <= last ; i++){
+			if(content[i]!=first){
+				continue;
+			}
+			for(int j = 1 ; j < pattern.length ; j++){
+				if(content[i + j]!=pattern[j]){
+					continue l0;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private static Set<String> identifiers(byte[] content) {
+		return identifiers(content, false);
+	}
+
+	/**
+	 * The identifiers between an <code>extends</code> or <code>implements</code> keyword and the
+	 * next opening brace, type arguments included.
+	 */
+	private static Set<String> supertypes(byte[] content) {
+		return identifiers(content, true);
+	}
+
+	private static Set<String> identifiers(byte[] content, boolean supertypesOnly) {
+		Set<String> identifiers = new HashSet<String>();
+		StringBuilder bld = new StringBuilder();
+		boolean inSupertypes = false;
+		int limit = content.length;
+		for(int i = 0 ; i <= limit ; i++){
+			int c = i < limit ? content[i] : ' ';
+			if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$'
+					|| (c >= '0' && c <= '9' && bld.length() > 0)){
+				bld.append((char) c);
+				continue;
+			}
+			if(bld.length() > 0){
+				String identifier = bld.toString();
+				bld.setLength(0);
+				if(!supertypesOnly||inSupertypes){
+					identifiers.add(identifier);
+				}
+				else if(SUPERTYPE_KEYWORDS.contains(identifier)){
+					inSupertypes = true;
+				}
+			}
+			if(c == '{'){
+				inSupertypes = false;
+			}
+		}
+		return identifiers;
+	}
+
+	/**
+	 * <p>getSourceFileCount.</p>
+	 *
+	 * @return a int.
+	 */
+	public int getSourceFileCount() {
+		return sourceFiles.size();
+	}
+
+	/**
+	 * <p>Getter for the field <code>annotatedFileCount</code>.</p>
+	 *
+	 * @return the number of files mentioning <code>javax.ws.rs</code>.
+	 */
+	public int getAnnotatedFileCount() {
+		return annotatedFileCount;
+	}
+
+	/**
+	 * <p>Getter for the field <code>inheritingFileCount</code>.</p>
+	 *
+	 * @return the number of files selected only because they extend or implement a JAX-RS type.
+	 */
+	public int getInheritingFileCount() {
+		return inheritingFileCount;
+	}
+
+	/**
+	 * <p>Getter for the field <code>referencedFileCount</code>.</p>
+	 *
+	 * @return the number of files selected only because a selected file references them.
+	 */
+	public int getReferencedFileCount() {
+		return referencedFileCount;
+	}
+}
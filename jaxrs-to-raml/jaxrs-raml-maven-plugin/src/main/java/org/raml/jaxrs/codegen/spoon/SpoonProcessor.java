@@ -22,13 +22,12 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.raml.jaxrs.codegen.maven.BodyTypeResolver;
 import org.raml.jaxrs.codegen.maven.ProxyType;
 import org.raml.jaxrs.codegen.maven.TypeModelRegistry;
 import org.raml.jaxrs.codegen.model.AnnotationModel;
@@ -76,14 +75,6 @@ import spoon.reflect.reference.CtTypeReference;
  */
 public class SpoonProcessor{
 	
-	private static final String API_OPERATION = "ApiOperation";
-
-	private static final String SWAGGER_API = "Api";
-
-	private static final String JAVAX_XML_TYPE = "XmlType";
-
-	private static final String JAVAX_CONSUMES = "Consumes";
-
 	private TypeModelRegistry registry = new TypeModelRegistry();
 	
 	private Factory factory;
@@ -110,119 +101,7 @@ public class SpoonProcessor{
 			processPackage(package_); 
 		}
 
-		for(ITypeModel type : registry.getTypes()){
-			
-			boolean hasGlobalConsumes = hasGlobalConsumes(type);			
-			for(IMethodModel method : type.getMethods()){
-				adjustReturnedAndBodyType(method,hasGlobalConsumes);
-			}
-		}
-	}
-
-	private boolean hasGlobalConsumes(ITypeModel type) {
-		
-		if(type.hasAnnotation(JAVAX_CONSUMES)){
-			return true;
-		}
-		IAnnotationModel apiAnn = type.getAnnotation(SWAGGER_API);
-		if(apiAnn==null){
-			return false;
-		}
-		String consumes = apiAnn.getValue(JAVAX_CONSUMES.toLowerCase());
-		if(consumes!=null){
-			return true;
-		}
-		return false;
-	}
-
-	private void adjustReturnedAndBodyType(IMethodModel method_, boolean hasGlobalConsumes) {
-		
-		if(!(method_ instanceof MethodModel)){
-			return;
-		}		
-		MethodModel method = (MethodModel) method_;
-		
-		ITypeModel returnedType = method.getReturnedType();
-		if(returnedType!=null){
-			if(returnedType instanceof ProxyType){
-				ITypeModel rt = registry.getType(returnedType.getFullyQualifiedName());				
-				method.setReturnedType(rt);
-			}
-		}
-		
-		boolean hasConsumes = hasGlobalConsumes;
-		
-		IAnnotationModel apiOperation = method.getAnnotation(API_OPERATION);
-		if(apiOperation!=null){
-			IAnnotationModel[] subAnn = apiOperation.getSubAnnotations(JAVAX_CONSUMES.toLowerCase());
-			if(subAnn!=null){
-				hasConsumes = true;
-			}
-		}		
-		
-		IAnnotationModel consumes = method.getAnnotation(JAVAX_CONSUMES);
-		if(consumes!=null){
-			hasConsumes = true;
-		}
-		if(!hasConsumes){
-			return;
-		}
-		
-		IParameterModel[] parameters = method.getParameters();
-		for(IParameterModel param_ : parameters){
-			
-			String paramType = param_.getParameterType();
-//			if(paramType.startsWith("java.")){
-//				continue;
-//			}
-			if(isPrimitive(paramType)){
-				continue;
-			}
-			if(param_.hasAnnotation("QueryParam")){
-				continue;
-			}
-			if(param_.hasAnnotation("HeaderParam")){
-				continue;
-			}
-			if(param_.hasAnnotation("PathParam")){
-				continue;
-			}
-			if(param_.hasAnnotation("FormParam")){
-				continue;
-			}
-			if(param_.hasAnnotation("Context")){
-				continue;
-			}
-			
-			ITypeModel type = registry.getType(paramType);
-			if(type==null){
-				continue;
-			}
-//			IAnnotationModel typeAnnotation = type.getAnnotation(JAVAX_XML_TYPE);
-//			if(typeAnnotation==null){
-//				continue;
-//			}
-			method.setBodyType(type);
-			if(registry.isTargetType(paramType)){
-				break;
-			}
-		}
-		
-	}
-	
-	private static HashSet<String> primitives = new HashSet<String>(Arrays.asList(
-			"byte", "java.lang.Byte",
-			"short", "java.lang.Short",
-			"int", "java.lang.Integer",
-			"long", "java.lang.Long",
-			"float", "java.lang.Float",
-			"double", "java.lang.Double",
-			"character", "java.lang.Character",
-			"boolean", "java.lang.Boolean"
-		));
-
-	private boolean isPrimitive(String qName) {		
-		return primitives.contains(qName);
+		new BodyTypeResolver(registry).process();
 	}
 
 	private void processPackage(CtPackage package_) {
@@ -0,0 +1,200 @@
+package org.raml.jaxrs.codegen.asm;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.io.FileUtils;
+import org.raml.jaxrs.codegen.maven.MavenRamlConfig;
+import org.raml.jaxrs.codegen.maven.TypeModelRegistry;
+import org.raml.jaxrs.codegen.spoon.SpoonProcessor;
+
+import spoon.Launcher;
+import spoon.reflect.declaration.CtField;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtParameter;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtTypeParameterReference;
+import spoon.reflect.reference.CtTypeReference;
+
+import com.mulesoft.jaxrs.raml.annotation.model.ITypeModel;
+import com.mulesoft.jaxrs.raml.annotation.model.ResourceVisitor;
+import com.mulesoft.jaxrs.raml.annotation.model.reflection.RuntimeResourceVisitor;
+
+/**
+ * Models the functional-tests resources once from their sources with Spoon and once from
+ * their classes with ASM, and checks that both give the same RAML, package by package.
+ */
+public class TypeModelParityTest extends TestCase{
+
+	private static final File FIXTURES = new File("../functional-tests/src/main/java");
+
+	private File workDirectory;
+
+	private String classPath;
+
+	protected void setUp() throws Exception {
+		workDirectory = File.createTempFile("parity", "");
+		assertTrue(workDirectory.delete());
+		assertTrue(workDirectory.mkdirs());
+		//surefire runs the tests from a manifest-only jar, the real class path is in its own property
+		classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+	}
+
+	protected void tearDown() throws Exception {
+		FileUtils.deleteDirectory(workDirectory);
+	}
+
+	public void testAsmAndSpoonEmitTheSameRaml() throws Exception{
+		assertTrue("Missing fixtures: " + FIXTURES.getAbsolutePath(), FIXTURES.isDirectory());
+		File classesDirectory = compileFixtures();
+
+		Launcher launcher = new Launcher();
+		launcher.setArgs(new String[]{ "--input", FIXTURES.getAbsolutePath(), "--output-type", "nooutput",
+				"--source-classpath", classPath });
+		launcher.run();
+		Factory factory = launcher.getFactory();
+		SpoonProcessor spoonProcessor = new SpoonProcessor(factory);
+		spoonProcessor.process(factory.Package().getAllRoots());
+		ClassLoader spoonClassLoader = factory.getEnvironment().getClassLoader();
+
+		//class files have no comments, the index carries the ones Spoon read
+		File indexFile = new File(workDirectory, "javadoc.properties");
+		writeJavadocIndex(factory, indexFile);
+		ClassLoader asmClassLoader = new URLClassLoader(new URL[]{ classesDirectory.toURI().toURL() }, getClass().getClassLoader());
+		AsmProcessor asmProcessor = new AsmProcessor(classesDirectory, asmClassLoader, JavadocIndex.load(indexFile));
+		asmProcessor.process();
+
+		File[] packages = FIXTURES.listFiles();
+		Arrays.sort(packages);
+		int compared = 0;
+		for(File pkg : packages){
+			if(!pkg.isDirectory()){
+				continue;
+			}
+			String prefix = pkg.getName() + ".";
+			File spoonOutput = new File(workDirectory, "spoon/" + pkg.getName());
+			File asmOutput = new File(workDirectory, "asm/" + pkg.getName());
+			String spoonRaml = generateRaml(spoonProcessor.getRegistry(), prefix, spoonOutput, spoonClassLoader);
+			String asmRaml = generateRaml(asmProcessor.getRegistry(), prefix, asmOutput, asmClassLoader);
+			assertEquals(pkg.getName(), spoonRaml, asmRaml);
+			assertSameFiles(pkg.getName(), spoonOutput, asmOutput);
+			compared++;
+		}
+		assertTrue(compared > 0);
+		assertEquals(Collections.<String>emptyList(), asmProcessor.getWarnings());
+	}
+
+	private File compileFixtures() throws IOException {
+		File classesDirectory = new File(workDirectory, "classes");
+		assertTrue(classesDirectory.mkdirs());
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("Tests must run on a JDK", compiler);
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		try{
+			Collection<File> sources = FileUtils.listFiles(FIXTURES, new String[]{ "java" }, true);
+			//-g keeps the local variable tables the parameter names are read from
+			List<String> options = Arrays.asList("-g", "-proc:none", "-nowarn",
+					"-classpath", classPath, "-d", classesDirectory.getAbsolutePath());
+			Boolean success = compiler.getTask(null, fileManager, null, options, null,
+					fileManager.getJavaFileObjectsFromFiles(sources)).call();
+			assertTrue("Fixtures do not compile", success);
+		}
+		finally{
+			fileManager.close();
+		}
+		return classesDirectory;
+	}
+
+	private String generateRaml(TypeModelRegistry registry, String prefix, File outputDirectory, ClassLoader classLoader){
+		List<ITypeModel> types = new ArrayList<ITypeModel>();
+		for(ITypeModel type : registry.getTargetTypes()){
+			if(type.getFullyQualifiedName().startsWith(prefix)){
+				types.add(type);
+			}
+		}
+		//the processors register their targets in different orders
+		Collections.sort(types, new Comparator<ITypeModel>() {
+			public int compare(ITypeModel o1, ITypeModel o2) {
+				return o1.getFullyQualifiedName().compareTo(o2.getFullyQualifiedName());
+			}
+		});
+		assertTrue(outputDirectory.mkdirs());
+		ResourceVisitor visitor = new RuntimeResourceVisitor(new File(outputDirectory, "api.raml"), classLoader,
+				new MavenRamlConfig("Parity", "http://localhost", "v1"));
+		visitor.visit(types, 1);
+		return visitor.getRaml();
+	}
+
+	private static void assertSameFiles(String message, File expected, File actual) throws IOException {
+		Collection<File> expectedFiles = FileUtils.listFiles(expected, null, true);
+		assertEquals(message, expectedFiles.size(), FileUtils.listFiles(actual, null, true).size());
+		for(File expectedFile : expectedFiles){
+			String relativePath = expectedFile.getAbsolutePath().substring(expected.getAbsolutePath().length());
+			File actualFile = new File(actual, relativePath);
+			assertTrue(message + relativePath, actualFile.isFile());
+			assertEquals(message + relativePath, FileUtils.readFileToString(expectedFile, "UTF-8"),
+					FileUtils.readFileToString(actualFile, "UTF-8"));
+		}
+	}
+
+	private static void writeJavadocIndex(Factory factory, File file) throws IOException {
+		Properties comments = new Properties();
+		for(CtType<?> type : factory.Type().getAll()){
+			String typeName = type.getQualifiedName();
+			put(comments, typeName, type.getDocComment());
+			for(CtMethod<?> method : type.getMethods()){
+				StringBuilder key = new StringBuilder(typeName).append('#').append(method.getSimpleName()).append('(');
+				List<CtParameter<?>> parameters = method.getParameters();
+				for(int i = 0 ; i < parameters.size() ; i++){
+					if(i > 0){
+						key.append(',');
+					}
+					key.append(erasure(parameters.get(i).getType()));
+				}
+				put(comments, key.append(')').toString(), method.getDocComment());
+			}
+			for(CtField<?> field : type.getFields()){
+				put(comments, typeName + "#" + field.getSimpleName(), field.getDocComment());
+			}
+		}
+		OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try{
+			comments.store(writer, null);
+		}
+		finally{
+			writer.close();
+		}
+	}
+
+	private static String erasure(CtTypeReference<?> type){
+		if(type instanceof CtTypeParameterReference){
+			List<CtTypeReference<?>> bounds = ((CtTypeParameterReference) type).getBounds();
+			return bounds.isEmpty() ? "java.lang.Object" : erasure(bounds.get(0));
+		}
+		return type.getQualifiedName().replace('$', '.');
+	}
+
+	private static void put(Properties comments, String key, String comment){
+		if(comment!=null){
+			comments.setProperty(key, comment);
+		}
+	}
+}
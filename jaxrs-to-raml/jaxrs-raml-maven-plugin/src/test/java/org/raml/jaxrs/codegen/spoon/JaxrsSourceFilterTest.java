@@ -0,0 +1,91 @@
+package org.raml.jaxrs.codegen.spoon;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.io.FileUtils;
+
+public class JaxrsSourceFilterTest extends TestCase{
+
+	private File root;
+
+	protected void setUp() throws Exception {
+		root = File.createTempFile("sources", "");
+		assertTrue(root.delete());
+		assertTrue(root.mkdirs());
+	}
+
+	protected void tearDown() throws Exception {
+		FileUtils.deleteDirectory(root);
+	}
+
+	private void write(String path, String content) throws IOException{
+		FileUtils.writeStringToFile(new File(root, path), content, "UTF-8");
+	}
+
+	private List<String> select(JaxrsSourceFilter filter) throws IOException{
+		List<String> names = new ArrayList<String>();
+		for(File file : filter.select()){
+			names.add(file.getAbsolutePath().substring(root.getAbsolutePath().length() + 1).replace(File.separatorChar, '/'));
+		}
+		return names;
+	}
+
+	public void testReferencedTypesAreSelectedTransitively() throws Exception{
+		write("api/BookResource.java", "package api;\nimport javax.ws.rs.GET;\nimport model.Book;\n"
+				+ "public class BookResource {\n  @GET public Book get() { return null; }\n}\n");
+		write("model/Book.java", "package model;\npublic class Book {\n  private Author author;\n}\n");
+		write("model/Author.java", "package model;\npublic class Author {\n  private String name;\n}\n");
+		write("model/Unrelated.java", "package model;\npublic class Unrelated {\n}\n");
+
+		JaxrsSourceFilter filter = new JaxrsSourceFilter(new File[]{ root });
+		assertEquals(Arrays.asList("api/BookResource.java", "model/Author.java", "model/Book.java"), select(filter));
+		assertEquals(4, filter.getSourceFileCount());
+		assertEquals(1, filter.getAnnotatedFileCount());
+		assertEquals(0, filter.getInheritingFileCount());
+		assertEquals(2, filter.getReferencedFileCount());
+	}
+
+	public void testImplementationsOfAnnotatedInterfacesAreSelected() throws Exception{
+		write("api/HelloResource.java", "package api;\nimport javax.ws.rs.*;\n"
+				+ "@Path(\"/hello\")\npublic interface HelloResource {\n  @GET String hello();\n}\n");
+		//no JAX-RS import, the annotations are all inherited
+		write("impl/HelloResourceImpl.java", "package impl;\nimport api.HelloResource;\n"
+				+ "public class HelloResourceImpl implements HelloResource {\n  public String hello() { return new Greeting().text(); }\n}\n");
+		write("impl/LoudHelloResource.java", "package impl;\n"
+				+ "public class LoudHelloResource extends HelloResourceImpl implements java.io.Serializable {\n}\n");
+		write("impl/Greeting.java", "package impl;\npublic class Greeting {\n  public String text() { return \"hi\"; }\n}\n");
+		write("impl/OtherImpl.java", "package impl;\npublic class OtherImpl implements Runnable {\n  public void run() { }\n}\n");
+
+		JaxrsSourceFilter filter = new JaxrsSourceFilter(new File[]{ root });
+		assertEquals(Arrays.asList("api/HelloResource.java", "impl/Greeting.java", "impl/HelloResourceImpl.java",
+				"impl/LoudHelloResource.java"), select(filter));
+		assertEquals(1, filter.getAnnotatedFileCount());
+		assertEquals(2, filter.getInheritingFileCount());
+		assertEquals(1, filter.getReferencedFileCount());
+	}
+
+	public void testNothingSelectedWithoutJaxrs() throws Exception{
+		//the mojo gives all the sources to Spoon when nothing is selected
+		write("model/Book.java", "package model;\npublic class Book extends Base {\n}\n");
+		write("model/Base.java", "package model;\npublic class Base {\n}\n");
+
+		JaxrsSourceFilter filter = new JaxrsSourceFilter(new File[]{ root });
+		assertTrue(filter.select().isEmpty());
+		assertEquals(2, filter.getSourceFileCount());
+		assertEquals(0, filter.getAnnotatedFileCount());
+	}
+
+	public void testSingleFilesAsRoots() throws Exception{
+		write("api/Resource.java", "package api;\n@javax.ws.rs.Path(\"/\")\npublic class Resource {\n}\n");
+		write("notes.txt", "javax.ws.rs");
+
+		JaxrsSourceFilter filter = new JaxrsSourceFilter(new File[]{ new File(root, "api/Resource.java"), new File(root, "notes.txt") });
+		assertEquals(Arrays.asList("api/Resource.java"), select(filter));
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.util.Set;
+
+import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
+import org.raml.model.Raml;
+import org.raml.model.Resource;
+
+/**
+ * <p>Generator exposing the stages of {@link AbstractGenerator#run(Raml, Configuration)} separately.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+class BenchmarkGenerator extends Generator {
+
+	/**
+	 * <p>Runs the whole generation from an already parsed document.</p>
+	 *
+	 * @param raml a {@link org.raml.model.Raml} object.
+	 * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+	 * @return a {@link java.util.Set} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	Set<String> generate(Raml raml, Configuration configuration) throws Exception {
+		return run(raml, configuration);
+	}
+
+	/**
+	 * <p>Builds the code model without writing it, {@link #write()} completes the run.</p>
+	 *
+	 * @param raml a {@link org.raml.model.Raml} object.
+	 * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	void prepare(Raml raml, Configuration configuration) throws Exception {
+		metrics = new GenerationMetrics(false);
+		extensions = configuration.getExtensions();
+		context = new Context(configuration, raml, metrics);
+		types = new Types(context);
+		for (GeneratorExtension e : extensions) {
+			e.setRaml(raml);
+			e.setCodeModel(context.getCodeModel());
+		}
+		types.generateClassesFromXmlSchemas(raml.getResources().values());
+		for (Resource resource : raml.getResources().values()) {
+			createResourceInterface(resource, raml);
+			context.flushResourceInterface();
+		}
+	}
+
+	/**
+	 * <p>write.</p>
+	 *
+	 * @return a {@link java.util.Set} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	Set<String> write() throws Exception {
+		return context.generate();
+	}
+}
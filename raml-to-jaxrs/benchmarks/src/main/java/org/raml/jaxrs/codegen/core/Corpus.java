@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.raml.model.Action;
+import org.raml.model.MimeType;
+import org.raml.model.Raml;
+import org.raml.model.Resource;
+import org.raml.model.Response;
+import org.raml.parser.loader.CompositeResourceLoader;
+import org.raml.parser.loader.FileResourceLoader;
+import org.raml.parser.loader.ResourceLoader;
+import org.raml.parser.visitor.RamlDocumentBuilder;
+
+/**
+ * <p>Benchmark state holding a synthetic RAML corpus written to a temporary directory.</p>
+ *
+ * The corpus is generated and parsed once per trial, benchmarks get the raw buffer for the
+ * parsing stages and the built {@link org.raml.model.Raml} for the generation stages.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int resources;
+
+	@Param({ "2" })
+	public int nestingDepth;
+
+	@Param({ "4" })
+	public int traits;
+
+	@Param({ "4" })
+	public int resourceTypes;
+
+	@Param({ "8" })
+	public int jsonSchemas;
+
+	@Param({ "2" })
+	public int xsdSchemas;
+
+	@Param({ "4" })
+	public int includeFanOut;
+
+	File directory;
+
+	File rootFile;
+
+	String buffer;
+
+	Raml raml;
+
+	/**
+	 * <p>setUp.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = createTempDirectory("raml-corpus");
+		rootFile = new SyntheticRaml(resources, nestingDepth, traits, resourceTypes, jsonSchemas, xsdSchemas,
+				includeFanOut).write(directory);
+		buffer = FileUtils.readFileToString(rootFile, "UTF-8");
+		raml = new RamlDocumentBuilder(createResourceLoader()).build(buffer, SyntheticRaml.ROOT);
+	}
+
+	/**
+	 * <p>tearDown.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(directory);
+	}
+
+	ResourceLoader createResourceLoader() {
+		return new CompositeResourceLoader(new FileResourceLoader(directory));
+	}
+
+	Configuration createConfiguration(File outputDirectory) {
+		Configuration configuration = new Configuration();
+		configuration.setOutputDirectory(outputDirectory);
+		configuration.setSourceDirectory(directory);
+		configuration.setBasePackageName("org.raml.synthetic");
+		return configuration;
+	}
+
+	/**
+	 * <p>Collects every request and response body of the corpus.</p>
+	 *
+	 * @return a {@link java.util.List} object.
+	 */
+	List<MimeType> getMimeTypes() {
+		List<MimeType> mimeTypes = new ArrayList<MimeType>();
+		collectMimeTypes(raml.getResources().values(), mimeTypes);
+		return mimeTypes;
+	}
+
+	private static void collectMimeTypes(Iterable<Resource> resources, List<MimeType> mimeTypes) {
+		for (Resource resource : resources) {
+			for (Action action : resource.getActions().values()) {
+				if (action.getBody() != null) {
+					mimeTypes.addAll(action.getBody().values());
+				}
+				for (Response response : action.getResponses().values()) {
+					if (response.getBody() != null) {
+						mimeTypes.addAll(response.getBody().values());
+					}
+				}
+			}
+			collectMimeTypes(resource.getResources().values(), mimeTypes);
+		}
+	}
+
+	static File createTempDirectory(String prefix) throws IOException {
+		File directory = File.createTempFile(prefix, "");
+		if (!directory.delete() || !directory.mkdirs()) {
+			throw new IOException("Can't create " + directory);
+		}
+		return directory;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * <p>Benchmarks of the code generation stages.</p>
+ *
+ * {@link #run(Corpus)} measures <code>Generator.run(Raml, Configuration)</code> end to end,
+ * {@link #generate(Corpus)} only measures <code>Context.generate()</code> on a code model built
+ * during the invocation setup. Every invocation writes to an emptied output directory.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GeneratorBenchmark {
+
+	private File outputDirectory;
+
+	private BenchmarkGenerator generator;
+
+	/**
+	 * <p>setUp.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		outputDirectory = Corpus.createTempDirectory("raml-output");
+	}
+
+	/**
+	 * <p>prepare.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	@Setup(Level.Invocation)
+	public void prepare(Corpus corpus) throws Exception {
+		FileUtils.cleanDirectory(outputDirectory);
+		generator = new BenchmarkGenerator();
+		generator.prepare(corpus.raml, corpus.createConfiguration(outputDirectory));
+		FileUtils.cleanDirectory(outputDirectory);
+	}
+
+	/**
+	 * <p>tearDown.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(outputDirectory);
+	}
+
+	/**
+	 * <p>run.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @return a {@link java.util.Set} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	@Benchmark
+	public Set<String> run(Corpus corpus) throws Exception {
+		return new BenchmarkGenerator().generate(corpus.raml, corpus.createConfiguration(outputDirectory));
+	}
+
+	/**
+	 * <p>generate.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @return a {@link java.util.Set} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	@Benchmark
+	public Set<String> generate(Corpus corpus) throws Exception {
+		return generator.write();
+	}
+}
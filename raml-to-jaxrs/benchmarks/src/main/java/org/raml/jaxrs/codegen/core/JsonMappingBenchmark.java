@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.raml.jaxrs.benchmarks.model.Product;
+import org.raml.jaxrs.benchmarks.model.Products;
+import org.raml.jaxrs.benchmarks.model.jackson.ModelModule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Benchmarks of Jackson on the sales-enablement-api models, with and without the serializers
+ * generated by {@link org.raml.jaxrs.codegen.core.ext.JacksonSerializersExtension}.</p>
+ *
+ * The <code>reflective</code> benchmarks use a plain <code>ObjectMapper</code>, the
+ * <code>generated</code> ones an <code>ObjectMapper</code> with the generated
+ * <code>ModelModule</code>. {@link #firstWriteReflective()} and {@link #firstWriteGenerated()}
+ * serialize with a new mapper on every invocation, to measure the serializer warm-up.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonMappingBenchmark {
+
+	@Param({ "1", "100", "10000" })
+	public int products;
+
+	private ObjectMapper reflectiveMapper;
+
+	private ObjectMapper generatedMapper;
+
+	private Products collection;
+
+	private byte[] json;
+
+	/**
+	 * <p>setUp.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final List<Product> items = new ArrayList<Product>(products);
+		for (int i = 0; i < products; i++) {
+			final Product product = new Product();
+			product.setId(Integer.toString(i));
+			product.setName("Product " + i);
+			product.setDescription("Description of product " + i);
+			product.setImageUrl("http://example.com/products/" + i + ".png");
+			product.setRegion(i % 2 == 0 ? "EMEA" : "AMER");
+			items.add(product);
+		}
+		collection = new Products();
+		collection.setSize(products);
+		collection.setProducts(items);
+
+		reflectiveMapper = new ObjectMapper();
+		generatedMapper = new ObjectMapper().registerModule(new ModelModule());
+		json = reflectiveMapper.writeValueAsBytes(collection);
+	}
+
+	/**
+	 * <p>writeReflective.</p>
+	 *
+	 * @return an array of {@link byte} objects.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	public byte[] writeReflective() throws IOException {
+		return reflectiveMapper.writeValueAsBytes(collection);
+	}
+
+	/**
+	 * <p>writeGenerated.</p>
+	 *
+	 * @return an array of {@link byte} objects.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	public byte[] writeGenerated() throws IOException {
+		return generatedMapper.writeValueAsBytes(collection);
+	}
+
+	/**
+	 * <p>readReflective.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.benchmarks.model.Products} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	public Products readReflective() throws IOException {
+		return reflectiveMapper.readValue(json, Products.class);
+	}
+
+	/**
+	 * <p>readGenerated.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.benchmarks.model.Products} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	public Products readGenerated() throws IOException {
+		return generatedMapper.readValue(json, Products.class);
+	}
+
+	/**
+	 * <p>firstWriteReflective.</p>
+	 *
+	 * @return an array of {@link byte} objects.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	public byte[] firstWriteReflective() throws IOException {
+		return new ObjectMapper().writeValueAsBytes(collection);
+	}
+
+	/**
+	 * <p>firstWriteGenerated.</p>
+	 *
+	 * @return an array of {@link byte} objects.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	public byte[] firstWriteGenerated() throws IOException {
+		return new ObjectMapper().registerModule(new ModelModule()).writeValueAsBytes(collection);
+	}
+}
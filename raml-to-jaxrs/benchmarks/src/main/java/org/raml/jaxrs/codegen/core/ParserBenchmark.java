@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.raml.model.Raml;
+import org.raml.parser.rule.ValidationResult;
+import org.raml.parser.visitor.RamlDocumentBuilder;
+import org.raml.parser.visitor.RamlValidationService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the parser stages the generator goes through before building the code model.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParserBenchmark {
+
+	/**
+	 * <p>build.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @return a {@link org.raml.model.Raml} object.
+	 */
+	@Benchmark
+	public Raml build(Corpus corpus) {
+		return new RamlDocumentBuilder(corpus.createResourceLoader()).build(corpus.buffer, SyntheticRaml.ROOT);
+	}
+
+	/**
+	 * <p>validate.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @return a {@link java.util.List} object.
+	 */
+	@Benchmark
+	public List<ValidationResult> validate(Corpus corpus) {
+		return RamlValidationService.createDefault(corpus.createResourceLoader()).validate(corpus.buffer,
+				SyntheticRaml.ROOT);
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>Deterministic generator of RAML 0.8 corpora for the benchmarks.</p>
+ *
+ * The same parameters always produce byte for byte the same files: an <code>api.raml</code>
+ * root with the requested number of top level resources, each nested
+ * <code>nestingDepth</code> levels deep, applying traits and resource types round robin and
+ * referencing JSON and XSD schemas stored in a <code>schemas</code> folder. The first
+ * <code>includeFanOut</code> resources are moved to their own files under
+ * <code>resources</code> and pulled in with <code>!include</code>.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class SyntheticRaml {
+
+	/** Constant <code>ROOT="api.raml"</code> */
+	public static final String ROOT = "api.raml";
+
+	private final int resources;
+
+	private final int nestingDepth;
+
+	private final int traits;
+
+	private final int resourceTypes;
+
+	private final int jsonSchemas;
+
+	private final int xsdSchemas;
+
+	private final int includeFanOut;
+
+	/**
+	 * <p>Constructor for SyntheticRaml.</p>
+	 *
+	 * @param resources number of top level resources.
+	 * @param nestingDepth number of nested <code>/{id}</code> levels below each resource.
+	 * @param traits number of traits, applied round robin.
+	 * @param resourceTypes number of resource types, applied round robin.
+	 * @param jsonSchemas number of global JSON schemas, referenced round robin.
+	 * @param xsdSchemas number of global XSD schemas, referenced round robin.
+	 * @param includeFanOut number of resources written to included files.
+	 */
+	public SyntheticRaml(int resources, int nestingDepth, int traits, int resourceTypes, int jsonSchemas,
+			int xsdSchemas, int includeFanOut) {
+		this.resources = resources;
+		this.nestingDepth = nestingDepth;
+		this.traits = traits;
+		this.resourceTypes = resourceTypes;
+		this.jsonSchemas = jsonSchemas;
+		this.xsdSchemas = xsdSchemas;
+		this.includeFanOut = includeFanOut;
+	}
+
+	/**
+	 * <p>Writes the corpus.</p>
+	 *
+	 * @param directory a {@link java.io.File} object.
+	 * @return the root RAML file.
+	 * @throws java.io.IOException if any.
+	 */
+	public File write(File directory) throws IOException {
+		for (int i = 0; i < jsonSchemas; i++) {
+			FileUtils.writeStringToFile(new File(directory, "schemas/json" + i + ".json"), jsonSchema(i), "UTF-8");
+		}
+		for (int i = 0; i < xsdSchemas; i++) {
+			FileUtils.writeStringToFile(new File(directory, "schemas/xsd" + i + ".xsd"), xsdSchema(i), "UTF-8");
+		}
+
+		StringBuilder root = new StringBuilder();
+		root.append("#%RAML 0.8\n---\n");
+		root.append("title: Synthetic API\n");
+		root.append("version: v1\n");
+		root.append("baseUri: http://localhost/{version}\n");
+		if (jsonSchemas + xsdSchemas > 0) {
+			root.append("schemas:\n");
+			for (int i = 0; i < jsonSchemas; i++) {
+				root.append("  - json").append(i).append(": !include schemas/json").append(i).append(".json\n");
+			}
+			for (int i = 0; i < xsdSchemas; i++) {
+				root.append("  - xsd").append(i).append(": !include schemas/xsd").append(i).append(".xsd\n");
+			}
+		}
+		if (traits > 0) {
+			root.append("traits:\n");
+			for (int i = 0; i < traits; i++) {
+				root.append("  - trait").append(i).append(":\n");
+				root.append("      queryParameters:\n");
+				root.append("        trait").append(i).append("Filter:\n");
+				root.append("          type: string\n");
+				root.append("          pattern: \"[a-z]+\"\n");
+				root.append("      headers:\n");
+				root.append("        X-Trait").append(i).append(":\n");
+				root.append("          type: string\n");
+			}
+		}
+		if (resourceTypes > 0) {
+			root.append("resourceTypes:\n");
+			for (int i = 0; i < resourceTypes; i++) {
+				root.append("  - type").append(i).append(":\n");
+				root.append("      description: Resource type ").append(i).append(" applied to <<resourcePathName>>\n");
+				root.append("      get:\n");
+				root.append("        queryParameters:\n");
+				root.append("          type").append(i).append("Page:\n");
+				root.append("            type: integer\n");
+				root.append("            minimum: 0\n");
+			}
+		}
+		for (int i = 0; i < resources; i++) {
+			if (i < includeFanOut) {
+				String include = "resources/resource" + i + ".raml";
+				StringBuilder included = new StringBuilder();
+				appendResourceBody(included, i, 0, "");
+				FileUtils.writeStringToFile(new File(directory, include), included.toString(), "UTF-8");
+				root.append("/resource").append(i).append(": !include ").append(include).append('\n');
+			} else {
+				root.append("/resource").append(i).append(":\n");
+				appendResourceBody(root, i, 0, "  ");
+			}
+		}
+
+		File rootFile = new File(directory, ROOT);
+		FileUtils.writeStringToFile(rootFile, root.toString(), "UTF-8");
+		return rootFile;
+	}
+
+	private void appendResourceBody(StringBuilder builder, int resource, int level, String indent) {
+		if (level == 0) {
+			if (resourceTypes > 0) {
+				builder.append(indent).append("type: type").append(resource % resourceTypes).append('\n');
+			}
+			if (traits > 0) {
+				builder.append(indent).append("is: [ trait").append(resource % traits).append(" ]\n");
+			}
+		} else {
+			builder.append(indent).append("uriParameters:\n");
+			builder.append(indent).append("  resource").append(resource).append("Id").append(level).append(":\n");
+			builder.append(indent).append("    type: integer\n");
+		}
+		builder.append(indent).append("description: Resource ").append(resource).append(" level ").append(level).append('\n');
+		builder.append(indent).append("get:\n");
+		builder.append(indent).append("  queryParameters:\n");
+		builder.append(indent).append("    limit:\n");
+		builder.append(indent).append("      type: integer\n");
+		builder.append(indent).append("      minimum: 1\n");
+		builder.append(indent).append("      maximum: 100\n");
+		builder.append(indent).append("  responses:\n");
+		builder.append(indent).append("    200:\n");
+		builder.append(indent).append("      body:\n");
+		appendBodies(builder, resource + level, indent + "        ");
+		builder.append(indent).append("post:\n");
+		builder.append(indent).append("  body:\n");
+		appendBodies(builder, resource + level + 1, indent + "    ");
+		builder.append(indent).append("  responses:\n");
+		builder.append(indent).append("    201:\n");
+		builder.append(indent).append("      description: Created\n");
+		if (level < nestingDepth) {
+			builder.append(indent).append("/{resource").append(resource).append("Id").append(level + 1).append("}:\n");
+			appendResourceBody(builder, resource, level + 1, indent + "  ");
+		}
+	}
+
+	private void appendBodies(StringBuilder builder, int index, String indent) {
+		builder.append(indent).append("application/json:\n");
+		if (jsonSchemas > 0) {
+			builder.append(indent).append("  schema: json").append(index % jsonSchemas).append('\n');
+		}
+		if (xsdSchemas > 0) {
+			builder.append(indent).append("application/xml:\n");
+			builder.append(indent).append("  schema: xsd").append(index % xsdSchemas).append('\n');
+		}
+	}
+
+	private static String jsonSchema(int index) {
+		return "{\n"
+			+ "  \"$schema\": \"http://json-schema.org/draft-03/schema\",\n"
+			+ "  \"type\": \"object\",\n"
+			+ "  \"properties\": {\n"
+			+ "    \"id\": { \"type\": \"integer\", \"required\": true },\n"
+			+ "    \"name" + index + "\": { \"type\": \"string\" },\n"
+			+ "    \"tags\": { \"type\": \"array\", \"items\": { \"type\": \"string\" } },\n"
+			+ "    \"owner\": {\n"
+			+ "      \"type\": \"object\",\n"
+			+ "      \"properties\": { \"login\": { \"type\": \"string\" }, \"active\": { \"type\": \"boolean\" } }\n"
+			+ "    }\n"
+			+ "  }\n"
+			+ "}\n";
+	}
+
+	private static String xsdSchema(int index) {
+		// a single namespace, XJC generates every schema into the same model package
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:synthetic\"\n"
+			+ "           xmlns=\"urn:synthetic\" elementFormDefault=\"qualified\">\n"
+			+ "  <xs:element name=\"item" + index + "\">\n"
+			+ "    <xs:complexType>\n"
+			+ "      <xs:sequence>\n"
+			+ "        <xs:element name=\"id\" type=\"xs:long\"/>\n"
+			+ "        <xs:element name=\"name\" type=\"xs:string\"/>\n"
+			+ "        <xs:element name=\"tag\" type=\"xs:string\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>\n"
+			+ "      </xs:sequence>\n"
+			+ "    </xs:complexType>\n"
+			+ "  </xs:element>\n"
+			+ "</xs:schema>\n";
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.model.MimeType;
+
+/**
+ * <p>Benchmarks of the schema to class resolution done by {@link Types}.</p>
+ *
+ * {@link #resolve(Corpus, Blackhole)} starts from an empty schema cache, so it includes the
+ * jsonschema2pojo runs, {@link #resolveCached(Corpus, Blackhole)} reuses the warmed up
+ * instance and only measures the lookups.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TypesBenchmark {
+
+	private File outputDirectory;
+
+	private List<MimeType> mimeTypes;
+
+	private Types types;
+
+	private Types warmTypes;
+
+	/**
+	 * <p>setUp.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Setup(Level.Trial)
+	public void setUp(Corpus corpus) throws IOException {
+		outputDirectory = Corpus.createTempDirectory("raml-output");
+		mimeTypes = corpus.getMimeTypes();
+		warmTypes = new Types(new Context(corpus.createConfiguration(outputDirectory), corpus.raml));
+		for (MimeType mimeType : mimeTypes) {
+			warmTypes.getRequestEntityClass(mimeType);
+		}
+	}
+
+	/**
+	 * <p>prepare.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Setup(Level.Invocation)
+	public void prepare(Corpus corpus) throws IOException {
+		types = new Types(new Context(corpus.createConfiguration(outputDirectory), corpus.raml));
+	}
+
+	/**
+	 * <p>tearDown.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(outputDirectory);
+	}
+
+	/**
+	 * <p>resolve.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	public void resolve(Corpus corpus, Blackhole blackhole) throws IOException {
+		for (MimeType mimeType : mimeTypes) {
+			blackhole.consume(types.getRequestEntityClass(mimeType));
+		}
+	}
+
+	/**
+	 * <p>resolveCached.</p>
+	 *
+	 * @param corpus a {@link org.raml.jaxrs.codegen.core.Corpus} object.
+	 * @param blackhole a {@link org.openjdk.jmh.infra.Blackhole} object.
+	 * @throws java.io.IOException if any.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public void resolveCached(Corpus corpus, Blackhole blackhole) throws IOException {
+		for (MimeType mimeType : mimeTypes) {
+			blackhole.consume(warmTypes.getRequestEntityClass(mimeType));
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.raml.jaxrs.codegen.core;
 
+import static org.apache.commons.lang.StringUtils.capitalize;
 import static org.apache.commons.lang.StringUtils.defaultString;
 import static org.apache.commons.lang.StringUtils.isNotBlank;
 import static org.apache.commons.lang.StringUtils.join;
@@ -60,11 +61,18 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.math.NumberUtils;
 import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+import org.raml.jaxrs.codegen.core.Configuration.MultipartBackend;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Counter;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Phase;
 import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
 import org.raml.jaxrs.codegen.core.ext.InterfaceNameBuilderExtension;
+import org.raml.jaxrs.codegen.core.ext.MethodNameBuilderExtension;
+import org.raml.jaxrs.codegen.core.ext.ModelClassExtension;
 import org.raml.model.Action;
 import org.raml.model.MimeType;
+import org.raml.model.ParamType;
 import org.raml.model.Raml;
 import org.raml.model.Resource;
 import org.raml.model.Response;
@@ -74,7 +82,6 @@ import org.raml.model.parameter.Header;
 import org.raml.model.parameter.QueryParameter;
 import org.raml.model.parameter.UriParameter;
 import org.raml.parser.loader.ClassPathResourceLoader;
-import org.raml.parser.loader.CompositeResourceLoader;
 import org.raml.parser.loader.FileResourceLoader;
 import org.raml.parser.loader.ResourceLoader;
 import org.raml.parser.loader.UrlResourceLoader;
@@ -91,7 +98,9 @@ import com.sun.codemodel.JAnnotationUse;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
@@ -112,6 +121,29 @@ public abstract class AbstractGenerator {
 	protected Context context;
 	protected Types types;
 	protected List<GeneratorExtension> extensions;
+	protected GenerationMetrics metrics;
+
+	private static final String JERSEY_FORM_DATA_PARAM = "org.glassfish.jersey.media.multipart.FormDataParam";
+	private static final String RESTEASY_MULTIPART_FORM = "org.jboss.resteasy.annotations.providers.multipart.MultipartForm";
+	private static final String RESTEASY_PART_TYPE = "org.jboss.resteasy.annotations.providers.multipart.PartType";
+
+	private ParameterValidators parameterValidators;
+	private MultipartBackend multipartBackend;
+	private ResourceContentCache resourceContentCache;
+
+	/**
+	 * <p>Reads the included files and schemas through a cache kept between runs.</p>
+	 *
+	 * @param resourceContentCache a {@link org.raml.jaxrs.codegen.core.ResourceContentCache} object, <code>null</code> to read them every time.
+	 */
+	public void setResourceContentCache(ResourceContentCache resourceContentCache) {
+		this.resourceContentCache = resourceContentCache;
+	}
+
+	private ResourceLoader fileResourceLoader(String directory) {
+		return resourceContentCache != null ? resourceContentCache.loader(directory)
+				: new FileResourceLoader(directory);
+	}
 
 	private ResourceLoader[] prepareResourceLoaders(
 			final Configuration configuration,final String location) {
@@ -121,7 +153,7 @@ public abstract class AbstractGenerator {
 						new ClassPathResourceLoader()));
 		if (sourceDirectory != null) {
 			String sourceDirAbsPath = sourceDirectory.getAbsolutePath();
-			loaderList.add(new FileResourceLoader(sourceDirAbsPath));
+			loaderList.add(fileResourceLoader(sourceDirAbsPath));
 		}
 		//Supporting all  options that occured in real life at the moment
 		//TODO make loading more consistent (we should drop some options)
@@ -130,8 +162,8 @@ public abstract class AbstractGenerator {
 			String fl=new File(location).getParent();
 			if (sourceDirAbsPath.endsWith(fl)){
 				sourceDirAbsPath=sourceDirAbsPath.substring(0,sourceDirAbsPath.length()-fl.length());
-				loaderList.add(new FileResourceLoader(sourceDirAbsPath));
-				loaderList.add(new FileResourceLoader(sourceDirectory){
+				loaderList.add(fileResourceLoader(sourceDirAbsPath));
+				loaderList.add(resourceContentCache != null ? resourceContentCache.loader(null) : new FileResourceLoader(sourceDirectory){
 					 	
 					 	@Override
 					    public InputStream fetchResource(String resourceName)
@@ -155,8 +187,8 @@ public abstract class AbstractGenerator {
 				});
 			}
 			else{
-				loaderList.add(new FileResourceLoader(location));
-				loaderList.add(new FileResourceLoader(""));
+				loaderList.add(fileResourceLoader(location));
+				loaderList.add(fileResourceLoader(""));
 			}
 		}
 		ResourceLoader[] loaderArray = loaderList
@@ -206,10 +238,27 @@ public abstract class AbstractGenerator {
 	 */
 	protected Set<String> run(final Raml raml, final Configuration configuration)
 			throws Exception {
+		metrics = new GenerationMetrics(configuration.isGenerateMetricsReport());
+		return runWithCurrentMetrics(raml, configuration);
+	}
+
+	// records into the metrics of the current run, which the reader overload
+	// has already filled with the validation and parsing phases
+	private Set<String> runWithCurrentMetrics(final Raml raml, final Configuration configuration)
+			throws Exception {
 		validate(configuration);
 		extensions = configuration.getExtensions();
-		context = new Context(configuration, raml);
+		context = new Context(configuration, raml, metrics);
 		types = new Types(context);
+		parameterValidators = configuration.isGenerateParameterValidators()
+				&& !configuration.isGenerateClientInterface()
+				&& !configuration.isGenerateSpringWebFlux()
+				? new ParameterValidators(context.getCodeModel(), context.getSupportPackage())
+				: null;
+		multipartBackend = !configuration.isGenerateClientInterface()
+				&& !configuration.isGenerateSpringWebFlux()
+				? configuration.getMultipartBackend()
+				: MultipartBackend.MIME_MULTIPART;
 
 		for (GeneratorExtension e : extensions) {
 			e.setRaml(raml);
@@ -220,7 +269,24 @@ public abstract class AbstractGenerator {
 		types.generateClassesFromXmlSchemas(resources);
 
 		for (final Resource resource : resources) {
-			createResourceInterface(resource, raml);
+			metrics.begin(Phase.CODE_MODEL);
+			try {
+				createResourceInterface(resource, raml);
+			} finally {
+				metrics.end(Phase.CODE_MODEL);
+			}
+			context.flushResourceInterface();
+		}
+
+		if (parameterValidators != null) {
+			parameterValidators.generateFeature();
+		}
+
+		for (GeneratorExtension e : extensions) {
+			if (e instanceof ModelClassExtension) {
+				((ModelClassExtension) e).onCreateModelClasses(context.getModelClasses(),
+						configuration.getJsonMapper());
+			}
 		}
 
 		return context.generate();
@@ -235,23 +301,8 @@ public abstract class AbstractGenerator {
 	 */
 	protected void createResourceInterface(final Resource resource,
 			final Raml raml) throws Exception {
-		
-		String resourceInterfaceName = null;
-    	for (GeneratorExtension e : extensions) {
-    		if(e instanceof InterfaceNameBuilderExtension){
-    			InterfaceNameBuilderExtension inbe = (InterfaceNameBuilderExtension) e;
-    			resourceInterfaceName = inbe.buildResourceInterfaceName(resource);
-    			if(resourceInterfaceName!=null){
-    				break;
-    			}
-    		}
-        }
-    	if(resourceInterfaceName==null){
-    		resourceInterfaceName = Names.buildResourceInterfaceName(resource);
-    	}
-		
 		final JDefinedClass resourceInterface = context
-				.createResourceInterface(resourceInterfaceName);
+				.createResourceInterface(buildResourceInterfaceName(resource));
 		context.setCurrentResourceInterface(resourceInterface);
 
 		final String path = strip(resource.getRelativeUri(), "/");
@@ -271,6 +322,55 @@ public abstract class AbstractGenerator {
 		}
 	}
 
+	/**
+	 * <p>buildResourceInterfaceName.</p>
+	 *
+	 * The first {@link org.raml.jaxrs.codegen.core.ext.InterfaceNameBuilderExtension} returning
+	 * a name wins, {@link Names#buildResourceInterfaceName(Resource)} is used otherwise.
+	 *
+	 * @param resource a {@link org.raml.model.Resource} object.
+	 * @return a {@link java.lang.String} object.
+	 */
+	protected String buildResourceInterfaceName(final Resource resource) {
+		for (GeneratorExtension e : extensions) {
+			if (e instanceof InterfaceNameBuilderExtension) {
+				final String resourceInterfaceName = ((InterfaceNameBuilderExtension) e)
+						.buildResourceInterfaceName(resource);
+				if (resourceInterfaceName != null) {
+					return resourceInterfaceName;
+				}
+			}
+		}
+		return Names.buildResourceInterfaceName(resource);
+	}
+
+	/**
+	 * <p>buildResourceMethodName.</p>
+	 *
+	 * The first {@link org.raml.jaxrs.codegen.core.ext.MethodNameBuilderExtension} decides,
+	 * {@link Names#buildResourceMethodName(Action, MimeType)} is used when there is none or it
+	 * returns <code>null</code>.
+	 *
+	 * @param action a {@link org.raml.model.Action} object.
+	 * @param bodyMimeType a {@link org.raml.model.MimeType} object, <code>null</code> to leave it out of the name.
+	 * @param resource a {@link org.raml.model.Resource} object.
+	 * @return a {@link java.lang.String} object.
+	 */
+	protected String buildResourceMethodName(final Action action,
+			final MimeType bodyMimeType, final Resource resource) {
+		for (GeneratorExtension e : extensions) {
+			if (e instanceof MethodNameBuilderExtension) {
+				final String methodName = ((MethodNameBuilderExtension) e)
+						.buildResourceMethodName(action, bodyMimeType, resource);
+				if (methodName != null) {
+					return methodName;
+				}
+				break;
+			}
+		}
+		return Names.buildResourceMethodName(action, bodyMimeType);
+	}
+
 	/**
 	 * <p>addResourceMethods.</p>
 	 *
@@ -282,6 +382,8 @@ public abstract class AbstractGenerator {
 	protected void addResourceMethods(final Resource resource,
 			final JDefinedClass resourceInterface,
 			final String resourceInterfacePath) throws Exception {
+		metrics.increment(Counter.RESOURCES);
+		metrics.add(Counter.ACTIONS, resource.getActions().size());
 		for (final Action action : resource.getActions().values()) {
 			if (!action.hasBody()) {
 				addResourceMethods(resourceInterface, resource, resourceInterfacePath,
@@ -328,6 +430,29 @@ public abstract class AbstractGenerator {
 		return responseMimeTypes.values();
 	}
 
+	/**
+	 * <p>getSuccessResponseMimeType.</p>
+	 *
+	 * @param action a {@link org.raml.model.Action} object.
+	 * @return the first mime type of the first 2xx response having a body, or <code>null</code>.
+	 */
+	protected MimeType getSuccessResponseMimeType(final Action action) {
+		for (final Entry<String, Response> statusCodeAndResponse : action
+				.getResponses().entrySet()) {
+			final int statusCode = NumberUtils.toInt(statusCodeAndResponse.getKey());
+			final Response response = statusCodeAndResponse.getValue();
+			if (statusCode < 200 || statusCode >= 300 || !response.hasBody()) {
+				continue;
+			}
+			for (final MimeType mimeType : response.getBody().values()) {
+				if (mimeType != null) {
+					return mimeType;
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * <p>addResourceMethod.</p>
 	 *
@@ -483,6 +608,65 @@ public abstract class AbstractGenerator {
 		}
 	}
 
+	/**
+	 * <p>addMultipartParameters.</p>
+	 *
+	 * Binds every declared part of a <code>multipart/form-data</code> body on its own, as an
+	 * argument with Jersey or as a field of a form class generated in the resource interface
+	 * with RESTEasy. File parts are read as <code>InputStream</code>s so that the upload is
+	 * streamed to the method instead of being parsed in memory first.
+	 *
+	 * @param bodyMimeType a {@link org.raml.model.MimeType} object.
+	 * @param method a {@link com.sun.codemodel.JMethod} object.
+	 * @param javadoc a {@link com.sun.codemodel.JDocComment} object.
+	 * @throws java.lang.Exception if any.
+	 */
+	protected void addMultipartParameters(final MimeType bodyMimeType,
+			final JMethod method, final JDocComment javadoc) throws Exception {
+		JDefinedClass form = null;
+		if (multipartBackend == MultipartBackend.RESTEASY) {
+			form = context.getCurrentResourceInterface()._class(
+					capitalize(method.name()) + "Form");
+			final JVar formArgument = method.param(form, GENERIC_PAYLOAD_ARGUMENT_NAME);
+			formArgument.annotate(types.getGeneratorClass(RESTEASY_MULTIPART_FORM));
+			javadoc.addParam(formArgument).add("the parts of the form");
+		}
+
+		for (final Entry<String, List<FormParameter>> namedFormParameters : bodyMimeType
+				.getFormParameters().entrySet()) {
+			final String name = namedFormParameters.getKey();
+			final FormParameter parameter = namedFormParameters.getValue().get(0);
+			if (context.getConfiguration().getIgnoredParameterNames().contains(name)
+					|| !acceptParameter(name, parameter, FormParam.class, method)) {
+				continue;
+			}
+
+			final String argumentName = Names.buildVariableName(name);
+			final boolean file = parameter.getType() == ParamType.FILE;
+			final JType type = file ? types.getGeneratorType(InputStream.class)
+					: types.buildParameterType(parameter, argumentName);
+
+			if (form == null) {
+				final JVar argument = method.param(type, argumentName);
+				argument.annotate(types.getGeneratorClass(JERSEY_FORM_DATA_PARAM)).param(
+						DEFAULT_ANNOTATION_PARAMETER, name);
+				if (parameter.getDefaultValue() != null) {
+					argument.annotate(DefaultValue.class).param(
+							DEFAULT_ANNOTATION_PARAMETER, parameter.getDefaultValue());
+				}
+				addParameterJavaDoc(parameter, argumentName, javadoc);
+			} else {
+				final JFieldVar field = form.field(JMod.PUBLIC, type, argumentName);
+				field.annotate(FormParam.class).param(DEFAULT_ANNOTATION_PARAMETER, name);
+				field.annotate(types.getGeneratorClass(RESTEASY_PART_TYPE)).param(
+						DEFAULT_ANNOTATION_PARAMETER,
+						file ? MediaType.APPLICATION_OCTET_STREAM : MediaType.TEXT_PLAIN);
+				field.javadoc().add(defaultString(parameter.getDescription())
+						+ getPrefixedExampleOrBlank(parameter.getExample()));
+			}
+		}
+	}
+
 	/**
 	 * <p>addConsumesAnnotation.</p>
 	 *
@@ -534,9 +718,16 @@ public abstract class AbstractGenerator {
 				.getType())) {
 			addFormParameters(bodyMimeType, method, javadoc);
 		} else if (MediaType.MULTIPART_FORM_DATA.equals(bodyMimeType.getType())) {
-			// use a "catch all" javax.mail.internet.MimeMultipart parameter
-			addCatchAllFormParametersArgument(bodyMimeType, method, javadoc,
-					types.getGeneratorType(MimeMultipart.class));
+			if (multipartBackend != MultipartBackend.MIME_MULTIPART
+					&& bodyMimeType.getFormParameters() != null
+					&& !bodyMimeType.getFormParameters().isEmpty()
+					&& !hasAMultiTypeFormParameter(bodyMimeType)) {
+				addMultipartParameters(bodyMimeType, method, javadoc);
+			} else {
+				// use a "catch all" javax.mail.internet.MimeMultipart parameter
+				addCatchAllFormParametersArgument(bodyMimeType, method, javadoc,
+						types.getGeneratorType(MimeMultipart.class));
+			}
 		} else {
 			addPlainBodyArgument(bodyMimeType, method, javadoc);
 		}
@@ -631,10 +822,8 @@ public abstract class AbstractGenerator {
 		if (this.context.getConfiguration().getIgnoredParameterNames().contains(name)){
 			return;
 		}
-		for (GeneratorExtension e : extensions) {
-			if (!e.AddParameterFilter(name, parameter, annotationClass, method)) {
-				return;
-			}
+		if (!acceptParameter(name, parameter, annotationClass, method)) {
+			return;
 		}
 
 		final String argumentName = Names.buildVariableName(name);
@@ -643,6 +832,44 @@ public abstract class AbstractGenerator {
 				.param(types.buildParameterType(parameter, argumentName),
 						argumentName);
 
+		annotateParameter(name, parameter, annotationClass, argumentVariable);
+
+		// the generated validators replace Bean Validation for the parameters they support
+		final boolean validated = parameterValidators != null
+				&& parameterValidators.addParameter(context.getCurrentResourceInterface(),
+						method, name, parameter, annotationClass);
+		if (!validated && context.getConfiguration().isUseJsr303Annotations()) {
+			addJsr303Annotations(parameter, argumentVariable);
+		}
+
+		addParameterJavaDoc(parameter, argumentVariable.name(), javadoc);
+	}
+
+	private boolean acceptParameter(final String name, final AbstractParam parameter,
+			final Class<? extends Annotation> annotationClass, final JMethod method) {
+		for (GeneratorExtension e : extensions) {
+			if (!e.AddParameterFilter(name, parameter, annotationClass, method)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>annotateParameter.</p>
+	 *
+	 * Binds a generated argument to its request parameter, the annotation class is the
+	 * JAX-RS one describing where the parameter comes from.
+	 *
+	 * @param name a {@link java.lang.String} object.
+	 * @param parameter a {@link org.raml.model.parameter.AbstractParam} object.
+	 * @param annotationClass a {@link java.lang.Class} object.
+	 * @param argumentVariable a {@link com.sun.codemodel.JVar} object.
+	 */
+	protected void annotateParameter(final String name,
+			final AbstractParam parameter,
+			final Class<? extends Annotation> annotationClass,
+			final JVar argumentVariable) {
 		argumentVariable.annotate(annotationClass).param(
 				DEFAULT_ANNOTATION_PARAMETER, name);
 
@@ -650,12 +877,6 @@ public abstract class AbstractGenerator {
 			argumentVariable.annotate(DefaultValue.class).param(
 					DEFAULT_ANNOTATION_PARAMETER, parameter.getDefaultValue());
 		}
-
-		if (context.getConfiguration().isUseJsr303Annotations()) {
-			addJsr303Annotations(parameter, argumentVariable);
-		}
-
-		addParameterJavaDoc(parameter, argumentVariable.name(), javadoc);
 	}
 
 	private void addJsr303Annotations(final AbstractParam parameter,
@@ -755,6 +976,30 @@ public abstract class AbstractGenerator {
 		return stringBuilder.toString();
 	}
 
+	/**
+	 * <p>Getter for the metrics of the last generation.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.codegen.core.GenerationMetrics} object, <code>null</code> before the first run.
+	 */
+	public GenerationMetrics getMetrics() {
+		return metrics;
+	}
+
+	private void writeMetricsReport(final Configuration configuration, final String readerLocation) {
+		String name = new File(readerLocation).getName();
+		if (StringUtils.isBlank(name)) {
+			name = "raml";
+		} else if (name.lastIndexOf('.') > 0) {
+			name = name.substring(0, name.lastIndexOf('.'));
+		}
+		final File report = new File(configuration.getOutputDirectory(), name + ".metrics.json");
+		try {
+			metrics.write(report, StringUtils.defaultIfBlank(readerLocation, null));
+		} catch (final IOException e) {
+			LOGGER.warn("Failed to write generation metrics to " + report, e);
+		}
+	}
+
 	/**
 	 * <p>run.</p>
 	 *
@@ -770,16 +1015,59 @@ public abstract class AbstractGenerator {
 			throw new IllegalArgumentException(
 					"Asynchronous resources are not supported in JAX-RS 1.1");
 		}
+		if ((configuration.isCompletionStageResources() || isNotBlank(configuration.getCompletionStageResourceTrait()))
+				&& configuration.getJaxrsVersion() != JaxrsVersion.JAXRS_2_1) {
+			throw new IllegalArgumentException(
+					"CompletionStage resources are only supported in JAX-RS 2.1");
+		}
+		if (configuration.isGenerateClientImplementation()
+				&& configuration.getJaxrsVersion() == JaxrsVersion.JAXRS_1_1) {
+			throw new IllegalArgumentException(
+					"Client implementations are not supported in JAX-RS 1.1");
+		}
+		if (configuration.isGenerateEnumParamConverters()
+				&& configuration.getJaxrsVersion() == JaxrsVersion.JAXRS_1_1) {
+			throw new IllegalArgumentException(
+					"Enum parameter converters are not supported in JAX-RS 1.1");
+		}
+		if (configuration.isGenerateParameterValidators()
+				&& configuration.getJaxrsVersion() == JaxrsVersion.JAXRS_1_1) {
+			throw new IllegalArgumentException(
+					"Parameter validators are not supported in JAX-RS 1.1");
+		}
+		if (configuration.getMultipartBackend() != MultipartBackend.MIME_MULTIPART
+				&& configuration.getJaxrsVersion() == JaxrsVersion.JAXRS_1_1) {
+			throw new IllegalArgumentException(
+					"Streaming multipart parameters are not supported in JAX-RS 1.1");
+		}
+		metrics = new GenerationMetrics(configuration.isGenerateMetricsReport());
 		final String ramlBuffer = IOUtils.toString(ramlReader);
 		String folder=new File(readerLocation).getParent();
 		ResourceLoader[] loaderArray = prepareResourceLoaders(configuration,folder);
+		// shared by the validation and the parsing, which fetch the same includes
+		final MemoizingResourceLoader resourceLoader = new MemoizingResourceLoader(loaderArray);
 
+		metrics.begin(Phase.VALIDATION);
 		final List<ValidationResult> results = RamlValidationService
-				.createDefault(new CompositeResourceLoader(loaderArray))
+				.createDefault(resourceLoader)
 				.validate(ramlBuffer, readerLocation);
+		metrics.end(Phase.VALIDATION);
 		if (ValidationResult.areValid(results)) {
-			return run(new RamlDocumentBuilder(new CompositeResourceLoader(
-					loaderArray)).build(ramlBuffer,readerLocation), configuration);
+			// templates and traits are resolved while the document is built
+			metrics.begin(Phase.PARSE);
+			final Raml raml = new RamlDocumentBuilder(resourceLoader).build(ramlBuffer,readerLocation);
+			metrics.end(Phase.PARSE);
+			metrics.add(Counter.RESOURCE_MEMO_HITS, resourceLoader.getMemoHitCount());
+			metrics.add(Counter.RESOURCE_MISSES, resourceLoader.getMissCount());
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Resources found per loader: "
+						+ Arrays.toString(resourceLoader.getHitCounts()));
+			}
+			final Set<String> generatedFiles = runWithCurrentMetrics(raml, configuration);
+			if (configuration.isGenerateMetricsReport()) {
+				writeMetricsReport(configuration, readerLocation);
+			}
+			return generatedFiles;
 		} else {
 			final List<String> validationErrors = Lists.transform(results,
 					new Function<ValidationResult, String>() {
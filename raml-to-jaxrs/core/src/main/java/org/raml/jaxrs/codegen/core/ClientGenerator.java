@@ -15,29 +15,65 @@
  */
 package org.raml.jaxrs.codegen.core;
 
+import static org.apache.commons.lang.StringUtils.isNotBlank;
+import static org.apache.commons.lang.StringUtils.join;
+import static org.apache.commons.lang.StringUtils.splitByCharacterTypeCamelCase;
+import static org.apache.commons.lang.StringUtils.startsWith;
+import static org.apache.commons.lang.StringUtils.strip;
+import static org.raml.jaxrs.codegen.core.Names.GENERIC_PAYLOAD_ARGUMENT_NAME;
+
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
-import org.raml.jaxrs.codegen.core.ext.MethodNameBuilderExtension;
 import org.raml.model.Action;
 import org.raml.model.MimeType;
 import org.raml.model.Resource;
+import org.raml.model.parameter.AbstractParam;
 
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
 
 /**
  * <p>ClientGenerator class.</p>
  *
+ * With {@link Configuration#isGenerateClientImplementation()} a typed client class is also
+ * generated for every interface. It returns the entities of the successful responses, and
+ * every call has a synchronous and a <code>CompletionStage</code> variant.
+ *
  * @author kor
  * @version $Id: $Id
  */
 public class ClientGenerator extends AbstractGenerator {
 
+	private static final String CLIENT = "javax.ws.rs.client.Client";
+	private static final String WEB_TARGET = "javax.ws.rs.client.WebTarget";
+	private static final String INVOCATION_BUILDER = "javax.ws.rs.client.Invocation.Builder";
+	private static final String ENTITY = "javax.ws.rs.client.Entity";
+	private static final String GENERIC_TYPE = "javax.ws.rs.core.GenericType";
+	private static final String FORM = "javax.ws.rs.core.Form";
+	private static final String COMPLETION_STAGE = "java.util.concurrent.CompletionStage";
+
+	private ClientImplementation clientImplementation;
+
 	/** {@inheritDoc} */
 	protected void addResourceMethod(final JDefinedClass resourceInterface,
 			final Resource resource,
@@ -48,19 +84,7 @@ public class ClientGenerator extends AbstractGenerator {
 			final Collection<MimeType> uniqueResponseMimeTypes)
 			throws Exception {
 		MimeType actualBodyMimeType = addBodyMimeTypeInMethodName ? bodyMimeType : null;
-		String methodName = null;
-		if(this.extensions!=null){
-			for(GeneratorExtension ext : this.extensions){
-				if(ext instanceof MethodNameBuilderExtension){
-					methodName = ((MethodNameBuilderExtension)ext)
-							.buildResourceMethodName(action, actualBodyMimeType,resource);
-					break;
-				}
-			}
-		}
-		if(methodName==null){
-			methodName = Names.buildResourceMethodName(action,actualBodyMimeType);
-		}
+		final String methodName = buildResourceMethodName(action, actualBodyMimeType, resource);
 		final JType resourceMethodReturnType = getResourceMethodReturnType(
 				methodName, action, uniqueResponseMimeTypes.isEmpty(),
 				false, resourceInterface);
@@ -72,6 +96,10 @@ public class ClientGenerator extends AbstractGenerator {
 		addProducesAnnotation(uniqueResponseMimeTypes, method);
 		final JDocComment javadoc = addBaseJavaDoc(action, method);
 		addParameters(action, bodyMimeType, method, javadoc);
+		if (context.getConfiguration().isGenerateClientImplementation()) {
+			addClientMethods(resourceInterface, method.name(), action,
+					bodyMimeType, uniqueResponseMimeTypes);
+		}
 		/* call registered extensions */
 		for (GeneratorExtension e : extensions) {
 			e.onAddResourceMethod(method, action, bodyMimeType,
@@ -96,4 +124,233 @@ public class ClientGenerator extends AbstractGenerator {
         }
 		return context.ref(Response.class.getName());
 	}
+
+	private void addClientMethods(final JDefinedClass resourceInterface,
+			final String methodName, final Action action,
+			final MimeType bodyMimeType,
+			final Collection<MimeType> uniqueResponseMimeTypes)
+			throws Exception {
+		if (clientImplementation == null
+				|| clientImplementation.resourceInterface != resourceInterface) {
+			clientImplementation = new ClientImplementation(resourceInterface);
+		}
+		final JDefinedClass clientClass = clientImplementation.clientClass;
+
+		// the request is built by a method shared by the synchronous and asynchronous calls
+		final JMethod requestMethod = clientClass.method(JMod.PRIVATE,
+				types.getGeneratorClass(INVOCATION_BUILDER), methodName + "Request");
+		addClientRequest(requestMethod,
+				clientImplementation.getTarget(action.getResource().getUri()),
+				action, uniqueResponseMimeTypes);
+
+		final JClass entityType = getClientEntityType(action);
+		final JClass resultType = entityType != null ? entityType : types
+				.getGeneratorClass(Response.StatusType.class);
+		JFieldVar entityTypeField = null;
+		if (entityType != null) {
+			final JClass genericType = types.getGeneratorClass(GENERIC_TYPE).narrow(entityType);
+			final String entityTypeName = join(
+					splitByCharacterTypeCamelCase(methodName), '_').toUpperCase() + "_TYPE";
+			// a parameterized entity type is captured by an anonymous subclass
+			entityTypeField = clientClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+					genericType, entityTypeName,
+					entityType.getTypeParameters().isEmpty()
+							? JExpr._new(genericType).arg(entityType.dotclass())
+							: JExpr._new(resourceInterface.owner().anonymousClass(genericType)));
+		}
+
+		final JMethod syncMethod = clientClass.method(JMod.PUBLIC, resultType, methodName);
+		final JInvocation syncInvocation = invokeClientRequest(syncMethod,
+				requestMethod).invoke("method").arg(action.getType().name());
+		addClientEntityArgument(syncMethod, syncInvocation, bodyMimeType);
+		if (entityTypeField != null) {
+			syncMethod.body()._return(syncInvocation.arg(entityTypeField));
+		} else {
+			final JVar response = syncMethod.body().decl(
+					types.getGeneratorClass(Response.class), "response", syncInvocation);
+			syncMethod.body().invoke(response, "close");
+			syncMethod.body()._return(response.invoke("getStatusInfo"));
+		}
+
+		final JMethod asyncMethod = clientClass.method(JMod.PUBLIC,
+				types.getGeneratorClass(COMPLETION_STAGE).narrow(resultType), methodName + "Async");
+		final JInvocation asyncInvocation = invokeClientRequest(asyncMethod,
+				requestMethod).invoke("async").invoke("method")
+				.arg(action.getType().name());
+		addClientEntityArgument(asyncMethod, asyncInvocation, bodyMimeType);
+		final JClass stageType = context.getClientResponseStageType().narrow(resultType);
+		final JVar stage = asyncMethod.body().decl(stageType, "stage", JExpr._new(stageType)
+				.arg(entityTypeField != null ? entityTypeField : JExpr._null()));
+		asyncMethod.body().add(asyncInvocation.arg(stage));
+		asyncMethod.body()._return(stage);
+
+		if (isNotBlank(action.getDescription())) {
+			syncMethod.javadoc().add(action.getDescription());
+			asyncMethod.javadoc().add(action.getDescription());
+		}
+	}
+
+	private void addClientRequest(final JMethod requestMethod,
+			final JFieldVar target, final Action action,
+			final Collection<MimeType> uniqueResponseMimeTypes) throws Exception {
+		final JBlock body = requestMethod.body();
+		final JVar webTarget = body.decl(types.getGeneratorClass(WEB_TARGET), "target", target);
+
+		for (final Entry<String, AbstractParam> namedParameter : getClientPathParameters(action).entrySet()) {
+			final JVar argument = addClientParameter(requestMethod, namedParameter);
+			if (argument != null) {
+				body.assign(webTarget, webTarget.invoke("resolveTemplate")
+						.arg(namedParameter.getKey()).arg(argument));
+			}
+		}
+
+		for (final Entry<String, ? extends AbstractParam> namedParameter : action.getQueryParameters().entrySet()) {
+			final JVar argument = addClientParameter(requestMethod, namedParameter);
+			if (argument == null) {
+				continue;
+			}
+			final JExpression value = namedParameter.getValue().isRepeat()
+					? argument.invoke("toArray") : argument;
+			final JBlock block = argument.type().isPrimitive() ? body
+					: body._if(argument.ne(JExpr._null()))._then();
+			block.assign(webTarget, webTarget.invoke("queryParam")
+					.arg(namedParameter.getKey()).arg(value));
+		}
+
+		final JInvocation request = webTarget.invoke("request");
+		for (final MimeType responseMimeType : uniqueResponseMimeTypes) {
+			request.arg(responseMimeType.getType());
+		}
+		final JVar builder = body.decl(types.getGeneratorClass(INVOCATION_BUILDER), "request", request);
+
+		for (final Entry<String, ? extends AbstractParam> namedParameter : action.getHeaders().entrySet()) {
+			final JVar argument = addClientParameter(requestMethod, namedParameter);
+			if (argument == null) {
+				continue;
+			}
+			if (namedParameter.getValue().isRepeat()) {
+				final JClass valueType = ((JClass) argument.type()).getTypeParameters().get(0);
+				body.forEach(valueType, "value", argument).body()
+						.invoke(builder, "header").arg(namedParameter.getKey()).arg(JExpr.ref("value"));
+			} else {
+				final JBlock block = argument.type().isPrimitive() ? body
+						: body._if(argument.ne(JExpr._null()))._then();
+				block.invoke(builder, "header").arg(namedParameter.getKey()).arg(argument);
+			}
+		}
+		body._return(builder);
+	}
+
+	private Map<String, AbstractParam> getClientPathParameters(final Action action) {
+		final Map<String, AbstractParam> pathParameters = new LinkedHashMap<String, AbstractParam>();
+		for (Resource resource = action.getResource(); resource != null; resource = resource.getParentResource()) {
+			for (final Entry<String, ? extends AbstractParam> namedParameter : resource.getUriParameters().entrySet()) {
+				if (!pathParameters.containsKey(namedParameter.getKey())) {
+					pathParameters.put(namedParameter.getKey(), namedParameter.getValue());
+				}
+			}
+		}
+		return pathParameters;
+	}
+
+	private JVar addClientParameter(final JMethod method,
+			final Entry<String, ? extends AbstractParam> namedParameter) throws Exception {
+		if (context.getConfiguration().getIgnoredParameterNames().contains(namedParameter.getKey())) {
+			return null;
+		}
+		final String argumentName = Names.buildVariableName(namedParameter.getKey());
+		return method.param(types.buildParameterType(namedParameter.getValue(), argumentName), argumentName);
+	}
+
+	private JInvocation invokeClientRequest(final JMethod method,
+			final JMethod requestMethod) {
+		final JInvocation invocation = JExpr.invoke(requestMethod);
+		for (final JVar requestParameter : requestMethod.params()) {
+			invocation.arg(method.param(requestParameter.type(), requestParameter.name()));
+		}
+		return invocation;
+	}
+
+	private void addClientEntityArgument(final JMethod method,
+			final JInvocation invocation, final MimeType bodyMimeType)
+			throws Exception {
+		if (bodyMimeType == null) {
+			return;
+		}
+		final JClass entityClass = types.getGeneratorClass(ENTITY);
+		if (MediaType.APPLICATION_FORM_URLENCODED.equals(bodyMimeType.getType())) {
+			final JVar entity = method.param(types.getGeneratorClass(FORM), GENERIC_PAYLOAD_ARGUMENT_NAME);
+			invocation.arg(entityClass.staticInvoke("form").arg(entity));
+		} else {
+			final JType bodyType = MediaType.MULTIPART_FORM_DATA.equals(bodyMimeType.getType())
+					? types.getGeneratorType(Object.class)
+					: types.getRequestEntityClass(bodyMimeType);
+			final JVar entity = method.param(bodyType, GENERIC_PAYLOAD_ARGUMENT_NAME);
+			invocation.arg(entityClass.staticInvoke("entity").arg(entity).arg(bodyMimeType.getType()));
+		}
+	}
+
+	private JClass getClientEntityType(final Action action) throws Exception {
+		final MimeType responseMimeType = getSuccessResponseMimeType(action);
+		if (responseMimeType == null) {
+			return null;
+		}
+		final JClass schemaClass = types.getSchemaClass(responseMimeType);
+		if (schemaClass != null) {
+			return schemaClass;
+		} else if (startsWith(responseMimeType.getType(), "text/")) {
+			return types.getGeneratorClass(String.class);
+		} else {
+			return types.getGeneratorClass(InputStream.class);
+		}
+	}
+
+	/**
+	 * The typed client class of a resource interface with the web targets of its resources.
+	 */
+	private final class ClientImplementation {
+
+		private final JDefinedClass resourceInterface;
+		private final JDefinedClass clientClass;
+		private final JVar baseTarget;
+		private final JBlock constructorBody;
+		private final Map<String, JFieldVar> targets = new HashMap<String, JFieldVar>();
+
+		private ClientImplementation(final JDefinedClass resourceInterface)
+				throws JClassAlreadyExistsException {
+			this.resourceInterface = resourceInterface;
+			clientClass = resourceInterface.owner()
+					._package(context.getConfiguration().getBasePackageName() + ".client")
+					._class(resourceInterface.name() + "Client");
+			clientClass.javadoc().add("Typed client of {@link " + resourceInterface.fullName()
+					+ "}. The web targets are resolved once and every call shares the JAX-RS client,"
+					+ " and so its connection pool.");
+
+			final JMethod clientConstructor = clientClass.constructor(JMod.PUBLIC);
+			final JVar client = clientConstructor.param(types.getGeneratorClass(CLIENT), "client");
+			final JVar baseUri = clientConstructor.param(String.class, "baseUri");
+			clientConstructor.body().invoke("this").arg(client.invoke("target").arg(baseUri));
+
+			final JMethod targetConstructor = clientClass.constructor(JMod.PUBLIC);
+			baseTarget = targetConstructor.param(types.getGeneratorClass(WEB_TARGET), "baseTarget");
+			constructorBody = targetConstructor.body();
+		}
+
+		private JFieldVar getTarget(final String uri) {
+			JFieldVar target = targets.get(uri);
+			if (target == null) {
+				String name = Names.buildVariableName(uri.replace("{", " By "));
+				name = (name.length() == 0 ? "root" : name) + "Target";
+				if (clientClass.fields().containsKey(name)) {
+					name = name + targets.size();
+				}
+				target = clientClass.field(JMod.PRIVATE | JMod.FINAL,
+						types.getGeneratorClass(WEB_TARGET), name);
+				constructorBody.assign(JExpr._this().ref(target),
+						baseTarget.invoke("path").arg(strip(uri, "/")));
+				targets.put(uri, target);
+			}
+			return target;
+		}
+	}
 }
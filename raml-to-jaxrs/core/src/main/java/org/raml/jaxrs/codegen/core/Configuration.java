@@ -38,7 +38,7 @@ public class Configuration
 {
     public enum JaxrsVersion
     {
-        JAXRS_1_1("1.1"), JAXRS_2_0("2.0");//TEST
+        JAXRS_1_1("1.1"), JAXRS_2_0("2.0"), JAXRS_2_1("2.1");//TEST
 
         private final String alias;
 
@@ -47,6 +47,11 @@ public class Configuration
             this.alias = alias;
         }
 
+        public String getAlias()
+        {
+            return alias;
+        }
+
         public static JaxrsVersion fromAlias(final String alias)
         {
             final List<String> supportedAliases = new ArrayList<String>();
@@ -65,6 +70,19 @@ public class Configuration
         }
     };
 
+    /**
+     * The way the parts of <code>multipart/form-data</code> bodies are passed to the resource methods.
+     */
+    public enum MultipartBackend
+    {
+        /** A single <code>javax.mail.internet.MimeMultipart</code> argument, parsed before the method runs. */
+        MIME_MULTIPART,
+        /** An argument per part annotated with Jersey's <code>@FormDataParam</code>. */
+        JERSEY,
+        /** A form class per method, with a field per part, bound with RESTEasy's <code>@MultipartForm</code>. */
+        RESTEASY
+    };
+
     private File outputDirectory;
     private JaxrsVersion jaxrsVersion = JaxrsVersion.JAXRS_1_1;
     private String basePackageName;
@@ -413,5 +431,287 @@ public class Configuration
 		return this.extensions;
 	}
 
+	private boolean streamResourceInterfaces;
+
+	/**
+	 * <p>isStreamResourceInterfaces.</p>
+	 *
+	 * When set, every top level resource interface is written to disk and released as
+	 * soon as it is complete instead of being kept until the end of the generation.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isStreamResourceInterfaces() {
+		return streamResourceInterfaces;
+	}
+
+	/**
+	 * <p>Setter for the field <code>streamResourceInterfaces</code>.</p>
+	 *
+	 * @param streamResourceInterfaces a boolean.
+	 */
+	public void setStreamResourceInterfaces(boolean streamResourceInterfaces) {
+		this.streamResourceInterfaces = streamResourceInterfaces;
+	}
+
+	private boolean generateMetricsReport;
+
+	/**
+	 * <p>isGenerateMetricsReport.</p>
+	 *
+	 * When set, a <code>&lt;raml name&gt;.metrics.json</code> report with phase timings,
+	 * counts and allocated bytes is written to the output directory.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateMetricsReport() {
+		return generateMetricsReport;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateMetricsReport</code>.</p>
+	 *
+	 * @param generateMetricsReport a boolean.
+	 */
+	public void setGenerateMetricsReport(boolean generateMetricsReport) {
+		this.generateMetricsReport = generateMetricsReport;
+	}
+
+	private boolean completionStageResources;
+
+	/**
+	 * <p>isCompletionStageResources.</p>
+	 *
+	 * When set, every resource method returns a <code>CompletionStage</code> of its
+	 * response class, which requires JAX-RS 2.1.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isCompletionStageResources() {
+		return completionStageResources;
+	}
+
+	/**
+	 * <p>Setter for the field <code>completionStageResources</code>.</p>
+	 *
+	 * @param completionStageResources a boolean.
+	 */
+	public void setCompletionStageResources(boolean completionStageResources) {
+		this.completionStageResources = completionStageResources;
+	}
+
+	private String completionStageResourceTrait;
+
+	/**
+	 * <p>getCompletionStageResourceTrait.</p>
+	 *
+	 * The methods of the actions having this trait return a <code>CompletionStage</code>
+	 * of their response class, which requires JAX-RS 2.1.
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String getCompletionStageResourceTrait() {
+		return completionStageResourceTrait;
+	}
+
+	/**
+	 * <p>Setter for the field <code>completionStageResourceTrait</code>.</p>
+	 *
+	 * @param completionStageResourceTrait a {@link java.lang.String} object.
+	 */
+	public void setCompletionStageResourceTrait(String completionStageResourceTrait) {
+		this.completionStageResourceTrait = completionStageResourceTrait;
+	}
+
+	private boolean generateSpringWebFlux;
+
+	/**
+	 * <p>isGenerateSpringWebFlux.</p>
+	 *
+	 * When set, the resource interfaces are generated for Spring WebFlux, with
+	 * <code>Mono</code> and <code>Flux</code> bodies, instead of JAX-RS.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateSpringWebFlux() {
+		return generateSpringWebFlux;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateSpringWebFlux</code>.</p>
+	 *
+	 * @param generateSpringWebFlux a boolean.
+	 */
+	public void setGenerateSpringWebFlux(boolean generateSpringWebFlux) {
+		this.generateSpringWebFlux = generateSpringWebFlux;
+	}
+
+	private boolean generateClientImplementation;
+
+	/**
+	 * <p>isGenerateClientImplementation.</p>
+	 *
+	 * When set together with {@link #isGenerateClientInterface()}, a typed client class built
+	 * on the JAX-RS 2 client API is generated next to every client interface, which requires
+	 * JAX-RS 2.0 or later.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateClientImplementation() {
+		return generateClientImplementation;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateClientImplementation</code>.</p>
+	 *
+	 * @param generateClientImplementation a boolean.
+	 */
+	public void setGenerateClientImplementation(boolean generateClientImplementation) {
+		this.generateClientImplementation = generateClientImplementation;
+	}
+
+	private String reactiveStreamMediaType = "application/stream+json";
+
+	/**
+	 * <p>getReactiveStreamMediaType.</p>
+	 *
+	 * The media type a Spring WebFlux method returning a <code>Flux</code> also produces,
+	 * <code>application/stream+json</code> by default or <code>application/x-ndjson</code>.
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String getReactiveStreamMediaType() {
+		return reactiveStreamMediaType;
+	}
+
+	/**
+	 * <p>Setter for the field <code>reactiveStreamMediaType</code>.</p>
+	 *
+	 * @param reactiveStreamMediaType a {@link java.lang.String} object.
+	 */
+	public void setReactiveStreamMediaType(String reactiveStreamMediaType) {
+		this.reactiveStreamMediaType = reactiveStreamMediaType;
+	}
+
+	private boolean generateEnumParamConverters;
+
+	/**
+	 * <p>isGenerateEnumParamConverters.</p>
+	 *
+	 * When set, every enum generated for an enumerated parameter gets a JAX-RS
+	 * <code>ParamConverterProvider</code> looking its constants up in a precomputed map, all
+	 * registered by a generated <code>Feature</code>. Requires JAX-RS 2.0 or later.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateEnumParamConverters() {
+		return generateEnumParamConverters;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateEnumParamConverters</code>.</p>
+	 *
+	 * @param generateEnumParamConverters a boolean.
+	 */
+	public void setGenerateEnumParamConverters(boolean generateEnumParamConverters) {
+		this.generateEnumParamConverters = generateEnumParamConverters;
+	}
+
+	private boolean caseInsensitiveEnumParams;
+
+	/**
+	 * <p>isCaseInsensitiveEnumParams.</p>
+	 *
+	 * Whether the generated enum parameter converters ignore the case of the values.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isCaseInsensitiveEnumParams() {
+		return caseInsensitiveEnumParams;
+	}
+
+	/**
+	 * <p>Setter for the field <code>caseInsensitiveEnumParams</code>.</p>
+	 *
+	 * @param caseInsensitiveEnumParams a boolean.
+	 */
+	public void setCaseInsensitiveEnumParams(boolean caseInsensitiveEnumParams) {
+		this.caseInsensitiveEnumParams = caseInsensitiveEnumParams;
+	}
+
+	private boolean generateParameterValidators;
+
+	/**
+	 * <p>isGenerateParameterValidators.</p>
+	 *
+	 * When set, the constraints of the query, header and URI parameters, including their
+	 * patterns, are checked by generated JAX-RS 2 request filters instead of Bean Validation
+	 * annotations. Requires JAX-RS 2.0 or later.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateParameterValidators() {
+		return generateParameterValidators;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateParameterValidators</code>.</p>
+	 *
+	 * @param generateParameterValidators a boolean.
+	 */
+	public void setGenerateParameterValidators(boolean generateParameterValidators) {
+		this.generateParameterValidators = generateParameterValidators;
+	}
+
+	private MultipartBackend multipartBackend = MultipartBackend.MIME_MULTIPART;
+
+	/**
+	 * <p>Getter for the field <code>multipartBackend</code>.</p>
+	 *
+	 * With a backend other than <code>MIME_MULTIPART</code> the declared form parameters of
+	 * <code>multipart/form-data</code> bodies become typed arguments, <code>InputStream</code> for
+	 * files, so parts are streamed instead of parsed in memory. Bodies declaring no form parameter
+	 * or a parameter with several types keep the <code>MimeMultipart</code> argument. Requires
+	 * JAX-RS 2.0 or later.
+	 *
+	 * @return a {@link org.raml.jaxrs.codegen.core.Configuration.MultipartBackend} object.
+	 */
+	public MultipartBackend getMultipartBackend() {
+		return multipartBackend;
+	}
+
+	/**
+	 * <p>Setter for the field <code>multipartBackend</code>.</p>
+	 *
+	 * @param multipartBackend a {@link org.raml.jaxrs.codegen.core.Configuration.MultipartBackend} object.
+	 */
+	public void setMultipartBackend(MultipartBackend multipartBackend) {
+		this.multipartBackend = multipartBackend;
+	}
+
+	private boolean generateConditionalResponses;
+
+	/**
+	 * <p>isGenerateConditionalResponses.</p>
+	 *
+	 * When set, the resource methods of actions declaring an <code>ETag</code> or
+	 * <code>Last-Modified</code> response header get the JAX-RS <code>Request</code> injected and
+	 * their response classes an <code>evaluatePreconditions</code> helper, answering conditional
+	 * requests before the response is built.
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isGenerateConditionalResponses() {
+		return generateConditionalResponses;
+	}
+
+	/**
+	 * <p>Setter for the field <code>generateConditionalResponses</code>.</p>
+	 *
+	 * @param generateConditionalResponses a boolean.
+	 */
+	public void setGenerateConditionalResponses(boolean generateConditionalResponses) {
+		this.generateConditionalResponses = generateConditionalResponses;
+	}
 
 }
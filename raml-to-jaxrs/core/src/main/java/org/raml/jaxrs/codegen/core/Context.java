@@ -26,12 +26,16 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -46,6 +50,12 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.jsonschema2pojo.*;
 import org.jsonschema2pojo.rules.RuleFactory;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Counter;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Phase;
+import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
+import org.raml.jaxrs.codegen.core.ext.ModelClass;
+import org.raml.jaxrs.codegen.core.ext.ModelClassExtension;
 import org.raml.model.Raml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,10 +91,20 @@ class Context
     private final Map<String, Object> httpMethodAnnotations;
 
     private final SchemaMapper schemaMapper;
+    private final ModelClassCollector modelClassCollector;
 
     private boolean shouldGenerateResponseWrapper = false;
+    private boolean shouldGenerateClientResponseStage = false;
+    private boolean shouldGenerateFileRegionOutput = false;
+    private JDefinedClass jsonArrayOutput;
     private JDefinedClass currentResourceInterface;
     private final File globalSchemaStore;
+    private final Set<String> streamedFiles = new HashSet<String>();
+    private long heapUsageAtStart;
+    private long sampledPeakHeapUsage;
+    // by name, so the enums do not keep streamed resource interfaces and their code models alive
+    private final Map<String, List<String>> resourceEnums = new LinkedHashMap<String, List<String>>();
+    private final GenerationMetrics metrics;
 
     /**
      * <p>ref.</p>
@@ -104,12 +124,27 @@ class Context
      * @throws java.io.IOException if any.
      */
     public Context(final Configuration configuration, final Raml raml) throws IOException
+    {
+        this(configuration, raml, new GenerationMetrics(configuration.isGenerateMetricsReport()));
+    }
+
+    /**
+     * <p>Constructor for Context.</p>
+     *
+     * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+     * @param raml a {@link org.raml.model.Raml} object.
+     * @param metrics a {@link org.raml.jaxrs.codegen.core.GenerationMetrics} object.
+     * @throws java.io.IOException if any.
+     */
+    public Context(final Configuration configuration, final Raml raml, final GenerationMetrics metrics) throws IOException
     {
         Validate.notNull(configuration, "configuration can't be null");
         Validate.notNull(raml, "raml can't be null");
+        Validate.notNull(metrics, "metrics can't be null");
 
         this.configuration = configuration;
         this.raml = raml;
+        this.metrics = metrics;
 
         codeModel = new JCodeModel();
 
@@ -131,9 +166,16 @@ class Context
         }
         // configure the JSON -> POJO generator
         final GenerationConfig jsonSchemaGenerationConfig = configuration.createJsonSchemaGenerationConfig();
-        schemaMapper = new SchemaMapper(new RuleFactory(jsonSchemaGenerationConfig, getAnnotator(jsonSchemaGenerationConfig),
-                new SchemaStore()), new SchemaGenerator());
+        modelClassCollector = hasModelClassExtension(configuration) ? new ModelClassCollector() : null;
+        schemaMapper = new SchemaMapper(new RuleFactory(jsonSchemaGenerationConfig,
+                getAnnotator(jsonSchemaGenerationConfig, modelClassCollector), new SchemaStore()),
+                new SchemaGenerator());
 
+        if (configuration.isStreamResourceInterfaces())
+        {
+            heapUsageAtStart = getHeapUsage();
+            sampledPeakHeapUsage = heapUsageAtStart;
+        }
     }
 
 
@@ -142,17 +184,46 @@ class Context
     /**
      *
      * @param config
+     * @param modelClassCollector the collector to notify as well, or null
      * @return
      */
-    private static Annotator getAnnotator(GenerationConfig config) {
+    private static Annotator getAnnotator(GenerationConfig config, ModelClassCollector modelClassCollector) {
         Annotator coreAnnotator = new AnnotatorFactory().getAnnotator(config.getAnnotationStyle());
         if(config.getCustomAnnotator() != null){
-            Annotator customAnnotator = new AnnotatorFactory().getAnnotator(config.getCustomAnnotator());
-            return new CompositeAnnotator(coreAnnotator, customAnnotator);
+            coreAnnotator = new CompositeAnnotator(coreAnnotator,
+                    new AnnotatorFactory().getAnnotator(config.getCustomAnnotator()));
+        }
+        if(modelClassCollector != null){
+            return new CompositeAnnotator(coreAnnotator, modelClassCollector);
         }
         return coreAnnotator;
     }
 
+    private static boolean hasModelClassExtension(Configuration configuration) {
+        for (GeneratorExtension extension : configuration.getExtensions()) {
+            if (extension instanceof ModelClassExtension) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Returns the classes generated from JSON schemas so far.</p>
+     *
+     * They are only recorded when a {@link ModelClassExtension} is configured.
+     *
+     * @return a {@link java.util.Collection} object.
+     */
+    public Collection<ModelClass> getModelClasses()
+    {
+        if (modelClassCollector == null)
+        {
+            return Collections.emptyList();
+        }
+        return modelClassCollector.getModelClasses();
+    }
+
     /**
      * <p>generate.</p>
      *
@@ -161,17 +232,41 @@ class Context
      */
     public Set<String> generate() throws IOException
     {
+        if (configuration.isGenerateEnumParamConverters() && !resourceEnums.isEmpty())
+        {
+            new EnumParamConverters(codeModel, configuration.isCaseInsensitiveEnumParams())
+                .generate(codeModel._package(getSupportPackage()), resourceEnums);
+        }
+        sampleHeapUsage();
+        metrics.begin(Phase.WRITE);
         final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         final PrintStream ps = new PrintStream(baos);
         codeModel.build(configuration.getOutputDirectory(), ps);
         ps.close();
 
-        final Set<String> generatedFiles = new HashSet<String>();
+        final Set<String> generatedFiles = new HashSet<String>(streamedFiles);
         if (shouldGenerateResponseWrapper)
         {
-            generatedFiles.add(generateResponseWrapper());
+            JaxrsVersion wrapperVersion = configuration.getJaxrsVersion();
+            if (wrapperVersion == JaxrsVersion.JAXRS_2_1)
+            {
+                // JAX-RS 2.1 did not change the Response API, it shares the 2.0 wrapper
+                wrapperVersion = JaxrsVersion.JAXRS_2_0;
+            }
+            generatedFiles.add(generateSupportClass("ResponseWrapper." + wrapperVersion.toString().toLowerCase(),
+                "ResponseWrapper"));
+        }
+        if (shouldGenerateClientResponseStage)
+        {
+            generatedFiles.add(generateSupportClass("ClientResponseStage", "ClientResponseStage"));
+        }
+        if (shouldGenerateFileRegionOutput)
+        {
+            generatedFiles.add(generateSupportClass("FileRegionOutput", "FileRegionOutput"));
         }
         generatedFiles.addAll(Arrays.asList(StringUtils.split(baos.toString())));
+        metrics.end(Phase.WRITE);
+        metrics.add(Counter.GENERATED_FILES, generatedFiles.size());
 
         try
         {
@@ -182,9 +277,56 @@ class Context
             LOGGER.warn("Failed to delete temporary directory: " + globalSchemaStore);
         }
 
+        if (configuration.isStreamResourceInterfaces())
+        {
+            LOGGER.info("Heap usage during generation: " + (heapUsageAtStart >> 20) + " MB at start, at most "
+                        + (sampledPeakHeapUsage >> 20) + " MB sampled before writing each resource");
+        }
         return generatedFiles;
     }
 
+    /**
+     * <p>Writes the current resource interface, with its nested response classes and enums,
+     * and releases it.</p>
+     *
+     * Does nothing unless {@link Configuration#isStreamResourceInterfaces()} is set. Shared
+     * classes such as the models generated from schemas stay in the main code model and are
+     * written by {@link #generate()}.
+     *
+     * @throws java.io.IOException if any.
+     */
+    public void flushResourceInterface() throws IOException
+    {
+        if (currentResourceInterface == null || currentResourceInterface.owner() == codeModel)
+        {
+            return;
+        }
+        sampleHeapUsage();
+        metrics.begin(Phase.WRITE);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final PrintStream ps = new PrintStream(baos);
+        currentResourceInterface.owner().build(configuration.getOutputDirectory(), ps);
+        ps.close();
+        streamedFiles.addAll(Arrays.asList(StringUtils.split(baos.toString())));
+        currentResourceInterface = null;
+        metrics.end(Phase.WRITE);
+    }
+
+    // sampled rather than read from the pool peaks, which are JVM-wide and
+    // would have to be reset under every other user of the JVM
+    private void sampleHeapUsage()
+    {
+        if (configuration.isStreamResourceInterfaces())
+        {
+            sampledPeakHeapUsage = Math.max(sampledPeakHeapUsage, getHeapUsage());
+        }
+    }
+
+    private static long getHeapUsage()
+    {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
     /**
      * <p>getSchemaFile.</p>
      *
@@ -241,24 +383,23 @@ class Context
         this.currentResourceInterface = currentResourceInterface;
     }
 
-    private String generateResponseWrapper() throws IOException
+    private String generateSupportClass(final String templateName, final String className) throws IOException
     {
         final String template = IOUtils.toString(getClass().getResourceAsStream(
-            "/org/raml/templates/ResponseWrapper." + configuration.getJaxrsVersion().toString().toLowerCase()
-                            + ".template"));
+            "/org/raml/templates/" + templateName + ".template"));
 
         final File supportPackageOutputDirectory = new File(configuration.getOutputDirectory(),
             getSupportPackage().replace('.', File.separatorChar));
 
         supportPackageOutputDirectory.mkdirs();
 
-        final File sourceOutputFile = new File(supportPackageOutputDirectory, "ResponseWrapper.java");
+        final File sourceOutputFile = new File(supportPackageOutputDirectory, className + ".java");
         final String source = template.replace("${codegen.support.package}", getSupportPackage());
         final FileWriter fileWriter = new FileWriter(sourceOutputFile);
         IOUtils.write(source, fileWriter);
         IOUtils.closeQuietly(fileWriter);
 
-        return getSupportPackage().replace('.', '/') + "/ResponseWrapper.java";
+        return getSupportPackage().replace('.', '/') + "/" + className + ".java";
     }
 
     /**
@@ -273,6 +414,46 @@ class Context
         return codeModel.directClass(getSupportPackage() + ".ResponseWrapper");
     }
 
+    /**
+     * <p>getClientResponseStageType.</p>
+     *
+     * @return a {@link com.sun.codemodel.JClass} object.
+     */
+    public JClass getClientResponseStageType()
+    {
+        shouldGenerateClientResponseStage = true;
+
+        return codeModel.directClass(getSupportPackage() + ".ClientResponseStage");
+    }
+
+    /**
+     * <p>getFileRegionOutputType.</p>
+     *
+     * @return a {@link com.sun.codemodel.JClass} object.
+     */
+    public JClass getFileRegionOutputType()
+    {
+        shouldGenerateFileRegionOutput = true;
+
+        return codeModel.directClass(getSupportPackage() + ".FileRegionOutput");
+    }
+
+    /**
+     * <p>getJsonArrayOutputType.</p>
+     *
+     * @return the support class writing iterators as JSON arrays, or <code>null</code> when the
+     *         JSON mapper is not Jackson.
+     */
+    public JClass getJsonArrayOutputType()
+    {
+        if (jsonArrayOutput == null)
+        {
+            jsonArrayOutput = JsonArrayOutputs.generate(codeModel._package(getSupportPackage()),
+                configuration.getJsonMapper());
+        }
+        return jsonArrayOutput;
+    }
+
     /**
      * <p>createResourceInterface.</p>
      *
@@ -294,7 +475,9 @@ class Context
             }
         }
 
-        final JPackage pkg = codeModel._package(configuration.getBasePackageName() + ".resource");
+        // a streamed interface gets a code model of its own so it can be written and dropped on its own
+        final JCodeModel owner = configuration.isStreamResourceInterfaces() ? new JCodeModel() : codeModel;
+        final JPackage pkg = owner._package(configuration.getBasePackageName() + ".resource");
         return pkg._interface(actualName);
     }
 
@@ -323,6 +506,7 @@ class Context
                 break;
             }
         }
+        metrics.increment(Counter.METHODS);
 
         return resourceInterface.method(JMod.NONE, returnType, actualMethodName);
     }
@@ -352,6 +536,10 @@ class Context
         {
             _enum.enumConstant(value);
         }
+        if (configuration.isGenerateEnumParamConverters())
+        {
+            resourceEnums.put(_enum.fullName(), new ArrayList<String>(values));
+        }
 
         return _enum;
     }
@@ -422,7 +610,16 @@ class Context
      */
     public JClass generateClassFromJsonSchema(final String className, final URL schemaUrl) throws IOException
     {
-    	return schemaMapper.generate(codeModel, className, getModelPackage(), schemaUrl).boxify();
+        metrics.begin(Phase.JSON_SCHEMA);
+        try
+        {
+            metrics.increment(Counter.JSON_SCHEMAS);
+            return schemaMapper.generate(codeModel, className, getModelPackage(), schemaUrl).boxify();
+        }
+        finally
+        {
+            metrics.end(Phase.JSON_SCHEMA);
+        }
     }
 
     private JDefinedClass createCustomHttpMethodAnnotation(final String httpMethod)
@@ -445,7 +642,12 @@ class Context
             .concat(configuration.getModelPackageName());
     }
 
-    private String getSupportPackage()
+    /**
+     * <p>getSupportPackage.</p>
+     *
+     * @return the name of the package of the generated support classes.
+     */
+    String getSupportPackage()
     {
         return configuration.getBasePackageName() + ".support";
     }
@@ -462,7 +664,18 @@ class Context
         if (schemaFiles == null || schemaFiles.isEmpty()) {
             return result;
         }
+        metrics.add(Counter.XSD_SCHEMAS, schemaFiles.size());
+        metrics.begin(Phase.XSD_COMPILATION);
+        try {
+            generateClassesFromXmlSchemas(schemaFiles, result);
+        } finally {
+            metrics.end(Phase.XSD_COMPILATION);
+        }
+        return result;
+    }
 
+    private void generateClassesFromXmlSchemas(Map<String, File> schemaFiles, Map<String, JClass> result)
+    {
         HashMap<String, String> classNameToKeyMap = new HashMap<String, String>();
         for (Map.Entry<String, File> entry : schemaFiles.entrySet()) {
             String key = entry.getKey();
@@ -489,7 +702,6 @@ class Context
             }
             result.put(key, cl);
         }
-        return result;
     }
 
     private List<JDefinedClass> generateClassesFromXmlSchemas(JCodeModel codeModel, File... schemaFiles)
@@ -545,4 +757,13 @@ class Context
 	public JCodeModel getCodeModel() {
 		return codeModel;
 	}
+
+	/**
+	 * <p>Getter for the field <code>metrics</code>.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.codegen.core.GenerationMetrics} object.
+	 */
+	public GenerationMetrics getMetrics() {
+		return metrics;
+	}
 }
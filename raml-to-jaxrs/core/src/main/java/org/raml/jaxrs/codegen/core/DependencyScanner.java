@@ -0,0 +1,191 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>Finds the local files a RAML document depends on.</p>
+ *
+ * The scan follows <code>!include</code> tags, XSD <code>schemaLocation</code> attributes
+ * and JSON schema <code>$ref</code> values transitively. Relative names are resolved against
+ * the including file first and against the source directory second, which mirrors the
+ * resource loaders the generator uses. Remote and classpath references are not files and are
+ * skipped. The direct references of every scanned file are cached until its size or
+ * modification time changes, so the same scanner can be reused across builds.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class DependencyScanner {
+
+	private static final Pattern INCLUDE_PATTERN = Pattern.compile("!include\\s+([^\\s,\\]\\}#]+)");
+
+	private static final Pattern SCHEMA_LOCATION_PATTERN = Pattern.compile("schemaLocation\\s*=\\s*[\"']([^\"']+)[\"']");
+
+	private static final Pattern JSON_REF_PATTERN = Pattern.compile("\"\\$ref\"\\s*:\\s*\"([^\"#]+)");
+
+	private final File sourceDirectory;
+
+	private final Map<File, Entry> entries = new HashMap<File, Entry>();
+
+	/**
+	 * <p>Constructor for DependencyScanner.</p>
+	 *
+	 * @param sourceDirectory a {@link java.io.File} object, may be <code>null</code>.
+	 */
+	public DependencyScanner(File sourceDirectory) {
+		this.sourceDirectory = sourceDirectory;
+	}
+
+	/**
+	 * <p>Returns the root file followed by every local file it transitively references.</p>
+	 *
+	 * @param root a {@link java.io.File} object.
+	 * @return a {@link java.util.Set} object.
+	 */
+	public synchronized Set<File> scan(File root) {
+		Set<File> result = new LinkedHashSet<File>();
+		List<File> pending = new ArrayList<File>();
+		pending.add(canonical(root));
+		while (!pending.isEmpty()) {
+			File file = pending.remove(pending.size() - 1);
+			if (!result.add(file)) {
+				continue;
+			}
+			pending.addAll(getDirectDependencies(file));
+		}
+		return result;
+	}
+
+	/**
+	 * <p>Returns the roots whose dependency closure contains one of the given files.</p>
+	 *
+	 * @param roots a {@link java.util.Collection} object.
+	 * @param changed a {@link java.util.Collection} object.
+	 * @return a {@link java.util.Set} object.
+	 */
+	public synchronized Set<File> affectedRoots(Collection<File> roots, Collection<File> changed) {
+		Set<File> changedFiles = new LinkedHashSet<File>();
+		for (File file : changed) {
+			File canonical = canonical(file);
+			changedFiles.add(canonical);
+			entries.remove(canonical);
+		}
+		Set<File> affected = new LinkedHashSet<File>();
+		for (File root : roots) {
+			if (!Collections.disjoint(scan(root), changedFiles)) {
+				affected.add(root);
+			}
+		}
+		return affected;
+	}
+
+	private List<File> getDirectDependencies(File file) {
+		if (!file.isFile()) {
+			entries.remove(file);
+			return Collections.emptyList();
+		}
+		Entry entry = entries.get(file);
+		if (entry != null && entry.lastModified == file.lastModified() && entry.length == file.length()) {
+			return entry.dependencies;
+		}
+		entry = new Entry(file.lastModified(), file.length(), readDependencies(file));
+		entries.put(file, entry);
+		return entry.dependencies;
+	}
+
+	private List<File> readDependencies(File file) {
+		String content;
+		try {
+			content = FileUtils.readFileToString(file, "UTF-8");
+		} catch (IOException e) {
+			return Collections.emptyList();
+		}
+		List<File> dependencies = new ArrayList<File>();
+		collect(INCLUDE_PATTERN, content, file, dependencies);
+		collect(SCHEMA_LOCATION_PATTERN, content, file, dependencies);
+		collect(JSON_REF_PATTERN, content, file, dependencies);
+		return dependencies;
+	}
+
+	private void collect(Pattern pattern, String content, File file, List<File> dependencies) {
+		Matcher matcher = pattern.matcher(content);
+		while (matcher.find()) {
+			File dependency = resolve(file, matcher.group(1));
+			if (dependency != null) {
+				dependencies.add(dependency);
+			}
+		}
+	}
+
+	private File resolve(File file, String name) {
+		name = name.trim();
+		if (name.startsWith("'") || name.startsWith("\"")) {
+			name = name.substring(1);
+		}
+		if (name.endsWith("'") || name.endsWith("\"")) {
+			name = name.substring(0, name.length() - 1);
+		}
+		if (name.length() == 0 || name.contains("://") || name.startsWith("classpath:")) {
+			return null;
+		}
+		File candidate = new File(name);
+		if (!candidate.isAbsolute()) {
+			candidate = new File(file.getParentFile(), name);
+			if (!candidate.isFile() && sourceDirectory != null) {
+				candidate = new File(sourceDirectory, name);
+			}
+		}
+		return candidate.isFile() ? canonical(candidate) : null;
+	}
+
+	private static File canonical(File file) {
+		try {
+			return file.getCanonicalFile();
+		} catch (IOException e) {
+			return file.getAbsoluteFile();
+		}
+	}
+
+	private static final class Entry {
+
+		private final long lastModified;
+
+		private final long length;
+
+		private final List<File> dependencies;
+
+		private Entry(long lastModified, long length, List<File> dependencies) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.dependencies = dependencies;
+		}
+	}
+}
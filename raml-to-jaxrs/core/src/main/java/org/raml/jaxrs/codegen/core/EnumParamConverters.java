@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+
+/**
+ * <p>Generates the JAX-RS 2 parameter converters of the enums created for enumerated parameters.</p>
+ *
+ * Each enum gets a class that is both its <code>ParamConverterProvider</code> and its
+ * <code>ParamConverter</code>. Values are looked up in a map built once, instead of going through
+ * <code>valueOf</code> and its exception, and an invalid value throws the same prebuilt
+ * <code>BadRequestException</code> every time. The <code>EnumParamConverterFeature</code>
+ * generated next to them registers them all.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+class EnumParamConverters
+{
+    static final String FEATURE_NAME = "EnumParamConverterFeature";
+
+    private static final String PARAM_CONVERTER = "javax.ws.rs.ext.ParamConverter";
+    private static final String PARAM_CONVERTER_PROVIDER = "javax.ws.rs.ext.ParamConverterProvider";
+    private static final String BAD_REQUEST_EXCEPTION = "javax.ws.rs.BadRequestException";
+    private static final String FEATURE = "javax.ws.rs.core.Feature";
+    private static final String FEATURE_CONTEXT = "javax.ws.rs.core.FeatureContext";
+
+    private final JCodeModel codeModel;
+    private final boolean caseInsensitive;
+
+    /**
+     * <p>Constructor for EnumParamConverters.</p>
+     *
+     * @param codeModel a {@link com.sun.codemodel.JCodeModel} object.
+     * @param caseInsensitive whether the converters ignore the case of the values.
+     */
+    public EnumParamConverters(final JCodeModel codeModel, final boolean caseInsensitive)
+    {
+        this.codeModel = codeModel;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * <p>Generates the converters and the feature registering them.</p>
+     *
+     * @param supportPackage a {@link com.sun.codemodel.JPackage} object.
+     * @param resourceEnums the full names of the enums with their values.
+     */
+    public void generate(final JPackage supportPackage, final Map<String, List<String>> resourceEnums)
+    {
+        try
+        {
+            final JDefinedClass feature = supportPackage._class(FEATURE_NAME);
+            feature._implements(codeModel.ref(FEATURE));
+            feature.javadoc().add("Registers the parameter converters of the generated enums.");
+            final JMethod configure = feature.method(JMod.PUBLIC, codeModel.BOOLEAN, "configure");
+            final JVar context = configure.param(codeModel.ref(FEATURE_CONTEXT), "context");
+
+            for (final Entry<String, List<String>> resourceEnum : resourceEnums.entrySet())
+            {
+                final JDefinedClass converter = createConverter(supportPackage,
+                    codeModel.directClass(resourceEnum.getKey()), resourceEnum.getValue());
+                configure.body().invoke(context, "register").arg(JExpr._new(converter));
+            }
+            configure.body()._return(JExpr.TRUE);
+        }
+        catch (final JClassAlreadyExistsException e)
+        {
+            throw new IllegalStateException("Enum parameter converters already generated in "
+                                            + supportPackage.name(), e);
+        }
+    }
+
+    private JDefinedClass createConverter(final JPackage supportPackage,
+                                          final JClass enumClass,
+                                          final List<String> values) throws JClassAlreadyExistsException
+    {
+        // the enums are nested in their resource interface: package.Interface.Enum
+        final String fullName = enumClass.fullName();
+        final String outerName = fullName.substring(0, fullName.lastIndexOf('.'));
+        final JDefinedClass converter = supportPackage._class(outerName.substring(outerName.lastIndexOf('.') + 1)
+                                                              + enumClass.name() + "ParamConverter");
+        converter._implements(codeModel.ref(PARAM_CONVERTER_PROVIDER));
+        converter._implements(codeModel.ref(PARAM_CONVERTER).narrow(enumClass));
+        converter.javadoc().add("Converts the values of {@link " + enumClass.fullName() + "}"
+                                + (caseInsensitive ? ", ignoring their case." : "."));
+
+        final JClass mapType = codeModel.ref(Map.class).narrow(codeModel.ref(String.class), enumClass);
+        final JFieldVar constants = converter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, mapType, "VALUES",
+            caseInsensitive
+                            ? JExpr._new(codeModel.ref(TreeMap.class).narrow(codeModel.ref(String.class), enumClass))
+                                .arg(codeModel.ref(String.class).staticRef("CASE_INSENSITIVE_ORDER"))
+                            : JExpr._new(codeModel.ref(HashMap.class).narrow(codeModel.ref(String.class), enumClass)));
+        final JFieldVar invalidValue = converter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+            codeModel.ref(BAD_REQUEST_EXCEPTION), "INVALID_VALUE", JExpr._new(codeModel.ref(BAD_REQUEST_EXCEPTION)));
+        final JBlock init = converter.init();
+        for (final String value : values)
+        {
+            init.invoke(constants, "put").arg(value).arg(enumClass.staticRef(value));
+        }
+
+        final JMethod getConverter = converter.method(JMod.PUBLIC, codeModel.VOID, "getConverter");
+        final JTypeVar t = getConverter.generify("T");
+        final JClass converterType = codeModel.ref(PARAM_CONVERTER).narrow(t);
+        getConverter.type(converterType);
+        getConverter.annotate(SuppressWarnings.class).param("value", "unchecked");
+        final JVar rawType = getConverter.param(codeModel.ref(Class.class).narrow(t), "rawType");
+        getConverter.param(Type.class, "genericType");
+        getConverter.param(Annotation[].class, "annotations");
+        getConverter.body()._if(enumClass.dotclass().invoke("equals").arg(rawType))._then()
+            ._return(JExpr.cast(converterType, JExpr._this()));
+        getConverter.body()._return(JExpr._null());
+
+        final JMethod fromString = converter.method(JMod.PUBLIC, enumClass, "fromString");
+        final JVar value = fromString.param(String.class, "value");
+        fromString.body()._if(value.eq(JExpr._null()))._then()._throw(
+            JExpr._new(codeModel.ref(IllegalArgumentException.class)).arg("value can't be null"));
+        final JVar constant = fromString.body().decl(enumClass, "constant", constants.invoke("get").arg(value));
+        fromString.body()._if(constant.eq(JExpr._null()))._then()._throw(invalidValue);
+        fromString.body()._return(constant);
+
+        final JMethod toString = converter.method(JMod.PUBLIC, String.class, "toString");
+        final JVar enumValue = toString.param(enumClass, "value");
+        toString.body()._if(enumValue.eq(JExpr._null()))._then()._throw(
+            JExpr._new(codeModel.ref(IllegalArgumentException.class)).arg("value can't be null"));
+        toString.body()._return(enumValue.invoke("name"));
+        return converter;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>Timings and counts collected while generating one RAML document.</p>
+ *
+ * Phases are exclusive: when a phase starts inside another one, for instance a JSON schema
+ * compiled while building a resource interface, the outer phase is paused until the inner
+ * one ends. Allocated bytes are taken from the current thread when requested and supported
+ * by the JVM. Instances are not thread safe, generation runs on a single thread.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class GenerationMetrics {
+
+	public enum Phase {
+		VALIDATION("validation"), PARSE("parse"), XSD_COMPILATION("xsdCompilation"), JSON_SCHEMA("jsonSchema"),
+		CODE_MODEL("codeModel"), WRITE("write");
+
+		private final String key;
+
+		private Phase(String key) {
+			this.key = key;
+		}
+	}
+
+	public enum Counter {
+		RESOURCES("resources"), ACTIONS("actions"), METHODS("methods"), JSON_SCHEMAS("jsonSchemas"),
+		XSD_SCHEMAS("xsdSchemas"), GENERATED_FILES("generatedFiles"), SCHEMA_CACHE_HITS("schemaCacheHits"),
+		SCHEMA_CACHE_MISSES("schemaCacheMisses"), RESOURCE_MEMO_HITS("resourceMemoHits"),
+		RESOURCE_MISSES("resourceMisses");
+
+		private final String key;
+
+		private Counter(String key) {
+			this.key = key;
+		}
+	}
+
+	private final Map<Phase, long[]> phases = new EnumMap<Phase, long[]>(Phase.class);
+
+	private final Map<Counter, long[]> counters = new EnumMap<Counter, long[]>(Counter.class);
+
+	private final List<Phase> running = new ArrayList<Phase>();
+
+	private final com.sun.management.ThreadMXBean threads;
+
+	private final long startNanos = System.nanoTime();
+
+	private long markNanos = startNanos;
+
+	private long markBytes;
+
+	/**
+	 * <p>Constructor for GenerationMetrics.</p>
+	 *
+	 * @param trackAllocations whether to record the bytes allocated in every phase.
+	 */
+	public GenerationMetrics(boolean trackAllocations) {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		threads = trackAllocations && bean instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+			? (com.sun.management.ThreadMXBean) bean : null;
+		markBytes = allocatedBytes();
+		for (Phase phase : Phase.values()) {
+			phases.put(phase, new long[2]);
+		}
+		for (Counter counter : Counter.values()) {
+			counters.put(counter, new long[1]);
+		}
+	}
+
+	/**
+	 * <p>Starts a phase, pausing the phase currently running.</p>
+	 *
+	 * @param phase a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Phase} object.
+	 */
+	public void begin(Phase phase) {
+		charge();
+		running.add(phase);
+	}
+
+	/**
+	 * <p>Ends the innermost phase, resuming the phase it interrupted.</p>
+	 *
+	 * @param phase a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Phase} object.
+	 */
+	public void end(Phase phase) {
+		charge();
+		running.remove(running.lastIndexOf(phase));
+	}
+
+	private void charge() {
+		long nanos = System.nanoTime();
+		long bytes = allocatedBytes();
+		if (!running.isEmpty()) {
+			long[] totals = phases.get(running.get(running.size() - 1));
+			totals[0] += nanos - markNanos;
+			totals[1] += bytes - markBytes;
+		}
+		markNanos = nanos;
+		markBytes = bytes;
+	}
+
+	private long allocatedBytes() {
+		if (threads == null) {
+			return 0;
+		}
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * <p>increment.</p>
+	 *
+	 * @param counter a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Counter} object.
+	 */
+	public void increment(Counter counter) {
+		add(counter, 1);
+	}
+
+	/**
+	 * <p>add.</p>
+	 *
+	 * @param counter a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Counter} object.
+	 * @param amount a long.
+	 */
+	public void add(Counter counter, long amount) {
+		counters.get(counter)[0] += amount;
+	}
+
+	/**
+	 * <p>getCount.</p>
+	 *
+	 * @param counter a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Counter} object.
+	 * @return a long.
+	 */
+	public long getCount(Counter counter) {
+		return counters.get(counter)[0];
+	}
+
+	/**
+	 * <p>Wall time spent in a phase, excluding the phases nested in it.</p>
+	 *
+	 * @param phase a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Phase} object.
+	 * @return a long.
+	 */
+	public long getMillis(Phase phase) {
+		return phases.get(phase)[0] / 1000000L;
+	}
+
+	/**
+	 * <p>Bytes allocated in a phase, <code>-1</code> when allocations are not tracked.</p>
+	 *
+	 * @param phase a {@link org.raml.jaxrs.codegen.core.GenerationMetrics.Phase} object.
+	 * @return a long.
+	 */
+	public long getAllocatedBytes(Phase phase) {
+		return threads != null ? phases.get(phase)[1] : -1;
+	}
+
+	/**
+	 * <p>getTotalMillis.</p>
+	 *
+	 * @return the wall time since these metrics were created.
+	 */
+	public long getTotalMillis() {
+		return (System.nanoTime() - startNanos) / 1000000L;
+	}
+
+	/**
+	 * <p>getSchemaCacheHitRate.</p>
+	 *
+	 * @return a double between 0 and 1.
+	 */
+	public double getSchemaCacheHitRate() {
+		long hits = getCount(Counter.SCHEMA_CACHE_HITS);
+		long lookups = hits + getCount(Counter.SCHEMA_CACHE_MISSES);
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	/**
+	 * <p>One line summary for build logs.</p>
+	 *
+	 * @return a {@link java.lang.String} object.
+	 */
+	public String summary() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Generated ").append(getCount(Counter.GENERATED_FILES)).append(" file(s) for ")
+			.append(getCount(Counter.RESOURCES)).append(" resource(s) and ").append(getCount(Counter.METHODS))
+			.append(" method(s) in ").append(getTotalMillis()).append(" ms (");
+		boolean first = true;
+		for (Phase phase : Phase.values()) {
+			if (!first) {
+				builder.append(", ");
+			}
+			first = false;
+			builder.append(phase.key).append(' ').append(getMillis(phase)).append(" ms");
+		}
+		return builder.append(')').toString();
+	}
+
+	/**
+	 * <p>Machine readable report.</p>
+	 *
+	 * @param raml the location of the RAML document, may be <code>null</code>.
+	 * @return a JSON {@link java.lang.String}.
+	 */
+	public String toJson(String raml) {
+		StringBuilder builder = new StringBuilder("{\n");
+		builder.append("  \"raml\": ").append(raml != null ? quote(raml) : "null").append(",\n");
+		builder.append("  \"totalMillis\": ").append(getTotalMillis()).append(",\n");
+		builder.append("  \"phases\": {");
+		boolean first = true;
+		for (Phase phase : Phase.values()) {
+			builder.append(first ? "\n" : ",\n");
+			first = false;
+			builder.append("    \"").append(phase.key).append("\": { \"millis\": ").append(getMillis(phase));
+			if (threads != null) {
+				builder.append(", \"allocatedBytes\": ").append(getAllocatedBytes(phase));
+			}
+			builder.append(" }");
+		}
+		builder.append("\n  },\n  \"counts\": {");
+		first = true;
+		for (Counter counter : Counter.values()) {
+			builder.append(first ? "\n" : ",\n");
+			first = false;
+			builder.append("    \"").append(counter.key).append("\": ").append(getCount(counter));
+		}
+		builder.append("\n  },\n  \"schemaCacheHitRate\": ")
+			.append(String.format(Locale.ROOT, "%.3f", getSchemaCacheHitRate())).append("\n}\n");
+		return builder.toString();
+	}
+
+	/**
+	 * <p>Writes the JSON report.</p>
+	 *
+	 * @param file a {@link java.io.File} object.
+	 * @param raml the location of the RAML document, may be <code>null</code>.
+	 * @throws java.io.IOException if any.
+	 */
+	public void write(File file, String raml) throws IOException {
+		FileUtils.writeStringToFile(file, toJson(raml), "UTF-8");
+	}
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+}
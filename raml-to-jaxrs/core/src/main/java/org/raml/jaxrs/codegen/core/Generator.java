@@ -26,15 +26,22 @@ import static org.raml.jaxrs.codegen.core.Constants.RESPONSE_HEADER_WILDCARD_SYM
 import static org.raml.jaxrs.codegen.core.Names.EXAMPLE_PREFIX;
 import static org.raml.jaxrs.codegen.core.Names.GENERIC_PAYLOAD_ARGUMENT_NAME;
 import static org.raml.jaxrs.codegen.core.Names.MULTIPLE_RESPONSE_HEADERS_ARGUMENT_NAME;
+import static org.raml.jaxrs.codegen.core.Names.REQUEST_ARGUMENT_NAME;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import javax.mail.internet.MimeMultipart;
 import javax.management.RuntimeErrorException;
@@ -50,17 +57,19 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.math.NumberUtils;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
 import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
-import org.raml.jaxrs.codegen.core.ext.InterfaceNameBuilderExtension;
-import org.raml.jaxrs.codegen.core.ext.MethodNameBuilderExtension;
 import org.raml.model.Action;
 import org.raml.model.MimeType;
 import org.raml.model.Raml;
@@ -76,9 +85,11 @@ import com.sun.codemodel.JAnnotationArrayMember;
 import com.sun.codemodel.JAnnotationUse;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocComment;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
@@ -98,20 +109,7 @@ public class Generator extends AbstractGenerator
     /** {@inheritDoc} */
     protected void createResourceInterface(final Resource resource, final Raml raml) throws Exception
     {
-    	String resourceInterfaceName = null;
-    	for (GeneratorExtension e : extensions) {
-    		if(e instanceof InterfaceNameBuilderExtension){
-    			InterfaceNameBuilderExtension inbe = (InterfaceNameBuilderExtension) e;
-    			resourceInterfaceName = inbe.buildResourceInterfaceName(resource);
-    			if(resourceInterfaceName!=null){
-    				break;
-    			}
-    		}
-        }
-    	if(resourceInterfaceName==null){
-    		resourceInterfaceName = Names.buildResourceInterfaceName(resource);
-    	}
-        final JDefinedClass resourceInterface = context.createResourceInterface(resourceInterfaceName);
+        final JDefinedClass resourceInterface = context.createResourceInterface(buildResourceInterfaceName(resource));
         context.setCurrentResourceInterface(resourceInterface);
 
         final String path = strip(resource.getRelativeUri(), "/");
@@ -143,26 +141,22 @@ public class Generator extends AbstractGenerator
                                    final Collection<MimeType> uniqueResponseMimeTypes) throws Exception
     {
     	MimeType actualBodyMimeType = addBodyMimeTypeInMethodName ? bodyMimeType : null;
-		String methodName = null;
-		if(this.extensions!=null){
-			for(GeneratorExtension ext : this.extensions){
-				if(ext instanceof MethodNameBuilderExtension){
-					methodName = ((MethodNameBuilderExtension)ext)
-							.buildResourceMethodName(action, actualBodyMimeType,resource);
-					break;
-				}
-			}
-		}
-		if(methodName==null){
-			methodName = Names.buildResourceMethodName(action,actualBodyMimeType);
-		}
+        final String methodName = buildResourceMethodName(action, actualBodyMimeType, resource);
 		
         Configuration configuration = context.getConfiguration();
         String asyncResourceTrait = configuration.getAsyncResourceTrait();
-        boolean asyncMethod = isNotBlank(asyncResourceTrait) && action.getIs().contains(asyncResourceTrait);
+        String completionStageResourceTrait = configuration.getCompletionStageResourceTrait();
+        boolean completionStageMethod = configuration.isCompletionStageResources()
+            || (isNotBlank(completionStageResourceTrait) && action.getIs().contains(completionStageResourceTrait));
+        // a CompletionStage already makes the method asynchronous, no AsyncResponse is injected then
+        boolean asyncMethod = !completionStageMethod && isNotBlank(asyncResourceTrait) && action.getIs().contains(asyncResourceTrait);
         
-        final JType resourceMethodReturnType = getResourceMethodReturnType(methodName, action,
+        JType resourceMethodReturnType = getResourceMethodReturnType(methodName, action,
             uniqueResponseMimeTypes.isEmpty(),asyncMethod, resourceInterface);
+        if (completionStageMethod)
+        {
+            resourceMethodReturnType = getCompletionStageType(resourceMethodReturnType);
+        }
 
         // the actually created unique method name should be needed in the previous method but
         // no way of doing this :(
@@ -188,6 +182,9 @@ public class Generator extends AbstractGenerator
         if (asyncMethod) {
             addAsyncResponseParameter(asyncResourceTrait, method, javadoc);
         }
+        if (configuration.isGenerateConditionalResponses() && declaresValidators(action)) {
+            addRequestParameter(method, javadoc);
+        }
         
         /* call registered extensions */
         for (GeneratorExtension e : extensions) {
@@ -219,6 +216,14 @@ public class Generator extends AbstractGenerator
             return createResourceMethodReturnType(methodName, action, resourceInterface);
         }
     }
+    private JType getCompletionStageType(final JType responseType)
+    {
+        final JClass stageArgument = responseType instanceof JClass
+            ? (JClass) responseType
+            : types.getGeneratorClass(Void.class);
+        return types.getGeneratorClass("java.util.concurrent.CompletionStage").narrow(stageArgument);
+    }
+
     private void addAsyncResponseParameter(String asyncResourceTrait,final JMethod method,final JDocComment javadoc) throws Exception {
     	
       final String argumentName = Names.buildVariableName(asyncResourceTrait);
@@ -230,6 +235,63 @@ public class Generator extends AbstractGenerator
       javadoc.addParam( argumentVariable.name()).add(asyncResourceTrait);
    }
 
+    private void addRequestParameter(final JMethod method, final JDocComment javadoc)
+    {
+        final JVar argumentVariable = method.param(types.getGeneratorClass(Request.class), REQUEST_ARGUMENT_NAME);
+        argumentVariable.annotate(javax.ws.rs.core.Context.class);
+        javadoc.addParam(argumentVariable.name()).add("the request, to evaluate its preconditions");
+    }
+
+    private static boolean declaresValidators(final Action action)
+    {
+        for (final Response response : action.getResponses().values())
+        {
+            for (final String headerName : response.getHeaders().keySet())
+            {
+                if (HttpHeaders.ETAG.equalsIgnoreCase(headerName)
+                    || HttpHeaders.LAST_MODIFIED.equalsIgnoreCase(headerName))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void createPreconditionsHelper(final JDefinedClass responseClass)
+    {
+        final JMethod helper = responseClass.method(PUBLIC + STATIC, responseClass, "evaluatePreconditions");
+        helper._throws(Exception.class);
+        final JVar request = helper.param(types.getGeneratorClass(Request.class), REQUEST_ARGUMENT_NAME);
+        final JVar eTag = helper.param(types.getGeneratorClass(EntityTag.class), "eTag");
+        final JVar lastModified = helper.param(types.getGeneratorClass(Date.class), "lastModified");
+        final JVar response = helper.param(types.getGeneratorClass(Callable.class).narrow(responseClass.wildcard()),
+            "response");
+
+        final JDocComment javadoc = helper.javadoc();
+        javadoc.add("Answers a conditional request without building the response when its preconditions match.");
+        javadoc.addParam(request).add("the request of the resource method");
+        javadoc.addParam(eTag).add("the current entity tag of the resource, or <code>null</code>");
+        javadoc.addParam(lastModified).add("the last modification date of the resource, or <code>null</code>");
+        javadoc.addParam(response).add("builds the response, only called when the preconditions do not apply");
+        javadoc.addReturn().add("a <code>304 Not Modified</code> or <code>412 Precondition Failed</code> response, "
+                                + "or the one built by <code>response</code>");
+
+        final JBlock body = helper.body();
+        final JVar preconditions = body.decl(types.getGeneratorClass(ResponseBuilder.class), "preconditions",
+            JExpr._null());
+        final JConditional bothValidators = body._if(eTag.ne(JExpr._null()).cand(lastModified.ne(JExpr._null())));
+        bothValidators._then().assign(preconditions,
+            request.invoke("evaluatePreconditions").arg(lastModified).arg(eTag));
+        final JConditional eTagOnly = bothValidators._else()._if(eTag.ne(JExpr._null()));
+        eTagOnly._then().assign(preconditions, request.invoke("evaluatePreconditions").arg(eTag));
+        eTagOnly._else()._if(lastModified.ne(JExpr._null()))._then().assign(preconditions,
+            request.invoke("evaluatePreconditions").arg(lastModified));
+        body._if(preconditions.ne(JExpr._null()))._then()._return(
+            JExpr._new(responseClass).arg(preconditions.invoke("build")));
+        body._return(response.invoke("call"));
+    }
+
     private JDefinedClass createResourceMethodReturnType(final String methodName,
                                                          final Action action,
                                                          final JDefinedClass resourceInterface)
@@ -247,6 +309,11 @@ public class Generator extends AbstractGenerator
             createResponseBuilderInResourceMethodReturnType(action, responseClass, statusCodeAndResponse);
         }
 
+        if (context.getConfiguration().isGenerateConditionalResponses() && declaresValidators(action))
+        {
+            createPreconditionsHelper(responseClass);
+        }
+
         return responseClass;
     }
 
@@ -276,6 +343,102 @@ public class Generator extends AbstractGenerator
                                                                  final Response response,
                                                                  final MimeType responseMimeType)
         throws Exception
+    {
+        if (responseMimeType == null)
+        {
+            createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response, null, null);
+            return;
+        }
+
+        final JType entityType = types.getResponseEntityClass(responseMimeType);
+        createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response, responseMimeType,
+            entityType);
+
+        if (StreamingOutput.class.getName().equals(entityType.fullName()))
+        {
+            // binary bodies are often files: let the container's File provider send them with their length
+            createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response,
+                responseMimeType, types.getGeneratorType(File.class));
+            if (context.getConfiguration().getJaxrsVersion() != JaxrsVersion.JAXRS_1_1)
+            {
+                createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response,
+                    responseMimeType, types.getGeneratorClass("java.nio.file.Path"));
+            }
+            createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response,
+                responseMimeType, types.getGeneratorType(FileChannel.class));
+        }
+
+        final JClass itemType = getArrayItemType(entityType);
+        if ((itemType != null) && (context.getJsonArrayOutputType() != null))
+        {
+            // arrays can be written while their items are produced instead of from a full list,
+            // with a default mapper or the one the application configured
+            final JClass mapperClass = types.getGeneratorClass(
+                JsonArrayOutputs.getObjectMapperClassName(context.getConfiguration().getJsonMapper()));
+            for (final JClass mapperType : new JClass[] {null, mapperClass})
+            {
+                createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response,
+                    responseMimeType, types.getGeneratorClass(Iterator.class).narrow(itemType), mapperType);
+                if (context.getConfiguration().getJaxrsVersion() == JaxrsVersion.JAXRS_2_1)
+                {
+                    createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response,
+                        responseMimeType, types.getGeneratorClass("java.util.stream.Stream").narrow(itemType),
+                        mapperType);
+                }
+            }
+        }
+    }
+
+    private static JInvocation addMapperArgument(final JMethod responseBuilderMethod,
+                                                 final JInvocation output,
+                                                 final JClass mapperType)
+    {
+        if (mapperType == null)
+        {
+            return output;
+        }
+        final JVar mapper = responseBuilderMethod.param(mapperType, "mapper");
+        responseBuilderMethod.javadoc().addParam(mapper).add(
+            "the mapper writing the items, e.g. the one of the application's ContextResolver");
+        return output.arg(mapper);
+    }
+
+    private static JClass getArrayItemType(final JType entityType)
+    {
+        if (!(entityType instanceof JClass))
+        {
+            return null;
+        }
+
+        final JClass entityClass = (JClass) entityType;
+        final String collectionName = entityClass.erasure().fullName();
+        final List<JClass> typeParameters = entityClass.getTypeParameters();
+        return (List.class.getName().equals(collectionName) || Set.class.getName().equals(collectionName))
+               && (typeParameters.size() == 1) ? typeParameters.get(0) : null;
+    }
+
+    private void createResponseBuilderInResourceMethodReturnType(final JDefinedClass responseClass,
+                                                                 final int statusCode,
+                                                                 final Response response,
+                                                                 final MimeType responseMimeType,
+                                                                 final JType entityType)
+        throws Exception
+    {
+        createResponseBuilderInResourceMethodReturnType(responseClass, statusCode, response, responseMimeType,
+            entityType, null);
+    }
+
+    /**
+     * @param mapperType the type of the mapper parameter writing iterated entities, <code>null</code>
+     *            for no such parameter.
+     */
+    private void createResponseBuilderInResourceMethodReturnType(final JDefinedClass responseClass,
+                                                                 final int statusCode,
+                                                                 final Response response,
+                                                                 final MimeType responseMimeType,
+                                                                 final JType entityType,
+                                                                 final JClass mapperType)
+        throws Exception
     {
         final String responseBuilderMethodName = Names.buildResponseMethodName(statusCode, responseMimeType);
 
@@ -351,11 +514,51 @@ public class Generator extends AbstractGenerator
 
         if (responseMimeType != null)
         {
-            responseBuilderMethodBody.invoke(builderVariable, "entity").arg(
-                JExpr.ref(GENERIC_PAYLOAD_ARGUMENT_NAME));
-            responseBuilderMethod.param(types.getResponseEntityClass(responseMimeType),
-                GENERIC_PAYLOAD_ARGUMENT_NAME);
-            javadoc.addParam(GENERIC_PAYLOAD_ARGUMENT_NAME).add(defaultString(responseMimeType.getExample()));
+            final JVar entity = responseBuilderMethod.param(entityType, GENERIC_PAYLOAD_ARGUMENT_NAME);
+            final String entityClassName = entityType.erasure().fullName();
+            JExpression entityArgument = entity;
+
+            if (FileChannel.class.getName().equals(entityClassName))
+            {
+                final JVar position = responseBuilderMethod.param(types.getGeneratorType(long.class), "position");
+                final JVar count = responseBuilderMethod.param(types.getGeneratorType(long.class), "count");
+                javadoc.addParam(entity).add("the channel to read the body from, closed once the body is written");
+                javadoc.addParam(position).add("the position of the body in the channel");
+                javadoc.addParam(count).add("the length of the body");
+
+                responseBuilderMethodBody.invoke(builderVariable, "header").arg(HttpHeaders.CONTENT_LENGTH).arg(count);
+                entityArgument = JExpr._new(context.getFileRegionOutputType()).arg(entity).arg(position).arg(count);
+            }
+            else if (Iterator.class.getName().equals(entityClassName))
+            {
+                javadoc.addParam(entity).add("the items of the array, written as they are iterated");
+                final JInvocation output = JExpr._new(context.getJsonArrayOutputType()).arg(entity);
+                entityArgument = addMapperArgument(responseBuilderMethod, output, mapperType);
+            }
+            else if ("java.util.stream.Stream".equals(entityClassName))
+            {
+                javadoc.addParam(entity).add("the items of the array, written as they are produced, "
+                                             + "the stream is closed once the array is written");
+                entity.mods().setFinal(true);
+                final JDefinedClass output = responseClass.owner().anonymousClass(context.getJsonArrayOutputType());
+                final JMethod close = output.method(JMod.PROTECTED, responseClass.owner().VOID, "close");
+                close.annotate(Override.class);
+                close.body().invoke(entity, "close");
+                entityArgument = addMapperArgument(responseBuilderMethod,
+                    JExpr._new(output).arg(entity.invoke("iterator")), mapperType);
+            }
+            else
+            {
+                javadoc.addParam(entity).add(defaultString(responseMimeType.getExample()));
+
+                if ("java.nio.file.Path".equals(entityClassName))
+                {
+                    // written by the container's File provider, which also sets Content-Length
+                    entityArgument = entity.invoke("toFile");
+                }
+            }
+
+            responseBuilderMethodBody.invoke(builderVariable, "entity").arg(entityArgument);
         }
         for (final Entry<String, Header> namedHeaderParameter : response.getHeaders().entrySet())
         {
@@ -16,29 +16,61 @@
 package org.raml.jaxrs.codegen.core;
 
 import java.io.InputStreamReader;
+import java.util.Set;
 
 /**
  * <p>GeneratorProxy class.</p>
  *
+ * Picks the generator the configuration asks for: client interfaces (and implementations),
+ * Spring WebFlux controllers or JAX-RS resources.
+ *
  * @author kor
  * @version $Id: $Id
  */
 public class GeneratorProxy {
 
+	private AbstractGenerator generator;
+
+	private ResourceContentCache resourceContentCache;
+
+	/**
+	 * <p>Reads the included files and schemas of the following runs through a cache.</p>
+	 *
+	 * @param resourceContentCache a {@link org.raml.jaxrs.codegen.core.ResourceContentCache} object, <code>null</code> to read them every time.
+	 */
+	public void setResourceContentCache(ResourceContentCache resourceContentCache) {
+		this.resourceContentCache = resourceContentCache;
+	}
+
 	/**
 	 * <p>run.</p>
 	 *
 	 * @param ramlReader a {@link java.io.InputStreamReader} object.
 	 * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+	 * @return the generated files.
 	 * @throws java.lang.Exception if any.
 	 */
-	public void run(InputStreamReader ramlReader, Configuration configuration,String location) throws Exception {
+	public Set<String> run(InputStreamReader ramlReader, Configuration configuration,String location) throws Exception {
 		if (configuration.isGenerateClientInterface()){
-			new ClientGenerator().run(ramlReader, configuration,location);
+			generator = new ClientGenerator();
+		}
+		else if (configuration.isGenerateSpringWebFlux()){
+			generator = new SpringWebFluxGenerator();
 		}
 		else{
-			new Generator().run(ramlReader, configuration,location);
+			generator = new Generator();
 		}
+		generator.setResourceContentCache(resourceContentCache);
+		return generator.run(ramlReader, configuration,location);
+	}
+
+	/**
+	 * <p>Metrics of the last run.</p>
+	 *
+	 * @return a {@link org.raml.jaxrs.codegen.core.GenerationMetrics} object, <code>null</code> before the first run.
+	 */
+	public GenerationMetrics getMetrics() {
+		return generator == null ? null : generator.getMetrics();
 	}
 
 }
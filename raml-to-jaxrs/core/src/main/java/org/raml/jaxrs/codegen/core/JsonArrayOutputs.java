@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import org.jsonschema2pojo.AnnotationStyle;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JVar;
+
+/**
+ * <p>Generates the <code>JsonArrayOutput</code> support class, a <code>StreamingOutput</code>
+ * writing the items of an <code>Iterator</code> as a JSON array with the Jackson streaming
+ * generator.</p>
+ *
+ * Items are serialized one at a time as they are pulled from the iterator, so a large array is
+ * written without holding it in memory and its first bytes are sent before its last item is
+ * read. An iterator that is also <code>Closeable</code> is closed once the array is written,
+ * subclasses can override <code>close()</code> to release other resources. Jackson is referenced
+ * by name in the version selected by the JSON mapper, there is no such class for other mappers.
+ *
+ * A <code>StreamingOutput</code> is not injected by the container, so it cannot look up the
+ * <code>ContextResolver&lt;ObjectMapper&gt;</code> of the application itself. The response
+ * builders taking an iterator have an overload taking the mapper to write the items with, which a
+ * resource can get from its <code>@Context Providers</code>; the others use a default mapper.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+class JsonArrayOutputs
+{
+    static final String CLASS_NAME = "JsonArrayOutput";
+
+    private static final String STREAMING_OUTPUT = "javax.ws.rs.core.StreamingOutput";
+
+    private JsonArrayOutputs()
+    {
+        // utility class
+    }
+
+    /**
+     * <p>The Jackson <code>ObjectMapper</code> of a JSON mapper.</p>
+     *
+     * @param jsonMapper the JSON mapper of the generated model.
+     * @return the qualified class name, or <code>null</code> when the mapper is not Jackson.
+     */
+    public static String getObjectMapperClassName(final AnnotationStyle jsonMapper)
+    {
+        if (jsonMapper == AnnotationStyle.JACKSON1)
+        {
+            return "org.codehaus.jackson.map.ObjectMapper";
+        }
+        if (jsonMapper == AnnotationStyle.JACKSON2)
+        {
+            return "com.fasterxml.jackson.databind.ObjectMapper";
+        }
+        return null;
+    }
+
+    /**
+     * <p>Generates the class in the support package.</p>
+     *
+     * @param supportPackage a {@link com.sun.codemodel.JPackage} object.
+     * @param jsonMapper the JSON mapper of the generated model.
+     * @return the generated class, or <code>null</code> when the mapper is not Jackson.
+     */
+    public static JDefinedClass generate(final JPackage supportPackage, final AnnotationStyle jsonMapper)
+    {
+        final String objectMapper = getObjectMapperClassName(jsonMapper);
+        if (objectMapper == null)
+        {
+            return null;
+        }
+        final boolean jackson2 = jsonMapper == AnnotationStyle.JACKSON2;
+        final String core = jackson2 ? "com.fasterxml.jackson.core" : "org.codehaus.jackson";
+
+        final JCodeModel codeModel = supportPackage.owner();
+        try
+        {
+            final JDefinedClass output = supportPackage._class(CLASS_NAME);
+            output._implements(codeModel.ref(STREAMING_OUTPUT));
+            output.javadoc().add("Writes the items of an iterator as a JSON array, one item at a time. "
+                                 + "Pass the mapper of the application to have its configuration applied.");
+
+            final JClass mapperType = codeModel.ref(objectMapper);
+            final JClass itemsType = codeModel.ref(Iterator.class).narrow(codeModel.ref(Object.class).wildcard());
+            final JFieldVar defaultMapper = output.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, mapperType,
+                "DEFAULT_MAPPER", JExpr._new(mapperType));
+            final JFieldVar items = output.field(JMod.PRIVATE | JMod.FINAL, itemsType, "items");
+            final JFieldVar mapper = output.field(JMod.PRIVATE | JMod.FINAL, mapperType, "mapper");
+
+            final JMethod defaultConstructor = output.constructor(JMod.PUBLIC);
+            final JVar defaultItems = defaultConstructor.param(JMod.FINAL, itemsType, "items");
+            defaultConstructor.body().invoke("this").arg(defaultItems).arg(defaultMapper);
+
+            final JMethod constructor = output.constructor(JMod.PUBLIC);
+            final JVar itemsParam = constructor.param(JMod.FINAL, itemsType, "items");
+            final JVar mapperParam = constructor.param(JMod.FINAL, mapperType, "mapper");
+            constructor.body().assign(JExpr._this().ref(items), itemsParam);
+            constructor.body().assign(JExpr._this().ref(mapper), mapperParam);
+
+            final JMethod close = output.method(JMod.PROTECTED, codeModel.VOID, "close");
+            close._throws(IOException.class);
+            close.javadoc().add("Called once the array is written or failed to be.");
+            final JClass closeable = codeModel.ref(Closeable.class);
+            close.body()._if(items._instanceof(closeable))._then().invoke(JExpr.cast(closeable, items), "close");
+
+            final JMethod write = output.method(JMod.PUBLIC, codeModel.VOID, "write");
+            write.annotate(Override.class);
+            write._throws(IOException.class);
+            final JVar stream = write.param(JMod.FINAL, OutputStream.class, "output");
+            final JTryBlock tryBlock = write.body()._try();
+            final JBlock body = tryBlock.body();
+            final JClass encoding = codeModel.ref(core + ".JsonEncoding");
+            final JExpression generatorExpression = jackson2
+                                                            ? mapper.invoke("getFactory")
+                                                                .invoke("createGenerator")
+                                                                .arg(stream)
+                                                                .arg(encoding.staticRef("UTF8"))
+                                                            : mapper.invoke("getJsonFactory")
+                                                                .invoke("createJsonGenerator")
+                                                                .arg(stream)
+                                                                .arg(encoding.staticRef("UTF8"));
+            // the generator is flushed but not closed, the container owns the output stream
+            final JVar generator = body.decl(JMod.FINAL, codeModel.ref(core + ".JsonGenerator"), "generator",
+                generatorExpression);
+            body.invoke(generator, "writeStartArray");
+            body._while(items.invoke("hasNext")).body().invoke(generator, "writeObject").arg(
+                items.invoke("next"));
+            body.invoke(generator, "writeEndArray");
+            body.invoke(generator, "flush");
+            tryBlock._finally().invoke(close);
+
+            return output;
+        }
+        catch (final JClassAlreadyExistsException e)
+        {
+            throw new IllegalStateException(CLASS_NAME + " already generated in " + supportPackage.name(), e);
+        }
+    }
+}
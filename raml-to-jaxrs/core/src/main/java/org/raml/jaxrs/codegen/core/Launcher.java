@@ -28,15 +28,31 @@ import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.jsonschema2pojo.AnnotationStyle;
 import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+import org.raml.jaxrs.codegen.core.Configuration.MultipartBackend;
+import org.raml.jaxrs.codegen.core.daemon.DaemonClient;
+import org.raml.jaxrs.codegen.core.daemon.DaemonGenerationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * <p>Launcher class.</p>
  *
+ * With <code>-watch</code> the launcher stays alive after the first generation and
+ * regenerates the RAML files whose includes or schemas change, see {@link Watcher}.
+ * <code>-watchDebounce</code> sets how many milliseconds of quiet end a burst of changes.
+ * <code>-daemonPort</code> sends the generation to a running
+ * {@link org.raml.jaxrs.codegen.core.daemon.GenerationDaemon}, falling back to in-process
+ * generation when it cannot be reached. A failure reported by the daemon is not retried.
+ *
  * @author kor
  * @version $Id: $Id
  */
 public class Launcher {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(Launcher.class);
+
+	private static final long DEFAULT_WATCH_DEBOUNCE = 300;
+
 	/**
 	 * <p>main.</p>
 	 *
@@ -66,9 +82,35 @@ public class Launcher {
 				e.printStackTrace();
 			}            
         }
+		if (Boolean.parseBoolean(argMap.get("watch")))
+		{
+			File rootDirectory = isEmptyString(argMap.get("sourcePaths")) ? configuration.getSourceDirectory() : null;
+			String debounce = argMap.get("watchDebounce");
+			long debounceMillis = isEmptyString(debounce) ? DEFAULT_WATCH_DEBOUNCE : Long.parseLong(debounce);
+			try {
+				new Watcher(configuration, ramlFiles, rootDirectory, debounceMillis).run();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			return;
+		}
+		String daemonPort = argMap.get("daemonPort");
+		DaemonClient daemon = isEmptyString(daemonPort) ? null : new DaemonClient(Integer.parseInt(daemonPort));
 		final GeneratorProxy generator = new GeneratorProxy();
 		for (final File ramlFile : ramlFiles)
         {
+			if (daemon != null) {
+				try {
+					daemon.generate(ramlFile, configuration);
+					continue;
+				} catch (IOException e) {
+					LOGGER.info(e.getMessage() + ", generating in-process");
+					daemon = null;
+				} catch (DaemonGenerationException e) {
+					// generating in-process would fail the same way
+					throw new IllegalStateException(e.getMessage(), e);
+				}
+			}
             try {
 				generator.run(new FileReader(ramlFile), configuration,ramlFile.getAbsolutePath());
 			} catch (FileNotFoundException e) {
@@ -115,10 +157,22 @@ public class Launcher {
 		boolean mapToVoid = false;
 		String jsonMapper = "jackson1";
 		boolean generateClientProxy = false;
+		boolean generateClientImplementation = false;
+		boolean generateEnumParamConverters = false;
+		boolean caseInsensitiveEnumParams = false;
+		boolean generateParameterValidators = false;
+		String multipartBackend = "mime_multipart";
+		boolean generateConditionalResponses = false;
 		boolean useTitlePropertyForSchemaNames=false;
 		String modelPackageName = "model";
 		String asyncResourceTrait = null;
+		boolean completionStageResources = false;
+		String completionStageResourceTrait = null;
+		boolean generateSpringWebFlux = false;
+		String reactiveStreamMediaType = null;
 		String customAnnotator = null;
+		boolean streamResourceInterfaces = false;
+		boolean generateMetricsReport = false;
 				
 		for( Map.Entry<String,String> entry : argMap.entrySet() ){
 			
@@ -149,6 +203,24 @@ public class Launcher {
 			else if(argName.equals("generateClientProxy")){
 				generateClientProxy = Boolean.parseBoolean(argValue);
 			}
+			else if(argName.equals("generateClientImplementation")){
+				generateClientImplementation = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("generateEnumParamConverters")){
+				generateEnumParamConverters = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("caseInsensitiveEnumParams")){
+				caseInsensitiveEnumParams = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("generateParameterValidators")){
+				generateParameterValidators = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("multipartBackend")){
+				multipartBackend = argValue;
+			}
+			else if(argName.equals("generateConditionalResponses")){
+				generateConditionalResponses = Boolean.parseBoolean(argValue);
+			}
 			else if(argName.equals("useTitlePropertyForSchemaNames")){
 				useTitlePropertyForSchemaNames = Boolean.parseBoolean(argValue);
 			}
@@ -158,9 +230,27 @@ public class Launcher {
 			else if(argName.equals("asyncResourceTrait")){
 				asyncResourceTrait = argValue;
 			}
+			else if(argName.equals("completionStageResources")){
+				completionStageResources = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("completionStageResourceTrait")){
+				completionStageResourceTrait = argValue;
+			}
+			else if(argName.equals("generateSpringWebFlux")){
+				generateSpringWebFlux = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("reactiveStreamMediaType")){
+				reactiveStreamMediaType = argValue;
+			}
 			else if(argName.equals("customAnnotator")){
 				customAnnotator = argValue;
 			}
+			else if(argName.equals("streamResourceInterfaces")){
+				streamResourceInterfaces = Boolean.parseBoolean(argValue);
+			}
+			else if(argName.equals("generateMetricsReport")){
+				generateMetricsReport = Boolean.parseBoolean(argValue);
+			}
 			
 		}
 		if(basePackageName==null){
@@ -177,10 +267,24 @@ public class Launcher {
         configuration.setJsonMapper(AnnotationStyle.valueOf(jsonMapper.toUpperCase()));
         configuration.setSourceDirectory(sourceDirectory);
         configuration.setGenerateClientInterface(generateClientProxy);
+        configuration.setGenerateClientImplementation(generateClientImplementation);
+        configuration.setGenerateEnumParamConverters(generateEnumParamConverters);
+        configuration.setCaseInsensitiveEnumParams(caseInsensitiveEnumParams);
+        configuration.setGenerateParameterValidators(generateParameterValidators);
+        configuration.setMultipartBackend(MultipartBackend.valueOf(multipartBackend.toUpperCase()));
+        configuration.setGenerateConditionalResponses(generateConditionalResponses);
         configuration.setEmptyResponseReturnVoid(mapToVoid);        
         configuration.setUseTitlePropertyWhenPossible(useTitlePropertyForSchemaNames);
 		configuration.setModelPackageName(modelPackageName);
 		configuration.setAsyncResourceTrait(asyncResourceTrait);
+		configuration.setCompletionStageResources(completionStageResources);
+		configuration.setCompletionStageResourceTrait(completionStageResourceTrait);
+		configuration.setGenerateSpringWebFlux(generateSpringWebFlux);
+		if(reactiveStreamMediaType!=null){
+			configuration.setReactiveStreamMediaType(reactiveStreamMediaType);
+		}
+		configuration.setStreamResourceInterfaces(streamResourceInterfaces);
+		configuration.setGenerateMetricsReport(generateMetricsReport);
 
 		if(customAnnotator!=null && !customAnnotator.trim().isEmpty()){
 			try {
@@ -199,13 +303,14 @@ public class Launcher {
 			String argName = args[i];
 			if(argName.startsWith("-")){
 				argName = argName.substring(1);			
-				if(i+1 < args.length)
+				if(i+1 < args.length && !args[i+1].startsWith("-"))
 				{
-					String argValue = args[i+1];
-					if(!argValue.startsWith("-")){					
-						map.put(argName, argValue);
-						i++;
-					}
+					map.put(argName, args[i+1]);
+					i++;
+				}
+				else{
+					//a switch without value, such as -watch
+					map.put(argName, "true");
 				}
 			}
 		}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.raml.parser.loader.ResourceLoader;
+
+/**
+ * <p>A composite resource loader remembering which of its loaders resolved each resource.</p>
+ *
+ * Like <code>CompositeResourceLoader</code>, loaders are tried in order and the first stream found
+ * is returned. A resource fetched again, by the validation and then the parsing of the document
+ * or by several includes, goes straight to the loader that found it the first time, and a
+ * resource no loader found is not looked up again. This spares the exceptions thrown and swallowed
+ * by the URL loader for relative names and the classpath scans made before the directories are
+ * searched. Streams are returned buffered. Instances are not thread safe, generation runs on a
+ * single thread.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class MemoizingResourceLoader implements ResourceLoader
+{
+    private static final Integer NOT_FOUND = Integer.valueOf(-1);
+
+    private final ResourceLoader[] resourceLoaders;
+    private final Map<String, Integer> resolutions = new HashMap<String, Integer>();
+    private final long[] hitCounts;
+    private long memoHitCount;
+    private long missCount;
+
+    /**
+     * <p>Constructor for MemoizingResourceLoader.</p>
+     *
+     * @param resourceLoaders the loaders, in the order they are tried.
+     */
+    public MemoizingResourceLoader(final ResourceLoader... resourceLoaders)
+    {
+        this.resourceLoaders = resourceLoaders;
+        this.hitCounts = new long[resourceLoaders.length];
+    }
+
+    /** {@inheritDoc} */
+    public InputStream fetchResource(final String resourceName)
+    {
+        final Integer resolution = resolutions.get(resourceName);
+        if (resolution != null)
+        {
+            memoHitCount++;
+            if (NOT_FOUND.equals(resolution))
+            {
+                return null;
+            }
+            final InputStream inputStream = fetchResource(resolution.intValue(), resourceName);
+            if (inputStream != null)
+            {
+                return inputStream;
+            }
+        }
+
+        for (int i = 0; i < resourceLoaders.length; i++)
+        {
+            final InputStream inputStream = fetchResource(i, resourceName);
+            if (inputStream != null)
+            {
+                resolutions.put(resourceName, Integer.valueOf(i));
+                return inputStream;
+            }
+        }
+        missCount++;
+        resolutions.put(resourceName, NOT_FOUND);
+        return null;
+    }
+
+    private InputStream fetchResource(final int loaderIndex, final String resourceName)
+    {
+        final InputStream inputStream = resourceLoaders[loaderIndex].fetchResource(resourceName);
+        if (inputStream == null)
+        {
+            return null;
+        }
+        hitCounts[loaderIndex]++;
+        return inputStream instanceof BufferedInputStream ? inputStream : new BufferedInputStream(inputStream);
+    }
+
+    /**
+     * <p>getHitCounts.</p>
+     *
+     * @return the number of resources each loader returned, in the order of the loaders.
+     */
+    public long[] getHitCounts()
+    {
+        return hitCounts.clone();
+    }
+
+    /**
+     * <p>getMemoHitCount.</p>
+     *
+     * @return the number of fetches answered from a previous resolution, found or not.
+     */
+    public long getMemoHitCount()
+    {
+        return memoHitCount;
+    }
+
+    /**
+     * <p>getMissCount.</p>
+     *
+     * @return the number of distinct resources no loader found.
+     */
+    public long getMissCount()
+    {
+        return missCount;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jsonschema2pojo.NoopAnnotator;
+import org.raml.jaxrs.codegen.core.ext.ModelClass;
+import org.raml.jaxrs.codegen.core.ext.ModelClass.Property;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+
+/**
+ * <p>Annotator recording the properties jsonschema2pojo adds to the classes it generates.</p>
+ *
+ * jsonschema2pojo adds a property field and then its getter and setter before moving to the
+ * next property, so accessors belong to the last recorded field. The additional properties
+ * accessors are only matched to their class by {@link #getModelClasses()}.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+class ModelClassCollector extends NoopAnnotator
+{
+    private final Map<JDefinedClass, ModelClass> modelClasses = new LinkedHashMap<JDefinedClass, ModelClass>();
+    private final Map<JMethod, Boolean> anyGetters = new IdentityHashMap<JMethod, Boolean>();
+    private final Map<JMethod, Boolean> anySetters = new IdentityHashMap<JMethod, Boolean>();
+    private Property currentProperty;
+
+    @Override
+    public void propertyField(final JFieldVar field,
+                              final JDefinedClass clazz,
+                              final String propertyName,
+                              final JsonNode propertyNode)
+    {
+        ModelClass modelClass = modelClasses.get(clazz);
+        if (modelClass == null)
+        {
+            modelClass = new ModelClass(clazz);
+            modelClasses.put(clazz, modelClass);
+        }
+        currentProperty = new Property(propertyName, field);
+        modelClass.getProperties().add(currentProperty);
+    }
+
+    @Override
+    public void propertyGetter(final JMethod getter, final String propertyName)
+    {
+        if (currentProperty != null && currentProperty.getName().equals(propertyName))
+        {
+            currentProperty.setGetter(getter);
+        }
+    }
+
+    @Override
+    public void propertySetter(final JMethod setter, final String propertyName)
+    {
+        if (currentProperty != null && currentProperty.getName().equals(propertyName))
+        {
+            currentProperty.setSetter(setter);
+        }
+    }
+
+    @Override
+    public void anyGetter(final JMethod getter)
+    {
+        anyGetters.put(getter, Boolean.TRUE);
+    }
+
+    @Override
+    public void anySetter(final JMethod setter)
+    {
+        anySetters.put(setter, Boolean.TRUE);
+    }
+
+    /**
+     * <p>getModelClasses.</p>
+     *
+     * @return the recorded classes, in generation order.
+     */
+    public Collection<ModelClass> getModelClasses()
+    {
+        for (final ModelClass modelClass : modelClasses.values())
+        {
+            for (final JMethod method : modelClass.getDefinedClass().methods())
+            {
+                if (anyGetters.containsKey(method))
+                {
+                    modelClass.setAnyGetter(method);
+                }
+                else if (anySetters.containsKey(method))
+                {
+                    modelClass.setAnySetter(method);
+                }
+            }
+        }
+        return new ArrayList<ModelClass>(modelClasses.values());
+    }
+}
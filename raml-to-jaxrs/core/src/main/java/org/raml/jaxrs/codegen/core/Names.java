@@ -49,6 +49,8 @@ public class Names
     public static final String GENERIC_PAYLOAD_ARGUMENT_NAME = "entity";
     /** Constant <code>MULTIPLE_RESPONSE_HEADERS_ARGUMENT_NAME="headers"</code> */
     public static final String MULTIPLE_RESPONSE_HEADERS_ARGUMENT_NAME = "headers";
+    /** Constant <code>REQUEST_ARGUMENT_NAME="request"</code> */
+    public static final String REQUEST_ARGUMENT_NAME = "request";
     /** Constant <code>EXAMPLE_PREFIX=" e.g. "</code> */
     public static final String EXAMPLE_PREFIX = " e.g. ";
 
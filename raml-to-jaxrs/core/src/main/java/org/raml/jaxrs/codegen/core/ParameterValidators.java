@@ -0,0 +1,379 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.apache.commons.lang.StringUtils.capitalize;
+import static org.apache.commons.lang.StringUtils.join;
+import static org.apache.commons.lang.StringUtils.splitByCharacterTypeCamelCase;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+
+import org.apache.commons.lang.StringUtils;
+import org.raml.model.ParamType;
+import org.raml.model.parameter.AbstractParam;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JVar;
+
+/**
+ * <p>Generates the JAX-RS 2 filters validating the query, header and URI parameters of the
+ * resource methods, in place of Bean Validation annotations.</p>
+ *
+ * Every resource interface gets a <code>&lt;Interface&gt;Validator</code> class in the support
+ * package. It holds the constraints of the parameters as constants, precompiled
+ * <code>Pattern</code>s, primitive bounds and value sets, a static check per parameter and a
+ * <code>ContainerRequestFilter</code> per resource method calling them on the raw parameter
+ * values. A request failing a check is aborted with a <code>400 Bad Request</code> naming the
+ * parameter. Unlike the Bean Validation annotations, <code>pattern</code> constraints are checked.
+ *
+ * The generated <code>ParameterValidationFeature</code> binds the filters to the methods of the
+ * resource classes implementing the interfaces.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+class ParameterValidators
+{
+    static final String FEATURE_NAME = "ParameterValidationFeature";
+
+    private static final String CONTAINER_REQUEST_CONTEXT = "javax.ws.rs.container.ContainerRequestContext";
+    private static final String CONTAINER_REQUEST_FILTER = "javax.ws.rs.container.ContainerRequestFilter";
+    private static final String DYNAMIC_FEATURE = "javax.ws.rs.container.DynamicFeature";
+    private static final String RESOURCE_INFO = "javax.ws.rs.container.ResourceInfo";
+    private static final String FEATURE_CONTEXT = "javax.ws.rs.core.FeatureContext";
+    private static final String RESPONSE = "javax.ws.rs.core.Response";
+
+    private static final Map<Class<? extends Annotation>, String> PARAMETER_SOURCES = new HashMap<Class<? extends Annotation>, String>();
+
+    static
+    {
+        PARAMETER_SOURCES.put(QueryParam.class, "query");
+        PARAMETER_SOURCES.put(PathParam.class, "path");
+        PARAMETER_SOURCES.put(HeaderParam.class, "headers");
+    }
+
+    private final JCodeModel codeModel;
+    private final JPackage supportPackage;
+    private final Map<String, JDefinedClass> validators = new LinkedHashMap<String, JDefinedClass>();
+    // by name, like the validators, so the filters do not keep streamed resource interfaces alive
+    private final Map<String, Map<String, JDefinedClass>> methodFilters = new LinkedHashMap<String, Map<String, JDefinedClass>>();
+    private final Map<String, JMethod> filterMethods = new HashMap<String, JMethod>();
+    private final Map<JMethod, Map<String, JVar>> filterSources = new HashMap<JMethod, Map<String, JVar>>();
+
+    /**
+     * <p>Constructor for ParameterValidators.</p>
+     *
+     * @param codeModel a {@link com.sun.codemodel.JCodeModel} object.
+     * @param supportPackage the name of the package of the support classes.
+     */
+    public ParameterValidators(final JCodeModel codeModel, final String supportPackage)
+    {
+        this.codeModel = codeModel;
+        this.supportPackage = codeModel._package(supportPackage);
+    }
+
+    /**
+     * <p>Adds the checks of a parameter to the filter of its resource method.</p>
+     *
+     * @param resourceInterface a {@link com.sun.codemodel.JDefinedClass} object.
+     * @param method the resource method.
+     * @param name the name of the request parameter.
+     * @param parameter a {@link org.raml.model.parameter.AbstractParam} object.
+     * @param annotationClass the JAX-RS annotation binding the parameter.
+     * @return false if parameters bound by <code>annotationClass</code> can't be validated by a
+     *         filter, the caller is then responsible for their constraints.
+     * @throws java.lang.Exception if any.
+     */
+    public boolean addParameter(final JDefinedClass resourceInterface,
+                                final JMethod method,
+                                final String name,
+                                final AbstractParam parameter,
+                                final Class<? extends Annotation> annotationClass) throws Exception
+    {
+        final String source = PARAMETER_SOURCES.get(annotationClass);
+        if (source == null)
+        {
+            return false;
+        }
+        final JDefinedClass validator = getValidator(resourceInterface);
+        final String checkName = method.name() + capitalize(Names.buildVariableName(name));
+        final JMethod check = createCheck(validator, checkName, parameter);
+        if (check == null)
+        {
+            return true;
+        }
+
+        final JMethod filterMethod = getFilterMethod(resourceInterface, validator, method.name());
+        final JVar request = filterMethod.listParams()[0];
+        final JBlock rejected = filterMethod.body()._if(
+            JExpr.invoke(check).arg(getSource(filterMethod, request, source).invoke("get").arg(name)).not())
+            ._then();
+        rejected.invoke("reject").arg(request).arg(name);
+        rejected._return();
+        return true;
+    }
+
+    /**
+     * <p>Generates the feature binding the filters to the resource methods.</p>
+     *
+     * @throws com.sun.codemodel.JClassAlreadyExistsException if any.
+     */
+    public void generateFeature() throws JClassAlreadyExistsException
+    {
+        final JDefinedClass feature = supportPackage._class(FEATURE_NAME);
+        feature._implements(codeModel.ref(DYNAMIC_FEATURE));
+        feature.javadoc().add("Binds the generated parameter validators to the resource methods.");
+        final JMethod configure = feature.method(JMod.PUBLIC, codeModel.VOID, "configure");
+        final JVar resourceInfo = configure.param(codeModel.ref(RESOURCE_INFO), "resourceInfo");
+        final JVar context = configure.param(codeModel.ref(FEATURE_CONTEXT), "context");
+        final JBlock body = configure.body();
+        final JVar methodName = body.decl(JMod.FINAL, codeModel.ref(String.class), "methodName",
+            resourceInfo.invoke("getResourceMethod").invoke("getName"));
+
+        for (final Entry<String, Map<String, JDefinedClass>> interfaceFilters : methodFilters.entrySet())
+        {
+            final JBlock interfaceBlock = body._if(
+                codeModel.directClass(interfaceFilters.getKey()).dotclass().invoke("isAssignableFrom").arg(
+                    resourceInfo.invoke("getResourceClass")))._then();
+            for (final Entry<String, JDefinedClass> methodFilter : interfaceFilters.getValue().entrySet())
+            {
+                final JBlock methodBlock = interfaceBlock._if(
+                    JExpr.lit(methodFilter.getKey()).invoke("equals").arg(methodName))._then();
+                methodBlock.invoke(context, "register").arg(JExpr._new(methodFilter.getValue()));
+                methodBlock._return();
+            }
+        }
+    }
+
+    private JDefinedClass getValidator(final JDefinedClass resourceInterface) throws JClassAlreadyExistsException
+    {
+        JDefinedClass validator = validators.get(resourceInterface.fullName());
+        if (validator == null)
+        {
+            validator = supportPackage._class(JMod.PUBLIC | JMod.FINAL, resourceInterface.name() + "Validator");
+            validator.javadoc().add("Validates the parameters of {@link " + resourceInterface.fullName() + "}.");
+            validator.constructor(JMod.PRIVATE);
+
+            final JMethod reject = validator.method(JMod.STATIC, codeModel.VOID, "reject");
+            final JVar request = reject.param(JMod.FINAL, codeModel.ref(CONTAINER_REQUEST_CONTEXT), "request");
+            final JVar parameter = reject.param(JMod.FINAL, String.class, "parameter");
+            final JClass response = codeModel.ref(RESPONSE);
+            reject.body().invoke(request, "abortWith").arg(
+                response.staticInvoke("status")
+                    .arg(codeModel.ref(RESPONSE + ".Status").staticRef("BAD_REQUEST"))
+                    .invoke("type").arg("text/plain")
+                    .invoke("entity").arg(JExpr.lit("Invalid parameter: ").plus(parameter))
+                    .invoke("build"));
+            validators.put(resourceInterface.fullName(), validator);
+        }
+        return validator;
+    }
+
+    /**
+     * The <code>filter</code> method of the filter of a resource method, created on first use.
+     */
+    private JMethod getFilterMethod(final JDefinedClass resourceInterface,
+                                    final JDefinedClass validator,
+                                    final String methodName) throws JClassAlreadyExistsException
+    {
+        Map<String, JDefinedClass> filters = methodFilters.get(resourceInterface.fullName());
+        if (filters == null)
+        {
+            filters = new LinkedHashMap<String, JDefinedClass>();
+            methodFilters.put(resourceInterface.fullName(), filters);
+        }
+        JDefinedClass filter = filters.get(methodName);
+        if (filter == null)
+        {
+            filter = validator._class(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, capitalize(methodName));
+            filter._implements(codeModel.ref(CONTAINER_REQUEST_FILTER));
+            filter.javadoc().add("Validates the parameters of <code>" + methodName + "</code>.");
+            final JMethod filterMethod = filter.method(JMod.PUBLIC, codeModel.VOID, "filter");
+            filterMethod.param(JMod.FINAL, codeModel.ref(CONTAINER_REQUEST_CONTEXT), "request");
+            filters.put(methodName, filter);
+            filterMethods.put(filter.fullName(), filterMethod);
+        }
+        return filterMethods.get(filter.fullName());
+    }
+
+    /**
+     * The map of the raw values of a parameter source, declared by the filter on first use.
+     */
+    private JVar getSource(final JMethod filterMethod, final JVar request, final String source)
+    {
+        Map<String, JVar> sources = filterSources.get(filterMethod);
+        if (sources == null)
+        {
+            sources = new HashMap<String, JVar>();
+            filterSources.put(filterMethod, sources);
+        }
+        JVar sourceVariable = sources.get(source);
+        if (sourceVariable == null)
+        {
+            final JClass type = codeModel.ref("javax.ws.rs.core.MultivaluedMap").narrow(String.class,
+                String.class);
+            final JExpression values;
+            if ("headers".equals(source))
+            {
+                values = request.invoke("getHeaders");
+            }
+            else
+            {
+                values = request.invoke("getUriInfo").invoke("query".equals(source)
+                                                                                    ? "getQueryParameters"
+                                                                                    : "getPathParameters");
+            }
+            sourceVariable = filterMethod.body().decl(JMod.FINAL, type, source, values);
+            sources.put(source, sourceVariable);
+        }
+        return sourceVariable;
+    }
+
+    /**
+     * Creates the static check of the raw values of a parameter, or returns null if the parameter
+     * has no constraint.
+     */
+    private JMethod createCheck(final JDefinedClass validator, final String checkName, final AbstractParam parameter)
+    {
+        final boolean hasLength = parameter.getMinLength() != null || parameter.getMaxLength() != null;
+        final boolean hasBounds = parameter.getMinimum() != null || parameter.getMaximum() != null;
+        final boolean hasEnumeration = parameter.getEnumeration() != null && !parameter.getEnumeration().isEmpty();
+        final boolean hasPattern = StringUtils.isNotBlank(parameter.getPattern());
+        if (!parameter.isRequired() && !hasLength && !hasBounds && !hasEnumeration && !hasPattern)
+        {
+            return null;
+        }
+
+        final String constantPrefix = join(splitByCharacterTypeCamelCase(checkName), '_').toUpperCase();
+        final JMethod check = validator.method(JMod.STATIC, codeModel.BOOLEAN, "isValid" + capitalize(checkName));
+        final JVar values = check.param(JMod.FINAL, codeModel.ref(List.class).narrow(String.class), "values");
+        final JBlock body = check.body();
+        body._if(values.eq(JExpr._null()).cor(values.invoke("isEmpty")))._then()._return(
+            JExpr.lit(!parameter.isRequired()));
+
+        // indexed loop, the values are a random access list
+        final JForLoop loop = body._for();
+        final JVar index = loop.init(codeModel.INT, "i", JExpr.lit(0));
+        loop.test(index.lt(values.invoke("size")));
+        loop.update(index.incr());
+        final JBlock loopBody = loop.body();
+        final JVar value = loopBody.decl(JMod.FINAL, codeModel.ref(String.class), "value",
+            values.invoke("get").arg(index));
+
+        if (parameter.getMinLength() != null)
+        {
+            returnFalseIf(loopBody, value.invoke("length").lt(JExpr.lit(parameter.getMinLength())));
+        }
+        if (parameter.getMaxLength() != null)
+        {
+            returnFalseIf(loopBody, value.invoke("length").gt(JExpr.lit(parameter.getMaxLength())));
+        }
+        if (hasEnumeration)
+        {
+            final JInvocation valueList = codeModel.ref(Arrays.class).staticInvoke("asList");
+            for (final String allowedValue : parameter.getEnumeration())
+            {
+                valueList.arg(allowedValue);
+            }
+            final JFieldVar allowedValues = validator.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                codeModel.ref(Set.class).narrow(String.class), constantPrefix + "_VALUES",
+                JExpr._new(codeModel.ref(HashSet.class).narrow(String.class)).arg(valueList));
+            returnFalseIf(loopBody, allowedValues.invoke("contains").arg(value).not());
+        }
+        if (hasPattern)
+        {
+            final JFieldVar pattern = validator.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, Pattern.class,
+                constantPrefix + "_PATTERN",
+                codeModel.ref(Pattern.class).staticInvoke("compile").arg(parameter.getPattern()));
+            returnFalseIf(loopBody, pattern.invoke("matcher").arg(value).invoke("matches").not());
+        }
+        if (hasBounds)
+        {
+            addBoundChecks(validator, constantPrefix, parameter, loopBody, value);
+        }
+        body._return(JExpr.TRUE);
+        return check;
+    }
+
+    private void addBoundChecks(final JDefinedClass validator,
+                                final String constantPrefix,
+                                final AbstractParam parameter,
+                                final JBlock loopBody,
+                                final JVar value)
+    {
+        final boolean integer = parameter.getType() == ParamType.INTEGER;
+        final BigDecimal minimum = parameter.getMinimum();
+        final BigDecimal maximum = parameter.getMaximum();
+
+        final JTryBlock parse = loopBody._try();
+        final JVar number = parse.body().decl(JMod.FINAL, integer ? codeModel.LONG : codeModel.DOUBLE, "number",
+            integer
+                    ? codeModel.ref(Long.class).staticInvoke("parseLong").arg(value)
+                    : codeModel.ref(Double.class).staticInvoke("parseDouble").arg(value));
+        if (minimum != null)
+        {
+            final JFieldVar bound = validator.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                integer ? codeModel.LONG : codeModel.DOUBLE, constantPrefix + "_MINIMUM",
+                integer
+                        ? JExpr.lit(minimum.setScale(0, RoundingMode.CEILING).longValue())
+                        : JExpr.lit(minimum.doubleValue()));
+            returnFalseIf(parse.body(), number.lt(bound));
+        }
+        if (maximum != null)
+        {
+            final JFieldVar bound = validator.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                integer ? codeModel.LONG : codeModel.DOUBLE, constantPrefix + "_MAXIMUM",
+                integer
+                        ? JExpr.lit(maximum.setScale(0, RoundingMode.FLOOR).longValue())
+                        : JExpr.lit(maximum.doubleValue()));
+            returnFalseIf(parse.body(), number.gt(bound));
+        }
+        parse._catch(codeModel.ref(NumberFormatException.class)).body()._return(JExpr.FALSE);
+    }
+
+    private static void returnFalseIf(final JBlock block, final JExpression condition)
+    {
+        block._if(condition)._then()._return(JExpr.FALSE);
+    }
+}
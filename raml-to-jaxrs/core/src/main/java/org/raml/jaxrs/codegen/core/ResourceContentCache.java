@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.raml.parser.loader.ResourceLoader;
+
+/**
+ * <p>Contents of the included files and schemas, kept between the generations of a {@link Watcher}.</p>
+ *
+ * Entries are keyed by the canonical file and checked against its last modification time and
+ * length before being returned, the watcher also drops the files it saw change since the file
+ * system may not tell edits made within the same second apart. The loaders it creates stand for
+ * the <code>FileResourceLoader</code>s of a generation.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class ResourceContentCache
+{
+    private final Map<File, Entry> entries = new HashMap<File, Entry>();
+    private long hitCount;
+
+    /**
+     * <p>Creates a loader resolving resource names against a directory.</p>
+     *
+     * @param directory the directory, <code>null</code> to resolve names as files on their own.
+     * @return a {@link org.raml.parser.loader.ResourceLoader} object.
+     */
+    public ResourceLoader loader(final String directory)
+    {
+        return new ResourceLoader()
+        {
+            public InputStream fetchResource(final String resourceName)
+            {
+                return open(directory == null ? new File(resourceName) : new File(directory, resourceName));
+            }
+        };
+    }
+
+    /**
+     * <p>Opens a file from the cache, reading it again if it changed.</p>
+     *
+     * @param file a {@link java.io.File} object.
+     * @return a {@link java.io.InputStream} object, or <code>null</code> if the file cannot be read.
+     */
+    public synchronized InputStream open(final File file)
+    {
+        if (!file.isFile())
+        {
+            return null;
+        }
+        final File key = canonical(file);
+        final long lastModified = key.lastModified();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.lastModified == lastModified && entry.content.length == key.length())
+        {
+            hitCount++;
+            return new ByteArrayInputStream(entry.content);
+        }
+        try
+        {
+            entry = new Entry(lastModified, FileUtils.readFileToByteArray(key));
+        }
+        catch (final IOException e)
+        {
+            entries.remove(key);
+            return null;
+        }
+        entries.put(key, entry);
+        return new ByteArrayInputStream(entry.content);
+    }
+
+    /**
+     * <p>Drops the entries of changed files.</p>
+     *
+     * @param files a {@link java.util.Collection} object.
+     */
+    public synchronized void invalidate(final Collection<File> files)
+    {
+        for (final File file : files)
+        {
+            entries.remove(canonical(file));
+        }
+    }
+
+    /**
+     * <p>getHitCount.</p>
+     *
+     * @return the number of files returned without being read again.
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * <p>size.</p>
+     *
+     * @return the number of files kept.
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    private static File canonical(final File file)
+    {
+        try
+        {
+            return file.getCanonicalFile();
+        }
+        catch (final IOException e)
+        {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    private static final class Entry
+    {
+        private final long lastModified;
+        private final byte[] content;
+
+        private Entry(final long lastModified, final byte[] content)
+        {
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.apache.commons.lang.StringUtils.isNotBlank;
+import static org.apache.commons.lang.StringUtils.startsWith;
+import static org.apache.commons.lang.StringUtils.strip;
+import static org.apache.commons.lang.StringUtils.substringAfter;
+import static org.raml.jaxrs.codegen.core.Names.GENERIC_PAYLOAD_ARGUMENT_NAME;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.MediaType;
+
+import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
+import org.raml.model.Action;
+import org.raml.model.MimeType;
+import org.raml.model.Raml;
+import org.raml.model.Resource;
+import org.raml.model.parameter.AbstractParam;
+import org.raml.model.parameter.FormParameter;
+
+import com.sun.codemodel.JAnnotationArrayMember;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
+
+/**
+ * <p>SpringWebFluxGenerator class.</p>
+ *
+ * Generates Spring WebFlux request mapping interfaces instead of JAX-RS ones. A method
+ * returns a <code>Flux</code> of the items when its successful response has an array
+ * schema, which can also be streamed as {@link Configuration#getReactiveStreamMediaType()},
+ * and a <code>Mono</code> of a <code>ResponseEntity</code> otherwise. Request bodies are
+ * received the same way. Every method is non blocking, so the asynchronous resource trait
+ * is not needed. Spring and Reactor types are referenced by name, they only have to be on
+ * the classpath of the generated code, whose implementations carry the
+ * <code>@RestController</code> annotation.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class SpringWebFluxGenerator extends AbstractGenerator {
+
+	private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+	private static final String REQUEST_METHOD = "org.springframework.web.bind.annotation.RequestMethod";
+	private static final String REQUEST_BODY = "org.springframework.web.bind.annotation.RequestBody";
+	private static final String REQUEST_PARAM = "org.springframework.web.bind.annotation.RequestParam";
+	private static final String REQUEST_HEADER = "org.springframework.web.bind.annotation.RequestHeader";
+	private static final String PATH_VARIABLE = "org.springframework.web.bind.annotation.PathVariable";
+	private static final String RESPONSE_ENTITY = "org.springframework.http.ResponseEntity";
+	private static final String MULTI_VALUE_MAP = "org.springframework.util.MultiValueMap";
+	private static final String PART = "org.springframework.http.codec.multipart.Part";
+	private static final String DATA_BUFFER = "org.springframework.core.io.buffer.DataBuffer";
+	private static final String SPRING_RESOURCE = "org.springframework.core.io.Resource";
+	private static final String MONO = "reactor.core.publisher.Mono";
+	private static final String FLUX = "reactor.core.publisher.Flux";
+
+	private static final String METHOD_REQUEST_MAPPING_ATTRIBUTE = "method";
+	private static final String CONSUMES_REQUEST_MAPPING_ATTRIBUTE = "consumes";
+	private static final String PRODUCES_REQUEST_MAPPING_ATTRIBUTE = "produces";
+	private static final String DEFAULT_VALUE_PARAM_ATTRIBUTE = "defaultValue";
+	private static final String REQUIRED_PARAM_ATTRIBUTE = "required";
+
+	/** {@inheritDoc} */
+	protected void createResourceInterface(final Resource resource,
+			final Raml raml) throws Exception {
+		final JDefinedClass resourceInterface = context
+				.createResourceInterface(buildResourceInterfaceName(resource));
+		context.setCurrentResourceInterface(resourceInterface);
+
+		final String path = strip(resource.getRelativeUri(), "/");
+		resourceInterface.annotate(types.getGeneratorClass(REQUEST_MAPPING))
+				.param(DEFAULT_ANNOTATION_PARAMETER, "/" + path);
+
+		if (isNotBlank(resource.getDescription())) {
+			resourceInterface.javadoc().add(resource.getDescription());
+		}
+
+		addResourceMethods(resource, resourceInterface, path);
+
+		/* call registered extensions */
+		for (GeneratorExtension e : extensions) {
+			e.onCreateResourceInterface(resourceInterface, resource);
+		}
+	}
+
+	/** {@inheritDoc} */
+	protected void addResourceMethod(final JDefinedClass resourceInterface,
+			final Resource resource,
+			final String resourceInterfacePath,
+			final Action action,
+			final MimeType bodyMimeType,
+			final boolean addBodyMimeTypeInMethodName,
+			final Collection<MimeType> uniqueResponseMimeTypes)
+			throws Exception {
+		final String methodName = buildResourceMethodName(action,
+				addBodyMimeTypeInMethodName ? bodyMimeType : null, resource);
+
+		final MimeType responseMimeType = getSuccessResponseMimeType(action);
+		final JClass responseEntityType = responseMimeType != null
+				? getEntityType(responseMimeType, SPRING_RESOURCE)
+				: types.getGeneratorClass(Void.class);
+		final JClass responseItemType = getItemType(responseEntityType);
+		final JClass resourceMethodReturnType = responseItemType != null
+				? types.getGeneratorClass(FLUX).narrow(responseItemType)
+				: types.getGeneratorClass(MONO).narrow(
+						types.getGeneratorClass(RESPONSE_ENTITY).narrow(responseEntityType));
+
+		final JMethod method = context.createResourceMethod(resourceInterface,
+				methodName, resourceMethodReturnType);
+
+		final Configuration configuration = context.getConfiguration();
+		if (configuration.getMethodThrowException() != null) {
+			method._throws(configuration.getMethodThrowException());
+		}
+
+		method.annotate(types.getGeneratorClass(REQUEST_MAPPING)).param(
+				METHOD_REQUEST_MAPPING_ATTRIBUTE,
+				types.getGeneratorClass(REQUEST_METHOD).staticRef(action.getType().name()));
+
+		addParamAnnotation(resourceInterfacePath, action, method);
+		addConsumesAnnotation(bodyMimeType, method);
+		addProducesAnnotation(uniqueResponseMimeTypes, method,
+				responseItemType != null ? configuration.getReactiveStreamMediaType() : null);
+
+		final JDocComment javadoc = addBaseJavaDoc(action, method);
+
+		addPathParameters(action, method, javadoc);
+		addHeaderParameters(action, method, javadoc);
+		addQueryParameters(action, method, javadoc);
+		addBodyParameters(bodyMimeType, method, javadoc);
+
+		/* call registered extensions */
+		for (GeneratorExtension e : extensions) {
+			e.onAddResourceMethod(method, action, bodyMimeType,
+					uniqueResponseMimeTypes);
+		}
+	}
+
+	/** {@inheritDoc} */
+	protected void addParamAnnotation(final String resourceInterfacePath,
+			final Action action, final JMethod method) {
+		final String path = substringAfter(action.getResource().getUri(),
+				resourceInterfacePath + "/");
+		if (isNotBlank(path)) {
+			getRequestMapping(method).param(DEFAULT_ANNOTATION_PARAMETER, path);
+		}
+	}
+
+	/** {@inheritDoc} */
+	protected void addConsumesAnnotation(final MimeType bodyMimeType,
+			final JMethod method) {
+		if (bodyMimeType != null) {
+			getRequestMapping(method).param(CONSUMES_REQUEST_MAPPING_ATTRIBUTE,
+					bodyMimeType.getType());
+		}
+	}
+
+	/** {@inheritDoc} */
+	protected void addProducesAnnotation(
+			final Collection<MimeType> uniqueResponseMimeTypes,
+			final JMethod method) {
+		addProducesAnnotation(uniqueResponseMimeTypes, method, null);
+	}
+
+	private void addProducesAnnotation(
+			final Collection<MimeType> uniqueResponseMimeTypes,
+			final JMethod method, final String streamMediaType) {
+		if (uniqueResponseMimeTypes.isEmpty()) {
+			return;
+		}
+
+		final JAnnotationArrayMember produces = getRequestMapping(method)
+				.paramArray(PRODUCES_REQUEST_MAPPING_ATTRIBUTE);
+		boolean streamMediaTypeDeclared = false;
+		for (final MimeType responseMimeType : uniqueResponseMimeTypes) {
+			produces.param(responseMimeType.getType());
+			streamMediaTypeDeclared |= responseMimeType.getType().equals(streamMediaType);
+		}
+		if (isNotBlank(streamMediaType) && !streamMediaTypeDeclared) {
+			produces.param(streamMediaType);
+		}
+	}
+
+	/** {@inheritDoc} */
+	protected void addBodyParameters(final MimeType bodyMimeType,
+			final JMethod method, final JDocComment javadoc) throws Exception {
+		if (bodyMimeType == null) {
+			return;
+		}
+
+		final JClass bodyType;
+		if (MediaType.APPLICATION_FORM_URLENCODED.equals(bodyMimeType.getType())) {
+			bodyType = types.getGeneratorClass(MONO).narrow(
+					types.getGeneratorClass(MULTI_VALUE_MAP).narrow(
+							types.getGeneratorClass(String.class),
+							types.getGeneratorClass(String.class)));
+		} else if (MediaType.MULTIPART_FORM_DATA.equals(bodyMimeType.getType())) {
+			bodyType = types.getGeneratorClass(MONO).narrow(
+					types.getGeneratorClass(MULTI_VALUE_MAP).narrow(
+							types.getGeneratorClass(String.class),
+							types.getGeneratorClass(PART)));
+		} else {
+			final JClass entityType = getEntityType(bodyMimeType, DATA_BUFFER);
+			final JClass itemType = getItemType(entityType);
+			if (itemType != null) {
+				bodyType = types.getGeneratorClass(FLUX).narrow(itemType);
+			} else if (DATA_BUFFER.equals(entityType.fullName())) {
+				bodyType = types.getGeneratorClass(FLUX).narrow(entityType);
+			} else {
+				bodyType = types.getGeneratorClass(MONO).narrow(entityType);
+			}
+		}
+
+		final JVar argumentVariable = method.param(bodyType,
+				GENERIC_PAYLOAD_ARGUMENT_NAME);
+		argumentVariable.annotate(types.getGeneratorClass(REQUEST_BODY));
+
+		final StringBuilder description = new StringBuilder(
+				getPrefixedExampleOrBlank(bodyMimeType.getExample()));
+		final Map<String, List<FormParameter>> formParameters = bodyMimeType
+				.getFormParameters();
+		if (formParameters != null) {
+			for (final Entry<String, List<FormParameter>> namedFormParameters : formParameters
+					.entrySet()) {
+				description.append(namedFormParameters.getKey()).append(": ");
+				for (final FormParameter formParameter : namedFormParameters
+						.getValue()) {
+					appendParameterJavadocDescription(formParameter, description);
+				}
+			}
+		}
+		javadoc.addParam(argumentVariable.name()).add(description.toString());
+	}
+
+	/** {@inheritDoc} */
+	protected void annotateParameter(final String name,
+			final AbstractParam parameter,
+			final Class<? extends Annotation> annotationClass,
+			final JVar argumentVariable) {
+		final String springAnnotation;
+		if (PathParam.class.equals(annotationClass)) {
+			springAnnotation = PATH_VARIABLE;
+		} else if (HeaderParam.class.equals(annotationClass)) {
+			springAnnotation = REQUEST_HEADER;
+		} else {
+			springAnnotation = REQUEST_PARAM;
+		}
+
+		final JAnnotationUse annotation = argumentVariable.annotate(types
+				.getGeneratorClass(springAnnotation));
+		annotation.param(DEFAULT_ANNOTATION_PARAMETER, name);
+
+		// Spring rejects requests without the parameter unless told otherwise
+		if (parameter.getDefaultValue() != null) {
+			annotation.param(DEFAULT_VALUE_PARAM_ATTRIBUTE,
+					parameter.getDefaultValue());
+		} else if (!parameter.isRequired() && !PATH_VARIABLE.equals(springAnnotation)) {
+			annotation.param(REQUIRED_PARAM_ATTRIBUTE, false);
+		}
+	}
+
+	private JAnnotationUse getRequestMapping(final JMethod method) {
+		for (final JAnnotationUse annotation : method.annotations()) {
+			if (REQUEST_MAPPING.equals(annotation.getAnnotationClass().fullName())) {
+				return annotation;
+			}
+		}
+		throw new IllegalArgumentException("No request mapping on method "
+				+ method.name());
+	}
+
+	private JClass getEntityType(final MimeType mimeType,
+			final String fallbackClass) throws IOException {
+		final JClass schemaClass = types.getSchemaClass(mimeType);
+		if (schemaClass != null) {
+			return schemaClass;
+		} else if (startsWith(mimeType.getType(), "text/")) {
+			return types.getGeneratorClass(String.class);
+		} else {
+			return types.getGeneratorClass(fallbackClass);
+		}
+	}
+
+	private JClass getItemType(final JClass entityType) {
+		final List<JClass> typeParameters = entityType.getTypeParameters();
+		if (typeParameters.size() == 1
+				&& types.getGeneratorClass(Collection.class).isAssignableFrom(
+						entityType.erasure())) {
+			return typeParameters.get(0);
+		}
+		return null;
+	}
+}
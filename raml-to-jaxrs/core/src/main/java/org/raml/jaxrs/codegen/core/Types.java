@@ -200,8 +200,15 @@ public class Types
     {
          return context.getGeneratorClass(classFQN);
     }
-    
-    private JClass getSchemaClass(final MimeType mimeType) throws IOException
+
+    /**
+     * <p>getSchemaClass.</p>
+     *
+     * @param mimeType a {@link org.raml.model.MimeType} object.
+     * @return the class generated from the schema of the mime type, or <code>null</code> if it has none.
+     * @throws java.io.IOException if any.
+     */
+    public JClass getSchemaClass(final MimeType mimeType) throws IOException
     {
         final String schemaNameOrContent = mimeType.getSchema();
         if (isBlank(schemaNameOrContent))
@@ -214,6 +221,7 @@ public class Types
         final JClass existingClass = schemaClasses.get(buildSchemaKey);
         if (existingClass != null)
         {
+            context.getMetrics().increment(GenerationMetrics.Counter.SCHEMA_CACHE_HITS);
             return existingClass;
         }
 
@@ -224,6 +232,7 @@ public class Types
         }
         else if (isCompatibleWith(mimeType, APPLICATION_JSON))
         {
+            context.getMetrics().increment(GenerationMetrics.Counter.SCHEMA_CACHE_MISSES);
             final Entry<File, String> schemaNameAndFile = context.getSchemaFile(schemaNameOrContent);
             if (isBlank(schemaNameAndFile.getValue()))
             {
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Keeps generating sources while the RAML files change.</p>
+ *
+ * Every directory holding a RAML root or one of its includes and schemas is registered
+ * with a {@link java.nio.file.WatchService}. Bursts of events are collected until no
+ * event arrived for the debounce delay, then only the roots whose dependency closure
+ * contains a changed file are generated again.
+ *
+ * Between rounds the JVM keeps its loaded classes and JIT compiled code, and the watcher keeps
+ * the dependency scan of unchanged files and a {@link ResourceContentCache} of the included files
+ * and schemas, so only changed files are read again. Each root is still parsed by a fresh
+ * generator, its document model and generated classes are not kept.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class Watcher {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Watcher.class);
+
+	private final Configuration configuration;
+
+	private final Set<File> roots = new LinkedHashSet<File>();
+
+	private final File rootDirectory;
+
+	private final long debounceMillis;
+
+	private final DependencyScanner scanner;
+
+	private final GeneratorProxy generator = new GeneratorProxy();
+
+	private final ResourceContentCache contents = new ResourceContentCache();
+
+	private final Map<WatchKey, Path> directories = new HashMap<WatchKey, Path>();
+
+	/**
+	 * <p>Constructor for Watcher.</p>
+	 *
+	 * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+	 * @param roots a {@link java.util.Collection} object.
+	 * @param rootDirectory the directory new roots are picked up from, or <code>null</code> for a fixed set of roots.
+	 * @param debounceMillis a long.
+	 */
+	public Watcher(Configuration configuration, Collection<File> roots, File rootDirectory, long debounceMillis) {
+		this.configuration = configuration;
+		for (File root : roots) {
+			this.roots.add(canonical(root));
+		}
+		this.rootDirectory = rootDirectory != null ? canonical(rootDirectory) : null;
+		this.debounceMillis = debounceMillis;
+		this.scanner = new DependencyScanner(configuration.getSourceDirectory());
+		this.generator.setResourceContentCache(contents);
+	}
+
+	/**
+	 * <p>Generates every root once, then watches them until the thread is interrupted.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	public void run() throws IOException {
+		WatchService watchService = FileSystems.getDefault().newWatchService();
+		try {
+			generate(roots, "Generated");
+			register(watchService);
+			while (!Thread.currentThread().isInterrupted()) {
+				Set<File> changed = awaitChanges(watchService);
+				contents.invalidate(changed);
+				Collection<File> affected = affectedRoots(changed);
+				if (!affected.isEmpty()) {
+					generate(affected, "Regenerated");
+				}
+				register(watchService);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			watchService.close();
+		}
+	}
+
+	/**
+	 * Blocks until a change is reported, then keeps collecting changes until none
+	 * arrived for the debounce delay.
+	 */
+	Set<File> awaitChanges(WatchService watchService) throws InterruptedException {
+		Set<File> changed = new LinkedHashSet<File>();
+		WatchKey key = watchService.take();
+		collect(key, changed);
+		while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+			collect(key, changed);
+		}
+		return changed;
+	}
+
+	/**
+	 * Picks up new roots, forgets deleted ones and returns the roots to generate again
+	 * for the given changed files.
+	 */
+	Collection<File> affectedRoots(Set<File> changed) {
+		for (File file : changed) {
+			if (isNewRoot(file)) {
+				roots.add(file);
+			}
+		}
+		roots.retainAll(existing(roots));
+		return scanner.affectedRoots(roots, changed);
+	}
+
+	Set<File> getRoots() {
+		return roots;
+	}
+
+	ResourceContentCache getContents() {
+		return contents;
+	}
+
+	private void generate(Collection<File> files, String verb) {
+		long start = System.nanoTime();
+		int generated = 0;
+		for (File root : files) {
+			try {
+				FileReader reader = new FileReader(root);
+				try {
+					generator.run(reader, configuration, root.getAbsolutePath());
+					generated++;
+				} finally {
+					reader.close();
+				}
+			} catch (Exception e) {
+				LOGGER.error("Failed to generate " + root, e);
+			}
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		LOGGER.info(verb + " " + generated + " of " + roots.size() + " RAML file(s) in " + millis + " ms");
+	}
+
+	private void register(WatchService watchService) throws IOException {
+		Set<Path> wanted = new LinkedHashSet<Path>();
+		if (rootDirectory != null) {
+			wanted.add(rootDirectory.toPath());
+		}
+		for (File root : roots) {
+			for (File file : scanner.scan(root)) {
+				wanted.add(file.getParentFile().toPath());
+			}
+		}
+		wanted.removeAll(directories.values());
+		for (Path directory : wanted) {
+			if (directory.toFile().isDirectory()) {
+				directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+			}
+		}
+	}
+
+	void watch(Path directory, WatchKey key) {
+		directories.put(key, directory);
+	}
+
+	private void collect(WatchKey key, Set<File> changed) {
+		Path directory = directories.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				// events were lost, treat every watched file as changed
+				for (File root : roots) {
+					changed.addAll(scanner.scan(root));
+				}
+				continue;
+			}
+			if (directory != null) {
+				changed.add(canonical(directory.resolve((Path) event.context()).toFile()));
+			}
+		}
+		if (!key.reset()) {
+			directories.remove(key);
+		}
+	}
+
+	private boolean isNewRoot(File file) {
+		if (rootDirectory == null || roots.contains(file) || !file.isFile()
+			|| !rootDirectory.equals(file.getParentFile())) {
+			return false;
+		}
+		String name = file.getName();
+		if (!name.endsWith(".raml") && !name.endsWith(".yaml")) {
+			return false;
+		}
+		// a fragment included by a known root is not a root of its own
+		for (File root : roots) {
+			if (scanner.scan(root).contains(file)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Collection<File> existing(Collection<File> files) {
+		Collection<File> existing = new ArrayList<File>();
+		for (File file : files) {
+			if (file.isFile()) {
+				existing.add(file);
+			}
+		}
+		return existing;
+	}
+
+	private static File canonical(File file) {
+		try {
+			return file.getCanonicalFile();
+		} catch (IOException e) {
+			return file.getAbsoluteFile();
+		}
+	}
+}
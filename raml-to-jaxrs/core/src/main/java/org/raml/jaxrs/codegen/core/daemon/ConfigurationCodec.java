@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.raml.jaxrs.codegen.core.Configuration;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+import org.raml.jaxrs.codegen.core.Configuration.MultipartBackend;
+import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
+
+/**
+ * <p>Converts a {@link org.raml.jaxrs.codegen.core.Configuration} to and from the JSON
+ * object sent to the daemon.</p>
+ *
+ * Classes, such as the custom annotator and the generator extensions, travel by name and
+ * are instantiated again with their no-arg constructor on the daemon side.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+final class ConfigurationCodec {
+
+	private ConfigurationCodec() {
+	}
+
+	static Map<String, Object> toMap(Configuration configuration) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("outputDirectory", path(configuration.getOutputDirectory()));
+		map.put("sourceDirectory", path(configuration.getSourceDirectory()));
+		map.put("jaxrsVersion", configuration.getJaxrsVersion().getAlias());
+		map.put("basePackageName", configuration.getBasePackageName());
+		map.put("modelPackageName", configuration.getModelPackageName());
+		map.put("useJsr303Annotations", configuration.isUseJsr303Annotations());
+		map.put("jsonMapper", configuration.getJsonMapper().name());
+		map.put("jsonMapperConfiguration", configuration.getJsonMapperConfiguration());
+		map.put("methodThrowException", className(configuration.getMethodThrowException()));
+		map.put("asyncResourceTrait", configuration.getAsyncResourceTrait());
+		map.put("completionStageResources", configuration.isCompletionStageResources());
+		map.put("completionStageResourceTrait", configuration.getCompletionStageResourceTrait());
+		map.put("emptyResponseReturnVoid", configuration.isEmptyResponseReturnVoid());
+		map.put("generateClientInterface", configuration.isGenerateClientInterface());
+		map.put("generateClientImplementation", configuration.isGenerateClientImplementation());
+		map.put("generateEnumParamConverters", configuration.isGenerateEnumParamConverters());
+		map.put("caseInsensitiveEnumParams", configuration.isCaseInsensitiveEnumParams());
+		map.put("generateParameterValidators", configuration.isGenerateParameterValidators());
+		map.put("multipartBackend", configuration.getMultipartBackend().name());
+		map.put("generateConditionalResponses", configuration.isGenerateConditionalResponses());
+		map.put("generateSpringWebFlux", configuration.isGenerateSpringWebFlux());
+		map.put("reactiveStreamMediaType", configuration.getReactiveStreamMediaType());
+		map.put("customAnnotator", className(configuration.getCustomAnnotator()));
+		map.put("ignoredParameterNames", configuration.getIgnoredParameterNames());
+		map.put("useTitlePropertyWhenPossible", configuration.isUseTitlePropertyWhenPossible());
+		map.put("streamResourceInterfaces", configuration.isStreamResourceInterfaces());
+		map.put("generateMetricsReport", configuration.isGenerateMetricsReport());
+		List<String> extensions = new ArrayList<String>();
+		for (GeneratorExtension extension : configuration.getExtensions()) {
+			extensions.add(extension.getClass().getName());
+		}
+		map.put("extensions", extensions);
+		return map;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Configuration fromMap(Map<String, Object> map) throws Exception {
+		Configuration configuration = new Configuration();
+		configuration.setOutputDirectory(file(map.get("outputDirectory")));
+		configuration.setSourceDirectory(file(map.get("sourceDirectory")));
+		configuration.setJaxrsVersion(JaxrsVersion.fromAlias((String) map.get("jaxrsVersion")));
+		configuration.setBasePackageName((String) map.get("basePackageName"));
+		configuration.setModelPackageName((String) map.get("modelPackageName"));
+		configuration.setUseJsr303Annotations(Boolean.TRUE.equals(map.get("useJsr303Annotations")));
+		configuration.setJsonMapper(AnnotationStyle.valueOf((String) map.get("jsonMapper")));
+		configuration.setJsonMapperConfiguration((Map<String, String>) map.get("jsonMapperConfiguration"));
+		if (map.get("methodThrowException") != null) {
+			configuration.setMethodThrowException(Class.forName((String) map.get("methodThrowException")));
+		}
+		configuration.setAsyncResourceTrait((String) map.get("asyncResourceTrait"));
+		configuration.setCompletionStageResources(Boolean.TRUE.equals(map.get("completionStageResources")));
+		configuration.setCompletionStageResourceTrait((String) map.get("completionStageResourceTrait"));
+		configuration.setEmptyResponseReturnVoid(Boolean.TRUE.equals(map.get("emptyResponseReturnVoid")));
+		configuration.setGenerateClientInterface(Boolean.TRUE.equals(map.get("generateClientInterface")));
+		configuration.setGenerateClientImplementation(Boolean.TRUE.equals(map.get("generateClientImplementation")));
+		configuration.setGenerateEnumParamConverters(Boolean.TRUE.equals(map.get("generateEnumParamConverters")));
+		configuration.setCaseInsensitiveEnumParams(Boolean.TRUE.equals(map.get("caseInsensitiveEnumParams")));
+		configuration.setGenerateParameterValidators(Boolean.TRUE.equals(map.get("generateParameterValidators")));
+		configuration.setMultipartBackend(MultipartBackend.valueOf((String) map.get("multipartBackend")));
+		configuration.setGenerateConditionalResponses(Boolean.TRUE.equals(map.get("generateConditionalResponses")));
+		configuration.setGenerateSpringWebFlux(Boolean.TRUE.equals(map.get("generateSpringWebFlux")));
+		configuration.setReactiveStreamMediaType((String) map.get("reactiveStreamMediaType"));
+		if (map.get("customAnnotator") != null) {
+			configuration.setCustomAnnotator((Class) Class.forName((String) map.get("customAnnotator")));
+		}
+		if (map.get("ignoredParameterNames") != null) {
+			configuration.setIgnoredParameterNames(new ArrayList<String>((List<String>) map.get("ignoredParameterNames")));
+		}
+		configuration.setUseTitlePropertyWhenPossible(Boolean.TRUE.equals(map.get("useTitlePropertyWhenPossible")));
+		configuration.setStreamResourceInterfaces(Boolean.TRUE.equals(map.get("streamResourceInterfaces")));
+		configuration.setGenerateMetricsReport(Boolean.TRUE.equals(map.get("generateMetricsReport")));
+		if (map.get("extensions") != null) {
+			for (String className : (List<String>) map.get("extensions")) {
+				Object extension = Class.forName(className).newInstance();
+				if (!(extension instanceof GeneratorExtension)) {
+					throw new IllegalArgumentException(className + " does not implement " + GeneratorExtension.class.getName());
+				}
+				configuration.getExtensions().add((GeneratorExtension) extension);
+			}
+		}
+		return configuration;
+	}
+
+	private static String path(File file) {
+		return file != null ? file.getAbsolutePath() : null;
+	}
+
+	private static File file(Object path) {
+		return path != null ? new File((String) path) : null;
+	}
+
+	private static String className(Class<?> type) {
+		return type != null ? type.getName() : null;
+	}
+}
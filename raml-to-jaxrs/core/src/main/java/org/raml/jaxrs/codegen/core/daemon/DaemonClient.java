@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.raml.jaxrs.codegen.core.Configuration;
+
+/**
+ * <p>Client side of the {@link GenerationDaemon} protocol.</p>
+ *
+ * A daemon that is not running, cannot be reached or does not accept the token surfaces
+ * as an {@link java.io.IOException}, so that callers can fall back to in-process
+ * generation. A failure reported by the daemon itself surfaces as a
+ * {@link DaemonGenerationException} and should be reported, not retried.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class DaemonClient {
+
+	private static final int CONNECT_TIMEOUT = 500;
+
+	private final int port;
+
+	private final int readTimeout;
+
+	private final File tokenFile;
+
+	/**
+	 * <p>Constructor for a client that waits as long as generation takes.</p>
+	 *
+	 * @param port the loopback port of the daemon.
+	 */
+	public DaemonClient(int port) {
+		this(port, 0);
+	}
+
+	/**
+	 * <p>Constructor for a client reading the token from its default location.</p>
+	 *
+	 * @param port the loopback port of the daemon.
+	 * @param readTimeout how many milliseconds to wait for an answer, <code>0</code> waits forever.
+	 */
+	public DaemonClient(int port, int readTimeout) {
+		this(port, readTimeout, DaemonToken.defaultFile(port));
+	}
+
+	/**
+	 * <p>Constructor for DaemonClient.</p>
+	 *
+	 * @param port the loopback port of the daemon.
+	 * @param readTimeout how many milliseconds to wait for an answer, <code>0</code> waits forever.
+	 * @param tokenFile the file the daemon wrote its token to.
+	 */
+	public DaemonClient(int port, int readTimeout, File tokenFile) {
+		this.port = port;
+		this.readTimeout = readTimeout;
+		this.tokenFile = tokenFile;
+	}
+
+	/**
+	 * <p>Asks the daemon to generate the sources of a RAML root.</p>
+	 *
+	 * @param raml a {@link java.io.File} object.
+	 * @param configuration a {@link org.raml.jaxrs.codegen.core.Configuration} object.
+	 * @return the generated files.
+	 * @throws java.io.IOException if the daemon cannot be reached.
+	 * @throws org.raml.jaxrs.codegen.core.daemon.DaemonGenerationException if the daemon failed to generate.
+	 */
+	@SuppressWarnings("unchecked")
+	public Set<String> generate(File raml, Configuration configuration) throws IOException, DaemonGenerationException {
+		Map<String, Object> request = new LinkedHashMap<String, Object>();
+		request.put("command", "generate");
+		request.put("raml", raml.getAbsolutePath());
+		request.put("configuration", ConfigurationCodec.toMap(configuration));
+		Map<String, Object> response = send(request);
+		return new LinkedHashSet<String>((List<String>) response.get("files"));
+	}
+
+	/**
+	 * <p>Tells whether a daemon answers on the port.</p>
+	 *
+	 * @return a boolean.
+	 */
+	public boolean ping() {
+		Map<String, Object> request = new LinkedHashMap<String, Object>();
+		request.put("command", "ping");
+		try {
+			send(request);
+			return true;
+		} catch (IOException e) {
+			return false;
+		} catch (DaemonGenerationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * <p>Asks the daemon to stop after answering.</p>
+	 *
+	 * @throws java.io.IOException if the daemon cannot be reached.
+	 * @throws org.raml.jaxrs.codegen.core.daemon.DaemonGenerationException if the daemon refused.
+	 */
+	public void shutdown() throws IOException, DaemonGenerationException {
+		Map<String, Object> request = new LinkedHashMap<String, Object>();
+		request.put("command", "shutdown");
+		send(request);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> send(Map<String, Object> request) throws IOException, DaemonGenerationException {
+		request.put("token", DaemonToken.read(tokenFile));
+		Socket socket = new Socket();
+		try {
+			socket.connect(new InetSocketAddress(InetAddress.getByName(null), port), CONNECT_TIMEOUT);
+			socket.setSoTimeout(readTimeout);
+			Writer writer = new OutputStreamWriter(socket.getOutputStream(), GenerationDaemon.UTF_8);
+			writer.write(Json.write(request));
+			writer.write('\n');
+			writer.flush();
+			String line = new BufferedReader(new InputStreamReader(socket.getInputStream(), GenerationDaemon.UTF_8)).readLine();
+			if (line == null) {
+				throw new IOException("The generation daemon closed the connection");
+			}
+			Map<String, Object> response;
+			try {
+				response = (Map<String, Object>) Json.read(line);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Malformed daemon response: " + e.getMessage());
+			}
+			if ("unauthorized".equals(response.get("status"))) {
+				throw new IOException("The generation daemon did not accept the token of " + tokenFile);
+			}
+			if (!"ok".equals(response.get("status"))) {
+				throw new DaemonGenerationException("The generation daemon failed: " + response.get("message"));
+			}
+			return response;
+		} finally {
+			socket.close();
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+/**
+ * <p>Thrown when a reachable {@link GenerationDaemon} failed to generate a RAML root.</p>
+ *
+ * Unlike the {@link java.io.IOException} of an unreachable daemon, generating in-process
+ * would fail the same way, so callers should report it instead of falling back.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class DaemonGenerationException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * <p>Constructor for DaemonGenerationException.</p>
+	 *
+	 * @param message the failure reported by the daemon.
+	 */
+	public DaemonGenerationException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Set;
+
+/**
+ * <p>Secret shared by a {@link GenerationDaemon} and its clients.</p>
+ *
+ * The daemon writes a random token to a file only its user can read, by default
+ * <code>~/.raml-jaxrs-codegen/daemon-&lt;port&gt;.token</code>, and rejects every request that
+ * does not carry it. Other users of the machine can connect to the loopback port but
+ * cannot make the daemon load classes or write files on their behalf.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public final class DaemonToken {
+
+	private static final Charset UTF_8 = Charset.forName(GenerationDaemon.UTF_8);
+
+	private static final int TOKEN_BYTES = 32;
+
+	private DaemonToken() {
+	}
+
+	/**
+	 * <p>Default location of the token of the daemon listening on a port.</p>
+	 *
+	 * @param port a int.
+	 * @return a {@link java.io.File} object.
+	 */
+	public static File defaultFile(int port) {
+		return new File(new File(System.getProperty("user.home"), ".raml-jaxrs-codegen"), "daemon-" + port + ".token");
+	}
+
+	/**
+	 * <p>Writes a new random token to a file readable and writable by the current user only.</p>
+	 *
+	 * @param file a {@link java.io.File} object.
+	 * @return the token.
+	 * @throws java.io.IOException if the file cannot be written or restricted.
+	 */
+	public static String create(File file) throws IOException {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder token = new StringBuilder();
+		for (byte b : bytes) {
+			token.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory()) {
+			createPrivate(directory.toPath(), true);
+		}
+		Path path = file.toPath();
+		Files.deleteIfExists(path);
+		createPrivate(path, false);
+		Files.write(path, token.toString().getBytes(UTF_8));
+		return token.toString();
+	}
+
+	/**
+	 * <p>Reads the token written by {@link #create(File)}.</p>
+	 *
+	 * @param file a {@link java.io.File} object.
+	 * @return the token.
+	 * @throws java.io.IOException if the file does not exist or cannot be read.
+	 */
+	public static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), UTF_8).trim();
+	}
+
+	static boolean matches(String expected, Object actual) {
+		// constant time, so the token cannot be guessed byte by byte
+		return actual instanceof String
+			&& MessageDigest.isEqual(expected.getBytes(UTF_8), ((String) actual).getBytes(UTF_8));
+	}
+
+	private static void createPrivate(Path path, boolean directory) throws IOException {
+		if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Set<PosixFilePermission> permissions = PosixFilePermissions.fromString(directory ? "rwx------" : "rw-------");
+			try {
+				if (directory) {
+					Files.createDirectories(path, PosixFilePermissions.asFileAttribute(permissions));
+				} else {
+					Files.createFile(path, PosixFilePermissions.asFileAttribute(permissions));
+				}
+			} catch (FileAlreadyExistsException e) {
+				// created concurrently, restricted below
+			}
+			Files.setPosixFilePermissions(path, permissions);
+			return;
+		}
+		if (directory) {
+			Files.createDirectories(path);
+		} else {
+			Files.createFile(path);
+		}
+		File file = path.toFile();
+		boolean restricted = file.setReadable(false, false) && file.setReadable(true, true)
+			&& file.setWritable(false, false) && file.setWritable(true, true);
+		if (directory) {
+			restricted &= file.setExecutable(false, false) && file.setExecutable(true, true);
+		}
+		if (!restricted) {
+			throw new IOException("Cannot restrict the permissions of " + path);
+		}
+	}
+}
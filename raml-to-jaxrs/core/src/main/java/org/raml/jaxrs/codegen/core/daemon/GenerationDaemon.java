@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.raml.jaxrs.codegen.core.Configuration;
+import org.raml.jaxrs.codegen.core.GeneratorProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Long-lived generation process serving build tools on the loopback interface.</p>
+ *
+ * Each connection carries one request line and receives one response line, both JSON
+ * objects. <code>{"command":"generate","token":...,"raml":path,"configuration":{...}}</code>
+ * generates a RAML root and answers <code>{"status":"ok","files":[...]}</code>; <code>ping</code>
+ * and <code>shutdown</code> are also understood, failures answer
+ * <code>{"status":"error","message":...}</code>. Every request must carry the {@link DaemonToken}
+ * the daemon wrote on startup, others are answered with <code>{"status":"unauthorized"}</code>.
+ *
+ * Requests are served one at a time, so generation runs exactly as it does in-process.
+ * Only class loading and JIT compilation are amortized across requests: every request
+ * parses its RAML root, includes and schemas again with a fresh generator.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class GenerationDaemon {
+
+	/** Constant <code>DEFAULT_PORT=5981</code> */
+	public static final int DEFAULT_PORT = 5981;
+
+	static final String UTF_8 = "UTF-8";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GenerationDaemon.class);
+
+	// requests are served one at a time, a client that connects without sending
+	// its request must not block the others
+	private static final int DEFAULT_REQUEST_TIMEOUT = 10000;
+
+	private final ServerSocket serverSocket;
+
+	private final GeneratorProxy generator = new GeneratorProxy();
+
+	private final File tokenFile;
+
+	private final String token;
+
+	private volatile boolean running = true;
+
+	private volatile int requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+
+	/**
+	 * <p>Binds the daemon to the given loopback port, <code>0</code> picks a free one, and
+	 * writes its token to {@link DaemonToken#defaultFile(int)}.</p>
+	 *
+	 * @param port a int.
+	 * @throws java.io.IOException if the port cannot be bound or the token cannot be written.
+	 */
+	public GenerationDaemon(int port) throws IOException {
+		this(port, null);
+	}
+
+	/**
+	 * <p>Binds the daemon to the given loopback port, <code>0</code> picks a free one.</p>
+	 *
+	 * @param port a int.
+	 * @param tokenFile where to write the token, <code>null</code> for the default location of the bound port.
+	 * @throws java.io.IOException if the port cannot be bound or the token cannot be written.
+	 */
+	public GenerationDaemon(int port, File tokenFile) throws IOException {
+		serverSocket = new ServerSocket(port, 50, InetAddress.getByName(null));
+		try {
+			this.tokenFile = tokenFile != null ? tokenFile : DaemonToken.defaultFile(getPort());
+			this.token = DaemonToken.create(this.tokenFile);
+		} catch (IOException e) {
+			serverSocket.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * <p>main.</p>
+	 *
+	 * @param args <code>-port</code> followed by the port to listen on, <code>-tokenFile</code>
+	 *             followed by where to write the token.
+	 * @throws java.io.IOException if any.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = DEFAULT_PORT;
+		File tokenFile = null;
+		for (int i = 0; i + 1 < args.length; i++) {
+			if (args[i].equals("-port")) {
+				port = Integer.parseInt(args[i + 1]);
+			} else if (args[i].equals("-tokenFile")) {
+				tokenFile = new File(args[i + 1]);
+			}
+		}
+		GenerationDaemon daemon = new GenerationDaemon(port, tokenFile);
+		System.out.println("RAML generation daemon listening on port " + daemon.getPort()
+			+ ", token written to " + daemon.getTokenFile());
+		daemon.serve();
+	}
+
+	/**
+	 * <p>Getter for the bound port.</p>
+	 *
+	 * @return a int.
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * <p>Getter for the file holding the token clients must send.</p>
+	 *
+	 * @return a {@link java.io.File} object.
+	 */
+	public File getTokenFile() {
+		return tokenFile;
+	}
+
+	void setRequestTimeout(int requestTimeout) {
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * <p>Serves requests until a <code>shutdown</code> request arrives or {@link #close()} is called.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	public void serve() throws IOException {
+		try {
+			while (running) {
+				Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (SocketException e) {
+					if (!running) {
+						break;
+					}
+					throw e;
+				}
+				try {
+					handle(socket);
+				} catch (IOException e) {
+					LOGGER.warn("Failed to answer generation request", e);
+				} finally {
+					socket.close();
+				}
+			}
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * <p>Stops serving, releases the port and deletes the token file.</p>
+	 *
+	 * @throws java.io.IOException if any.
+	 */
+	public void close() throws IOException {
+		running = false;
+		try {
+			serverSocket.close();
+		} finally {
+			tokenFile.delete();
+		}
+	}
+
+	private void handle(Socket socket) throws IOException {
+		socket.setSoTimeout(requestTimeout);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+		Map<String, Object> response = answer(reader.readLine());
+		Writer writer = new OutputStreamWriter(socket.getOutputStream(), UTF_8);
+		writer.write(Json.write(response));
+		writer.write('\n');
+		writer.flush();
+	}
+
+	@SuppressWarnings("unchecked")
+	Map<String, Object> answer(String line) {
+		Map<String, Object> response = new LinkedHashMap<String, Object>();
+		try {
+			if (line == null) {
+				throw new IllegalArgumentException("Empty request");
+			}
+			Map<String, Object> request = (Map<String, Object>) Json.read(line);
+			if (!DaemonToken.matches(token, request.get("token"))) {
+				LOGGER.warn("Rejected a request without the daemon token");
+				response.put("status", "unauthorized");
+				response.put("message", "Missing or wrong daemon token");
+				return response;
+			}
+			Object command = request.get("command");
+			if ("ping".equals(command)) {
+				response.put("status", "ok");
+			} else if ("shutdown".equals(command)) {
+				running = false;
+				response.put("status", "ok");
+			} else if ("generate".equals(command)) {
+				File raml = new File((String) request.get("raml"));
+				Configuration configuration = ConfigurationCodec.fromMap((Map<String, Object>) request.get("configuration"));
+				long start = System.currentTimeMillis();
+				List<String> files = new ArrayList<String>(generate(raml, configuration));
+				LOGGER.info("Generated " + files.size() + " file(s) from " + raml + " in "
+					+ (System.currentTimeMillis() - start) + " ms");
+				response.put("status", "ok");
+				response.put("files", files);
+			} else {
+				throw new IllegalArgumentException("Unknown command: " + command);
+			}
+		} catch (Exception e) {
+			LOGGER.warn("Generation request failed", e);
+			response.put("status", "error");
+			response.put("message", e.getMessage() != null ? e.getMessage() : e.toString());
+		}
+		return response;
+	}
+
+	private Set<String> generate(File raml, Configuration configuration) throws Exception {
+		FileReader reader = new FileReader(raml);
+		try {
+			return new TreeSet<String>(generator.run(reader, configuration, raml.getAbsolutePath()));
+		} finally {
+			reader.close();
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Minimal JSON codec for the daemon protocol.</p>
+ *
+ * Only objects, arrays, strings, booleans and <code>null</code> are needed; numbers are
+ * read back as strings. Keeping it here avoids pulling a JSON binding library into the
+ * generator, which excludes <code>jackson-databind</code> on purpose.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+final class Json {
+
+	private final String text;
+
+	private int position;
+
+	private Json(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * <p>write.</p>
+	 *
+	 * @param value a map, collection, string, boolean, number or <code>null</code>.
+	 * @return a single line {@link java.lang.String}.
+	 */
+	static String write(Object value) {
+		StringBuilder builder = new StringBuilder();
+		write(value, builder);
+		return builder.toString();
+	}
+
+	private static void write(Object value, StringBuilder builder) {
+		if (value == null) {
+			builder.append("null");
+		} else if (value instanceof Map) {
+			builder.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					builder.append(',');
+				}
+				first = false;
+				writeString(String.valueOf(entry.getKey()), builder);
+				builder.append(':');
+				write(entry.getValue(), builder);
+			}
+			builder.append('}');
+		} else if (value instanceof Collection) {
+			builder.append('[');
+			boolean first = true;
+			for (Object item : (Collection<?>) value) {
+				if (!first) {
+					builder.append(',');
+				}
+				first = false;
+				write(item, builder);
+			}
+			builder.append(']');
+		} else if (value instanceof Boolean || value instanceof Number) {
+			builder.append(value);
+		} else {
+			writeString(value.toString(), builder);
+		}
+	}
+
+	private static void writeString(String value, StringBuilder builder) {
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					builder.append(String.format("\\u%04x", (int) c));
+				} else {
+					builder.append(c);
+				}
+			}
+		}
+		builder.append('"');
+	}
+
+	/**
+	 * <p>read.</p>
+	 *
+	 * @param text a {@link java.lang.String} object.
+	 * @return a {@link java.util.Map}, {@link java.util.List}, {@link java.lang.String},
+	 *         {@link java.lang.Boolean} or <code>null</code>.
+	 * @throws java.lang.IllegalArgumentException if the text is not valid JSON.
+	 */
+	static Object read(String text) {
+		Json json = new Json(text);
+		Object value = json.readValue();
+		json.skipWhitespace();
+		if (json.position != text.length()) {
+			throw json.error("Unexpected trailing content");
+		}
+		return value;
+	}
+
+	private Object readValue() {
+		skipWhitespace();
+		if (position >= text.length()) {
+			throw error("Unexpected end of input");
+		}
+		char c = text.charAt(position);
+		if (c == '{') {
+			return readObject();
+		}
+		if (c == '[') {
+			return readArray();
+		}
+		if (c == '"') {
+			return readString();
+		}
+		int start = position;
+		while (position < text.length() && ",:]} \t\r\n".indexOf(text.charAt(position)) < 0) {
+			position++;
+		}
+		String literal = text.substring(start, position);
+		if (literal.equals("null")) {
+			return null;
+		}
+		if (literal.equals("true") || literal.equals("false")) {
+			return Boolean.valueOf(literal);
+		}
+		if (literal.length() == 0) {
+			throw error("Unexpected character '" + c + "'");
+		}
+		return literal;
+	}
+
+	private Map<String, Object> readObject() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		position++;
+		skipWhitespace();
+		if (consume('}')) {
+			return map;
+		}
+		do {
+			skipWhitespace();
+			String key = readString();
+			skipWhitespace();
+			expect(':');
+			map.put(key, readValue());
+			skipWhitespace();
+		} while (consume(','));
+		expect('}');
+		return map;
+	}
+
+	private List<Object> readArray() {
+		List<Object> list = new ArrayList<Object>();
+		position++;
+		skipWhitespace();
+		if (consume(']')) {
+			return list;
+		}
+		do {
+			list.add(readValue());
+			skipWhitespace();
+		} while (consume(','));
+		expect(']');
+		return list;
+	}
+
+	private String readString() {
+		expect('"');
+		StringBuilder builder = new StringBuilder();
+		while (position < text.length()) {
+			char c = text.charAt(position++);
+			if (c == '"') {
+				return builder.toString();
+			}
+			if (c != '\\') {
+				builder.append(c);
+				continue;
+			}
+			if (position >= text.length()) {
+				break;
+			}
+			char escaped = text.charAt(position++);
+			switch (escaped) {
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'b':
+				builder.append('\b');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			case 'u':
+				if (position + 4 > text.length()) {
+					throw error("Truncated unicode escape");
+				}
+				builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+				position += 4;
+				break;
+			default:
+				builder.append(escaped);
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	private void skipWhitespace() {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+	}
+
+	private boolean consume(char c) {
+		if (position < text.length() && text.charAt(position) == c) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(char c) {
+		if (!consume(c)) {
+			throw error("Expected '" + c + "'");
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at offset " + position);
+	}
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.ext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.raml.jaxrs.codegen.core.ext.ModelClass.Property;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * <p>Generates Jackson serializers and deserializers for the classes generated from JSON schemas.</p>
+ *
+ * Each model class gets a <code>JsonSerializer</code> and a <code>JsonDeserializer</code> in the
+ * <code>jackson</code> sub-package of the model package. They read and write the properties one by
+ * one with the streaming API, so Jackson doesn't introspect the model classes at runtime. Scalar
+ * properties are written and parsed inline, other values are delegated to the mapper, which uses
+ * the generated (de)serializers again for nested model classes. Like the Jackson annotations of the
+ * model classes, null properties are not written. Unknown properties go to the additional
+ * properties of the model class when it has some, and are skipped otherwise.
+ *
+ * The <code>ModelModule</code> generated next to them registers all the pairs:
+ * <pre>
+ * mapper.registerModule(new ModelModule());
+ * </pre>
+ *
+ * Nothing is generated when the model classes are not annotated for Jackson.
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class JacksonSerializersExtension extends AbstractGeneratorExtension implements ModelClassExtension {
+
+	/** The sub-package of the model package the serializers are generated in. */
+	public static final String PACKAGE_NAME = "jackson";
+
+	/** The simple name of the generated Jackson module. */
+	public static final String MODULE_NAME = "ModelModule";
+
+	private static final Map<String, String> SCALAR_READERS = new HashMap<String, String>();
+
+	static {
+		SCALAR_READERS.put(String.class.getName(), "getText");
+		SCALAR_READERS.put(Integer.class.getName(), "getIntValue");
+		SCALAR_READERS.put(int.class.getName(), "getIntValue");
+		SCALAR_READERS.put(Long.class.getName(), "getLongValue");
+		SCALAR_READERS.put(long.class.getName(), "getLongValue");
+		SCALAR_READERS.put(Double.class.getName(), "getDoubleValue");
+		SCALAR_READERS.put(double.class.getName(), "getDoubleValue");
+		SCALAR_READERS.put(Float.class.getName(), "getFloatValue");
+		SCALAR_READERS.put(float.class.getName(), "getFloatValue");
+		SCALAR_READERS.put(Boolean.class.getName(), "getBooleanValue");
+		SCALAR_READERS.put(boolean.class.getName(), "getBooleanValue");
+		SCALAR_READERS.put("java.math.BigDecimal", "getDecimalValue");
+	}
+
+	private JacksonApi api;
+
+	/** {@inheritDoc} */
+	public void onCreateModelClasses(Collection<ModelClass> modelClasses, AnnotationStyle jsonMapper) {
+		if (modelClasses.isEmpty()) {
+			return;
+		}
+		if (jsonMapper == AnnotationStyle.JACKSON1) {
+			api = new JacksonApi(getCodeModel(), "org.codehaus.jackson", "org.codehaus.jackson.map");
+		} else if (jsonMapper == AnnotationStyle.JACKSON2) {
+			api = new JacksonApi(getCodeModel(), "com.fasterxml.jackson.core", "com.fasterxml.jackson.databind");
+		} else {
+			return;
+		}
+
+		final Map<JClass, ModelClass> byClass = new HashMap<JClass, ModelClass>();
+		for (ModelClass modelClass : modelClasses) {
+			byClass.put(modelClass.getDefinedClass(), modelClass);
+		}
+		final JPackage jacksonPackage = modelClasses.iterator().next().getDefinedClass()._package()
+				.subPackage(PACKAGE_NAME);
+		try {
+			final JDefinedClass module = createModule(jacksonPackage);
+			final JMethod constructor = module.getConstructor(new JType[0]);
+			for (ModelClass modelClass : modelClasses) {
+				final List<Property> properties = getAllProperties(modelClass, byClass);
+				final JDefinedClass beanClass = modelClass.getDefinedClass();
+				final JDefinedClass serializer = createSerializer(jacksonPackage, modelClass, properties);
+				final JDefinedClass deserializer = createDeserializer(jacksonPackage, modelClass, properties);
+				constructor.body().invoke("addSerializer").arg(beanClass.dotclass()).arg(JExpr._new(serializer));
+				constructor.body().invoke("addDeserializer").arg(beanClass.dotclass()).arg(JExpr._new(deserializer));
+			}
+		} catch (final JClassAlreadyExistsException e) {
+			throw new IllegalStateException("Jackson serializers already generated in " + jacksonPackage.name(), e);
+		}
+	}
+
+	private JDefinedClass createModule(JPackage jacksonPackage) throws JClassAlreadyExistsException {
+		final JDefinedClass module = jacksonPackage._class(MODULE_NAME);
+		module._extends(api.databind("module.SimpleModule"));
+		module.javadoc().add("Registers the generated serializers and deserializers of the model classes.");
+		module.constructor(JMod.PUBLIC).body().invoke("super").arg(MODULE_NAME)
+				.arg(api.core("Version").staticInvoke("unknownVersion"));
+		return module;
+	}
+
+	private JDefinedClass createSerializer(JPackage jacksonPackage, ModelClass modelClass, List<Property> properties)
+			throws JClassAlreadyExistsException {
+		final JCodeModel codeModel = getCodeModel();
+		final JDefinedClass beanClass = modelClass.getDefinedClass();
+		final JDefinedClass serializer = jacksonPackage._class(beanClass.name() + "Serializer");
+		serializer._extends(api.databind("JsonSerializer").narrow(beanClass));
+		serializer.javadoc().add("Writes {@link " + beanClass.fullName() + "} with the streaming API.");
+
+		final JMethod serialize = serializer.method(JMod.PUBLIC, codeModel.VOID, "serialize");
+		serialize.annotate(Override.class);
+		serialize._throws(IOException.class);
+		final JVar value = serialize.param(JMod.FINAL, beanClass, "value");
+		final JVar generator = serialize.param(JMod.FINAL, api.core("JsonGenerator"), "generator");
+		final JVar provider = serialize.param(JMod.FINAL, api.databind("SerializerProvider"), "provider");
+
+		final JBlock body = serialize.body();
+		body.invoke(generator, "writeStartObject");
+		for (Property property : properties) {
+			final JExpression propertyValue = getPropertyValue(value, property);
+			if (propertyValue == null) {
+				continue;
+			}
+			final JType type = property.getField().type();
+			final JBlock block = type.isPrimitive() ? body : body._if(propertyValue.ne(JExpr._null()))._then();
+			final String reader = SCALAR_READERS.get(type.fullName());
+			if (reader == null) {
+				if (isEnum(type)) {
+					block.invoke(generator, "writeStringField").arg(property.getName())
+							.arg(propertyValue.invoke("toString"));
+				} else {
+					block.invoke(provider, "defaultSerializeField").arg(property.getName()).arg(propertyValue)
+							.arg(generator);
+				}
+			} else if ("getText".equals(reader)) {
+				block.invoke(generator, "writeStringField").arg(property.getName()).arg(propertyValue);
+			} else if ("getBooleanValue".equals(reader)) {
+				block.invoke(generator, "writeBooleanField").arg(property.getName()).arg(propertyValue);
+			} else {
+				block.invoke(generator, "writeNumberField").arg(property.getName()).arg(propertyValue);
+			}
+		}
+		final JMethod anyGetter = modelClass.getAnyGetter();
+		if (anyGetter != null) {
+			final JClass mapType = (JClass) anyGetter.type();
+			final JForEach forEach = body.forEach(
+					codeModel.ref(Map.Entry.class).narrow(mapType.getTypeParameters()), "property",
+					value.invoke(anyGetter).invoke("entrySet"));
+			forEach.body().invoke(provider, "defaultSerializeField").arg(forEach.var().invoke("getKey"))
+					.arg(forEach.var().invoke("getValue")).arg(generator);
+		}
+		body.invoke(generator, "writeEndObject");
+		return serializer;
+	}
+
+	private JDefinedClass createDeserializer(JPackage jacksonPackage, ModelClass modelClass,
+			List<Property> properties) throws JClassAlreadyExistsException {
+		final JCodeModel codeModel = getCodeModel();
+		final JDefinedClass beanClass = modelClass.getDefinedClass();
+		final JDefinedClass deserializer = jacksonPackage._class(beanClass.name() + "Deserializer");
+		deserializer._extends(api.databind("JsonDeserializer").narrow(beanClass));
+		deserializer.javadoc().add("Reads {@link " + beanClass.fullName() + "} with the streaming API.");
+
+		final JMethod deserialize = deserializer.method(JMod.PUBLIC, beanClass, "deserialize");
+		deserialize.annotate(Override.class);
+		deserialize._throws(IOException.class);
+		final JVar parser = deserialize.param(JMod.FINAL, api.core("JsonParser"), "parser");
+		deserialize.param(JMod.FINAL, api.databind("DeserializationContext"), "context");
+
+		final JClass jsonToken = api.core("JsonToken");
+		final JBlock body = deserialize.body();
+		final JVar token = body.decl(jsonToken, "token", parser.invoke("getCurrentToken"));
+		body._if(token.eq(jsonToken.staticRef("START_OBJECT")))._then().assign(token, parser.invoke("nextToken"));
+		final JVar value = body.decl(JMod.FINAL, beanClass, "value", JExpr._new(beanClass));
+
+		final JForLoop loop = body._for();
+		loop.test(token.eq(jsonToken.staticRef("FIELD_NAME")));
+		loop.update(token.assign(parser.invoke("nextToken")));
+		final JVar name = loop.body().decl(JMod.FINAL, codeModel.ref(String.class), "name",
+				parser.invoke("getCurrentName"));
+		loop.body().assign(token, parser.invoke("nextToken"));
+
+		JConditional lastCondition = null;
+		for (Property property : properties) {
+			final JBlock block;
+			final JExpression matches = JExpr.lit(property.getName()).invoke("equals").arg(name);
+			if (lastCondition == null) {
+				lastCondition = loop.body()._if(matches);
+			} else {
+				lastCondition = lastCondition._else()._if(matches);
+			}
+			block = lastCondition._then();
+			final JType type = property.getField().type();
+			final JExpression propertyValue = readValue(deserializer, block, parser, token, type, property.getName());
+			if (property.getSetter() != null) {
+				block.invoke(value, property.getSetter()).arg(propertyValue);
+			} else if ((property.getField().mods().getValue() & JMod.PUBLIC) != 0) {
+				block.assign(value.ref(property.getField()), propertyValue);
+			} else {
+				block.invoke(parser, "skipChildren");
+			}
+		}
+		final JBlock otherwise = lastCondition == null ? loop.body() : lastCondition._else();
+		final JMethod anySetter = modelClass.getAnySetter();
+		if (anySetter == null) {
+			otherwise.invoke(parser, "skipChildren");
+		} else {
+			final JType valueType = anySetter.listParamTypes()[1];
+			otherwise.invoke(value, anySetter).arg(name)
+					.arg(readValue(deserializer, otherwise, parser, token, valueType, "additionalProperty"));
+		}
+		body._return(value);
+		return deserializer;
+	}
+
+	/**
+	 * Returns the expression reading the current value of <code>parser</code> as
+	 * <code>type</code>, declaring what it needs in <code>block</code> and <code>deserializer</code>.
+	 */
+	private JExpression readValue(JDefinedClass deserializer, JBlock block, JVar parser, JVar token, JType type,
+			String propertyName) {
+		final JExpression isNull = token.eq(api.core("JsonToken").staticRef("VALUE_NULL"));
+		final String reader = SCALAR_READERS.get(type.fullName());
+		if (reader != null) {
+			final JInvocation read = parser.invoke(reader);
+			return type.isPrimitive() ? read : JExpr.cond(isNull, JExpr._null(), read);
+		}
+		if (isEnum(type) && hasFromValue((JDefinedClass) type)) {
+			return JExpr.cond(isNull, JExpr._null(),
+					((JClass) type).staticInvoke("fromValue").arg(parser.invoke("getText")));
+		}
+		final JClass valueClass = (JClass) type;
+		if (valueClass.getTypeParameters().isEmpty()) {
+			return parser.invoke("readValueAs").arg(valueClass.dotclass());
+		}
+		// generic values are read through a type reference captured by an anonymous subclass
+		final JClass typeReference = api.core("type.TypeReference").narrow(valueClass);
+		final JFieldRef typeField = getTypeReference(deserializer, typeReference, propertyName);
+		return block.decl(JMod.FINAL, valueClass, "propertyValue", parser.invoke("readValueAs").arg(typeField));
+	}
+
+	private JFieldRef getTypeReference(JDefinedClass deserializer, JClass typeReference, String propertyName) {
+		final String fieldName = propertyName.replaceAll("([a-z])([A-Z])", "$1_$2").replaceAll("\\W", "_")
+				.toUpperCase() + "_TYPE";
+		if (!deserializer.fields().containsKey(fieldName)) {
+			deserializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, typeReference, fieldName,
+					JExpr._new(getCodeModel().anonymousClass(typeReference)));
+		}
+		return deserializer.staticRef(fieldName);
+	}
+
+	private static JExpression getPropertyValue(JVar value, Property property) {
+		if (property.getGetter() != null) {
+			return value.invoke(property.getGetter());
+		}
+		if ((property.getField().mods().getValue() & JMod.PUBLIC) != 0) {
+			return value.ref(property.getField());
+		}
+		return null;
+	}
+
+	/**
+	 * The properties of the model class, after the ones of the model classes it extends.
+	 */
+	private static List<Property> getAllProperties(ModelClass modelClass, Map<JClass, ModelClass> byClass) {
+		final List<Property> properties = new ArrayList<Property>();
+		final ModelClass parent = byClass.get(modelClass.getDefinedClass()._extends());
+		if (parent != null) {
+			properties.addAll(getAllProperties(parent, byClass));
+		}
+		properties.addAll(modelClass.getProperties());
+		return properties;
+	}
+
+	private static boolean isEnum(JType type) {
+		return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.ENUM;
+	}
+
+	private static boolean hasFromValue(JDefinedClass enumClass) {
+		for (JMethod method : enumClass.methods()) {
+			if ("fromValue".equals(method.name()) && (method.mods().getValue() & JMod.STATIC) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The Jackson classes of one major version, referenced by name as neither is a dependency of
+	 * the generator.
+	 */
+	private static final class JacksonApi {
+
+		private final JCodeModel codeModel;
+
+		private final String corePackage;
+
+		private final String databindPackage;
+
+		JacksonApi(JCodeModel codeModel, String corePackage, String databindPackage) {
+			this.codeModel = codeModel;
+			this.corePackage = corePackage;
+			this.databindPackage = databindPackage;
+		}
+
+		JClass core(String className) {
+			return codeModel.directClass(corePackage + "." + className);
+		}
+
+		JClass databind(String className) {
+			return codeModel.directClass(databindPackage + "." + className);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.ext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+
+/**
+ * <p>A class generated from a JSON schema, with the JSON properties jsonschema2pojo mapped to it.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public class ModelClass {
+
+	private final JDefinedClass definedClass;
+
+	private final List<Property> properties = new ArrayList<Property>();
+
+	private JMethod anyGetter;
+
+	private JMethod anySetter;
+
+	/**
+	 * <p>Constructor for ModelClass.</p>
+	 *
+	 * @param definedClass a {@link com.sun.codemodel.JDefinedClass} object.
+	 */
+	public ModelClass(JDefinedClass definedClass) {
+		this.definedClass = definedClass;
+	}
+
+	/**
+	 * <p>Getter for the field <code>definedClass</code>.</p>
+	 *
+	 * @return a {@link com.sun.codemodel.JDefinedClass} object.
+	 */
+	public JDefinedClass getDefinedClass() {
+		return definedClass;
+	}
+
+	/**
+	 * <p>The properties declared by the schema, in schema order.</p>
+	 *
+	 * Properties inherited through <code>extends</code> belong to the model class of the
+	 * parent schema.
+	 *
+	 * @return a {@link java.util.List} object.
+	 */
+	public List<Property> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * <p>Getter for the field <code>anyGetter</code>.</p>
+	 *
+	 * @return the getter of the additional properties, or null if the schema doesn't allow them.
+	 */
+	public JMethod getAnyGetter() {
+		return anyGetter;
+	}
+
+	/**
+	 * <p>Setter for the field <code>anyGetter</code>.</p>
+	 *
+	 * @param anyGetter a {@link com.sun.codemodel.JMethod} object.
+	 */
+	public void setAnyGetter(JMethod anyGetter) {
+		this.anyGetter = anyGetter;
+	}
+
+	/**
+	 * <p>Getter for the field <code>anySetter</code>.</p>
+	 *
+	 * @return the setter of the additional properties, or null if the schema doesn't allow them.
+	 */
+	public JMethod getAnySetter() {
+		return anySetter;
+	}
+
+	/**
+	 * <p>Setter for the field <code>anySetter</code>.</p>
+	 *
+	 * @param anySetter a {@link com.sun.codemodel.JMethod} object.
+	 */
+	public void setAnySetter(JMethod anySetter) {
+		this.anySetter = anySetter;
+	}
+
+	/**
+	 * <p>A JSON property with the field and accessors generated for it.</p>
+	 */
+	public static class Property {
+
+		private final String name;
+
+		private final JFieldVar field;
+
+		private JMethod getter;
+
+		private JMethod setter;
+
+		/**
+		 * <p>Constructor for Property.</p>
+		 *
+		 * @param name the JSON name of the property.
+		 * @param field a {@link com.sun.codemodel.JFieldVar} object.
+		 */
+		public Property(String name, JFieldVar field) {
+			this.name = name;
+			this.field = field;
+		}
+
+		/**
+		 * <p>Getter for the field <code>name</code>.</p>
+		 *
+		 * @return the JSON name of the property.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * <p>Getter for the field <code>field</code>.</p>
+		 *
+		 * @return a {@link com.sun.codemodel.JFieldVar} object.
+		 */
+		public JFieldVar getField() {
+			return field;
+		}
+
+		/**
+		 * <p>Getter for the field <code>getter</code>.</p>
+		 *
+		 * @return the getter, or null if no accessors were generated.
+		 */
+		public JMethod getGetter() {
+			return getter;
+		}
+
+		/**
+		 * <p>Setter for the field <code>getter</code>.</p>
+		 *
+		 * @param getter a {@link com.sun.codemodel.JMethod} object.
+		 */
+		public void setGetter(JMethod getter) {
+			this.getter = getter;
+		}
+
+		/**
+		 * <p>Getter for the field <code>setter</code>.</p>
+		 *
+		 * @return the setter, or null if no accessors were generated.
+		 */
+		public JMethod getSetter() {
+			return setter;
+		}
+
+		/**
+		 * <p>Setter for the field <code>setter</code>.</p>
+		 *
+		 * @param setter a {@link com.sun.codemodel.JMethod} object.
+		 */
+		public void setSetter(JMethod setter) {
+			this.setter = setter;
+		}
+	}
+}
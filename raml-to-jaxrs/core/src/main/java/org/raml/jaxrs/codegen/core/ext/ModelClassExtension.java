@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.ext;
+
+import java.util.Collection;
+
+import org.jsonschema2pojo.AnnotationStyle;
+
+/**
+ * <p>Extension notified of the classes generated from JSON schemas.</p>
+ *
+ * @author kor
+ * @version $Id: $Id
+ */
+public interface ModelClassExtension extends GeneratorExtension {
+
+	/**
+	 * Called once all resource interfaces are in the Java model, before it is written. The
+	 * model classes are complete at that point, so the extension can add classes of its own
+	 * next to them.
+	 *
+	 * @param modelClasses the classes generated from JSON schemas, in generation order.
+	 * @param jsonMapper the JSON mapper the model classes are annotated for.
+	 */
+	void onCreateModelClasses(Collection<ModelClass> modelClasses, AnnotationStyle jsonMapper);
+}
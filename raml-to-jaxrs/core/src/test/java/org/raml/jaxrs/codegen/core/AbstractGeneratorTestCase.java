@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+/**
+ * Generates sources from a RAML resource, reads them back and checks that they compile.
+ */
+public abstract class AbstractGeneratorTestCase
+{
+    protected static final String TEST_BASE_PACKAGE = "org.raml.jaxrs.test";
+
+    /**
+     * The directories of the JAX-RS 2.0 and 2.1 API jars, and of the multipart providers generated
+     * code can refer to with their dependencies, copied by the build.
+     */
+    private static final String JAXRS20_CLASSPATH_PROPERTY = "jaxrs20.classpath";
+    private static final String JAXRS21_CLASSPATH_PROPERTY = "jaxrs21.classpath";
+    private static final String MULTIPART_CLASSPATH_PROPERTY = "jaxrs2.multipart.classpath";
+
+    @Rule
+    public TemporaryFolder codegenOutputFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder compilationOutputFolder = new TemporaryFolder();
+
+    protected Configuration createConfiguration(final JaxrsVersion jaxrsVersion)
+    {
+        final Configuration configuration = new Configuration();
+        configuration.setJaxrsVersion(jaxrsVersion);
+        configuration.setBasePackageName(TEST_BASE_PACKAGE);
+        configuration.setOutputDirectory(codegenOutputFolder.getRoot());
+        configuration.setSourceDirectory(new File(getClass().getResource("/org/raml").getPath()));
+        return configuration;
+    }
+
+    protected Set<String> generate(final String ramlLocation, final Configuration configuration) throws Exception
+    {
+        return new GeneratorProxy().run(new InputStreamReader(getClass().getResourceAsStream(ramlLocation)),
+            configuration, getClass().getResource(ramlLocation).getPath());
+    }
+
+    protected File getGeneratedSource(final String packageName, final String className)
+    {
+        return new File(codegenOutputFolder.getRoot(), (TEST_BASE_PACKAGE + "." + packageName).replace('.',
+            File.separatorChar) + File.separator + className + ".java");
+    }
+
+    protected String readGeneratedSource(final String packageName, final String className) throws Exception
+    {
+        final File source = getGeneratedSource(packageName, className);
+        assertTrue(source.getPath(), source.isFile());
+        return FileUtils.readFileToString(source, "UTF-8");
+    }
+
+    /**
+     * Compiles all the generated sources against the API of a JAX-RS version.
+     */
+    protected void compileGeneratedSources(final JaxrsVersion jaxrsVersion) throws Exception
+    {
+        // the Eclipse compiler of JCI resolves types through the class loader of the tests,
+        // which has the JAX-RS 1.1 API, javac takes a class path of its own
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("Tests must run on a JDK", compiler);
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try
+        {
+            final Collection<File> sources = FileUtils.listFiles(codegenOutputFolder.getRoot(),
+                new String[] {"java"}, true);
+            final List<String> options = Arrays.asList("-proc:none", "-nowarn", "-classpath",
+                getCompilationClassPath(jaxrsVersion), "-d", compilationOutputFolder.getRoot().getPath());
+            final Boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            assertTrue(diagnostics.getDiagnostics().toString(), success);
+        }
+        finally
+        {
+            fileManager.close();
+        }
+    }
+
+    private static String getCompilationClassPath(final JaxrsVersion jaxrsVersion)
+    {
+        // surefire runs the tests from a manifest-only jar, the real class path is in its own property
+        final String testClassPath = System.getProperty("surefire.test.class.path",
+            System.getProperty("java.class.path"));
+        if (jaxrsVersion == JAXRS_1_1)
+        {
+            return testClassPath;
+        }
+
+        final List<String> entries = new ArrayList<String>();
+        if (jaxrsVersion == JAXRS_2_0)
+        {
+            addJars(entries, System.getProperty(JAXRS20_CLASSPATH_PROPERTY, "target/jaxrs20-api"));
+        }
+        else
+        {
+            addJars(entries, System.getProperty(JAXRS21_CLASSPATH_PROPERTY, "target/jaxrs21-api"));
+        }
+        addJars(entries, System.getProperty(MULTIPART_CLASSPATH_PROPERTY, "target/jaxrs2-multipart"));
+        // first, so the JAX-RS 2 classes win over the 1.1 ones of jsr311-api and jersey-core
+        entries.add(testClassPath);
+        return StringUtils.join(entries, File.pathSeparator);
+    }
+
+    private static void addJars(final List<String> entries, final String path)
+    {
+        final File directory = new File(path);
+        assertTrue("Missing JAX-RS 2 class path: " + directory.getAbsolutePath(), directory.isDirectory());
+        for (final File jar : FileUtils.listFiles(directory, new String[] {"jar"}, false))
+        {
+            entries.add(jar.getPath());
+        }
+    }
+}
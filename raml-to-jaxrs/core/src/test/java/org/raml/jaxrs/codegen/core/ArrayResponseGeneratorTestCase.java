@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_1;
+
+import org.apache.commons.lang.StringUtils;
+import org.jsonschema2pojo.AnnotationStyle;
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+public class ArrayResponseGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/responses/array.yaml";
+
+    private void generate(final JaxrsVersion jaxrsVersion, final AnnotationStyle jsonMapper) throws Exception
+    {
+        final Configuration configuration = createConfiguration(jaxrsVersion);
+        configuration.setJsonMapper(jsonMapper);
+        generate(RAML_LOCATION, configuration);
+    }
+
+    @Test
+    public void iteratorResponseBuilders() throws Exception
+    {
+        generate(JAXRS_2_0, AnnotationStyle.JACKSON2);
+
+        final String resourceInterface = readGeneratedSource("resource", "ItemsResource");
+        assertThat(resourceInterface, containsString("withJsonOK(List<Item> entity)"));
+        assertThat(resourceInterface, containsString("withJsonOK(Iterator<Item> entity)"));
+        assertThat(resourceInterface, containsString("new JsonArrayOutput(entity)"));
+        // Stream needs Java 8, which only JAX-RS 2.1 implies
+        assertThat(resourceInterface, not(containsString("Stream<Item>")));
+        // the application's mapper can be passed on
+        assertThat(resourceInterface, containsString("withJsonOK(Iterator<Item> entity, ObjectMapper mapper)"));
+        assertThat(resourceInterface, containsString("new JsonArrayOutput(entity, mapper)"));
+        assertThat(resourceInterface, containsString("import com.fasterxml.jackson.databind.ObjectMapper;"));
+        // single items keep their single builder
+        assertEquals(2, StringUtils.countMatches(resourceInterface, "Iterator<Item>"));
+
+        final String output = readGeneratedSource("support", JsonArrayOutputs.CLASS_NAME);
+        assertThat(output, containsString("com.fasterxml.jackson.core.JsonGenerator"));
+        assertThat(output, containsString("createGenerator(output, JsonEncoding.UTF8)"));
+        assertThat(output, containsString("generator.writeObject(items.next())"));
+
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test
+    public void streamResponseBuilders() throws Exception
+    {
+        generate(JAXRS_2_1, AnnotationStyle.JACKSON1);
+
+        final String resourceInterface = readGeneratedSource("resource", "ItemsResource");
+        assertThat(resourceInterface, containsString("Stream<Item> entity)"));
+        assertThat(resourceInterface, containsString("new JsonArrayOutput(entity.iterator())"));
+        assertThat(resourceInterface, containsString("new JsonArrayOutput(entity.iterator(), mapper)"));
+        assertThat(resourceInterface, containsString("import org.codehaus.jackson.map.ObjectMapper;"));
+        assertThat(resourceInterface, containsString("entity.close();"));
+
+        assertThat(readGeneratedSource("support", JsonArrayOutputs.CLASS_NAME),
+            containsString("createJsonGenerator(output, JsonEncoding.UTF8)"));
+
+        compileGeneratedSources(JAXRS_2_1);
+    }
+
+    @Test
+    public void noStreamingBuildersWithoutJackson() throws Exception
+    {
+        generate(JAXRS_2_0, AnnotationStyle.GSON);
+
+        assertThat(readGeneratedSource("resource", "ItemsResource"), not(containsString("Iterator<Item>")));
+        assertFalse(getGeneratedSource("support", JsonArrayOutputs.CLASS_NAME).exists());
+    }
+}
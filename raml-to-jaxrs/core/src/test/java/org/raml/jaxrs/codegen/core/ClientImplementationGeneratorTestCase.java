@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+public class ClientImplementationGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/client/orders.yaml";
+
+    private void generate(final JaxrsVersion jaxrsVersion) throws Exception
+    {
+        final Configuration configuration = createConfiguration(jaxrsVersion);
+        configuration.setGenerateClientInterface(true);
+        configuration.setGenerateClientImplementation(true);
+        generate(RAML_LOCATION, configuration);
+    }
+
+    @Test
+    public void typedClientClass() throws Exception
+    {
+        generate(JAXRS_2_0);
+
+        final String source = readGeneratedSource("client", "OrdersResourceClient");
+
+        assertThat(source, containsString("public OrdersResourceClient(Client client, String baseUri)"));
+        // targets are resolved once, in the constructor
+        assertThat(source, containsString("this.ordersTarget = baseTarget.path(\"orders\");"));
+        assertThat(source, containsString("baseTarget.path(\"orders/{orderId}\");"));
+        assertThat(source, containsString("resolveTemplate(\"orderId\", orderId)"));
+        assertThat(source, containsString("queryParam(\"limit\", limit)"));
+        assertThat(source, containsString("public String getOrders(String status, long limit)"));
+        assertThat(source, containsString("public CompletionStage<String> getOrdersAsync(String status, long limit)"));
+        assertThat(source, containsString("public Order postOrders(Order entity)"));
+        assertThat(source, containsString("Entity.entity(entity, \"application/json\")"));
+        assertThat(source, containsString("public CompletionStage<Order> postOrdersAsync(Order entity)"));
+        assertThat(source, containsString("public Response.StatusType deleteOrdersByOrderId("));
+        assertThat(source, containsString("header(\"X-Reason\", xReason)"));
+
+        assertThat(readGeneratedSource("support", "ClientResponseStage"),
+            containsString("package " + TEST_BASE_PACKAGE + ".support;"));
+
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void clientImplementationRequiresJaxrs2() throws Exception
+    {
+        generate(JAXRS_1_1);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_1;
+
+import org.junit.Test;
+
+public class CompletionStageGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/async/completion-stage.yaml";
+
+    private String generateResourceInterface(final Configuration configuration) throws Exception
+    {
+        generate(RAML_LOCATION, configuration);
+        return readGeneratedSource("resource", "OrdersResource");
+    }
+
+    @Test
+    public void traitedMethodsReturnCompletionStage() throws Exception
+    {
+        final Configuration configuration = createConfiguration(JAXRS_2_1);
+        configuration.setCompletionStageResourceTrait("nonBlocking");
+
+        final String source = generateResourceInterface(configuration);
+
+        assertThat(source, containsString("import java.util.concurrent.CompletionStage;"));
+        assertThat(source, containsString("GetOrdersResponse> getOrders("));
+        assertThat(source, containsString("PostOrdersResponse postOrders("));
+        assertThat(source, not(containsString("PostOrdersResponse> postOrders(")));
+        assertThat(source, not(containsString("AsyncResponse")));
+
+        compileGeneratedSources(JAXRS_2_1);
+    }
+
+    @Test
+    public void allMethodsReturnCompletionStage() throws Exception
+    {
+        final Configuration configuration = createConfiguration(JAXRS_2_1);
+        configuration.setCompletionStageResources(true);
+        // the CompletionStage takes precedence over the AsyncResponse parameter
+        configuration.setAsyncResourceTrait("nonBlocking");
+
+        final String source = generateResourceInterface(configuration);
+
+        assertThat(source, containsString("CompletionStage<"));
+        assertThat(source, containsString("GetOrdersResponse> getOrders("));
+        assertThat(source, containsString("PostOrdersResponse> postOrders("));
+        assertThat(source, not(containsString("AsyncResponse")));
+
+        compileGeneratedSources(JAXRS_2_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void completionStageRequiresJaxrs21() throws Exception
+    {
+        final Configuration configuration = createConfiguration(JAXRS_2_0);
+        configuration.setCompletionStageResources(true);
+
+        generateResourceInterface(configuration);
+    }
+}
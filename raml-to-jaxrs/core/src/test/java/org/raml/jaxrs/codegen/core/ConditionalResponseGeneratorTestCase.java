@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+
+import org.junit.Test;
+
+public class ConditionalResponseGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/responses/conditional.yaml";
+
+    private String generate(final boolean generateConditionalResponses) throws Exception
+    {
+        final Configuration configuration = createConfiguration(JAXRS_1_1);
+        configuration.setGenerateConditionalResponses(generateConditionalResponses);
+        generate(RAML_LOCATION, configuration);
+        return readGeneratedSource("resource", "ReportsResource");
+    }
+
+    @Test
+    public void conditionalResponses() throws Exception
+    {
+        final String resourceInterface = generate(true);
+        assertThat(resourceInterface, containsString("@Context"));
+        assertThat(resourceInterface, containsString("Request request)"));
+        assertThat(resourceInterface,
+            containsString("evaluatePreconditions(Request request, EntityTag eTag, Date lastModified, Callable<? extends "));
+        assertThat(resourceInterface, containsString("GetReportsByReportIdResponse> response)"));
+        assertThat(resourceInterface, containsString("request.evaluatePreconditions(lastModified, eTag)"));
+        assertThat(resourceInterface, containsString("return response.call();"));
+        // only the actions declaring validators are concerned
+        assertThat(resourceInterface, containsString("getReports()"));
+
+        compileGeneratedSources(JAXRS_1_1);
+    }
+
+    @Test
+    public void noConditionalResponsesByDefault() throws Exception
+    {
+        final String resourceInterface = generate(false);
+        assertThat(resourceInterface, not(containsString("evaluatePreconditions")));
+        assertThat(resourceInterface, not(containsString("Request request")));
+    }
+}
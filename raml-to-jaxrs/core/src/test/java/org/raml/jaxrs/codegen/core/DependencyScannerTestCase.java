@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DependencyScannerTestCase
+{
+    @Rule
+    public TemporaryFolder sourceFolder = new TemporaryFolder();
+
+    private File write(String name, String content) throws Exception
+    {
+        File file = new File(sourceFolder.getRoot(), name);
+        FileUtils.writeStringToFile(file, content, "UTF-8");
+        return file.getCanonicalFile();
+    }
+
+    @Test
+    public void scanFollowsIncludesAndSchemas() throws Exception
+    {
+        File jsonRef = write("schemas/address.json", "{ \"type\": \"object\" }");
+        File json = write("schemas/user.json", "{ \"properties\": { \"address\": { \"$ref\": \"address.json\" } } }");
+        File xsd = write("schemas/order.xsd", "<xs:include schemaLocation=\"common.xsd\"/>");
+        File common = write("schemas/common.xsd", "<xs:schema/>");
+        File traits = write("traits.raml", "paged: !include http://example.com/paged.raml");
+        File root = write("api.raml", "#%RAML 0.8\n"
+                                      + "traits: !include traits.raml\n"
+                                      + "schemas:\n"
+                                      + " - user: !include schemas/user.json\n"
+                                      + " - order: !include schemas/order.xsd\n"
+                                      + "/missing: !include missing.raml\n");
+
+        DependencyScanner scanner = new DependencyScanner(sourceFolder.getRoot());
+
+        assertThat(scanner.scan(root), contains(root, xsd, common, json, jsonRef, traits));
+    }
+
+    @Test
+    public void affectedRootsOnlyReportsDependents() throws Exception
+    {
+        File shared = write("shared.raml", "description: shared");
+        File first = write("first.raml", "/a: !include shared.raml");
+        File second = write("second.raml", "/b:");
+
+        DependencyScanner scanner = new DependencyScanner(sourceFolder.getRoot());
+
+        assertThat(scanner.affectedRoots(Arrays.asList(first, second), Collections.singleton(shared)), contains(first));
+        assertThat(scanner.affectedRoots(Arrays.asList(first, second), Collections.singleton(second)), contains(second));
+        assertThat(scanner.affectedRoots(Collections.singleton(second), Collections.singleton(shared)), empty());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+public class EnumParamConverterGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/params/param-types-with-repeat.yaml";
+
+    private void generate(final JaxrsVersion jaxrsVersion, final boolean caseInsensitive) throws Exception
+    {
+        final Configuration configuration = createConfiguration(jaxrsVersion);
+        configuration.setGenerateEnumParamConverters(true);
+        configuration.setCaseInsensitiveEnumParams(caseInsensitive);
+        generate(RAML_LOCATION, configuration);
+    }
+
+    @Test
+    public void enumParamConverters() throws Exception
+    {
+        generate(JAXRS_2_0, false);
+
+        final String converter = readGeneratedSource("support", "SimpleResourceNameParamConverter");
+        assertThat(converter, containsString("implements ParamConverterProvider, ParamConverter<"));
+        assertThat(converter, containsString("new HashMap<String, "));
+        assertThat(converter, containsString("VALUES.put(\"two\", "));
+        assertThat(converter, containsString("INVALID_VALUE = new BadRequestException();"));
+        assertThat(converter, containsString("throw INVALID_VALUE;"));
+        assertThat(converter, containsString("return value.name();"));
+
+        final String feature = readGeneratedSource("support", EnumParamConverters.FEATURE_NAME);
+        assertThat(feature, containsString("implements Feature"));
+        assertThat(feature, containsString("context.register(new SimpleResourceNameParamConverter());"));
+        assertThat(feature, containsString("context.register(new SimpleResourceDefaultEnumParamConverter());"));
+
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test
+    public void caseInsensitiveEnumParamConverters() throws Exception
+    {
+        generate(JAXRS_2_0, true);
+
+        assertThat(readGeneratedSource("support", "SimpleResourceDefaultEnumParamConverter"),
+            containsString("(String.CASE_INSENSITIVE_ORDER)"));
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void enumParamConvertersRequireJaxrs2() throws Exception
+    {
+        generate(JAXRS_1_1, false);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+public class FileResponseGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/responses/file.yaml";
+
+    private void generate(final JaxrsVersion jaxrsVersion) throws Exception
+    {
+        generate(RAML_LOCATION, createConfiguration(jaxrsVersion));
+    }
+
+    @Test
+    public void fileResponseBuilders() throws Exception
+    {
+        generate(JAXRS_2_0);
+
+        final String resourceInterface = readGeneratedSource("resource", "DocumentsResource");
+        assertThat(resourceInterface, containsString("StreamingOutput entity)"));
+        assertThat(resourceInterface, containsString("File entity)"));
+        assertThat(resourceInterface, containsString("java.nio.file.Path entity)"));
+        assertThat(resourceInterface, containsString("entity(entity.toFile())"));
+        assertThat(resourceInterface, containsString("FileChannel entity, long position, long count)"));
+        assertThat(resourceInterface, containsString("header(\"Content-Length\", count)"));
+        assertThat(resourceInterface, containsString("entity(new FileRegionOutput(entity, position, count))"));
+        // the header parameters are kept on every overload
+        assertThat(resourceInterface, containsString("String contentDisposition, File entity)"));
+        // text bodies keep their single builder
+        assertThat(resourceInterface, not(containsString("String contentDisposition, String entity, long")));
+
+        assertThat(readGeneratedSource("support", "FileRegionOutput"), containsString("transferTo("));
+
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test
+    public void fileResponseBuildersForJaxrs11() throws Exception
+    {
+        generate(JAXRS_1_1);
+
+        final String resourceInterface = readGeneratedSource("resource", "DocumentsResource");
+        assertThat(resourceInterface, containsString("File entity)"));
+        assertThat(resourceInterface, containsString("FileChannel entity, long position, long count)"));
+        // java.nio.file.Path needs Java 7, which JAX-RS 1.1 runtimes may not have
+        assertThat(resourceInterface, not(containsString("Path entity)")));
+
+        compileGeneratedSources(JAXRS_1_1);
+    }
+}
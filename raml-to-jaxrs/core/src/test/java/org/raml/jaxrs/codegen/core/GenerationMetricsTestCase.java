@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileReader;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Counter;
+import org.raml.jaxrs.codegen.core.GenerationMetrics.Phase;
+import org.raml.model.Raml;
+import org.raml.parser.loader.FileResourceLoader;
+import org.raml.parser.visitor.RamlDocumentBuilder;
+
+public class GenerationMetricsTestCase
+{
+    @Rule
+    public TemporaryFolder codegenOutputFolder = new TemporaryFolder();
+
+    @Test
+    public void nestedPhasesAreExclusive() throws Exception
+    {
+        final GenerationMetrics metrics = new GenerationMetrics(false);
+        metrics.begin(Phase.CODE_MODEL);
+        Thread.sleep(10);
+        metrics.begin(Phase.JSON_SCHEMA);
+        Thread.sleep(60);
+        metrics.end(Phase.JSON_SCHEMA);
+        metrics.end(Phase.CODE_MODEL);
+
+        assertThat(metrics.getMillis(Phase.JSON_SCHEMA), greaterThanOrEqualTo(60L));
+        assertThat(metrics.getMillis(Phase.CODE_MODEL), greaterThanOrEqualTo(10L));
+        // the nested phase is not charged to the outer one
+        assertThat(metrics.getMillis(Phase.JSON_SCHEMA), greaterThan(metrics.getMillis(Phase.CODE_MODEL)));
+        assertThat(metrics.getAllocatedBytes(Phase.CODE_MODEL), is(-1L));
+    }
+
+    @Test
+    public void reportIsWrittenNextToTheSources() throws Exception
+    {
+        final Configuration configuration = new Configuration();
+        configuration.setBasePackageName("org.raml.jaxrs.test");
+        configuration.setOutputDirectory(codegenOutputFolder.getRoot());
+        configuration.setSourceDirectory(new File(getClass().getResource("/org/raml").getPath()));
+        configuration.setGenerateMetricsReport(true);
+        final File raml = new File(getClass().getResource("/org/raml/full-config-with-patch.yaml").getPath());
+
+        final Generator generator = new Generator();
+        final Set<String> generatedFiles = generator.run(new FileReader(raml), configuration, raml.getAbsolutePath());
+
+        final GenerationMetrics metrics = generator.getMetrics();
+        assertThat(metrics.getCount(Counter.RESOURCES), greaterThan(0L));
+        assertThat(metrics.getCount(Counter.METHODS), greaterThan(0L));
+        assertThat(metrics.getCount(Counter.GENERATED_FILES), is((long) generatedFiles.size()));
+
+        final File report = new File(codegenOutputFolder.getRoot(), "full-config-with-patch.metrics.json");
+        assertTrue(report.isFile());
+        assertThat(FileUtils.readFileToString(report), containsString("\"codeModel\""));
+    }
+
+    @Test
+    public void everyRunStartsWithFreshMetrics() throws Exception
+    {
+        final File sourceDirectory = new File(getClass().getResource("/org/raml").getPath());
+        final Configuration configuration = new Configuration();
+        configuration.setBasePackageName("org.raml.jaxrs.test");
+        configuration.setOutputDirectory(codegenOutputFolder.getRoot());
+        configuration.setSourceDirectory(sourceDirectory);
+        final File ramlFile = new File(sourceDirectory, "full-config-with-patch.yaml");
+        final Raml raml = new RamlDocumentBuilder(new FileResourceLoader(sourceDirectory))
+            .build(FileUtils.readFileToString(ramlFile), ramlFile.getAbsolutePath());
+
+        final Generator generator = new Generator();
+        generator.run(new FileReader(ramlFile), configuration, ramlFile.getAbsolutePath());
+        final long resources = generator.getMetrics().getCount(Counter.RESOURCES);
+        final long methods = generator.getMetrics().getCount(Counter.METHODS);
+        assertThat(resources, greaterThan(0L));
+
+        // the parsed document overload does not add to the counters of the previous run
+        generator.run(raml, configuration);
+        assertThat(generator.getMetrics().getCount(Counter.RESOURCES), is(resources));
+        generator.run(raml, configuration);
+        assertThat(generator.getMetrics().getCount(Counter.RESOURCES), is(resources));
+        assertThat(generator.getMetrics().getCount(Counter.METHODS), is(methods));
+    }
+}
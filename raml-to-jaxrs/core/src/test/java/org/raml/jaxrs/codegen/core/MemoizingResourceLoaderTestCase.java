@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.raml.parser.loader.ResourceLoader;
+
+public class MemoizingResourceLoaderTestCase
+{
+    private static class CountingResourceLoader implements ResourceLoader
+    {
+        private final String resourceName;
+        private final Map<String, Integer> fetches = new HashMap<String, Integer>();
+
+        CountingResourceLoader(final String resourceName)
+        {
+            this.resourceName = resourceName;
+        }
+
+        public InputStream fetchResource(final String name)
+        {
+            final Integer count = fetches.get(name);
+            fetches.put(name, count == null ? 1 : count + 1);
+            return resourceName.equals(name) ? new ByteArrayInputStream(new byte[]{'a'}) : null;
+        }
+
+        int getFetches(final String name)
+        {
+            final Integer count = fetches.get(name);
+            return count == null ? 0 : count;
+        }
+    }
+
+    @Test
+    public void remembersTheResolvingLoader() throws Exception
+    {
+        final CountingResourceLoader first = new CountingResourceLoader("first.raml");
+        final CountingResourceLoader second = new CountingResourceLoader("second.raml");
+        final MemoizingResourceLoader loader = new MemoizingResourceLoader(first, second);
+
+        for (int i = 0; i < 3; i++)
+        {
+            final InputStream inputStream = loader.fetchResource("second.raml");
+            assertThat(inputStream, is(notNullValue()));
+            assertThat(inputStream.read(), is((int) 'a'));
+        }
+
+        assertThat(first.getFetches("second.raml"), is(1));
+        assertThat(second.getFetches("second.raml"), is(3));
+        assertThat(loader.getHitCounts()[0], is(0L));
+        assertThat(loader.getHitCounts()[1], is(3L));
+        assertThat(loader.getMemoHitCount(), is(2L));
+    }
+
+    @Test
+    public void cachesMisses() throws Exception
+    {
+        final CountingResourceLoader first = new CountingResourceLoader("first.raml");
+        final CountingResourceLoader second = new CountingResourceLoader("second.raml");
+        final MemoizingResourceLoader loader = new MemoizingResourceLoader(first, second);
+
+        assertThat(loader.fetchResource("missing.raml"), is(nullValue()));
+        assertThat(loader.fetchResource("missing.raml"), is(nullValue()));
+
+        assertThat(first.getFetches("missing.raml"), is(1));
+        assertThat(second.getFetches("missing.raml"), is(1));
+        assertThat(loader.getMissCount(), is(1L));
+        assertThat(loader.getMemoHitCount(), is(1L));
+    }
+}
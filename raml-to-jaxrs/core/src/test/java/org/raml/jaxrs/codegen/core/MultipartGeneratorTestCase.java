@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+import org.raml.jaxrs.codegen.core.Configuration.MultipartBackend;
+
+public class MultipartGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/mediatype/multipart_form-data.yaml";
+
+    private String generate(final JaxrsVersion jaxrsVersion, final MultipartBackend multipartBackend)
+        throws Exception
+    {
+        final Configuration configuration = createConfiguration(jaxrsVersion);
+        configuration.setMultipartBackend(multipartBackend);
+        generate(RAML_LOCATION, configuration);
+        return readGeneratedSource("resource", "UploadsResource");
+    }
+
+    @Test
+    public void mimeMultipartByDefault() throws Exception
+    {
+        final String resourceInterface = generate(JAXRS_2_0, MultipartBackend.MIME_MULTIPART);
+        assertThat(resourceInterface, containsString("MimeMultipart entity"));
+        assertThat(resourceInterface, not(containsString("FormDataParam")));
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test
+    public void jerseyParts() throws Exception
+    {
+        final String resourceInterface = generate(JAXRS_2_0, MultipartBackend.JERSEY);
+        assertThat(resourceInterface, containsString("@FormDataParam(\"file\")"));
+        assertThat(resourceInterface, containsString("InputStream file"));
+        assertThat(resourceInterface, containsString("String title"));
+        assertThat(resourceInterface, containsString("@DefaultValue(\"1\")"));
+        // a part with several types keeps the catch-all
+        assertThat(resourceInterface, containsString("MimeMultipart entity"));
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test
+    public void resteasyForm() throws Exception
+    {
+        final String resourceInterface = generate(JAXRS_2_0, MultipartBackend.RESTEASY);
+        assertThat(resourceInterface, containsString("@MultipartForm"));
+        assertThat(resourceInterface, containsString("class PostUploadsForm"));
+        assertThat(resourceInterface, containsString("@PartType(\"application/octet-stream\")"));
+        assertThat(resourceInterface, containsString("public InputStream file;"));
+        assertThat(resourceInterface, containsString("@PartType(\"text/plain\")"));
+        assertThat(resourceInterface, containsString("MimeMultipart entity"));
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void streamingPartsRequireJaxrs2() throws Exception
+    {
+        generate(JAXRS_1_1, MultipartBackend.JERSEY);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_2_0;
+
+import org.junit.Test;
+import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
+
+public class ParameterValidatorGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/params/param-types-with-repeat.yaml";
+
+    private void generate(final JaxrsVersion jaxrsVersion) throws Exception
+    {
+        final Configuration configuration = createConfiguration(jaxrsVersion);
+        configuration.setUseJsr303Annotations(true);
+        configuration.setGenerateParameterValidators(true);
+        generate(RAML_LOCATION, configuration);
+    }
+
+    @Test
+    public void parameterValidators() throws Exception
+    {
+        generate(JAXRS_2_0);
+
+        final String validator = readGeneratedSource("support", "SimpleResourceValidator");
+        // constraints are compiled once
+        assertThat(validator, containsString("Pattern.compile(\"[a-z]{3,5}\")"));
+        assertThat(validator, containsString("Arrays.asList(\"one\", \"two\", \"three\")"));
+        assertThat(validator, containsString("_MAXIMUM = 190L;"));
+        assertThat(validator, containsString("_MINIMUM = 0.1D;"));
+        assertThat(validator, containsString("Long.parseLong(value)"));
+        assertThat(validator, containsString("Double.parseDouble(value)"));
+        assertThat(validator, containsString("implements ContainerRequestFilter"));
+        assertThat(validator, containsString("request.getUriInfo().getQueryParameters()"));
+        assertThat(validator, containsString("reject(request, \"name\");"));
+        assertThat(validator, containsString("Response.Status.BAD_REQUEST"));
+
+        assertThat(readGeneratedSource("support", ParameterValidators.FEATURE_NAME),
+            containsString("implements DynamicFeature"));
+
+        // the resource interface no longer carries Bean Validation annotations
+        final String resourceInterface = readGeneratedSource("resource", "SimpleResource");
+        assertThat(resourceInterface, not(containsString("@Size")));
+        assertThat(resourceInterface, not(containsString("@Min")));
+
+        compileGeneratedSources(JAXRS_2_0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parameterValidatorsRequireJaxrs2() throws Exception
+    {
+        generate(JAXRS_1_1);
+    }
+}
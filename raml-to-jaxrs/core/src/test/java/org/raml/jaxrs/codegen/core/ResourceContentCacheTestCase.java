@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.parser.loader.ResourceLoader;
+
+public class ResourceContentCacheTestCase
+{
+    @Rule
+    public TemporaryFolder sourceFolder = new TemporaryFolder();
+
+    private final ResourceContentCache cache = new ResourceContentCache();
+
+    private File write(final String name, final String content) throws Exception
+    {
+        final File file = new File(sourceFolder.getRoot(), name);
+        FileUtils.writeStringToFile(file, content, "UTF-8");
+        return file;
+    }
+
+    private static String read(final InputStream inputStream) throws Exception
+    {
+        try
+        {
+            return IOUtils.toString(inputStream, "UTF-8");
+        }
+        finally
+        {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void unchangedFilesAreNotReadAgain() throws Exception
+    {
+        write("schemas/order.json", "{ \"type\": \"object\" }");
+        final ResourceLoader loader = cache.loader(sourceFolder.getRoot().getPath());
+
+        assertThat(read(loader.fetchResource("schemas/order.json")), is("{ \"type\": \"object\" }"));
+        assertThat(read(loader.fetchResource("schemas/order.json")), is("{ \"type\": \"object\" }"));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void changedFilesAreReadAgain() throws Exception
+    {
+        final File file = write("shared.raml", "description: one");
+        assertThat(read(cache.open(file)), is("description: one"));
+
+        // another length, whatever the modification time
+        write("shared.raml", "description: three");
+        assertThat(read(cache.open(file)), is("description: three"));
+
+        // same length, possibly within the same second: dropped by the watcher
+        write("shared.raml", "description: eight");
+        cache.invalidate(Collections.singleton(file));
+        assertThat(read(cache.open(file)), is("description: eight"));
+        assertThat(cache.getHitCount(), is(0L));
+    }
+
+    @Test
+    public void missingFilesAreNotFound() throws Exception
+    {
+        assertThat(cache.loader(sourceFolder.getRoot().getPath()).fetchResource("missing.json"), is(nullValue()));
+        assertThat(cache.loader(null).fetchResource(sourceFolder.getRoot().getPath()), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion.JAXRS_1_1;
+
+import org.junit.Test;
+
+public class SpringWebFluxGeneratorTestCase extends AbstractGeneratorTestCase
+{
+    private static final String RAML_LOCATION = "/org/raml/reactive/webflux.yaml";
+
+    private Configuration createConfiguration()
+    {
+        // the default version, the JAX-RS API is not used
+        final Configuration configuration = createConfiguration(JAXRS_1_1);
+        configuration.setGenerateSpringWebFlux(true);
+        return configuration;
+    }
+
+    private String generateResourceInterface(final Configuration configuration) throws Exception
+    {
+        generate(RAML_LOCATION, configuration);
+        return readGeneratedSource("resource", "OrdersResource");
+    }
+
+    @Test
+    public void reactiveResourceInterface() throws Exception
+    {
+        final String source = generateResourceInterface(createConfiguration());
+
+        assertThat(source, containsString("@RequestMapping(\"/orders\")"));
+        assertThat(source, not(containsString("javax.ws.rs")));
+        // array schemas are streamed item by item
+        assertThat(source, containsString("Flux<"));
+        assertThat(source, containsString("\"application/stream+json\""));
+        assertThat(source, containsString("Mono<ResponseEntity<Order>> postOrders("));
+        assertThat(source, containsString("@RequestBody"));
+        assertThat(source, containsString("Mono<Order> entity"));
+        assertThat(source, containsString("Mono<ResponseEntity<Void>> deleteOrdersByOrderId("));
+        assertThat(source, containsString("@PathVariable(\"orderId\")"));
+        assertThat(source, containsString("@RequestHeader(value = \"X-Reason\", required = false)"));
+        assertThat(source, containsString("@RequestParam(value = \"status\", required = false)"));
+        assertThat(source, containsString("@RequestParam(value = \"limit\", defaultValue = \"10\")"));
+    }
+
+    @Test
+    public void ndjsonStreamMediaType() throws Exception
+    {
+        final Configuration configuration = createConfiguration();
+        configuration.setReactiveStreamMediaType("application/x-ndjson");
+
+        final String source = generateResourceInterface(configuration);
+
+        assertThat(source, containsString("\"application/x-ndjson\""));
+        assertThat(source, not(containsString("\"application/stream+json\"")));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamingGeneratorTestCase
+{
+    @Rule
+    public TemporaryFolder streamedOutputFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder bufferedOutputFolder = new TemporaryFolder();
+
+    private Set<String> run(final File outputDirectory, final boolean streamResourceInterfaces) throws Exception
+    {
+        final Configuration configuration = new Configuration();
+        configuration.setBasePackageName("org.raml.jaxrs.test");
+        configuration.setOutputDirectory(outputDirectory);
+        configuration.setSourceDirectory(new File(getClass().getResource("/org/raml").getPath()));
+        configuration.setStreamResourceInterfaces(streamResourceInterfaces);
+        return new Generator().run(
+            new InputStreamReader(getClass().getResourceAsStream("/org/raml/full-config-with-patch.yaml")),
+            configuration);
+    }
+
+    @Test
+    public void streamingWritesTheSameFiles() throws Exception
+    {
+        final Set<String> streamed = run(streamedOutputFolder.getRoot(), true);
+        final Set<String> buffered = run(bufferedOutputFolder.getRoot(), false);
+
+        assertThat(streamed, is(buffered));
+        for (final String file : streamed)
+        {
+            assertTrue(file, new File(streamedOutputFolder.getRoot(), file).isFile());
+        }
+    }
+}
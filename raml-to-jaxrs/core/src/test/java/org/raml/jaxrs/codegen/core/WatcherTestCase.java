@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.Watchable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WatcherTestCase
+{
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    @Rule
+    public TemporaryFolder sourceFolder = new TemporaryFolder();
+
+    private Configuration configuration;
+
+    @Before
+    public void createConfiguration()
+    {
+        configuration = new Configuration();
+        configuration.setSourceDirectory(sourceFolder.getRoot());
+    }
+
+    private File write(String name, String content) throws Exception
+    {
+        File file = new File(sourceFolder.getRoot(), name);
+        FileUtils.writeStringToFile(file, content, "UTF-8");
+        return file.getCanonicalFile();
+    }
+
+    private Watcher watcher(File... roots)
+    {
+        return new Watcher(configuration, Arrays.asList(roots), sourceFolder.getRoot(), DEBOUNCE_MILLIS);
+    }
+
+    @Test
+    public void awaitChangesDrainsTheWholeBurst() throws Exception
+    {
+        Path directory = sourceFolder.getRoot().getCanonicalFile().toPath();
+        Watcher watcher = watcher();
+        FakeWatchService watchService = new FakeWatchService();
+        for (String name : new String[] {"a.raml", "b.raml", "a.raml", "schema.json"})
+        {
+            WatchKey key = new FakeWatchKey(event(ENTRY_MODIFY, directory.getFileSystem().getPath(name)));
+            watcher.watch(directory, key);
+            watchService.keys.add(key);
+        }
+
+        List<String> names = new ArrayList<String>();
+        for (File file : watcher.awaitChanges(watchService))
+        {
+            names.add(file.getName());
+        }
+
+        assertThat(names, contains("a.raml", "b.raml", "schema.json"));
+        // one take for the first event, then polls until a quiet period ends the burst
+        assertThat(watchService.takes, is(1));
+        assertThat(watchService.timeouts.size(), is(4));
+        assertThat(watchService.timeouts, everyItem(equalTo(DEBOUNCE_MILLIS)));
+    }
+
+    @Test
+    public void overflowMarksEveryWatchedFileAsChanged() throws Exception
+    {
+        File schema = write("schema.json", "{ \"type\": \"object\" }");
+        File root = write("api.raml", "schemas:\n - user: !include schema.json\n");
+        Watcher watcher = watcher(root);
+        FakeWatchService watchService = new FakeWatchService();
+        WatchKey key = new FakeWatchKey(event(OVERFLOW, null));
+        watcher.watch(sourceFolder.getRoot().toPath(), key);
+        watchService.keys.add(key);
+
+        assertThat(watcher.awaitChanges(watchService), containsInAnyOrder(root, schema));
+    }
+
+    @Test
+    public void affectedRootsFollowsIncludes() throws Exception
+    {
+        File shared = write("shared.raml", "description: shared");
+        File first = write("first.raml", "/a: !include shared.raml");
+        File second = write("second.raml", "/b:");
+        Watcher watcher = watcher(first, second);
+
+        assertThat(watcher.affectedRoots(Collections.singleton(shared)), contains(first));
+        assertThat(watcher.affectedRoots(Collections.singleton(second)), contains(second));
+        assertThat(watcher.affectedRoots(Collections.singleton(write("unrelated.json", "{}"))), empty());
+    }
+
+    @Test
+    public void affectedRootsPicksUpNewAndDropsDeletedRoots() throws Exception
+    {
+        File first = write("first.raml", "/a:");
+        File second = write("second.raml", "/b:");
+        Watcher watcher = watcher(first, second);
+
+        File added = write("added.raml", "/c:");
+        File nested = write("nested/other.raml", "/d:");
+        File notRaml = write("notes.txt", "text");
+        assertThat(watcher.affectedRoots(new LinkedHashSet<File>(Arrays.asList(added, nested, notRaml))),
+                   contains(added));
+        assertThat(watcher.getRoots(), contains(first, second, added));
+
+        assertThat(second.delete(), is(true));
+        assertThat(watcher.affectedRoots(Collections.singleton(second)), empty());
+        assertThat(watcher.getRoots(), contains(first, added));
+    }
+
+    private static WatchEvent<Path> event(final WatchEvent.Kind<?> kind, final Path context)
+    {
+        return new WatchEvent<Path>()
+        {
+            @SuppressWarnings("unchecked")
+            public Kind<Path> kind()
+            {
+                return (Kind<Path>) kind;
+            }
+
+            public int count()
+            {
+                return 1;
+            }
+
+            public Path context()
+            {
+                return context;
+            }
+        };
+    }
+
+    private static class FakeWatchKey implements WatchKey
+    {
+        private final List<WatchEvent<?>> events;
+
+        FakeWatchKey(WatchEvent<?>... events)
+        {
+            this.events = Arrays.<WatchEvent<?>> asList(events);
+        }
+
+        public boolean isValid()
+        {
+            return true;
+        }
+
+        public List<WatchEvent<?>> pollEvents()
+        {
+            return events;
+        }
+
+        public boolean reset()
+        {
+            return true;
+        }
+
+        public void cancel()
+        {
+        }
+
+        public Watchable watchable()
+        {
+            return null;
+        }
+    }
+
+    private static class FakeWatchService implements WatchService
+    {
+        final LinkedList<WatchKey> keys = new LinkedList<WatchKey>();
+
+        final List<Long> timeouts = new ArrayList<Long>();
+
+        int takes;
+
+        public void close()
+        {
+        }
+
+        public WatchKey poll()
+        {
+            return keys.poll();
+        }
+
+        public WatchKey poll(long timeout, TimeUnit unit)
+        {
+            timeouts.add(unit.toMillis(timeout));
+            return keys.poll();
+        }
+
+        public WatchKey take()
+        {
+            takes++;
+            return keys.remove();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.daemon;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.jaxrs.codegen.core.Configuration;
+import org.raml.jaxrs.codegen.core.Generator;
+
+public class GenerationDaemonTestCase
+{
+    @Rule
+    public TemporaryFolder daemonOutputFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder inProcessOutputFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder tokenFolder = new TemporaryFolder();
+
+    private GenerationDaemon daemon;
+
+    private Thread serving;
+
+    @Before
+    public void startDaemon() throws Exception
+    {
+        daemon = new GenerationDaemon(0, new File(tokenFolder.getRoot(), "daemon.token"));
+        serving = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    daemon.serve();
+                }
+                catch (IOException e)
+                {
+                    // closed by the test
+                }
+            }
+        };
+        serving.start();
+    }
+
+    @After
+    public void stopDaemon() throws Exception
+    {
+        daemon.close();
+        serving.join();
+    }
+
+    private DaemonClient client()
+    {
+        return new DaemonClient(daemon.getPort(), 0, daemon.getTokenFile());
+    }
+
+    private Configuration configuration(File outputDirectory)
+    {
+        Configuration configuration = new Configuration();
+        configuration.setBasePackageName("org.raml.jaxrs.test");
+        configuration.setOutputDirectory(outputDirectory);
+        configuration.setSourceDirectory(new File(getClass().getResource("/org/raml").getPath()));
+        return configuration;
+    }
+
+    @Test
+    public void generatesLikeInProcess() throws Exception
+    {
+        File raml = new File(getClass().getResource("/org/raml/responses/wrapper.yaml").getPath());
+        DaemonClient client = client();
+
+        assertThat(client.ping(), is(true));
+        Set<String> fromDaemon = client.generate(raml, configuration(daemonOutputFolder.getRoot()));
+        Set<String> inProcess = new Generator().run(new FileReader(raml),
+            configuration(inProcessOutputFolder.getRoot()), raml.getAbsolutePath());
+
+        assertThat(new HashSet<String>(fromDaemon), is(inProcess));
+    }
+
+    @Test
+    public void reportsFailures() throws Exception
+    {
+        DaemonClient client = client();
+        try
+        {
+            client.generate(new File("missing.raml"), configuration(daemonOutputFolder.getRoot()));
+            fail("a missing RAML file must fail");
+        }
+        catch (DaemonGenerationException e)
+        {
+            assertThat(client.ping(), is(true));
+        }
+    }
+
+    @Test
+    public void rejectsRequestsWithoutTheToken() throws Exception
+    {
+        File wrongToken = tokenFolder.newFile("wrong.token");
+        DaemonToken.create(wrongToken);
+        DaemonClient intruder = new DaemonClient(daemon.getPort(), 0, wrongToken);
+        File raml = new File(getClass().getResource("/org/raml/responses/wrapper.yaml").getPath());
+
+        assertThat(intruder.ping(), is(false));
+        try
+        {
+            intruder.generate(raml, configuration(daemonOutputFolder.getRoot()));
+            fail("a request with the wrong token must be rejected");
+        }
+        catch (IOException e)
+        {
+            assertThat(daemonOutputFolder.getRoot().list().length, is(0));
+        }
+        try
+        {
+            intruder.shutdown();
+            fail("a shutdown with the wrong token must be rejected");
+        }
+        catch (IOException e)
+        {
+            assertThat(client().ping(), is(true));
+        }
+        assertThat(new DaemonClient(daemon.getPort(), 0, new File(tokenFolder.getRoot(), "missing.token")).ping(),
+            is(false));
+    }
+
+    @Test
+    public void tokenFileIsPrivate() throws Exception
+    {
+        if (daemon.getTokenFile().toPath().getFileSystem().supportedFileAttributeViews().contains("posix"))
+        {
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(daemon.getTokenFile().toPath())),
+                is("rw-------"));
+        }
+        File tokenFile = daemon.getTokenFile();
+        daemon.close();
+        assertThat(tokenFile.exists(), is(false));
+    }
+
+    @Test
+    public void idleConnectionsTimeOut() throws Exception
+    {
+        daemon.setRequestTimeout(200);
+        Socket idle = new Socket(InetAddress.getByName(null), daemon.getPort());
+        try
+        {
+            // answered once the idle connection timed out, instead of waiting forever
+            assertThat(new DaemonClient(daemon.getPort(), 5000, daemon.getTokenFile()).ping(), is(true));
+        }
+        finally
+        {
+            idle.close();
+        }
+    }
+
+    @Test
+    public void unreachableDaemonFailsFast() throws Exception
+    {
+        int port = daemon.getPort();
+        daemon.close();
+        assertThat(new DaemonClient(port, 0, new File(tokenFolder.getRoot(), "daemon.token")).ping(), is(false));
+    }
+
+    @Test
+    public void jsonRoundTrip()
+    {
+        Map<String, Object> value = new LinkedHashMap<String, Object>();
+        value.put("text", "quote \" backslash \\ newline \n tab \t");
+        value.put("flag", Boolean.TRUE);
+        value.put("missing", null);
+        value.put("list", Arrays.asList("a", "b"));
+
+        assertThat(Json.read(Json.write(value)), is((Object) value));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.core.ext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.jci.compilers.CompilationResult;
+import org.apache.commons.jci.compilers.JavaCompiler;
+import org.apache.commons.jci.compilers.JavaCompilerFactory;
+import org.apache.commons.jci.compilers.JavaCompilerSettings;
+import org.apache.commons.jci.stores.FileResourceStore;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.jsonschema2pojo.AnnotationStyle;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.raml.jaxrs.codegen.core.Configuration;
+import org.raml.jaxrs.codegen.core.FileResourceReader2;
+import org.raml.jaxrs.codegen.core.Generator;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JacksonSerializersExtensionTestCase
+{
+    private static final String TEST_BASE_PACKAGE = "org.raml.jaxrs.test";
+
+    private static final String RAML_LOCATION = "/org/raml/integration/sales-enablement-api-with-collections.yaml";
+
+    private static final String ROUND_TRIP_RAML_LOCATION = "/org/raml/ext/jackson-round-trip.yaml";
+
+    @Rule
+    public TemporaryFolder codegenOutputFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder compilationOutputFolder = new TemporaryFolder();
+
+    private Set<String> generate(final AnnotationStyle jsonMapper) throws Exception
+    {
+        return generate(jsonMapper, RAML_LOCATION);
+    }
+
+    private Set<String> generate(final AnnotationStyle jsonMapper, final String ramlLocation) throws Exception
+    {
+        final Configuration configuration = new Configuration();
+        configuration.setBasePackageName(TEST_BASE_PACKAGE);
+        configuration.setOutputDirectory(codegenOutputFolder.getRoot());
+        configuration.setJsonMapper(jsonMapper);
+        configuration.getExtensions().add(new JacksonSerializersExtension());
+        return new Generator().run(new InputStreamReader(getClass().getResourceAsStream(ramlLocation)),
+            configuration, getClass().getResource(ramlLocation).getPath());
+    }
+
+    private ClassLoader compile(final Set<String> generatedSources) throws Exception
+    {
+        final JavaCompiler compiler = new JavaCompilerFactory().createCompiler("eclipse");
+        final JavaCompilerSettings settings = compiler.createDefaultSettings();
+        settings.setSourceVersion("1.5");
+        settings.setTargetVersion("1.5");
+        settings.setDebug(true);
+
+        final CompilationResult result = compiler.compile(generatedSources.toArray(new String[generatedSources.size()]),
+            new FileResourceReader2(codegenOutputFolder.getRoot()),
+            new FileResourceStore(compilationOutputFolder.getRoot()), getClass().getClassLoader(), settings);
+        assertThat(ToStringBuilder.reflectionToString(result.getErrors(), ToStringStyle.SHORT_PREFIX_STYLE),
+            result.getErrors(), is(emptyArray()));
+
+        return new URLClassLoader(new URL[] {compilationOutputFolder.getRoot().toURI().toURL()},
+            getClass().getClassLoader());
+    }
+
+    private File getJacksonSource(final String className)
+    {
+        return new File(codegenOutputFolder.getRoot(), (TEST_BASE_PACKAGE + ".model.jackson").replace('.',
+            File.separatorChar) + File.separator + className + ".java");
+    }
+
+    private String readJacksonSource(final String className) throws Exception
+    {
+        final File source = getJacksonSource(className);
+        assertTrue(source.getPath(), source.isFile());
+        return FileUtils.readFileToString(source, "UTF-8");
+    }
+
+    @Test
+    public void jackson2Serializers() throws Exception
+    {
+        generate(AnnotationStyle.JACKSON2);
+
+        final String serializer = readJacksonSource("ProductSerializer");
+        assertThat(serializer, containsString("extends JsonSerializer<Product>"));
+        assertThat(serializer, containsString("import com.fasterxml.jackson.core.JsonGenerator;"));
+        assertThat(serializer, containsString("generator.writeStartObject();"));
+        assertThat(serializer, containsString("generator.writeStringField(\"imageUrl\", value.getImageUrl());"));
+        assertThat(serializer, containsString("generator.writeEndObject();"));
+
+        final String collectionSerializer = readJacksonSource("ProductsSerializer");
+        assertThat(collectionSerializer, containsString("generator.writeNumberField(\"size\", value.getSize());"));
+        // nested model classes go back through the mapper, and its registered serializers
+        assertThat(collectionSerializer,
+            containsString("provider.defaultSerializeField(\"products\", value.getProducts(), generator);"));
+
+        final String deserializer = readJacksonSource("ProductsDeserializer");
+        assertThat(deserializer, containsString("extends JsonDeserializer<Products>"));
+        assertThat(deserializer, containsString("\"size\".equals(name)"));
+        assertThat(deserializer, containsString("parser.getIntValue()"));
+        assertThat(deserializer, containsString("new TypeReference<List<Product>>()"));
+        assertThat(deserializer, containsString("value.setAdditionalProperty(name, parser.readValueAs(Object.class));"));
+        assertThat(deserializer, containsString("return value;"));
+
+        final String module = readJacksonSource("ModelModule");
+        assertThat(module, containsString("extends SimpleModule"));
+        assertThat(module, containsString("addSerializer(Presentation.class, new PresentationSerializer());"));
+        assertThat(module, containsString("addDeserializer(Products.class, new ProductsDeserializer());"));
+    }
+
+    @Test
+    public void jackson1Serializers() throws Exception
+    {
+        generate(AnnotationStyle.JACKSON1);
+
+        final String serializer = readJacksonSource("PresentationSerializer");
+        assertThat(serializer, containsString("import org.codehaus.jackson.map.JsonSerializer;"));
+        assertThat(serializer, not(containsString("com.fasterxml")));
+        assertThat(readJacksonSource("ModelModule"), containsString("import org.codehaus.jackson.map.module.SimpleModule;"));
+    }
+
+    @Test
+    public void jackson2RoundTrip() throws Exception
+    {
+        final ClassLoader classLoader = compile(generate(AnnotationStyle.JACKSON2, ROUND_TRIP_RAML_LOCATION));
+        final Class<?> orderClass = classLoader.loadClass(TEST_BASE_PACKAGE + ".model.Order");
+        final Object module = classLoader.loadClass(TEST_BASE_PACKAGE + ".model.jackson.ModelModule").newInstance();
+        assertThat(module, instanceOf(Module.class));
+
+        final ObjectMapper reflective = new ObjectMapper();
+        final ObjectMapper generated = new ObjectMapper().registerModule((Module) module);
+
+        // enum, boolean, a list of model classes and additional properties at both levels
+        assertRoundTrip(reflective, generated, orderClass,
+            "{\"id\":1,\"status\":\"in-transit\",\"note\":\"leave at the door\",\"gift\":true,"
+                            + "\"items\":[{\"sku\":\"a-1\",\"quantity\":2,\"price\":9.5},"
+                            + "{\"sku\":\"b-2\",\"quantity\":1,\"price\":20.0,\"colour\":\"red\"}],"
+                            + "\"coupon\":\"SPRING\"}");
+        // explicit nulls, absent properties and an empty list
+        final Object sparse = assertRoundTrip(reflective, generated, orderClass,
+            "{\"id\":2,\"status\":null,\"note\":null,\"items\":[{\"sku\":\"c-3\",\"quantity\":null}]}");
+        assertThat(orderClass.getMethod("getStatus").invoke(sparse), nullValue());
+        assertThat(orderClass.getMethod("getGift").invoke(sparse), nullValue());
+        assertRoundTrip(reflective, generated, orderClass, "{\"id\":3,\"items\":[]}");
+
+        final Object delivered = generated.readValue("{\"id\":4,\"status\":\"delivered\"}", orderClass);
+        assertThat(orderClass.getMethod("getStatus").invoke(delivered).toString(), is("delivered"));
+        final List<?> items = (List<?>) orderClass.getMethod("getItems").invoke(
+            generated.readValue("{\"id\":5,\"items\":[{\"sku\":\"d-4\"}]}", orderClass));
+        assertThat(items.get(0).getClass().getName(), is(TEST_BASE_PACKAGE + ".model.Item"));
+    }
+
+    /**
+     * Reads the JSON with and without the generated module, checks that both give equal beans that
+     * are written the same way, and returns the bean.
+     */
+    private static Object assertRoundTrip(final ObjectMapper reflective,
+                                          final ObjectMapper generated,
+                                          final Class<?> type,
+                                          final String json) throws Exception
+    {
+        final Object expected = reflective.readValue(json, type);
+        final Object actual = generated.readValue(json, type);
+        assertThat(json, actual, equalTo(expected));
+
+        final String expectedJson = reflective.writeValueAsString(expected);
+        assertThat(json, generated.writeValueAsString(actual), is(expectedJson));
+        assertThat(json, generated.readValue(expectedJson, type), equalTo(expected));
+        return actual;
+    }
+
+    @Test
+    public void nothingWithoutJackson() throws Exception
+    {
+        generate(AnnotationStyle.GSON);
+
+        assertFalse(getJacksonSource("ModelModule").exists());
+    }
+}
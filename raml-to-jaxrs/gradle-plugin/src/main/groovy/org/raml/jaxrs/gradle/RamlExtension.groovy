@@ -122,6 +122,35 @@ class RamlExtension {
     
 	List<String> extensions = new ArrayList<String>();
 
+	/**
+	 * Writes each resource interface as soon as it is complete to bound the memory
+	 * used for large APIs.
+	 * @see org.raml.jaxrs.codegen.core.Configuration#isStreamResourceInterfaces()
+	 */
+	boolean streamResourceInterfaces
+
+	/**
+	 * Writes a {@code <raml name>.metrics.json} report with phase timings and counts
+	 * next to the generated sources and logs a summary of it.
+	 * @see org.raml.jaxrs.codegen.core.Configuration#isGenerateMetricsReport()
+	 */
+	boolean generateMetricsReport
+
+	/**
+	 * The maximum number of RAML files generated concurrently.  Defaults to {@code 1};
+	 * only raise it when the files do not generate the same model classes.
+	 */
+	int maxParallelRoots = 1
+
+	/**
+	 * Loopback port of a running generation daemon.  Defaults to {@code 0}, which
+	 * generates inside the Gradle process.  The daemon token is read from
+	 * {@code ~/.raml-jaxrs-codegen/daemon-<port>.token}.  Generation falls back to the
+	 * Gradle process when the daemon cannot be reached or rejects the token; a
+	 * generation failure reported by the daemon fails the task.
+	 */
+	int daemonPort = 0
+
 	/**
 	 * Constructs a new configuration extension for the RAML properties.
 	 * @param project The Gradle {@link Project} for the currently executing build.
@@ -15,16 +15,25 @@
  */
 package org.raml.jaxrs.gradle.codegen
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
 import org.gradle.api.tasks.TaskExecutionException
 import org.gradle.api.DefaultTask
 import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputFiles
 import org.gradle.api.tasks.OutputDirectory
 import org.gradle.api.tasks.TaskAction
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs
 import org.jsonschema2pojo.AnnotationStyle
 import org.raml.jaxrs.codegen.core.Configuration
+import org.raml.jaxrs.codegen.core.DependencyScanner
 import org.raml.jaxrs.codegen.core.Generator
 import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion
+import org.raml.jaxrs.codegen.core.daemon.DaemonClient
 import org.raml.jaxrs.gradle.RamlExtension
 import org.raml.jaxrs.codegen.core.ext.GeneratorExtension
 
@@ -32,26 +41,76 @@ import org.raml.jaxrs.codegen.core.ext.GeneratorExtension
  * Custom Gradle task that handles the generation of Java code from RAML
  * configuration files.  This task is automatically registered with Gradle
  * by the plugin when included in a build script.
+ * <p>
+ * Every file included by a RAML root, as well as the schemas it references, is
+ * declared as an input, so editing any of them makes the task out of date.  On
+ * incremental runs only the roots whose dependency closure changed are generated
+ * again, each with its own {@link Generator}, on up to
+ * {@link RamlExtension#maxParallelRoots} threads.
  *
  * @author Jonathan Pearlin
  * @since 1.0
  */
 class CodeGeneratorTask extends DefaultTask {
 
-	Generator generator = new Generator()
+	/**
+	 * Creates the generator used for a single RAML root.  Generators keep state
+	 * for the document being generated, so they are never shared between roots.
+	 */
+	Closure<Generator> generatorFactory = { new Generator() }
+
+	private Generator legacyGenerator
 
 	RamlExtension configuration
 
+	private DependencyScanner dependencyScanner
+
+	private volatile boolean daemonUnavailable
+
+	/**
+	 * @deprecated use {@link #generatorFactory}; a generator set here is shared by every
+	 * RAML root, so the roots are generated one at a time, and it is run without the root
+	 * location, so relative includes are not resolved.
+	 */
+	@Deprecated
+	Generator getGenerator() {
+		legacyGenerator
+	}
+
+	/**
+	 * Installs a factory that always returns the given generator.
+	 *
+	 * @deprecated use {@link #generatorFactory}
+	 */
+	@Deprecated
+	void setGenerator(Generator generator) {
+		legacyGenerator = generator
+		generatorFactory = { generator }
+	}
+
 	@Input
 	String getBasePackageName() {
 		configuration.getBasePackageName()
 	}
 
-	@InputFiles
 	Collection<File> getRamlFiles() {
 		configuration.getRamlFiles()
 	}
 
+	@InputFiles
+	Collection<File> getRamlDependencies() {
+		Set<File> dependencies = [] as LinkedHashSet
+		getRamlFiles().each { File root ->
+			dependencies.addAll(getDependencyScanner().scan(root))
+		}
+		dependencies
+	}
+
+	@Input
+	int getMaxParallelRoots() {
+		configuration.maxParallelRoots
+	}
+
 	@Input
 	JaxrsVersion getJaxrsVersion() {
 		JaxrsVersion.fromAlias(configuration.getJaxrsVersion())
@@ -122,13 +181,111 @@ class CodeGeneratorTask extends DefaultTask {
 		configuration.extensions
 	}
 
+	@Input
+	boolean isStreamResourceInterfaces(){
+		configuration.streamResourceInterfaces
+	}
+
+	@Input
+	boolean isGenerateMetricsReport(){
+		configuration.generateMetricsReport
+	}
+
 	@TaskAction
+	void generate(IncrementalTaskInputs inputs) {
+		Collection<File> roots = getRamlFiles()
+		if (!inputs.incremental) {
+			generate(roots)
+			return
+		}
+
+		Set<File> changed = [] as LinkedHashSet
+		boolean removed = false
+		inputs.outOfDate { change -> changed.add(change.file) }
+		inputs.removed { change -> removed = true }
+
+		if (removed) {
+			// An include may have moved to a location that no root resolves any more.
+			generate(roots)
+		} else {
+			Collection<File> affected = getDependencyScanner().affectedRoots(roots, changed)
+			logger.info("Regenerating ${affected.size()} of ${roots.size()} RAML file(s)")
+			generate(affected)
+		}
+	}
+
+	/**
+	 * Generates the sources of every RAML file regardless of what changed since the last build.
+	 */
 	void generate() {
+		generate(getRamlFiles())
+	}
+
+	protected void generate(Collection<File> roots) {
+		// a generator installed through setGenerator is shared and cannot run two roots at once
+		int threads = legacyGenerator != null ? 1 : Math.min(Math.max(getMaxParallelRoots(), 1), roots.size())
+		if (threads <= 1) {
+			roots.each { File root -> generate(root) }
+			return
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads)
+		try {
+			List<Future> futures = roots.collect { File root ->
+				executor.submit({ generate(root) } as Callable)
+			}
+			futures.each { Future future ->
+				try {
+					future.get()
+				} catch (ExecutionException e) {
+					throw e.cause
+				}
+			}
+		} finally {
+			executor.shutdownNow()
+		}
+	}
+
+	protected void generate(File root) {
+		if (configuration.daemonPort > 0 && !daemonUnavailable) {
+			try {
+				new DaemonClient(configuration.daemonPort).generate(root, createConfiguration(root))
+				return
+			} catch (IOException e) {
+				logger.info("${e.message}, generating in the Gradle process")
+				daemonUnavailable = true
+			}
+		}
+		Reader reader = new FileReader(root)
+		try {
+			Generator generator = generatorFactory.call()
+			if (legacyGenerator != null && generator.is(legacyGenerator)) {
+				generator.run(reader, createConfiguration(root))
+			} else {
+				generator.run(reader, createConfiguration(root), root.absolutePath)
+			}
+			if (isGenerateMetricsReport() && generator.metrics) {
+				logger.lifecycle("${root.name}: ${generator.metrics.summary()}")
+			}
+		} finally {
+			reader.close()
+		}
+	}
+
+	protected DependencyScanner getDependencyScanner() {
+		if (dependencyScanner == null) {
+			dependencyScanner = new DependencyScanner(configuration.sourceDirectory)
+		}
+		dependencyScanner
+	}
+
+	protected Configuration createConfiguration(File root) {
 		Configuration ramlConfiguration = new Configuration()
 		ramlConfiguration.setBasePackageName(getBasePackageName())
 		ramlConfiguration.setJaxrsVersion(getJaxrsVersion())
 		ramlConfiguration.setJsonMapper(getJsonMapper())
 		ramlConfiguration.setOutputDirectory(getOutputDirectory())
+		ramlConfiguration.setSourceDirectory(configuration.sourceDirectory ?: root.parentFile)
 		ramlConfiguration.setUseJsr303Annotations(useJsr303Annotations())
 		ramlConfiguration.setJsonMapperConfiguration(getJsonMapperConfiguration())
 
@@ -140,6 +297,8 @@ class CodeGeneratorTask extends DefaultTask {
 	    ramlConfiguration.setCustomAnnotator(getCustomAnnotator())
 	    ramlConfiguration.setIgnoredParameterNames(getIgnoredParameterNames())
 	    ramlConfiguration.setUseTitlePropertyWhenPossible(isUseTitlePropertyWhenPossible())
+		ramlConfiguration.setStreamResourceInterfaces(isStreamResourceInterfaces())
+		ramlConfiguration.setGenerateMetricsReport(isGenerateMetricsReport())
 		
 		if (getGeneratorExtensions() != null) {
 			for (String className : getGeneratorExtensions()) {
@@ -160,9 +319,6 @@ class CodeGeneratorTask extends DefaultTask {
 
 			}
 		}
-
-		getRamlFiles().each { configurationFile ->
-			generator.run(new FileReader(configurationFile), ramlConfiguration)
-		}
+		ramlConfiguration
 	}
-}
\ No newline at end of file
+}
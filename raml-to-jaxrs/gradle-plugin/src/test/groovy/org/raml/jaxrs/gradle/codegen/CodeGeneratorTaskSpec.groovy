@@ -15,6 +15,8 @@
  */
 package org.raml.jaxrs.gradle.codegen
 
+import java.util.concurrent.atomic.AtomicInteger
+
 import org.gradle.api.Project
 import org.gradle.api.internal.file.collections.SimpleFileCollection
 import org.gradle.testfixtures.ProjectBuilder
@@ -56,4 +58,85 @@ class CodeGeneratorTaskSpec extends Specification {
         then:
             1 * generatorTask.generator.run(_,_)
     }
+
+    def "test that the generator factory is given the location of the .raml file"() {
+        setup:
+            File ramlConfigFile = new File(projectDirectory.root, 'test.raml')
+            ramlConfigFile.createNewFile()
+            RamlExtension configuration = new RamlExtension(project)
+            configuration.basePackageName = 'org.raml.test'
+            configuration.sourcePaths = new SimpleFileCollection([ramlConfigFile])
+            configuration.outputDirectory = outputDirectory.root
+            CodeGeneratorTask generatorTask = project.getTasksByName('raml-generate', false).iterator()[0]
+            Generator generator = Mock(Generator)
+            generatorTask.generatorFactory = { generator }
+        when:
+            generatorTask.configuration = configuration
+            generatorTask.generate()
+        then:
+            1 * generator.run(_, _, ramlConfigFile.absolutePath)
+    }
+
+    def "test that each RAML file is generated by its own generator"() {
+        setup:
+            File firstConfigFile = new File(projectDirectory.root, 'first.raml')
+            File secondConfigFile = new File(projectDirectory.root, 'second.raml')
+            [firstConfigFile, secondConfigFile]*.createNewFile()
+            RamlExtension configuration = new RamlExtension(project)
+            configuration.basePackageName = 'org.raml.test'
+            configuration.sourcePaths = new SimpleFileCollection([firstConfigFile, secondConfigFile])
+            configuration.outputDirectory = outputDirectory.root
+            configuration.maxParallelRoots = 2
+            CodeGeneratorTask generatorTask = project.getTasksByName('raml-generate', false).iterator()[0]
+            List<Generator> generators = [Mock(Generator), Mock(Generator)]
+            int created = 0
+            generatorTask.generatorFactory = { synchronized (generators) { generators[created++] } }
+        when:
+            generatorTask.configuration = configuration
+            generatorTask.generate()
+        then:
+            1 * generators[0].run(_, _, _)
+            1 * generators[1].run(_, _, _)
+    }
+
+    def "test that a generator set directly is not run for two RAML files at once"() {
+        setup:
+            File firstConfigFile = new File(projectDirectory.root, 'first.raml')
+            File secondConfigFile = new File(projectDirectory.root, 'second.raml')
+            [firstConfigFile, secondConfigFile]*.createNewFile()
+            RamlExtension configuration = new RamlExtension(project)
+            configuration.basePackageName = 'org.raml.test'
+            configuration.sourcePaths = new SimpleFileCollection([firstConfigFile, secondConfigFile])
+            configuration.outputDirectory = outputDirectory.root
+            configuration.maxParallelRoots = 2
+            CodeGeneratorTask generatorTask = project.getTasksByName('raml-generate', false).iterator()[0]
+            generatorTask.generator = Mock(Generator)
+            AtomicInteger running = new AtomicInteger()
+            AtomicInteger overlapping = new AtomicInteger()
+        when:
+            generatorTask.configuration = configuration
+            generatorTask.generate()
+        then:
+            2 * generatorTask.generator.run(_, _) >> {
+                if (running.incrementAndGet() > 1) {
+                    overlapping.incrementAndGet()
+                }
+                Thread.sleep(50)
+                running.decrementAndGet()
+                [] as Set
+            }
+            overlapping.get() == 0
+    }
+
+    def "test that included files are declared as task inputs"() {
+        setup:
+            File includedFile = new File(projectDirectory.root, 'src/main/raml/types/user.json')
+            includedFile.parentFile.mkdirs()
+            includedFile.text = '{ "type": "object" }'
+            File ramlConfigFile = new File(projectDirectory.root, 'src/main/raml/api.raml')
+            ramlConfigFile.text = 'schemas:\n - user: !include types/user.json\n'
+            CodeGeneratorTask generatorTask = project.getTasksByName('raml-generate', false).iterator()[0]
+        expect:
+            generatorTask.ramlDependencies.contains(includedFile.canonicalFile)
+    }
 }
@@ -38,7 +38,9 @@ import org.codehaus.plexus.util.StringUtils;
 import org.jsonschema2pojo.AnnotationStyle;
 import org.raml.jaxrs.codegen.core.Configuration;
 import org.raml.jaxrs.codegen.core.Configuration.JaxrsVersion;
-import org.raml.jaxrs.codegen.core.Generator;
+import org.raml.jaxrs.codegen.core.Configuration.MultipartBackend;
+import org.raml.jaxrs.codegen.core.GeneratorProxy;
+import org.raml.jaxrs.codegen.core.daemon.DaemonClient;
 import org.raml.jaxrs.codegen.core.ext.GeneratorExtension;
 
 /**
@@ -114,6 +116,51 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 	@Parameter(property = "generateClientProxy", defaultValue = "false")
 	private boolean generateClientProxy;
 
+	/**
+	 * Should typed client classes be generated next to the client proxy
+	 * interfaces, requires jaxrsVersion 2.0 or later.
+	 */
+	@Parameter(property = "generateClientImplementation", defaultValue = "false")
+	private boolean generateClientImplementation;
+
+	/**
+	 * Should a ParamConverterProvider be generated for every enum parameter,
+	 * with a Feature registering them, requires jaxrsVersion 2.0 or later.
+	 */
+	@Parameter(property = "generateEnumParamConverters", defaultValue = "false")
+	private boolean generateEnumParamConverters;
+
+	/**
+	 * Should the generated enum parameter converters ignore the case of the
+	 * values.
+	 */
+	@Parameter(property = "caseInsensitiveEnumParams", defaultValue = "false")
+	private boolean caseInsensitiveEnumParams;
+
+	/**
+	 * Should query, header and URI parameters be validated by generated
+	 * request filters instead of JSR-303 annotations, requires jaxrsVersion
+	 * 2.0 or later.
+	 */
+	@Parameter(property = "generateParameterValidators", defaultValue = "false")
+	private boolean generateParameterValidators;
+
+	/**
+	 * How multipart/form-data parts are passed to the resource methods: either
+	 * "mime_multipart", "jersey" or "resteasy". The last two require
+	 * jaxrsVersion 2.0 or later.
+	 */
+	@Parameter(property = "multipartBackend", defaultValue = "mime_multipart")
+	private String multipartBackend;
+
+	/**
+	 * Should resource methods declaring ETag or Last-Modified response headers
+	 * get the JAX-RS Request injected and their response classes a helper
+	 * answering conditional requests.
+	 */
+	@Parameter(property = "generateConditionalResponses", defaultValue = "false")
+	private boolean generateConditionalResponses;
+
 	/**
 	 * The targeted JAX-RS version: either "1.1" or "2.0" .
 	 */
@@ -144,6 +191,34 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 
 	@Parameter(property = "asyncResourceTrait")
 	private String asyncResourceTrait;
+
+	/**
+	 * Whether every resource method returns a CompletionStage of its response
+	 * class, requires jaxrsVersion 2.1.
+	 */
+	@Parameter(property = "completionStageResources", defaultValue = "false")
+	private boolean completionStageResources;
+
+	/**
+	 * The trait whose actions return a CompletionStage of their response class,
+	 * requires jaxrsVersion 2.1.
+	 */
+	@Parameter(property = "completionStageResourceTrait")
+	private String completionStageResourceTrait;
+
+	/**
+	 * Should Spring WebFlux resource interfaces be generated instead of JAX-RS
+	 * ones
+	 */
+	@Parameter(property = "generateSpringWebFlux", defaultValue = "false")
+	private boolean generateSpringWebFlux;
+
+	/**
+	 * The media type also produced by Spring WebFlux methods returning a Flux:
+	 * either "application/stream+json" or "application/x-ndjson".
+	 */
+	@Parameter(property = "reactiveStreamMediaType", defaultValue = "application/stream+json")
+	private String reactiveStreamMediaType;
 	/**
 	 * Optional extra configuration provided to the JSON mapper. Supported keys
 	 * are: "generateBuilders", "includeHashcodeAndEquals", "includeToString",
@@ -167,6 +242,30 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 
 	@Parameter(property ="customAnnotator",defaultValue = "")
 	private String customAnnotator;
+
+	/**
+	 * Writes each resource interface as soon as it is complete to bound the
+	 * memory used for large APIs.
+	 */
+	@Parameter(property = "streamResourceInterfaces", defaultValue = "false")
+	private boolean streamResourceInterfaces;
+
+	/**
+	 * Writes a &lt;raml name&gt;.metrics.json report with phase timings and counts
+	 * next to the generated sources and logs a summary of it.
+	 */
+	@Parameter(property = "generateMetricsReport", defaultValue = "false")
+	private boolean generateMetricsReport;
+
+	/**
+	 * Loopback port of a running generation daemon, 0 generates in the Maven
+	 * process. The daemon token is read from
+	 * ~/.raml-jaxrs-codegen/daemon-&lt;port&gt;.token. Generation falls back to
+	 * the Maven process when the daemon cannot be reached or rejects the
+	 * token; a generation failure reported by the daemon fails the build.
+	 */
+	@Parameter(property = "daemonPort", defaultValue = "0")
+	private int daemonPort;
 	/**
 	 * {@inheritDoc}
 	 *
@@ -209,11 +308,23 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 			configuration.setOutputDirectory(outputDirectory);
 			configuration.setUseJsr303Annotations(useJsr303Annotations);
 			configuration.setAsyncResourceTrait(asyncResourceTrait);
+			configuration.setCompletionStageResources(completionStageResources);
+			configuration.setCompletionStageResourceTrait(completionStageResourceTrait);
 			configuration.setGenerateClientInterface(generateClientProxy);
+			configuration.setGenerateClientImplementation(generateClientImplementation);
+			configuration.setGenerateEnumParamConverters(generateEnumParamConverters);
+			configuration.setCaseInsensitiveEnumParams(caseInsensitiveEnumParams);
+			configuration.setGenerateParameterValidators(generateParameterValidators);
+			configuration.setMultipartBackend(MultipartBackend.valueOf(multipartBackend.toUpperCase()));
+			configuration.setGenerateConditionalResponses(generateConditionalResponses);
+			configuration.setGenerateSpringWebFlux(generateSpringWebFlux);
+			configuration.setReactiveStreamMediaType(reactiveStreamMediaType);
 			configuration.setJsonMapper(AnnotationStyle.valueOf(jsonMapper.toUpperCase()));
 			configuration.setSourceDirectory(sourceDirectory);
 			configuration.setJsonMapperConfiguration(jsonMapperConfiguration);
 			configuration.setEmptyResponseReturnVoid(mapToVoid);
+			configuration.setStreamResourceInterfaces(streamResourceInterfaces);
+			configuration.setGenerateMetricsReport(generateMetricsReport);
 			if(ignoredParameters!=null){
 				for (String s:ignoredParameters){
 					configuration.getIgnoredParameterNames().add(s);
@@ -256,7 +367,9 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 		File currentSourcePath = null;
 
 		try {
-			final Generator generator = new Generator();
+			// picks the client, Spring WebFlux or resource generator the configuration asks for
+			final GeneratorProxy generator = new GeneratorProxy();
+			DaemonClient daemon = daemonPort > 0 ? new DaemonClient(daemonPort) : null;
 
 			for (final File ramlFile : getRamlFiles()) {
 				currentSourcePath = ramlFile;
@@ -266,7 +379,20 @@ public class RamlJaxrsCodegenMojo extends AbstractMojo {
 				reader.close();
 				if(line.startsWith("#%RAML")) {
 					getLog().info("Generating Java classes from: " + ramlFile);
+					if (daemon != null) {
+						try {
+							daemon.generate(ramlFile, configuration);
+							continue;
+						} catch (final IOException e) {
+							// only an unreachable daemon falls back, its generation failures fail the build below
+							getLog().info(e.getMessage() + ", generating in the Maven process");
+							daemon = null;
+						}
+					}
 					generator.run(new FileReader(ramlFile), configuration, ramlFile.getAbsolutePath());
+					if (generateMetricsReport) {
+						getLog().info(generator.getMetrics().summary());
+					}
 				}
 				else{
 					getLog().info(ramlFile+" does not seem to be RAML root file -skipped(first line should start from #%RAML ${raml version number}");
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2015 (c) MuleSoft, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package org.raml.jaxrs.codegen.maven;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RamlJaxrsCodegenMojoTestCase
+{
+    private static final String TEST_BASE_PACKAGE = "org.raml.jaxrs.test";
+
+    @Rule
+    public TemporaryFolder outputFolder = new TemporaryFolder();
+
+    private RamlJaxrsCodegenMojo mojo;
+
+    private MavenProject project;
+
+    @Before
+    public void createMojo() throws Exception
+    {
+        final File sourceDirectory = new File(getClass().getResource("/org/raml").getPath());
+        project = new MavenProject();
+        mojo = new RamlJaxrsCodegenMojo();
+        // the defaults Maven would inject
+        set("project", project);
+        set("outputDirectory", outputFolder.getRoot());
+        set("sourceDirectory", sourceDirectory);
+        set("sourcePaths", new File[] {new File(sourceDirectory, "orders.yaml")});
+        set("jaxrsVersion", "2.0");
+        set("basePackageName", TEST_BASE_PACKAGE);
+        set("modelPackageName", "model");
+        set("multipartBackend", "mime_multipart");
+        set("jsonMapper", "jackson1");
+        set("reactiveStreamMediaType", "application/stream+json");
+        set("generateMetricsReport", true);
+    }
+
+    private void set(final String name, final Object value) throws Exception
+    {
+        final Field field = RamlJaxrsCodegenMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    private String readGeneratedSource(final String path) throws Exception
+    {
+        final File source = new File(outputFolder.getRoot(), TEST_BASE_PACKAGE.replace('.', File.separatorChar)
+                                                             + File.separator + path.replace('/', File.separatorChar));
+        assertTrue(source.getPath(), source.isFile());
+        return FileUtils.readFileToString(source, "UTF-8");
+    }
+
+    @Test
+    public void clientProxyAndImplementation() throws Exception
+    {
+        set("generateClientProxy", true);
+        set("generateClientImplementation", true);
+
+        mojo.execute();
+
+        assertThat(readGeneratedSource("client/OrdersResourceClient.java"),
+            containsString("public OrdersResourceClient(Client client, String baseUri)"));
+        assertThat(readGeneratedSource("support/ClientResponseStage.java"),
+            containsString("package " + TEST_BASE_PACKAGE + ".support;"));
+        assertThat(project.getCompileSourceRoots(), hasItem(outputFolder.getRoot().getPath()));
+    }
+
+    @Test
+    public void springWebFlux() throws Exception
+    {
+        set("generateSpringWebFlux", true);
+
+        mojo.execute();
+
+        final String source = readGeneratedSource("resource/OrdersResource.java");
+        assertThat(source, containsString("@RequestMapping(\"/orders\")"));
+        assertThat(source, not(containsString("javax.ws.rs")));
+    }
+}